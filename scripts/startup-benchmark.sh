@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+#
+# Measures time from process start to the first healthy /actuator/health response.
+#
+# Usage:
+#   scripts/startup-benchmark.sh [command...]
+#
+# The command starts the application in the foreground; it defaults to the fat jar in target/.
+# The database from docker-compose.yml must be running. Examples:
+#   scripts/startup-benchmark.sh
+#   scripts/startup-benchmark.sh java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar application.jar
+#   RUNS=10 scripts/startup-benchmark.sh docker run --rm --network host interest-calculator
+#
+# Environment:
+#   RUNS         number of starts to measure (default 5)
+#   HEALTH_URL   health endpoint to poll (default http://localhost:8080/actuator/health)
+#   TIMEOUT_SEC  give up on a start after this many seconds (default 120)
+
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+HEALTH_URL=${HEALTH_URL:-http://localhost:8080/actuator/health}
+TIMEOUT_SEC=${TIMEOUT_SEC:-120}
+
+if [ "$#" -eq 0 ]; then
+    set -- java -jar target/interest-calculator-0.0.1-SNAPSHOT.jar
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+if curl -s -o /dev/null "$HEALTH_URL"; then
+    echo "Something is already answering on $HEALTH_URL, stop it first" >&2
+    exit 1
+fi
+
+echo "Command: $*"
+results=()
+for run in $(seq 1 "$RUNS"); do
+    log_file=$(mktemp)
+    start=$(now_ms)
+    "$@" > "$log_file" 2>&1 &
+    pid=$!
+
+    healthy=""
+    while [ $(( $(now_ms) - start )) -lt $(( TIMEOUT_SEC * 1000 )) ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            break
+        fi
+        if curl -s "$HEALTH_URL" | grep -q '"status":"UP"'; then
+            healthy=$(( $(now_ms) - start ))
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+
+    if [ -z "$healthy" ]; then
+        echo "Run $run: not healthy within ${TIMEOUT_SEC}s, log in $log_file" >&2
+        exit 1
+    fi
+    rm -f "$log_file"
+    echo "Run $run: healthy after ${healthy} ms"
+    results+=("$healthy")
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+sum=0
+for value in "${sorted[@]}"; do
+    sum=$(( sum + value ))
+done
+echo "Time to first healthy response over $RUNS runs:" \
+    "min ${sorted[0]} ms, median ${sorted[$(( RUNS / 2 ))]} ms, mean $(( sum / RUNS )) ms, max ${sorted[$(( RUNS - 1 ))]} ms"
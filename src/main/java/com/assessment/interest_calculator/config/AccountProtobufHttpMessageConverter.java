@@ -0,0 +1,165 @@
+package com.assessment.interest_calculator.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import com.assessment.interest_calculator.dto.AccountResponse;
+import com.google.protobuf.CodedOutputStream;
+
+/**
+ * Writes account responses, single or as a list, as Protocol Buffers under application/x-protobuf.
+ * The schema is proto/accounts.proto on the classpath: money and rates travel as int64 millionths,
+ * so they are exact, and field numbers replace property names.
+ *
+ * Messages are encoded field by field with {@link CodedOutputStream} rather than through generated classes,
+ * so the build needs no protoc step. Response-only: request bodies stay JSON.
+ */
+public class AccountProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final int MONEY_SCALE = 6; // Scale of the money and rate columns; the wire value is the unscaled long
+    private static final int ACCOUNT_LIST_ACCOUNTS = 1; // AccountList.accounts
+
+    public AccountProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return AccountResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && (supports(clazz) || isAccountList(type));
+    }
+
+    // Lists are only recognized from their generic type, which this lookup does not get; canWrite above vets the element type
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    private static boolean isAccountList(@Nullable Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == AccountResponse.class;
+    }
+
+    @Override
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody());
+        if (body instanceof AccountResponse account) {
+            writeAccount(output, account);
+        } else {
+            for (Object account : (List<?>) body) {
+                output.writeByteArray(ACCOUNT_LIST_ACCOUNTS, encode((AccountResponse) account));
+            }
+        }
+        output.flush();
+    }
+
+    private static byte[] encode(AccountResponse account) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        writeAccount(output, account);
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * One Account message. Null fields are left out, which proto3 reads as absent for optional fields and as the
+     * default for the others.
+     */
+    private static void writeAccount(CodedOutputStream output, AccountResponse account) throws IOException {
+        writeInt64(output, 1, account.getId());
+        writeString(output, 2, account.getAccountHolderName());
+        writeString(output, 3, account.getProductCode());
+        writeString(output, 4, account.getDayCountConvention() != null ? account.getDayCountConvention().name() : null);
+        writeString(output, 5, account.getTimeZone());
+        writeString(output, 6, account.getStatus() != null ? account.getStatus().name() : null);
+        writeTimestamp(output, 7, account.getClosedAt());
+        writeMoney(output, 8, account.getPrincipalAmount());
+        writeMoney(output, 9, account.getInterestRate());
+        writeMoney(output, 10, account.getInterestAmount());
+        writeMoney(output, 11, account.getPenaltyAmount());
+        writeMoney(output, 12, account.getOverdueAmount());
+        writeMoney(output, 13, account.getPenalRate());
+        writeMoney(output, 14, account.getTotalDue());
+        writeDate(output, 15, account.getDateOfDisbursal());
+        writeTimestamp(output, 16, account.getLastInterestAppliedAt());
+        writeDate(output, 17, account.getAccrualAnchorDate());
+        writeInt64(output, 18, account.getVersion());
+        writeTimestamp(output, 19, account.getCreatedAt());
+        writeTimestamp(output, 20, account.getUpdatedAt());
+        writeTimestamp(output, 21, account.getArchivedAt());
+    }
+
+    private static void writeInt64(CodedOutputStream output, int field, @Nullable Long value) throws IOException {
+        if (value != null) {
+            output.writeInt64(field, value);
+        }
+    }
+
+    private static void writeString(CodedOutputStream output, int field, @Nullable String value) throws IOException {
+        if (value != null) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static void writeMoney(CodedOutputStream output, int field, @Nullable BigDecimal value) throws IOException {
+        if (value != null) {
+            output.writeInt64(field, value.setScale(MONEY_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+    }
+
+    private static void writeDate(CodedOutputStream output, int field, @Nullable LocalDate value) throws IOException {
+        if (value != null) {
+            output.writeInt32(field, Math.toIntExact(value.toEpochDay()));
+        }
+    }
+
+    private static void writeTimestamp(CodedOutputStream output, int field, @Nullable OffsetDateTime value) throws IOException {
+        if (value != null) {
+            output.writeInt64(field, ChronoUnit.MICROS.between(Instant.EPOCH, value.toInstant()));
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protocol Buffers request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protocol Buffers request bodies are not supported", inputMessage);
+    }
+}
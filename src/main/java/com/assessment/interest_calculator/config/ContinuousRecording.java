@@ -0,0 +1,142 @@
+package com.assessment.interest_calculator.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.assessment.interest_calculator.service.InterestJfrEvents;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An always-on flight recording: the JDK's low-overhead "default" settings plus the interest job events,
+ * kept on disk as a ring buffer bounded by app.jfr.maxAge and app.jfr.maxSize. Nothing leaves the process
+ * until {@link #dump()} is called, so a slow night-time run can be examined the next morning.
+ * Only the newest app.jfr.maxDumps dump files are kept; older ones are deleted as new ones are written.
+ *
+ * With app.jfr.enabled=false no recording is created at all. The switch is read when the bean is created rather than
+ * through a condition on the bean, so it still works on an AOT-processed build, where conditions are fixed at build time.
+ */
+@Slf4j
+public class ContinuousRecording implements AutoCloseable {
+    static final String NAME = "interest-continuous";
+    private static final String DUMP_PREFIX = "interest-";
+    private static final String DUMP_SUFFIX = ".jfr";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Recording recording; // Null when app.jfr.enabled=false
+    private final Path dumpDirectory;
+    private final int maxDumps;
+
+    public ContinuousRecording(boolean enabled, String settings, Duration maxAge, long maxSizeBytes, Path dumpDirectory, int maxDumps)
+            throws IOException, ParseException {
+        if (maxDumps < 1) {
+            throw new IllegalArgumentException("app.jfr.maxDumps must be at least 1, got " + maxDumps);
+        }
+        this.dumpDirectory = dumpDirectory;
+        this.maxDumps = maxDumps;
+        if (!enabled) {
+            this.recording = null;
+            return;
+        }
+        this.recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        InterestJfrEvents.types().forEach(recording::enable);
+    }
+
+    public void start() {
+        if (recording == null) {
+            log.info("Flight recording '{}' is disabled (app.jfr.enabled=false)", NAME);
+            return;
+        }
+        recording.start();
+        log.info("Started flight recording '{}' (maxAge={}, maxSize={} bytes)", NAME, recording.getMaxAge(), recording.getMaxSize());
+    }
+
+    public boolean isEnabled() {
+        return recording != null;
+    }
+
+    /**
+     * Write everything the recording currently holds to a new file in app.jfr.dumpDirectory, then delete the oldest
+     * dumps beyond app.jfr.maxDumps. The recording keeps running. Synchronized so that concurrent dumps cannot both
+     * count the same files and leave more than maxDumps behind.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is disabled (app.jfr.enabled=false)");
+        }
+        Files.createDirectories(dumpDirectory);
+        Path file = dumpDirectory.resolve(DUMP_PREFIX + FILE_TIMESTAMP.format(Instant.now()) + DUMP_SUFFIX);
+        recording.dump(file);
+        log.info("Dumped flight recording '{}' to {}", NAME, file);
+        deleteOldDumps();
+        return file;
+    }
+
+    /**
+     * Dump files are named by their UTC timestamp, so name order is age order.
+     */
+    private void deleteOldDumps() throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            dumps = files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(DUMP_PREFIX) && name.endsWith(DUMP_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            Files.deleteIfExists(old);
+            log.info("Deleted old flight recording dump {}", old);
+        }
+    }
+
+    /**
+     * State of the recording, null when disabled.
+     */
+    public RecordingState getState() {
+        return recording != null ? recording.getState() : null;
+    }
+
+    public Instant getStartTime() {
+        return recording != null ? recording.getStartTime() : null;
+    }
+
+    public Duration getMaxAge() {
+        return recording != null ? recording.getMaxAge() : null;
+    }
+
+    public long getMaxSize() {
+        return recording != null ? recording.getMaxSize() : 0;
+    }
+
+    public Path getDumpDirectory() {
+        return dumpDirectory;
+    }
+
+    public int getMaxDumps() {
+        return maxDumps;
+    }
+
+    @Override
+    public void close() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.assessment.interest_calculator.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Starts the continuous flight recording with the application and registers the "jfr" actuator endpoint, which is
+ * only reachable once opted in (see {@link JfrEndpoint}). The recording is on by default; app.jfr.enabled=false
+ * leaves it off. That switch is passed into the bean instead of being a condition on this class, because the
+ * startup build (Spring AOT, see pom.xml) fixes conditions at build time and would ignore it at runtime.
+ */
+@Configuration
+public class FlightRecorderConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ContinuousRecording continuousRecording(
+            @Value("${app.jfr.enabled:true}") boolean enabled,
+            @Value("${app.jfr.settings:default}") String settings,
+            @Value("${app.jfr.maxAge:24h}") Duration maxAge,
+            @Value("${app.jfr.maxSize:256MB}") DataSize maxSize,
+            @Value("${app.jfr.dumpDirectory:${java.io.tmpdir}/interest-jfr}") String dumpDirectory,
+            @Value("${app.jfr.maxDumps:5}") int maxDumps) throws IOException, ParseException {
+        return new ContinuousRecording(enabled, settings, maxAge, maxSize.toBytes(), Path.of(dumpDirectory), maxDumps);
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(ContinuousRecording continuousRecording) {
+        return new JfrEndpoint(continuousRecording);
+    }
+}
@@ -1,15 +1,26 @@
 package com.assessment.interest_calculator.config;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import com.assessment.interest_calculator.service.AccountLifecycleService;
 import com.assessment.interest_calculator.service.InterestService;
+import com.assessment.interest_calculator.service.PortfolioSummaryService;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,18 +31,44 @@ import lombok.extern.slf4j.Slf4j;
 public class InterestScheduler {
 
     private final InterestService interestService;
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final AccountLifecycleService accountLifecycleService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.interest.zone:Asia/Kolkata}")
     private String zone;
 
+    @Value("${app.interest.cutoff:23:59}")
+    private String cutoff;
+
+    @Value("${app.interest.zoneRefreshMinutes:60}")
+    private long zoneRefreshMinutes;
+
+    @Value("${app.interest.continuous.enabled:false}")
+    private boolean continuous;
+
+    @Value("${app.interest.continuous.buckets:24}")
+    private int continuousBuckets;
+
+    @Value("${app.interest.continuous.window:PT22H}")
+    private Duration continuousWindow;
+
+    private final Map<ZoneId, LocalDate> lastBucketRuns = new ConcurrentHashMap<>(); // Business date last accrued per zone bucket
+    private final Map<ZoneId, ContinuousProgress> continuousProgress = new ConcurrentHashMap<>(); // Hash buckets done per zone bucket
+    private final Map<ZoneId, LocalDate> monthEndsDue = new ConcurrentHashMap<>(); // Month-end accrued but not yet capitalized per zone bucket
+    private Set<ZoneId> zoneBuckets = Set.of();
+    private Instant zoneBucketsLoadedAt = Instant.MIN;
+    private volatile Instant lastTick = Instant.EPOCH;
+
     /**
-     * Daily job that calculates and applies daily interest to all eligible loan accounts.
-     * Runs every day at 11:59:00 PM IST (Indian Standard Time).
+     * Daily job that accrues interest on the whole book in one run, in app.interest.zone.
+     * Disabled by default in favour of runZoneBucketAccruals; set app.interest.dailyCron (e.g. "0 59 23 * * *")
+     * to go back to a single nightly run.
      *
-     * Cron expression: "0 59 23 * * *" - runs at 23:59:00 (11:59 PM)
+     * Cron expression: "-" (disabled; overridable through app.interest.dailyCron)
      * Time zone: Asia/Kolkata (IST)
      */
-    @Scheduled(cron = "0 59 23 * * *", zone = "Asia/Kolkata")
+    @Scheduled(cron = "${app.interest.dailyCron:-}", zone = "Asia/Kolkata")
     public void runDailyInterestCalculation() {
         LocalDate today = LocalDate.now(ZoneId.of(zone));
         log.info("Starting scheduled daily interest calculation for date: {}", today);
@@ -45,15 +82,223 @@ public class InterestScheduler {
     }
 
     /**
-     * Monthly job that applies accrued interest to principal at month-end.
-     * Runs on the last day of every month at 11:59:00 PM IST.
+     * Rolling daily accrual, one zone bucket at a time: each bucket (see InterestService.accrualZones) is accrued
+     * once its local time passes app.interest.cutoff (23:59 by default), for the business date that just closed there.
+     * Spreads the nightly load over the day instead of one burst at 23:59 IST.
+     *
+     * A bucket whose run fails is retried on the next tick. After a restart every bucket is run once for its last
+     * closed business date, which catches up a missed cutoff and costs one count query for buckets already done.
+     *
+     * With app.interest.continuous.enabled, each zone bucket is further split into hash buckets spread over the
+     * following day (see runDueHashBuckets).
+     *
+     * Once a bucket has accrued the last day of a month, its accrued interest is capitalized (see runDueMonthEnd)
+     * before it accrues anything further.
+     *
+     * Cron expression: "0 * * * * *" - checks every minute (overridable through app.interest.bucketCron)
+     */
+    @Scheduled(cron = "${app.interest.bucketCron:0 * * * * *}")
+    public void runZoneBucketAccruals() {
+        runDueZoneBuckets(Instant.now());
+    }
+
+    void runDueZoneBuckets(Instant now) {
+        lastTick = now;
+        Set<ZoneId> buckets;
+        try {
+            buckets = zoneBuckets(now);
+        } catch (Exception e) {
+            log.error("Error loading zone buckets for the daily interest calculation", e);
+            return;
+        }
+
+        for (ZoneId bucket : buckets) {
+            LocalDate businessDate = lastClosedBusinessDate(now, bucket);
+            if (continuous) {
+                runDueHashBuckets(now, bucket, businessDate);
+                continue;
+            }
+            if (!runDueMonthEnd(bucket) || businessDate.equals(lastBucketRuns.get(bucket))) {
+                continue;
+            }
+            log.info("Starting scheduled daily interest calculation for date: {} in zone bucket {}", businessDate, bucket);
+
+            try {
+                InterestService.InterestApplicationResult result = interestService.applyDailyInterest(businessDate, bucket);
+                lastBucketRuns.put(bucket, businessDate);
+                log.info("Successfully completed daily interest calculation for date: {} in zone bucket {} ({} accounts, {} failed)",
+                        businessDate, bucket, result.getTotalAccountsProcessed(), result.getFailedAccounts());
+            } catch (Exception e) {
+                log.error("Error during scheduled daily interest calculation for date: {} in zone bucket {}", businessDate, bucket, e);
+                continue;
+            }
+            if (isMonthEnd(businessDate)) {
+                monthEndsDue.put(bucket, businessDate);
+                runDueMonthEnd(bucket);
+            }
+        }
+    }
+
+    /**
+     * Month-end per zone bucket: capitalize the bucket's accrued interest once it has accrued the last day of the month
+     * in its own zone. Running it for the whole book at 23:59 IST would capitalize zones west of IST before their last
+     * day is accrued, and carry that day into the next month.
+     *
+     * A failed run is retried on the next tick, and the bucket accrues nothing further until it succeeds, so the first
+     * day of the next month is never capitalized with the last one. After a restart on the day after a month-end, the
+     * bucket may re-run the month-end; that capitalizes nothing, as it skips accounts already accrued past the month-end.
      *
-     * Cron expression: "0 59 23 L * *" - runs at 23:59:00 on the last day of the month
+     * @return false if a month-end is still due for the bucket
+     */
+    private boolean runDueMonthEnd(ZoneId bucket) {
+        LocalDate monthEnd = monthEndsDue.get(bucket);
+        if (monthEnd == null) {
+            return true;
+        }
+        log.info("Starting scheduled month-end interest application for date: {} in zone bucket {}", monthEnd, bucket);
+
+        try {
+            InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(monthEnd, bucket);
+            monthEndsDue.remove(bucket);
+            log.info("Successfully completed month-end interest application for date: {} in zone bucket {} ({} accounts, {} failed)",
+                    monthEnd, bucket, result.getTotalAccountsProcessed(), result.getFailedAccounts());
+            return true;
+        } catch (Exception e) {
+            log.error("Error during scheduled month-end interest application for date: {} in zone bucket {}", monthEnd, bucket, e);
+            return false;
+        }
+    }
+
+    private static boolean isMonthEnd(LocalDate businessDate) {
+        return businessDate.getDayOfMonth() == businessDate.lengthOfMonth();
+    }
+
+    /**
+     * Hash buckets of a zone bucket done for one business date.
+     */
+    record ContinuousProgress(LocalDate businessDate, int bucketsDone) {
+    }
+
+    /**
+     * Continuous accrual (app.interest.continuous.enabled): instead of accruing a zone bucket in one run at its cutoff,
+     * split it into app.interest.continuous.buckets hash buckets (account id mod K) and start one every
+     * app.interest.continuous.window / K after the cutoff. The business date is the one that closed at the cutoff,
+     * so the load of a date is spread evenly over the following day.
+     *
+     * Buckets of an earlier date left unfinished (a failure, or downtime across the cutoff) are finished first.
+     * On the first tick for a zone this re-checks every bucket of the previous date, which costs a count query
+     * for each bucket already done.
+     *
+     * A month-end is capitalized only once every hash bucket of its last day is done, and before the first hash bucket
+     * of the next day starts: the last day is accrued over the following day, long after its cutoff.
+     */
+    private void runDueHashBuckets(Instant now, ZoneId bucket, LocalDate businessDate) {
+        registerContinuousGauge(bucket);
+        if (!runDueMonthEnd(bucket)) {
+            return;
+        }
+        ContinuousProgress progress = continuousProgress.computeIfAbsent(bucket, b -> new ContinuousProgress(businessDate.minusDays(1), 0));
+        if (progress.businessDate().isBefore(businessDate)) {
+            if (progress.bucketsDone() < continuousBuckets
+                    && !runHashBuckets(bucket, progress.businessDate(), progress.bucketsDone(), continuousBuckets)) {
+                return;
+            }
+            if (!runDueMonthEnd(bucket)) {
+                return;
+            }
+            progress = new ContinuousProgress(businessDate, 0);
+            continuousProgress.put(bucket, progress);
+        }
+        if (runHashBuckets(bucket, businessDate, progress.bucketsDone(), dueHashBuckets(now, bucket, businessDate))) {
+            runDueMonthEnd(bucket);
+        }
+    }
+
+    /**
+     * Run hash buckets {@code from} (inclusive) to {@code to} (exclusive) in order, recording each as done.
+     * Running the last one of the last day of a month makes that month-end due for the zone bucket.
+     *
+     * @return false if a bucket failed; it and the ones after it are retried on the next tick
+     */
+    private boolean runHashBuckets(ZoneId bucket, LocalDate businessDate, int from, int to) {
+        for (int hashBucket = from; hashBucket < to; hashBucket++) {
+            try {
+                InterestService.InterestApplicationResult result = interestService.applyDailyInterest(businessDate, bucket, hashBucket, continuousBuckets);
+                continuousProgress.put(bucket, new ContinuousProgress(businessDate, hashBucket + 1));
+                log.info("Completed continuous interest calculation for date: {} in zone bucket {}, hash bucket {}/{} ({} accounts, {} failed)",
+                        businessDate, bucket, hashBucket, continuousBuckets, result.getTotalAccountsProcessed(), result.getFailedAccounts());
+            } catch (Exception e) {
+                log.error("Error during continuous interest calculation for date: {} in zone bucket {}, hash bucket {}/{}",
+                        businessDate, bucket, hashBucket, continuousBuckets, e);
+                return false;
+            }
+        }
+        if (from < to && to == continuousBuckets && isMonthEnd(businessDate)) {
+            monthEndsDue.put(bucket, businessDate);
+        }
+        return true;
+    }
+
+    /**
+     * Number of hash buckets of the business date due by {@code now}: one at the cutoff, then one more every window / K.
+     */
+    int dueHashBuckets(Instant now, ZoneId bucket, LocalDate businessDate) {
+        Instant cutoffInstant = businessDate.atTime(LocalTime.parse(cutoff)).atZone(bucket).toInstant();
+        if (now.isBefore(cutoffInstant)) {
+            return 0;
+        }
+        long slotNanos = Math.max(1, continuousWindow.toNanos() / continuousBuckets);
+        long due = Duration.between(cutoffInstant, now).toNanos() / slotNanos + 1;
+        return (int) Math.min(continuousBuckets, due);
+    }
+
+    /**
+     * Gauge of hash buckets done for the zone's last closed business date as of the last tick, out of app.interest.continuous.buckets.
+     * Registering an existing gauge again is a no-op.
+     */
+    private void registerContinuousGauge(ZoneId bucket) {
+        Gauge.builder("interest.accrual.continuous.buckets.done", continuousProgress, progress -> {
+                    ContinuousProgress current = progress.get(bucket);
+                    return current != null && current.businessDate().equals(lastClosedBusinessDate(lastTick, bucket))
+                            ? current.bucketsDone() : 0;
+                })
+                .description("Continuous accrual hash buckets done for the business date that last closed in the zone")
+                .tag("zone", bucket.getId())
+                .register(meterRegistry);
+    }
+
+    /**
+     * The latest business date whose cutoff has passed in the zone: today once local time reaches the cutoff, else yesterday.
+     */
+    LocalDate lastClosedBusinessDate(Instant now, ZoneId bucket) {
+        ZonedDateTime local = now.atZone(bucket);
+        return local.toLocalTime().isBefore(LocalTime.parse(cutoff)) ? local.toLocalDate().minusDays(1) : local.toLocalDate();
+    }
+
+    /**
+     * The zone buckets, reloaded from the accounts every app.interest.zoneRefreshMinutes.
+     */
+    private Set<ZoneId> zoneBuckets(Instant now) {
+        if (zoneBucketsLoadedAt.plus(Duration.ofMinutes(zoneRefreshMinutes)).isBefore(now)) {
+            zoneBuckets = interestService.accrualZones();
+            zoneBucketsLoadedAt = now;
+            log.info("Daily interest calculation runs in zone buckets {}", zoneBuckets);
+        }
+        return zoneBuckets;
+    }
+
+    /**
+     * Monthly job that applies accrued interest to principal at month-end for the whole book in one run.
+     * Disabled by default: runZoneBucketAccruals capitalizes each zone bucket after it has accrued its last day of the
+     * month. Set app.interest.monthEndCron (e.g. "0 59 23 L * *") together with app.interest.dailyCron to go back to
+     * single nightly runs.
+     *
+     * Cron expression: "-" (disabled; overridable through app.interest.monthEndCron)
      * Time zone: Asia/Kolkata (IST)
      *
      * This job implements monthly compounding by adding accumulated interest to principal.
      */
-    @Scheduled(cron = "0 59 23 L * *", zone = "Asia/Kolkata")
+    @Scheduled(cron = "${app.interest.monthEndCron:-}", zone = "Asia/Kolkata")
     public void runMonthEndInterestApplication() {
         LocalDate today = LocalDate.now(ZoneId.of(zone));
         log.info("Starting scheduled month-end interest application for date: {}", today);
@@ -65,4 +310,46 @@ public class InterestScheduler {
             log.error("Error during scheduled month-end interest application for date: {}", today, e);
         }
     }
+
+    /**
+     * Nightly job that recomputes the portfolio rollup from loan_accounts and repairs any drift.
+     * Runs at 02:30:00 AM IST by default, well clear of the 23:59 interest jobs.
+     *
+     * Cron expression: "0 30 2 * * *" (overridable through app.portfolio.verifyCron)
+     * Time zone: Asia/Kolkata (IST)
+     */
+    @Scheduled(cron = "${app.portfolio.verifyCron:0 30 2 * * *}", zone = "Asia/Kolkata")
+    public void runPortfolioSummaryVerification() {
+        log.info("Starting scheduled portfolio summary verification");
+
+        try {
+            PortfolioSummaryService.ReconciliationResult result = portfolioSummaryService.verify();
+            if (result.isDriftDetected()) {
+                log.warn("Portfolio summary drift detected in bands {} (repaired: {})", result.getDriftedBands(), result.isRepaired());
+            } else {
+                log.info("Portfolio summary verified with no drift");
+            }
+        } catch (Exception e) {
+            log.error("Error during scheduled portfolio summary verification", e);
+        }
+    }
+
+    /**
+     * Nightly job that moves accounts closed longer than app.archive.retentionDays into loan_accounts_archive.
+     * Runs at 03:00:00 AM IST by default, after the portfolio verification.
+     *
+     * Cron expression: "0 0 3 * * *" (overridable through app.archive.cron)
+     * Time zone: Asia/Kolkata (IST)
+     */
+    @Scheduled(cron = "${app.archive.cron:0 0 3 * * *}", zone = "Asia/Kolkata")
+    public void runClosedAccountArchival() {
+        log.info("Starting scheduled archival of closed accounts");
+
+        try {
+            AccountLifecycleService.ArchiveResult result = accountLifecycleService.archiveClosedAccounts();
+            log.info("Successfully archived {} closed accounts", result.getAccountsArchived());
+        } catch (Exception e) {
+            log.error("Error during scheduled archival of closed accounts", e);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.assessment.interest_calculator.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint for the continuous flight recording:
+ * GET /actuator/jfr shows its state, POST /actuator/jfr dumps it to a file on the server.
+ *
+ * Off unless opted in: management.endpoint.jfr.access=read-only allows the status only, unrestricted allows dumps
+ * too, and the endpoint must also be listed in management.endpoints.web.exposure.include. The application has no
+ * authentication of its own, so expose it only on a management port that is not reachable from outside
+ * (management.server.port) or behind a proxy that authenticates. Dumps are capped by app.jfr.maxDumps.
+ */
+@Endpoint(id = "jfr", defaultAccess = Access.NONE)
+public class JfrEndpoint {
+    private final ContinuousRecording recording;
+
+    public JfrEndpoint(ContinuousRecording recording) {
+        this.recording = recording;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class RecordingStatus {
+        private String state;
+        private Instant startTime;
+        private Duration maxAge;
+        private long maxSizeBytes;
+        private String dumpDirectory;
+        private int maxDumps;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class DumpResult {
+        private String file;
+        private long sizeBytes;
+    }
+
+    @ReadOperation
+    public RecordingStatus status() {
+        return RecordingStatus.builder()
+                .state(recording.isEnabled() ? recording.getState().name() : "DISABLED")
+                .startTime(recording.getStartTime())
+                .maxAge(recording.getMaxAge())
+                .maxSizeBytes(recording.getMaxSize())
+                .dumpDirectory(recording.getDumpDirectory().toString())
+                .maxDumps(recording.getMaxDumps())
+                .build();
+    }
+
+    @WriteOperation
+    public DumpResult dump() throws IOException {
+        Path file = recording.dump();
+        return DumpResult.builder()
+                .file(file.toString())
+                .sizeBytes(Files.size(file))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.assessment.interest_calculator.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the replica for its replication lag and decides whether read-only transactions may use it.
+ * The replica is only used after a successful check, and is dropped as soon as a check fails or
+ * reports more lag than app.datasource.replica.maxLagSeconds.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    /**
+     * Default lag query (app.datasource.replica.lagQuery overrides it, e.g. for non-PostgreSQL test replicas).
+     * Seconds since the last replayed transaction, or 0 when the replica has replayed everything it received
+     * (an idle primary would otherwise look like a lagging replica).
+     */
+    public static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaUsable;
+    private volatile double lastLagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lastLagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLastLagSeconds() {
+        return lastLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lagCheckMs:5000}")
+    public void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            lastLagSeconds = rs.next() ? rs.getDouble(1) : Double.NaN;
+            usable = lastLagSeconds <= maxLagSeconds;
+        } catch (Exception e) {
+            log.warn("Replica lag check failed: {}", e.getMessage());
+            lastLagSeconds = Double.NaN;
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica lag {}s is within {}s, routing read-only transactions to the replica", lastLagSeconds, maxLagSeconds);
+            } else {
+                log.warn("Replica unavailable or lagging (lag {}s, limit {}s), routing reads to the primary", lastLagSeconds, maxLagSeconds);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,27 @@
+package com.assessment.interest_calculator.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Fails startup when app.datasource.replica.url is set but the read/write split is not wired in.
+ *
+ * {@link DataSourceRoutingConfig} is conditional on that property. A plain build evaluates the condition at startup,
+ * so this check always passes. The startup build (Spring AOT, see pom.xml) evaluates it once at build time: an image
+ * built without the property would otherwise start without the routing beans and silently send every read to the
+ * primary. The opposite mismatch, built with the property and started without it, is caught by DataSourceRoutingConfig.
+ */
+@Component
+public class ReplicaRoutingCheck {
+    static final String REPLICA_URL = "app.datasource.replica.url";
+
+    public ReplicaRoutingCheck(Environment environment, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        if (StringUtils.hasText(environment.getProperty(REPLICA_URL)) && replicaLagMonitor.getIfAvailable() == null) {
+            throw new IllegalStateException(REPLICA_URL + " is set, but this build was AOT-processed without it, so reads "
+                    + "would not be routed to the replica. Rebuild with -Dspring-boot.aot.jvmArguments=-D" + REPLICA_URL
+                    + "=<any value> (see the Dockerfile), or unset it.");
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.assessment.interest_calculator.controller;
 
 import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,9 +24,30 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.assessment.interest_calculator.dto.AccountResponse;
+import com.assessment.interest_calculator.dto.AccountSearchResponse;
+import com.assessment.interest_calculator.dto.BalanceProjectionResponse;
+import com.assessment.interest_calculator.dto.BatchGetAccountsRequest;
+import com.assessment.interest_calculator.dto.BatchGetAccountsResponse;
 import com.assessment.interest_calculator.dto.CreateAccountRequest;
+import com.assessment.interest_calculator.dto.CreateRepaymentRequest;
+import com.assessment.interest_calculator.dto.PostingResponse;
+import com.assessment.interest_calculator.dto.RaiseOverdueRequest;
+import com.assessment.interest_calculator.dto.UpdateAccountStatusRequest;
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.ArchivedLoanAccount;
 import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.LoanProduct;
 import com.assessment.interest_calculator.repository.LoanAccountRepository;
+import com.assessment.interest_calculator.service.AccountLifecycleService;
+import com.assessment.interest_calculator.service.AccountQueryService;
+import com.assessment.interest_calculator.service.AccountSearchService;
+import com.assessment.interest_calculator.service.InterestService;
+import com.assessment.interest_calculator.service.PortfolioDelta;
+import com.assessment.interest_calculator.service.PortfolioSummaryService;
+import com.assessment.interest_calculator.service.PostingService;
+import com.assessment.interest_calculator.service.ProductService;
+import com.assessment.interest_calculator.service.ProjectionService;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -30,37 +57,74 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AccountController {
     private final LoanAccountRepository loanAccountRepository;
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final ProjectionService projectionService;
+    private final AccountLifecycleService accountLifecycleService;
+    private final PostingService postingService;
+    private final ProductService productService;
+    private final AccountQueryService accountQueryService;
+    private final AccountSearchService accountSearchService;
+    private final int batchGetMaxIds; // Most ids one batch-get request may ask for
 
-    public AccountController(LoanAccountRepository loanAccountRepository) {
+    public AccountController(LoanAccountRepository loanAccountRepository, PortfolioSummaryService portfolioSummaryService,
+            ProjectionService projectionService, AccountLifecycleService accountLifecycleService, PostingService postingService,
+            ProductService productService, AccountQueryService accountQueryService, AccountSearchService accountSearchService,
+            @Value("${app.accounts.batchGet.maxIds:1000}") int batchGetMaxIds) {
         this.loanAccountRepository = loanAccountRepository;
+        this.portfolioSummaryService = portfolioSummaryService;
+        this.projectionService = projectionService;
+        this.accountLifecycleService = accountLifecycleService;
+        this.postingService = postingService;
+        this.productService = productService;
+        this.accountQueryService = accountQueryService;
+        this.accountSearchService = accountSearchService;
+        this.batchGetMaxIds = batchGetMaxIds;
     }
 
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody CreateAccountRequest request) {
         log.info("Creating new loan account for: {}", request.getAccountHolderName());
 
+        // The zone decides which accrual bucket the account falls in, so it is fixed when the account is opened
+        String timeZone = request.getTimeZone();
+        if (timeZone == null && request.getProductCode() != null) {
+            timeZone = productService.findByCode(request.getProductCode()).map(LoanProduct::getTimeZone).orElse(null);
+        }
+        if (timeZone != null) {
+            try {
+                timeZone = ZoneId.of(timeZone).getId();
+            } catch (DateTimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
         LoanAccount account = LoanAccount.builder()
                 .accountHolderName(request.getAccountHolderName())
+                .productCode(request.getProductCode())
+                .dayCountConvention(request.getDayCountConvention())
+                .timeZone(timeZone)
                 .principalAmount(request.getPrincipalAmount())
                 .interestRate(request.getInterestRate())
                 .interestAmount(BigDecimal.ZERO)
                 .dateOfDisbursal(request.getDateOfDisbursal())
+                .penalRate(request.getPenalRate())
                 .build();
 
         LoanAccount savedAccount = loanAccountRepository.save(account);
         log.info("Created loan account with ID: {}", savedAccount.getId());
+        portfolioSummaryService.apply(PortfolioDelta.ofNewAccount(savedAccount));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(toAccountResponse(savedAccount));
     }
 
+    // Reads go through AccountQueryService, whose read-only transactions are served by the read replica when one is configured
     @GetMapping
     public ResponseEntity<List<AccountResponse>> getAllAccounts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         log.info("Fetching all accounts - page: {}, size: {}", page, size);
 
-        Page<LoanAccount> accountsPage = loanAccountRepository.findAll(
-                PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+        Page<LoanAccount> accountsPage = accountQueryService.findPage(page, size);
 
         List<AccountResponse> accounts = accountsPage.getContent().stream()
                 .map(this::toAccountResponse)
@@ -69,12 +133,139 @@ public class AccountController {
         return ResponseEntity.ok(accounts);
     }
 
+    /**
+     * Search live accounts by holder-name prefix, interest rate range, disbursal window and status, one page at a
+     * time after a keyset cursor. Searches without a filter an index can answer are rejected (see AccountSearchService).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<AccountSearchResponse> searchAccounts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minRate,
+            @RequestParam(required = false) BigDecimal maxRate,
+            @RequestParam(required = false) LocalDate disbursedFrom,
+            @RequestParam(required = false) LocalDate disbursedTo,
+            @RequestParam(required = false) AccountStatus status,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(required = false) BigDecimal afterRate,
+            @RequestParam(required = false) LocalDate afterDisbursal,
+            @RequestParam(defaultValue = "20") int size) {
+        AccountSearchService.SearchResult result = accountSearchService.search(AccountSearchService.SearchCriteria.builder()
+                .namePrefix(name)
+                .minRate(minRate)
+                .maxRate(maxRate)
+                .disbursedFrom(disbursedFrom)
+                .disbursedTo(disbursedTo)
+                .status(status)
+                .afterId(afterId)
+                .afterRate(afterRate)
+                .afterDisbursal(afterDisbursal)
+                .size(size)
+                .build());
+        if (result.getOutcome() != AccountSearchService.SearchOutcome.FOUND) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(AccountSearchResponse.builder()
+                .accounts(result.getAccounts().stream().map(this::toAccountResponse).collect(Collectors.toList()))
+                .nextAfterId(result.getNextAfterId())
+                .nextAfterRate(result.getNextAfterRate())
+                .nextAfterDisbursal(result.getNextAfterDisbursal())
+                .build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AccountResponse> getAccountById(@PathVariable Long id) {
         log.info("Fetching account with ID: {}", id);
 
-        return loanAccountRepository.findById(id)
-                .map(account -> ResponseEntity.ok(toAccountResponse(account)))
+        return accountQueryService.findById(id)
+                .map(this::toAccountResponse)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Look up many accounts in one request: one query for the live accounts, and one against the archive only if
+     * some ids were not found there. Accounts come back in request order; ids with no account are listed as missing.
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetAccountsResponse> batchGetAccounts(@Valid @RequestBody BatchGetAccountsRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.getIds());
+        if (ids.size() > batchGetMaxIds) {
+            log.info("Rejected batch-get of {} accounts, the limit is {}", ids.size(), batchGetMaxIds);
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("Fetching {} accounts by id", ids.size());
+
+        AccountQueryService.BatchGetResult result = accountQueryService.findAllById(ids);
+        return ResponseEntity.ok(BatchGetAccountsResponse.builder()
+                .accounts(result.getAccounts().stream().map(this::toAccountResponse).collect(Collectors.toList()))
+                .missingIds(result.getMissingIds())
+                .build());
+    }
+
+    @PostMapping("/{id}/status")
+    public ResponseEntity<AccountResponse> changeStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateAccountStatusRequest request) {
+        log.info("Changing status of account {} to {}", id, request.getStatus());
+
+        AccountLifecycleService.StatusChangeResult result = accountLifecycleService.changeStatus(id, request.getStatus());
+        return switch (result.getOutcome()) {
+            case UPDATED -> ResponseEntity.ok(toAccountResponse(result.getAccount()));
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+            case INVALID_TRANSITION, POSTINGS_PENDING -> ResponseEntity.status(HttpStatus.CONFLICT).build();
+        };
+    }
+
+    /**
+     * Record a repayment. The posting is appended and folded into the balance by the next daily accrual run,
+     * so the account row is not written here and the request never conflicts with the batch.
+     */
+    @PostMapping("/{id}/repayments")
+    public ResponseEntity<PostingResponse> postRepayment(
+            @PathVariable Long id,
+            @Valid @RequestBody CreateRepaymentRequest request) {
+        log.debug("Posting repayment of {} to account {}", request.getAmount(), id);
+
+        return postingService.postRepayment(id, request.getAmount(), request.getValueDate())
+                .map(posting -> ResponseEntity.status(HttpStatus.ACCEPTED).body(toPostingResponse(posting)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Record an amount falling into default, e.g. a missed installment. Like repayments, it is folded by the next
+     * daily accrual run, from which point penal charges accrue on it.
+     */
+    @PostMapping("/{id}/overdue")
+    public ResponseEntity<PostingResponse> postOverdue(
+            @PathVariable Long id,
+            @Valid @RequestBody RaiseOverdueRequest request) {
+        log.info("Raising overdue amount {} on account {}", request.getAmount(), id);
+
+        return postingService.postOverdue(id, request.getAmount(), request.getValueDate())
+                .map(posting -> ResponseEntity.status(HttpStatus.ACCEPTED).body(toPostingResponse(posting)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/repayments")
+    public ResponseEntity<List<PostingResponse>> getRepayments(@PathVariable Long id) {
+        return ResponseEntity.ok(postingService.findForAccount(id).stream()
+                .map(this::toPostingResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/{id}/projection")
+    public ResponseEntity<BalanceProjectionResponse> getProjection(
+            @PathVariable Long id,
+            @RequestParam LocalDate until) {
+        log.info("Projecting balance of account {} until {}", id, until);
+
+        if (!projectionService.isValidHorizon(until)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return projectionService.projectAccount(id, until)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -82,14 +273,92 @@ public class AccountController {
         return AccountResponse.builder()
                 .id(account.getId())
                 .accountHolderName(account.getAccountHolderName())
+                .productCode(account.getProductCode())
+                .dayCountConvention(account.getDayCountConvention())
+                .timeZone(account.getTimeZone())
+                .status(account.getStatus())
+                .closedAt(account.getClosedAt())
+                .principalAmount(account.getPrincipalAmount())
+                .interestRate(account.getInterestRate())
+                .interestAmount(account.getInterestAmount())
+                .penaltyAmount(account.getPenaltyAmount())
+                .overdueAmount(account.getOverdueAmount())
+                .penalRate(account.getPenalRate())
+                .totalDue(totalDue(account.getPrincipalAmount(), account.getInterestAmount(), account.getPenaltyAmount()))
+                .dateOfDisbursal(account.getDateOfDisbursal())
+                .lastInterestAppliedAt(account.getLastInterestAppliedAt())
+                .accrualAnchorDate(account.getAccrualAnchorDate())
+                .version(account.getVersion())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Response for an account read through AccountQueryService, with the accrual since the anchor date of a lazily
+     * accrued account added in, so that the amounts read the same as with eager accrual.
+     */
+    private AccountResponse toAccountResponse(AccountQueryService.AccountView view) {
+        if (view.getArchived() != null) {
+            return toAccountResponse(view.getArchived());
+        }
+        LoanAccount account = view.getAccount();
+        AccountResponse response = toAccountResponse(account);
+        InterestService.LazyAccrual accrued = view.getAccrued();
+        if (accrued != null && accrued != InterestService.LazyAccrual.NONE) {
+            response.setInterestAmount(account.getInterestAmount().add(accrued.interest()));
+            response.setPenaltyAmount(account.getPenaltyAmount().add(accrued.penalty()));
+            response.setTotalDue(totalDue(account.getPrincipalAmount(), response.getInterestAmount(), response.getPenaltyAmount()));
+        }
+        return response;
+    }
+
+    private AccountResponse toAccountResponse(ArchivedLoanAccount account) {
+        return AccountResponse.builder()
+                .id(account.getId())
+                .accountHolderName(account.getAccountHolderName())
+                .productCode(account.getProductCode())
+                .dayCountConvention(account.getDayCountConvention())
+                .timeZone(account.getTimeZone())
+                .status(account.getStatus())
+                .closedAt(account.getClosedAt())
                 .principalAmount(account.getPrincipalAmount())
                 .interestRate(account.getInterestRate())
                 .interestAmount(account.getInterestAmount())
+                .penaltyAmount(account.getPenaltyAmount())
+                .overdueAmount(account.getOverdueAmount())
+                .penalRate(account.getPenalRate())
+                .totalDue(totalDue(account.getPrincipalAmount(), account.getInterestAmount(), account.getPenaltyAmount()))
                 .dateOfDisbursal(account.getDateOfDisbursal())
                 .lastInterestAppliedAt(account.getLastInterestAppliedAt())
+                .accrualAnchorDate(account.getAccrualAnchorDate())
                 .version(account.getVersion())
                 .createdAt(account.getCreatedAt())
                 .updatedAt(account.getUpdatedAt())
+                .archivedAt(account.getArchivedAt())
+                .build();
+    }
+
+    private static BigDecimal totalDue(BigDecimal principal, BigDecimal interest, BigDecimal penalty) {
+        return Stream.of(principal, interest, penalty)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private PostingResponse toPostingResponse(AccountPosting posting) {
+        return PostingResponse.builder()
+                .id(posting.getId())
+                .accountId(posting.getAccountId())
+                .type(posting.getType())
+                .amount(posting.getAmount())
+                .valueDate(posting.getValueDate())
+                .pending(posting.getAppliedAt() == null)
+                .createdAt(posting.getCreatedAt())
+                .appliedAt(posting.getAppliedAt())
+                .appliedToPenalty(posting.getAppliedToPenalty())
+                .appliedToInterest(posting.getAppliedToInterest())
+                .appliedToPrincipal(posting.getAppliedToPrincipal())
+                .excessAmount(posting.getExcessAmount())
                 .build();
     }
 }
@@ -1,6 +1,8 @@
 package com.assessment.interest_calculator.controller;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.ZoneId;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -22,10 +24,24 @@ public class InterestController {
         this.interestService = interestService;
     }
 
+    /**
+     * Accrue the whole book for the date, or only the zone bucket named by {@code zone}.
+     */
     @PostMapping("/apply-daily")
     public ResponseEntity<InterestService.InterestApplicationResult> applyDailyInterest(
-            @RequestParam(required = false) LocalDate date) {
+            @RequestParam(required = false) LocalDate date,
+            @RequestParam(required = false) String zone) {
         LocalDate targetDate = date != null ? date : LocalDate.now();
+        if (zone != null) {
+            ZoneId bucket;
+            try {
+                bucket = ZoneId.of(zone);
+            } catch (DateTimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            log.info("Manually triggering daily interest application for date: {} in zone bucket {}", targetDate, bucket);
+            return ResponseEntity.ok(interestService.applyDailyInterest(targetDate, bucket));
+        }
         log.info("Manually triggering daily interest application for date: {}", targetDate);
 
         InterestService.InterestApplicationResult result = interestService.applyDailyInterest(targetDate);
@@ -33,10 +49,24 @@ public class InterestController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Capitalize the whole book for the date, or only the zone bucket named by {@code zone}.
+     */
     @PostMapping("/apply-month-end")
     public ResponseEntity<InterestService.InterestApplicationResult> applyMonthEndInterest(
-            @RequestParam(required = false) LocalDate date) {
+            @RequestParam(required = false) LocalDate date,
+            @RequestParam(required = false) String zone) {
         LocalDate targetDate = date != null ? date : LocalDate.now();
+        if (zone != null) {
+            ZoneId bucket;
+            try {
+                bucket = ZoneId.of(zone);
+            } catch (DateTimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            log.info("Manually triggering month-end interest application for date: {} in zone bucket {}", targetDate, bucket);
+            return ResponseEntity.ok(interestService.applyMonthEndInterest(targetDate, bucket));
+        }
         log.info("Manually triggering month-end interest application for date: {}", targetDate);
 
         InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(targetDate);
@@ -0,0 +1,51 @@
+package com.assessment.interest_calculator.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assessment.interest_calculator.dto.PortfolioSummaryResponse;
+import com.assessment.interest_calculator.service.PortfolioSummaryService;
+import com.assessment.interest_calculator.service.ProjectionService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/portfolio")
+@Slf4j
+public class PortfolioController {
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final ProjectionService projectionService;
+
+    public PortfolioController(PortfolioSummaryService portfolioSummaryService, ProjectionService projectionService) {
+        this.portfolioSummaryService = portfolioSummaryService;
+        this.projectionService = projectionService;
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<PortfolioSummaryResponse> getSummary() {
+        return ResponseEntity.ok(portfolioSummaryService.getSummary());
+    }
+
+    @PostMapping("/summary/verify")
+    public ResponseEntity<PortfolioSummaryService.ReconciliationResult> verifySummary() {
+        log.info("Manually triggering portfolio summary verification");
+        return ResponseEntity.ok(portfolioSummaryService.verify());
+    }
+
+    @PostMapping("/projection")
+    public ResponseEntity<ProjectionService.PortfolioProjectionResult> projectPortfolio(@RequestParam LocalDate until) {
+        log.info("Manually triggering portfolio projection until {}", until);
+
+        if (!projectionService.isValidHorizon(until)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(projectionService.projectPortfolio(until));
+    }
+}
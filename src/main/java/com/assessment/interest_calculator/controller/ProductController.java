@@ -0,0 +1,74 @@
+package com.assessment.interest_calculator.controller;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assessment.interest_calculator.dto.CreateProductRequest;
+import com.assessment.interest_calculator.dto.ProductResponse;
+import com.assessment.interest_calculator.entity.LoanProduct;
+import com.assessment.interest_calculator.service.ProductService;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/products")
+@Slf4j
+public class ProductController {
+    private final ProductService productService;
+
+    public ProductController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody CreateProductRequest request) {
+        log.info("Creating loan product: {}", request.getCode());
+        if (request.getTimeZone() != null) {
+            try {
+                request.setTimeZone(ZoneId.of(request.getTimeZone()).getId());
+            } catch (DateTimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        return productService.create(request)
+                .map(product -> ResponseEntity.status(HttpStatus.CREATED).body(toProductResponse(product)))
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ProductResponse>> getAllProducts() {
+        return ResponseEntity.ok(productService.findAll().stream()
+                .map(this::toProductResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @GetMapping("/{code}")
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable String code) {
+        return productService.findByCode(code)
+                .map(product -> ResponseEntity.ok(toProductResponse(product)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ProductResponse toProductResponse(LoanProduct product) {
+        return ProductResponse.builder()
+                .code(product.getCode())
+                .name(product.getName())
+                .dayCountConvention(product.getDayCountConvention())
+                .timeZone(product.getTimeZone())
+                .createdAt(product.getCreatedAt())
+                .build();
+    }
+}
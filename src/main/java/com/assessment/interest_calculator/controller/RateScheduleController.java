@@ -0,0 +1,68 @@
+package com.assessment.interest_calculator.controller;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assessment.interest_calculator.dto.CreateRateScheduleRequest;
+import com.assessment.interest_calculator.dto.RateScheduleResponse;
+import com.assessment.interest_calculator.entity.RateSchedule;
+import com.assessment.interest_calculator.service.RateScheduleService;
+
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/rate-schedules")
+@Slf4j
+public class RateScheduleController {
+    private final RateScheduleService rateScheduleService;
+
+    public RateScheduleController(RateScheduleService rateScheduleService) {
+        this.rateScheduleService = rateScheduleService;
+    }
+
+    @PostMapping
+    public ResponseEntity<RateScheduleResponse> addEntry(@Valid @RequestBody CreateRateScheduleRequest request) {
+        log.info("Adding rate schedule entry for product={}, account={} effective {}",
+                request.getProductCode(), request.getAccountId(), request.getEffectiveFrom());
+
+        RateSchedule saved = rateScheduleService.addEntry(request);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(saved));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<RateScheduleResponse>> getSchedule(
+            @RequestParam(required = false) String productCode,
+            @RequestParam(required = false) Long accountId) {
+        if ((productCode == null) == (accountId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<RateSchedule> entries = productCode != null
+                ? rateScheduleService.findForProduct(productCode)
+                : rateScheduleService.findForAccount(accountId);
+
+        return ResponseEntity.ok(entries.stream().map(this::toResponse).collect(Collectors.toList()));
+    }
+
+    private RateScheduleResponse toResponse(RateSchedule schedule) {
+        return RateScheduleResponse.builder()
+                .id(schedule.getId())
+                .productCode(schedule.getProductCode())
+                .accountId(schedule.getAccountId())
+                .effectiveFrom(schedule.getEffectiveFrom())
+                .interestRate(schedule.getInterestRate())
+                .createdAt(schedule.getCreatedAt())
+                .build();
+    }
+}
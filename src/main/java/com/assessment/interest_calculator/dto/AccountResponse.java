@@ -4,6 +4,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.DayCountConvention;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,12 +19,23 @@ import lombok.NoArgsConstructor;
 public class AccountResponse {
     private Long id;
     private String accountHolderName;
+    private String productCode;
+    private DayCountConvention dayCountConvention;
+    private String timeZone;
+    private AccountStatus status;
+    private OffsetDateTime closedAt;
     private BigDecimal interestRate;
     private BigDecimal interestAmount;
     private BigDecimal principalAmount;
+    private BigDecimal penaltyAmount;
+    private BigDecimal overdueAmount;
+    private BigDecimal penalRate;
+    private BigDecimal totalDue; // principal + accrued interest + penal charges
     private LocalDate dateOfDisbursal;
     private OffsetDateTime lastInterestAppliedAt;
+    private LocalDate accrualAnchorDate; // Set for lazily accrued accounts; amounts then include accrual up to yesterday
     private Long version;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    private OffsetDateTime archivedAt; // Set only for accounts served from loan_accounts_archive
 }
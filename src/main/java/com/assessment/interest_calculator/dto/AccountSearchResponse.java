@@ -0,0 +1,21 @@
+package com.assessment.interest_calculator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountSearchResponse {
+    private List<AccountResponse> accounts; // In id order, or by rate or disbursal date for a search driven by that range
+    private Long nextAfterId; // Pass as afterId for the next page; null on the last page
+    private BigDecimal nextAfterRate; // Pass as afterRate for the next page of a search ordered by rate
+    private LocalDate nextAfterDisbursal; // Pass as afterDisbursal for the next page of a search ordered by disbursal date
+}
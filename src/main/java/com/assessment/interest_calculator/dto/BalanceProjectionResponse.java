@@ -0,0 +1,47 @@
+package com.assessment.interest_calculator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceProjectionResponse {
+    private Long accountId;
+    private LocalDate asOf;
+    private LocalDate until;
+    private BigDecimal currentPrincipal;
+    private BigDecimal currentInterestAmount;
+    private BigDecimal projectedPrincipal;
+    private BigDecimal projectedInterestAmount;
+    private BigDecimal projectedTotalDue;
+    private BigDecimal interestAccruedOverPeriod;
+    private List<ProjectionPeriod> periods;
+
+    /**
+     * One step of the projection: a run of consecutive accrual days within a single calendar month
+     * that share the same rate.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ProjectionPeriod {
+        private LocalDate from;
+        private LocalDate to;
+        private int days;
+        private BigDecimal interestRate;
+        private BigDecimal dailyInterest; // Null when the period mixes day-count fractions (e.g. 30/360 month-ends)
+        private BigDecimal interestAccrued;
+        private boolean capitalized;
+        private BigDecimal principalAfter;
+        private BigDecimal interestAmountAfter;
+    }
+}
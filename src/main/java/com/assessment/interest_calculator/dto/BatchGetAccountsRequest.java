@@ -0,0 +1,22 @@
+package com.assessment.interest_calculator.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetAccountsRequest {
+    /**
+     * Account ids to look up, at most app.accounts.batchGet.maxIds. Duplicates are answered once.
+     */
+    @NotEmpty(message = "Ids must not be empty")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+}
@@ -0,0 +1,17 @@
+package com.assessment.interest_calculator.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchGetAccountsResponse {
+    private List<AccountResponse> accounts; // In request order, live and archived accounts alike
+    private List<Long> missingIds; // Requested ids with no account, in request order
+}
@@ -4,6 +4,8 @@ import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import com.assessment.interest_calculator.entity.DayCountConvention;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,4 +30,22 @@ public class CreateAccountRequest {
 
     @NotNull(message = "Date of disbursal must not be null")
     private LocalDate dateOfDisbursal;
+
+    @Size(max = 64, message = "Product code must be at most 64 characters")
+    private String productCode;
+
+    private DayCountConvention dayCountConvention;
+
+    /**
+     * IANA time zone of the account's business day; defaults to the product's, then app.interest.zone.
+     */
+    @Size(max = 64, message = "Time zone must be at most 64 characters")
+    private String timeZone;
+
+    /**
+     * Annual penal rate on overdue amounts; defaults to app.penalty.defaultRate.
+     */
+    @DecimalMin(value = "0.0", inclusive = true, message = "Penal rate must be >= 0")
+    @DecimalMax(value = "100.0", message = "Penal rate must be <= 100")
+    private BigDecimal penalRate;
 }
@@ -0,0 +1,31 @@
+package com.assessment.interest_calculator.dto;
+
+import jakarta.validation.constraints.*;
+
+import com.assessment.interest_calculator.entity.DayCountConvention;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateProductRequest {
+    @NotBlank(message = "Product code must not be blank")
+    @Size(max = 64, message = "Product code must be at most 64 characters")
+    private String code;
+
+    @NotBlank(message = "Product name must not be blank")
+    private String name;
+
+    private DayCountConvention dayCountConvention;
+
+    /**
+     * IANA time zone given to accounts opened under the product; defaults to app.interest.zone.
+     */
+    @Size(max = 64, message = "Time zone must be at most 64 characters")
+    private String timeZone;
+}
@@ -0,0 +1,34 @@
+package com.assessment.interest_calculator.dto;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateRateScheduleRequest {
+    @Size(max = 64, message = "Product code must be at most 64 characters")
+    private String productCode;
+
+    private Long accountId;
+
+    @NotNull(message = "Effective date must not be null")
+    private LocalDate effectiveFrom;
+
+    @NotNull(message = "Interest rate must not be null")
+    @DecimalMin(value = "0.0", inclusive = true, message = "Interest rate must be >= 0")
+    @DecimalMax(value = "100.0", message = "Interest rate must be <= 100")
+    private BigDecimal interestRate;
+
+    @AssertTrue(message = "Exactly one of productCode and accountId must be set")
+    private boolean isSingleTarget() {
+        return (productCode == null || productCode.isBlank()) != (accountId == null);
+    }
+}
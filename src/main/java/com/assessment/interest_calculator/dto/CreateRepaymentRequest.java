@@ -0,0 +1,26 @@
+package com.assessment.interest_calculator.dto;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateRepaymentRequest {
+    @NotNull(message = "Amount must not be null")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Digits(integer = 12, fraction = 6, message = "Amount must have at most 12 integer and 6 fraction digits")
+    private BigDecimal amount;
+
+    /**
+     * Business date the repayment takes effect; defaults to today.
+     */
+    private LocalDate valueDate;
+}
@@ -0,0 +1,35 @@
+package com.assessment.interest_calculator.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioSummaryResponse {
+    private long totalAccounts;
+    private BigDecimal totalOutstandingPrincipal;
+    private BigDecimal totalAccruedInterest;
+    private List<RateBandSummary> rateBands;
+    private OffsetDateTime lastUpdatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RateBandSummary {
+        private String rateBand;
+        private BigDecimal minRate;
+        private BigDecimal maxRate; // exclusive, null for the open-ended top band
+        private long accountCount;
+        private BigDecimal totalPrincipal;
+        private BigDecimal totalInterest;
+    }
+}
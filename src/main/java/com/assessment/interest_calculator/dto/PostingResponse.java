@@ -0,0 +1,31 @@
+package com.assessment.interest_calculator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import com.assessment.interest_calculator.entity.PostingType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostingResponse {
+    private Long id;
+    private Long accountId;
+    private PostingType type;
+    private BigDecimal amount;
+    private LocalDate valueDate;
+    private boolean pending;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime appliedAt;
+    private BigDecimal appliedToPenalty;
+    private BigDecimal appliedToInterest;
+    private BigDecimal appliedToPrincipal;
+    private BigDecimal excessAmount;
+}
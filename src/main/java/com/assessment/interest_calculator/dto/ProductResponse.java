@@ -0,0 +1,22 @@
+package com.assessment.interest_calculator.dto;
+
+import java.time.OffsetDateTime;
+
+import com.assessment.interest_calculator.entity.DayCountConvention;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductResponse {
+    private String code;
+    private String name;
+    private DayCountConvention dayCountConvention;
+    private String timeZone;
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,23 @@
+package com.assessment.interest_calculator.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateScheduleResponse {
+    private Long id;
+    private String productCode;
+    private Long accountId;
+    private LocalDate effectiveFrom;
+    private BigDecimal interestRate;
+    private OffsetDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.assessment.interest_calculator.dto;
+
+import jakarta.validation.constraints.*;
+
+import com.assessment.interest_calculator.entity.AccountStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateAccountStatusRequest {
+    @NotNull(message = "Status must not be null")
+    private AccountStatus status;
+}
@@ -0,0 +1,81 @@
+package com.assessment.interest_calculator.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A balance movement against a loan account, appended by the API and folded into the account balance
+ * by the daily accrual job. API writers only ever insert here, so they never contend with the job
+ * for the loan_accounts row or its version.
+ */
+@Entity
+@Table(name = "account_postings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountPosting {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    private PostingType type;
+
+    @Column(name = "amount", nullable = false, precision = 18, scale = 6)
+    private BigDecimal amount;
+
+    /**
+     * Business date the posting takes effect. It is folded by the first accrual run for this date or later.
+     */
+    @Column(name = "value_date", nullable = false)
+    private LocalDate valueDate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    /**
+     * When the posting was folded into the account balance; null while pending.
+     */
+    @Column(name = "applied_at")
+    private OffsetDateTime appliedAt;
+
+    @Column(name = "applied_to_penalty", precision = 18, scale = 6)
+    private BigDecimal appliedToPenalty;
+
+    @Column(name = "applied_to_interest", precision = 18, scale = 6)
+    private BigDecimal appliedToInterest;
+
+    @Column(name = "applied_to_principal", precision = 18, scale = 6)
+    private BigDecimal appliedToPrincipal;
+
+    /**
+     * Part of a repayment left over once interest and principal were fully paid.
+     */
+    @Column(name = "excess_amount", precision = 18, scale = 6)
+    private BigDecimal excessAmount;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+    }
+}
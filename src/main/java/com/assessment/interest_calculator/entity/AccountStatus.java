@@ -0,0 +1,16 @@
+package com.assessment.interest_calculator.entity;
+
+/**
+ * Lifecycle of a loan account.
+ * Only ACTIVE accounts accrue interest, are capitalized at month-end and count towards the portfolio rollup.
+ * CLOSED and WRITTEN_OFF are terminal; such accounts are moved to loan_accounts_archive by the archiver.
+ */
+public enum AccountStatus {
+    ACTIVE,
+    CLOSED,
+    WRITTEN_OFF;
+
+    public boolean isTerminal() {
+        return this != ACTIVE;
+    }
+}
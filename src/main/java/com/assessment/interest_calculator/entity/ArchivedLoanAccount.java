@@ -0,0 +1,93 @@
+package com.assessment.interest_calculator.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A closed or written-off loan account moved out of loan_accounts by the archiver.
+ * Rows are written only by the archive statement in {@code LoanAccountRepository}, so the entity is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "loan_accounts_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedLoanAccount {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String accountHolderName;
+
+    @Column(name = "product_code", length = 64)
+    private String productCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_count_convention", length = 16)
+    private DayCountConvention dayCountConvention;
+
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private AccountStatus status;
+
+    @Column(name = "closed_at")
+    private OffsetDateTime closedAt;
+
+    @Column(name = "interest_rate", nullable = false, precision = 9, scale = 6)
+    private BigDecimal interestRate;
+
+    @Column(name = "interest_amount", nullable = false, precision = 18, scale = 6)
+    private BigDecimal interestAmount;
+
+    @Column(name = "principal_amount", nullable = false, precision = 18, scale = 6)
+    private BigDecimal principalAmount;
+
+    @Column(name = "penalty_amount", nullable = false, precision = 18, scale = 6)
+    private BigDecimal penaltyAmount;
+
+    @Column(name = "overdue_amount", nullable = false, precision = 18, scale = 6)
+    private BigDecimal overdueAmount;
+
+    @Column(name = "penal_rate", precision = 9, scale = 6)
+    private BigDecimal penalRate;
+
+    @Column(name = "date_of_disbursal", nullable = false)
+    private LocalDate dateOfDisbursal;
+
+    @Column(name = "last_interest_applied_at")
+    private OffsetDateTime lastInterestAppliedAt;
+
+    @Column(name = "accrual_anchor_date")
+    private LocalDate accrualAnchorDate;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private OffsetDateTime archivedAt;
+}
@@ -0,0 +1,81 @@
+package com.assessment.interest_calculator.entity;
+
+import java.time.LocalDate;
+
+/**
+ * Day-count conventions for daily accrual. Each convention answers, for one accrual day,
+ * how many days of interest that day earns and over what year basis: the day's year fraction
+ * is accrualDays / yearBasis.
+ */
+public enum DayCountConvention {
+    /** Actual days over a fixed 365-day year. */
+    ACT_365_FIXED {
+        @Override
+        public int accrualDays(LocalDate date) {
+            return 1;
+        }
+
+        @Override
+        public int yearBasis(LocalDate date) {
+            return 365;
+        }
+    },
+    /** Actual days over a 360-day year. */
+    ACT_360 {
+        @Override
+        public int accrualDays(LocalDate date) {
+            return 1;
+        }
+
+        @Override
+        public int yearBasis(LocalDate date) {
+            return 360;
+        }
+    },
+    /** Actual days over the actual length of the calendar year the day falls in (ISDA). */
+    ACT_ACT {
+        @Override
+        public int accrualDays(LocalDate date) {
+            return 1;
+        }
+
+        @Override
+        public int yearBasis(LocalDate date) {
+            return date.lengthOfYear();
+        }
+    },
+    /**
+     * 30/360 (US bond basis). Every month counts as 30 days, so the day after the 30th earns nothing
+     * and the last day of February earns the missing days. Each calendar month sums to 30/360.
+     */
+    THIRTY_360 {
+        @Override
+        public int accrualDays(LocalDate date) {
+            return days360(date, date.plusDays(1));
+        }
+
+        @Override
+        public int yearBasis(LocalDate date) {
+            return 360;
+        }
+    };
+
+    /**
+     * Days of interest earned by the accrual day {@code date} (the period from date to date + 1).
+     */
+    public abstract int accrualDays(LocalDate date);
+
+    /**
+     * Year basis the accrual days of {@code date} are divided by.
+     */
+    public abstract int yearBasis(LocalDate date);
+
+    private static int days360(LocalDate start, LocalDate end) {
+        int d1 = Math.min(start.getDayOfMonth(), 30);
+        int d2 = end.getDayOfMonth();
+        if (d2 == 31 && d1 == 30) {
+            d2 = 30;
+        }
+        return 360 * (end.getYear() - start.getYear()) + 30 * (end.getMonthValue() - start.getMonthValue()) + (d2 - d1);
+    }
+}
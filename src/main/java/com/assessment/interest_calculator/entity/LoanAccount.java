@@ -4,13 +4,19 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
+import org.hibernate.annotations.SecondaryRow;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.PrimaryKeyJoinColumn;
+import jakarta.persistence.SecondaryTable;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -18,19 +24,64 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * A loan account, split over two tables. loan_accounts holds what rarely changes once the account is opened;
+ * the balances, accrual markers, version and updated_at, which the daily job rewrites for every account, live in
+ * the narrow loan_balances table. A balance-only change updates loan_balances alone, where PostgreSQL can update
+ * the row in place (HOT): no index covers those columns and pages keep free space (see schema.sql).
+ */
 @Entity
 @Table(name = "loan_accounts")
+@SecondaryTable(name = LoanAccount.BALANCES_TABLE, pkJoinColumns = @PrimaryKeyJoinColumn(name = "account_id"))
+@SecondaryRow(table = LoanAccount.BALANCES_TABLE, optional = false)
 @Data //Should I use @Value?
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class LoanAccount {
+    public static final String BALANCES_TABLE = "loan_balances";
+
     @Id
     @GeneratedValue(strategy =  GenerationType.IDENTITY)
     private Long id;
     
     @Column(nullable = false)
     private String accountHolderName;
+
+    /**
+     * Product the account was sold under. Used to resolve product-level rate schedules.
+     */
+    @Column(name = "product_code", length = 64)
+    private String productCode;
+
+    /**
+     * Day-count convention for daily accrual. Null means the product's convention,
+     * or the application default basis if the product has none.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_count_convention", length = 16)
+    private DayCountConvention dayCountConvention;
+
+    /**
+     * IANA time zone whose local cutoff closes the account's business day, e.g. "Europe/London".
+     * Taken from the product when the account is opened; null means app.interest.zone.
+     */
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    /**
+     * Lifecycle status. Only ACTIVE accounts are picked up by the interest jobs.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    @Builder.Default
+    private AccountStatus status = AccountStatus.ACTIVE;
+
+    /**
+     * When the account left ACTIVE. The archiver moves it out of loan_accounts once this is old enough.
+     */
+    @Column(name = "closed_at")
+    private OffsetDateTime closedAt;
     
     /**
      * Annual interest rate as a percentage (e.g., 5.5 for 5.5%)
@@ -42,13 +93,35 @@ public class LoanAccount {
      * Daily accrued interest amount (calculated and accumulated daily, transferred to principal at month-end)
      * Using NUMERIC(18,6) for higher precision in calculations.
      */
-    @Column(name="interest_amount", nullable = false, precision = 18, scale = 6)
+    @Column(table = BALANCES_TABLE, name = "interest_amount", nullable = false, precision = 18, scale = 6)
     @Builder.Default
     private BigDecimal interestAmount = BigDecimal.ZERO;
+    /**
+     * Penal charges accrued on the overdue amount. Kept apart from interest: never capitalized,
+     * never earns interest, but part of the total due.
+     */
+    @Column(table = BALANCES_TABLE, name = "penalty_amount", nullable = false, precision = 18, scale = 6)
+    @Builder.Default
+    private BigDecimal penaltyAmount = BigDecimal.ZERO;
+
+    /**
+     * Amount currently in default. Penal charges accrue on this amount only.
+     * Raised by OVERDUE postings and cured by repayments.
+     */
+    @Column(table = BALANCES_TABLE, name = "overdue_amount", nullable = false, precision = 18, scale = 6)
+    @Builder.Default
+    private BigDecimal overdueAmount = BigDecimal.ZERO;
+
+    /**
+     * Annual penal rate as a percentage of the overdue amount. Null means app.penalty.defaultRate.
+     */
+    @Column(name = "penal_rate", precision = 9, scale = 6)
+    private BigDecimal penalRate;
+
     /**
      * Principal amount on which the interest is calculated.
      */
-    @Column(name = "principal_amount", nullable = false, precision = 18, scale = 6)
+    @Column(table = BALANCES_TABLE, name = "principal_amount", nullable = false, precision = 18, scale = 6)
     private BigDecimal principalAmount;
 
     /**
@@ -59,15 +132,23 @@ public class LoanAccount {
     /**
      * Timestamp of the last interest application.
      */
-    @Column(name = "last_interest_applied_at")
+    @Column(table = BALANCES_TABLE, name = "last_interest_applied_at")
     private OffsetDateTime lastInterestAppliedAt;
 
+    /**
+     * Lazy accrual (app.interest.lazy.enabled): interestAmount and penaltyAmount include every business date up to
+     * and including this one, and later dates are computed from the days elapsed when the account is read.
+     * Null when the account is accrued eagerly by every daily run.
+     */
+    @Column(table = BALANCES_TABLE, name = "accrual_anchor_date")
+    private LocalDate accrualAnchorDate;
+
     /**
      * Version field for optimistic locking.
      * Prevents concurrent updates from overwriting each other.
      */
     @Version
-    @Column(name = "version", nullable = false)
+    @Column(table = BALANCES_TABLE, name = "version", nullable = false)
     @Builder.Default
     private Long version = 0L;
 
@@ -77,7 +158,7 @@ public class LoanAccount {
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
-    @Column(name = "updated_at", nullable = false)
+    @Column(table = BALANCES_TABLE, name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
 
     @PrePersist
@@ -0,0 +1,55 @@
+package com.assessment.interest_calculator.entity;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Loan product. Carries defaults that apply to every account sold under it
+ * unless the account overrides them.
+ */
+@Entity
+@Table(name = "loan_products")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoanProduct {
+    @Id
+    @Column(name = "code", length = 64)
+    private String code;
+
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Day-count convention for accounts of this product. Null means the application default basis.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_count_convention", length = 16)
+    private DayCountConvention dayCountConvention;
+
+    /**
+     * Time zone given to accounts opened under this product. Null means app.interest.zone.
+     */
+    @Column(name = "time_zone", length = 64)
+    private String timeZone;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+    }
+}
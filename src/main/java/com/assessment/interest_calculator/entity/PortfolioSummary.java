@@ -0,0 +1,48 @@
+package com.assessment.interest_calculator.entity;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Incrementally maintained rollup of the loan book, one row per rate band.
+ * Rows are only ever changed through additive deltas (see PortfolioSummaryRepository#applyDelta),
+ * so concurrent writers never overwrite each other's contribution.
+ */
+@Entity
+@Table(name = "portfolio_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioSummary {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rate_band", length = 32)
+    private RateBand rateBand;
+
+    @Column(name = "account_count", nullable = false)
+    @Builder.Default
+    private Long accountCount = 0L;
+
+    @Column(name = "total_principal", nullable = false, precision = 24, scale = 6)
+    @Builder.Default
+    private BigDecimal totalPrincipal = BigDecimal.ZERO;
+
+    @Column(name = "total_interest", nullable = false, precision = 24, scale = 6)
+    @Builder.Default
+    private BigDecimal totalInterest = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.assessment.interest_calculator.entity;
+
+/**
+ * Kind of balance movement recorded in account_postings.
+ */
+public enum PostingType {
+    /**
+     * Money received from the borrower; paid towards penal charges first, then accrued interest, then principal.
+     */
+    REPAYMENT,
+    /**
+     * An amount falling into default (e.g. a missed installment); raises the overdue amount penal charges accrue on.
+     */
+    OVERDUE
+}
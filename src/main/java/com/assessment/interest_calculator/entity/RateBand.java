@@ -0,0 +1,43 @@
+package com.assessment.interest_calculator.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Annual interest rate bands used for portfolio breakdowns.
+ * Lower bound is inclusive, upper bound is exclusive.
+ */
+public enum RateBand {
+    BELOW_5(BigDecimal.ZERO, new BigDecimal("5")),
+    FROM_5_TO_10(new BigDecimal("5"), new BigDecimal("10")),
+    FROM_10_TO_15(new BigDecimal("10"), new BigDecimal("15")),
+    FROM_15_TO_20(new BigDecimal("15"), new BigDecimal("20")),
+    FROM_20(new BigDecimal("20"), null);
+
+    private final BigDecimal lowerBound;
+    private final BigDecimal upperBound;
+
+    RateBand(BigDecimal lowerBound, BigDecimal upperBound) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public BigDecimal getLowerBound() {
+        return lowerBound;
+    }
+
+    public BigDecimal getUpperBound() {
+        return upperBound;
+    }
+
+    public static RateBand of(BigDecimal interestRate) {
+        if (interestRate == null) {
+            return BELOW_5;
+        }
+        for (RateBand band : values()) {
+            if (band.upperBound == null || interestRate.compareTo(band.upperBound) < 0) {
+                return band;
+            }
+        }
+        return FROM_20;
+    }
+}
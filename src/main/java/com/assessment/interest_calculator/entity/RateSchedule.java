@@ -0,0 +1,60 @@
+package com.assessment.interest_calculator.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Effective-dated annual interest rate for a product or for a single account.
+ * A row applies from effectiveFrom until the next row for the same product/account;
+ * an account-level row takes precedence over its product's schedule.
+ */
+@Entity
+@Table(name = "rate_schedule")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Product the rate applies to. Exactly one of productCode and accountId is set.
+     */
+    @Column(name = "product_code", length = 64)
+    private String productCode;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    /**
+     * Annual interest rate as a percentage (e.g., 5.5 for 5.5%)
+     */
+    @Column(name = "interest_rate", nullable = false, precision = 9, scale = 6)
+    private BigDecimal interestRate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,31 @@
+package com.assessment.interest_calculator.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+
+/**
+ * Repository for account_postings.
+ * Query methods run on the primary (see LoanAccountRepository); only the per-account listing may use the replica.
+ */
+@Repository
+@Transactional
+public interface AccountPostingRepository extends JpaRepository<AccountPosting, Long> {
+    /**
+     * Pending postings for a batch of accounts that take effect on or before {@code upTo}, in arrival order.
+     * Backed by the partial index idx_account_postings_pending, so applied postings are never read.
+     */
+    List<AccountPosting> findByAccountIdInAndAppliedAtIsNullAndValueDateLessThanEqualOrderByIdAsc(
+            Collection<Long> accountIds, LocalDate upTo);
+
+    boolean existsByAccountIdAndAppliedAtIsNullAndValueDateAfter(Long accountId, LocalDate date);
+
+    @Transactional(readOnly = true)
+    List<AccountPosting> findByAccountIdOrderByIdDesc(Long accountId);
+}
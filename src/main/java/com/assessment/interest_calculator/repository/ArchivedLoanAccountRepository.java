@@ -0,0 +1,19 @@
+package com.assessment.interest_calculator.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.repository.Repository;
+
+import com.assessment.interest_calculator.entity.ArchivedLoanAccount;
+
+/**
+ * Read-only access to loan_accounts_archive. Rows are moved in by {@link LoanAccountRepository#archiveClosedAccounts}.
+ */
+@org.springframework.stereotype.Repository
+public interface ArchivedLoanAccountRepository extends Repository<ArchivedLoanAccount, Long> {
+    Optional<ArchivedLoanAccount> findById(Long id);
+
+    List<ArchivedLoanAccount> findByIdIn(Collection<Long> ids);
+}
@@ -1,56 +1,339 @@
 package com.assessment.interest_calculator.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.LockModeType;
 
+import com.assessment.interest_calculator.entity.AccountStatus;
 import com.assessment.interest_calculator.entity.LoanAccount;
 
 /**
  * Repository for LoanAccount entity operations.
  * Includes methods for batch processing and concurrency-safe updates.
+ *
+ * Query methods declared here run in read-write transactions, so they always go to the primary even when a
+ * read replica is configured: the jobs that use them write back what they read. Only the inherited CRUD reads
+ * (findById, findAll), the specification queries used by account search, and methods marked readOnly below may be
+ * served by the replica.
  */
 @Repository
-public interface LoanAccountRepository extends JpaRepository<LoanAccount, Long> {
+@Transactional
+public interface LoanAccountRepository extends JpaRepository<LoanAccount, Long>, JpaSpecificationExecutor<LoanAccount> {
     /**
-     * Find all accounts that need interest application for a given date.
+     * Find all active accounts that need interest application for a given date.
      * This method should support pagination for batch processing.
      *
      * @param forDate The date for which to find accounts needing interest application.
      * @param pageable The pagination information.
      * @return A page of loan accounts needing interest application.
      */
-    @Query("SELECT la FROM LoanAccount la WHERE " +
+    @Query("SELECT la FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
            "(la.lastInterestAppliedAt IS NULL"+
            " OR CAST(la.lastInterestAppliedAt AS date) < :forDate)")
            Page<LoanAccount> findAccountsNeedingInterestApplication(@Param("forDate")LocalDate forDate, Pageable pageable);
 
+    /**
+     * Keyset pagination over the accounts needing interest application for a given date, in id order after {@code afterId}.
+     * Used by the daily job instead of {@link #findAccountsNeedingInterestApplication}: accrued accounts drop out of
+     * this set as the job commits, so offset pages would skip unprocessed accounts, while an id cursor does not.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "la.id > :afterId AND " +
+           "(la.lastInterestAppliedAt IS NULL" +
+           " OR CAST(la.lastInterestAppliedAt AS date) < :forDate) ORDER BY la.id")
+    List<LoanAccount> findAccountsNeedingInterestApplicationAfter(@Param("forDate") LocalDate forDate, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Keyset pagination over one zone bucket: the active accounts in {@code zone} (and, for the default bucket, those
+     * without a zone) not yet accrued since {@code dayStart}, the start of the business date in that zone.
+     * Comparing instants rather than {@code CAST(... AS date)} keeps the check independent of the session time zone.
+     * Continuous accrual narrows the bucket further to the accounts with {@code id mod buckets = bucket};
+     * pass 0 of 1 for the whole zone.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "(la.timeZone = :zone OR (:includeUnzoned = true AND la.timeZone IS NULL)) AND MOD(la.id, :buckets) = :bucket AND la.id > :afterId AND " +
+           "(la.lastInterestAppliedAt IS NULL OR la.lastInterestAppliedAt < :dayStart) ORDER BY la.id")
+    List<LoanAccount> findAccountsNeedingInterestApplicationInZoneAfter(@Param("zone") String zone, @Param("includeUnzoned") boolean includeUnzoned,
+            @Param("bucket") int bucket, @Param("buckets") int buckets, @Param("dayStart") OffsetDateTime dayStart,
+            @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Count of {@link #findAccountsNeedingInterestApplicationInZoneAfter}, for progress logging.
+     */
+    @Query("SELECT COUNT(la) FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "(la.timeZone = :zone OR (:includeUnzoned = true AND la.timeZone IS NULL)) AND MOD(la.id, :buckets) = :bucket AND " +
+           "(la.lastInterestAppliedAt IS NULL OR la.lastInterestAppliedAt < :dayStart)")
+    long countAccountsNeedingInterestApplicationInZone(@Param("zone") String zone, @Param("includeUnzoned") boolean includeUnzoned,
+            @Param("bucket") int bucket, @Param("buckets") int buckets, @Param("dayStart") OffsetDateTime dayStart);
+
+    /**
+     * Re-read specific accounts and keep those not yet accrued since {@code dayStart}.
+     * Used by the conflict retry rounds of a zone bucket run.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.id IN :ids AND la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "(la.lastInterestAppliedAt IS NULL OR la.lastInterestAppliedAt < :dayStart)")
+    List<LoanAccount> findAccountsNotAccruedSinceByIdIn(@Param("dayStart") OffsetDateTime dayStart, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Time zones carried by active accounts; each one is a bucket of the daily accrual.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT DISTINCT la.timeZone FROM LoanAccount la WHERE la.timeZone IS NOT NULL AND " +
+           "la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE")
+    List<String> findActiveTimeZones();
+
+    /**
+     * Re-read specific accounts and keep those that still need interest application for the given date.
+     * Used by the conflict retry rounds of the daily job.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.id IN :ids AND la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "(la.lastInterestAppliedAt IS NULL" +
+           " OR CAST(la.lastInterestAppliedAt AS date) < :forDate)")
+    List<LoanAccount> findAccountsNeedingInterestApplicationByIdIn(@Param("forDate") LocalDate forDate, @Param("ids") Collection<Long> ids);
+
     /**
      * Find all accounts with pessimistic locking for update.
      * This method locks the selected rows to prevent concurrent modifications.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT la FROM LoanAccount la WHERE " +
+    @Query("SELECT la FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
            "(la.lastInterestAppliedAt IS NULL" +
            " OR CAST(la.lastInterestAppliedAt AS date) < :forDate)")
     Page<LoanAccount> findAccountsNeedingInterestApplicationWithLock(@Param("forDate")LocalDate forDate, Pageable pageable);
 
     /**
-     * Count total accounts needing interest application for a given date.
+     * Count active accounts needing interest application for a given date.
      *
      * @param forDate The date for which to count accounts needing interest application.
      * @return The count of loan accounts needing interest application.
      */
-    @Query("SELECT COUNT(la) FROM LoanAccount la WHERE " +
+    @Query("SELECT COUNT(la) FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
            "(la.lastInterestAppliedAt IS NULL" +
            " OR CAST(la.lastInterestAppliedAt AS date) < :forDate)")
     long countAccountsNeedingInterestApplication(@Param("forDate")LocalDate forDate);
 
+    /**
+     * Same as findById, but always read from the primary. For read-modify-write paths such as status changes,
+     * which must not start from a replica copy that is behind.
+     */
+    Optional<LoanAccount> findPrimaryById(Long id);
+
+    /**
+     * {@link #findPrimaryById} with the account locked until the transaction ends, for a status change.
+     * Postings take a share lock on the same row first (see {@link #lockActiveForPosting}), so none can be
+     * recorded between reading the account's pending postings and saving it closed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT la FROM LoanAccount la WHERE la.id = :id")
+    Optional<LoanAccount> findPrimaryByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Share-lock an active account's loan_accounts row until the transaction ends, before recording a posting against it.
+     * Postings to the same account do not wait for each other, only for a status change holding the row; once that
+     * commits the account is no longer ACTIVE and nothing is returned.
+     */
+    @Query(value = "SELECT id FROM loan_accounts WHERE id = :id AND status = 'ACTIVE' FOR SHARE", nativeQuery = true)
+    Optional<Long> lockActiveForPosting(@Param("id") Long id);
+
+    /**
+     * Keyset pagination over the accounts in one lifecycle status, in id order.
+     * Unlike offset paging, the cost of each page does not grow with the number of rows already read.
+     */
+    @Transactional(readOnly = true)
+    List<LoanAccount> findByStatusAndIdGreaterThanOrderByIdAsc(AccountStatus status, Long afterId, Pageable pageable);
+
+    /**
+     * The accounts with the given ids, in no particular order, in one round-trip. Hibernate pads the IN list to the
+     * next power of two (hibernate.query.in_clause_parameter_padding), so batch sizes share a few statements and plans
+     * instead of one each. Callers keep the list within the bind-variable limits of the database.
+     */
+    @Transactional(readOnly = true)
+    List<LoanAccount> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Capitalize accrued interest for the next chunk of active accounts (in id order, after {@code afterId}) in one statement:
+     * principal += interest_amount, interest_amount = 0.
+     * Only loan_balances is written. The chunk is found by walking its primary key and skipping rows with nothing
+     * accrued: an index on interest_amount would cost the daily job its HOT updates (see schema.sql). The version is
+     * bumped so that concurrent JPA writers holding a stale copy fail their optimistic lock check instead of undoing
+     * the capitalization.
+     *
+     * @return one row per capitalized account with the amount moved into principal
+     */
+    @Transactional
+    @Query(value = "WITH chunk AS (" +
+           "SELECT lb.account_id, lb.interest_amount, la.interest_rate FROM loan_balances lb " +
+           "JOIN loan_accounts la ON la.id = lb.account_id " +
+           "WHERE lb.interest_amount > 0 AND la.status = 'ACTIVE' AND lb.account_id > :afterId " +
+           "ORDER BY lb.account_id LIMIT :limit FOR UPDATE OF lb) " +
+           "UPDATE loan_balances lb SET " +
+           "principal_amount = lb.principal_amount + chunk.interest_amount, " +
+           "interest_amount = 0, " +
+           "version = lb.version + 1, " +
+           "updated_at = now() " +
+           "FROM chunk WHERE lb.account_id = chunk.account_id " +
+           "RETURNING lb.account_id AS id, chunk.interest_rate AS interestRate, chunk.interest_amount AS capitalized",
+           nativeQuery = true)
+    List<CapitalizedInterest> capitalizeAccruedInterest(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * The accounts {@link #capitalizeAccruedInterest(long, int)} would select, loaded as entities.
+     * Used to fall back to account-by-account capitalization when the set-based statement fails for a chunk.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.interestAmount > 0 AND la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE " +
+           "AND la.id > :afterId ORDER BY la.id")
+    List<LoanAccount> findAccountsWithAccruedInterest(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Next chunk of lazily accrued active accounts (in id order, after {@code afterId}) whose rows are not accrued
+     * through {@code through}, for the month-end catch-up that runs before capitalization.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "la.accrualAnchorDate < :through AND la.id > :afterId ORDER BY la.id")
+    List<LoanAccount> findLazyAccountsAnchoredBefore(@Param("through") LocalDate through, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * {@link #capitalizeAccruedInterest(long, int)} for the active accounts in one time zone, used by the per-zone
+     * month-end run. The chunk walks idx_loan_accounts_time_zone (time_zone, id) WHERE status = 'ACTIVE' and joins
+     * loan_balances along its primary key, both from {@code afterId}; the bound is repeated on lb so the join starts
+     * there rather than at the first balance, which made each chunk rescan every earlier one. loan_balances keeps no
+     * index on interest_amount (see schema.sql), so a chunk reads the balances in its id range, not only the zone's.
+     * Accounts already accrued at or after {@code accruedBefore}, the start of the next day in the zone, are skipped,
+     * so running a month-end again once the next day has started does not capitalize that day's interest.
+     */
+    @Transactional
+    @Query(value = "WITH chunk AS (" +
+           "SELECT lb.account_id, lb.interest_amount, la.interest_rate FROM loan_accounts la " +
+           "JOIN loan_balances lb ON lb.account_id = la.id " +
+           "WHERE la.status = 'ACTIVE' AND la.time_zone = :zone AND la.id > :afterId AND lb.account_id > :afterId " +
+           "AND lb.interest_amount > 0 " +
+           "AND (lb.last_interest_applied_at IS NULL OR lb.last_interest_applied_at < :accruedBefore) " +
+           "ORDER BY la.id LIMIT :limit FOR UPDATE OF lb) " +
+           "UPDATE loan_balances lb SET " +
+           "principal_amount = lb.principal_amount + chunk.interest_amount, " +
+           "interest_amount = 0, " +
+           "version = lb.version + 1, " +
+           "updated_at = now() " +
+           "FROM chunk WHERE lb.account_id = chunk.account_id " +
+           "RETURNING lb.account_id AS id, chunk.interest_rate AS interestRate, chunk.interest_amount AS capitalized",
+           nativeQuery = true)
+    List<CapitalizedInterest> capitalizeAccruedInterestInZone(@Param("zone") String zone, @Param("accruedBefore") OffsetDateTime accruedBefore,
+            @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * {@link #capitalizeAccruedInterestInZone} for the active accounts without a time zone, which belong to the
+     * app.interest.zone bucket. A separate statement rather than an OR in the zone one, which would turn the index
+     * walk into a bitmap scan and a sort of the whole bucket for every chunk.
+     */
+    @Transactional
+    @Query(value = "WITH chunk AS (" +
+           "SELECT lb.account_id, lb.interest_amount, la.interest_rate FROM loan_accounts la " +
+           "JOIN loan_balances lb ON lb.account_id = la.id " +
+           "WHERE la.status = 'ACTIVE' AND la.time_zone IS NULL AND la.id > :afterId AND lb.account_id > :afterId " +
+           "AND lb.interest_amount > 0 " +
+           "AND (lb.last_interest_applied_at IS NULL OR lb.last_interest_applied_at < :accruedBefore) " +
+           "ORDER BY la.id LIMIT :limit FOR UPDATE OF lb) " +
+           "UPDATE loan_balances lb SET " +
+           "principal_amount = lb.principal_amount + chunk.interest_amount, " +
+           "interest_amount = 0, " +
+           "version = lb.version + 1, " +
+           "updated_at = now() " +
+           "FROM chunk WHERE lb.account_id = chunk.account_id " +
+           "RETURNING lb.account_id AS id, chunk.interest_rate AS interestRate, chunk.interest_amount AS capitalized",
+           nativeQuery = true)
+    List<CapitalizedInterest> capitalizeAccruedInterestWithoutZone(@Param("accruedBefore") OffsetDateTime accruedBefore,
+            @Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * The accounts {@link #capitalizeAccruedInterestInZone} (or, for a null {@code zone},
+     * {@link #capitalizeAccruedInterestWithoutZone}) would select, loaded as entities, for their fallback.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.interestAmount > 0 AND la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE " +
+           "AND (la.timeZone = :zone OR (:zone IS NULL AND la.timeZone IS NULL)) " +
+           "AND (la.lastInterestAppliedAt IS NULL OR la.lastInterestAppliedAt < :accruedBefore) AND la.id > :afterId ORDER BY la.id")
+    List<LoanAccount> findAccountsWithAccruedInterestInZone(@Param("zone") String zone, @Param("accruedBefore") OffsetDateTime accruedBefore,
+            @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * {@link #findLazyAccountsAnchoredBefore} for the accounts in {@code zone}, or without a zone when it is null,
+     * for the per-zone month-end catch-up.
+     */
+    @Query("SELECT la FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE AND " +
+           "(la.timeZone = :zone OR (:zone IS NULL AND la.timeZone IS NULL)) AND " +
+           "la.accrualAnchorDate < :through AND la.id > :afterId ORDER BY la.id")
+    List<LoanAccount> findLazyAccountsAnchoredBeforeInZone(@Param("zone") String zone, @Param("through") LocalDate through,
+            @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Move up to {@code limit} accounts that left ACTIVE before {@code closedBefore} into loan_accounts_archive,
+     * deleting and inserting in one statement so a row is never in both tables or in neither. The balances row goes
+     * with the account through the ON DELETE CASCADE of loan_balances.
+     * Rows locked by another transaction are skipped and picked up by the next run.
+     *
+     * @return the number of accounts archived
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "WITH moved AS (" +
+           "DELETE FROM loan_accounts la USING loan_balances lb WHERE lb.account_id = la.id AND la.id IN (" +
+           "SELECT id FROM loan_accounts WHERE status <> 'ACTIVE' AND closed_at < :closedBefore " +
+           "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+           "RETURNING la.id, la.account_holder_name, la.product_code, la.day_count_convention, la.time_zone, la.status, " +
+           "la.closed_at, la.interest_rate, lb.interest_amount, lb.principal_amount, lb.penalty_amount, lb.overdue_amount, " +
+           "la.penal_rate, la.date_of_disbursal, lb.last_interest_applied_at, lb.accrual_anchor_date, lb.version, " +
+           "la.created_at, lb.updated_at) " +
+           "INSERT INTO loan_accounts_archive (id, account_holder_name, product_code, day_count_convention, time_zone, status, closed_at, " +
+           "interest_rate, interest_amount, principal_amount, penalty_amount, overdue_amount, penal_rate, date_of_disbursal, " +
+           "last_interest_applied_at, accrual_anchor_date, version, created_at, updated_at, archived_at) " +
+           "SELECT id, account_holder_name, product_code, day_count_convention, time_zone, status, closed_at, interest_rate, " +
+           "interest_amount, principal_amount, penalty_amount, overdue_amount, penal_rate, date_of_disbursal, " +
+           "last_interest_applied_at, accrual_anchor_date, version, created_at, updated_at, now() " +
+           "FROM moved",
+           nativeQuery = true)
+    int archiveClosedAccounts(@Param("closedBefore") OffsetDateTime closedBefore, @Param("limit") int limit);
+
+    /**
+     * Aggregate balances of active accounts per distinct interest rate.
+     * Used by the portfolio rollup verification to recompute the summary from scratch;
+     * the number of distinct rates is small, so bucketing into rate bands is done in Java.
+     */
+    @Query("SELECT la.interestRate AS interestRate, COUNT(la) AS accountCount, " +
+           "SUM(la.principalAmount) AS totalPrincipal, SUM(la.interestAmount) AS totalInterest " +
+           "FROM LoanAccount la WHERE la.status = com.assessment.interest_calculator.entity.AccountStatus.ACTIVE GROUP BY la.interestRate")
+    List<RateTotals> aggregateByInterestRate();
+
+    /**
+     * Projection for {@link #aggregateByInterestRate()}.
+     */
+    interface RateTotals {
+        BigDecimal getInterestRate();
+        Long getAccountCount();
+        BigDecimal getTotalPrincipal();
+        BigDecimal getTotalInterest();
+    }
+
+    /**
+     * Row returned by {@link #capitalizeAccruedInterest(long, int)}.
+     */
+    interface CapitalizedInterest {
+        Long getId();
+        BigDecimal getInterestRate();
+        BigDecimal getCapitalized();
+    }
+
 }
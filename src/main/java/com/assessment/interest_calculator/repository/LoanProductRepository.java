@@ -0,0 +1,13 @@
+package com.assessment.interest_calculator.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.interest_calculator.entity.LoanProduct;
+
+/**
+ * Repository for loan products. The table is small and read in full once per job run.
+ */
+@Repository
+public interface LoanProductRepository extends JpaRepository<LoanProduct, String> {
+}
@@ -0,0 +1,38 @@
+package com.assessment.interest_calculator.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.entity.PortfolioSummary;
+import com.assessment.interest_calculator.entity.RateBand;
+
+/**
+ * Repository for the portfolio_summary rollup.
+ */
+@Repository
+public interface PortfolioSummaryRepository extends JpaRepository<PortfolioSummary, RateBand> {
+    /**
+     * Add a delta to a rate band row, creating the row if it does not exist yet.
+     * The update is relative (column = column + delta), so writers never need to read the row first.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO portfolio_summary (rate_band, account_count, total_principal, total_interest, updated_at) " +
+           "VALUES (:rateBand, :accountCount, :principal, :interest, now()) " +
+           "ON CONFLICT (rate_band) DO UPDATE SET " +
+           "account_count = portfolio_summary.account_count + EXCLUDED.account_count, " +
+           "total_principal = portfolio_summary.total_principal + EXCLUDED.total_principal, " +
+           "total_interest = portfolio_summary.total_interest + EXCLUDED.total_interest, " +
+           "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int applyDelta(@Param("rateBand") String rateBand,
+                   @Param("accountCount") long accountCount,
+                   @Param("principal") BigDecimal principal,
+                   @Param("interest") BigDecimal interest);
+}
@@ -0,0 +1,30 @@
+package com.assessment.interest_calculator.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.assessment.interest_calculator.entity.RateSchedule;
+
+/**
+ * Repository for effective-dated rate schedule rows.
+ */
+@Repository
+public interface RateScheduleRepository extends JpaRepository<RateSchedule, Long> {
+    /**
+     * All schedule rows that are effective on or before the given date.
+     * The table holds one row per rate reset, so it is small enough to load in full once per job run.
+     */
+    List<RateSchedule> findByEffectiveFromLessThanEqualOrderByEffectiveFromAsc(LocalDate upTo);
+
+    List<RateSchedule> findByProductCodeOrderByEffectiveFromAsc(String productCode);
+
+    List<RateSchedule> findByAccountIdOrderByEffectiveFromAsc(Long accountId);
+
+    List<RateSchedule> findByProductCodeInOrderByEffectiveFromAsc(Collection<String> productCodes);
+
+    List<RateSchedule> findByAccountIdInOrderByEffectiveFromAsc(Collection<Long> accountIds);
+}
@@ -0,0 +1,192 @@
+package com.assessment.interest_calculator.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.ArchivedLoanAccount;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.repository.ArchivedLoanAccountRepository;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Account lifecycle: status changes out of ACTIVE, and the archiver that moves closed and written-off
+ * accounts from loan_accounts to loan_accounts_archive once they are older than the retention period.
+ */
+@Slf4j
+@Service
+public class AccountLifecycleService {
+    private final LoanAccountRepository loanAccountRepository;
+    private final ArchivedLoanAccountRepository archivedLoanAccountRepository;
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final LazyAccrualService lazyAccrualService;
+    private final PostingService postingService;
+    private final TransactionOperations transactionOperations;
+    private final int retentionDays; // Days a closed account stays in loan_accounts before it is archived
+    private final int archiveBatchSize;
+    private final ZoneId zoneId;
+
+    public AccountLifecycleService(
+            LoanAccountRepository loanAccountRepository,
+            ArchivedLoanAccountRepository archivedLoanAccountRepository,
+            PortfolioSummaryService portfolioSummaryService,
+            LazyAccrualService lazyAccrualService,
+            PostingService postingService,
+            TransactionOperations transactionOperations,
+            @Value("${app.archive.retentionDays:30}") int retentionDays,
+            @Value("${app.archive.batchSize:1000}") int archiveBatchSize,
+            @Value("${app.interest.zone:Asia/Kolkata}") String zone) {
+        this.loanAccountRepository = loanAccountRepository;
+        this.archivedLoanAccountRepository = archivedLoanAccountRepository;
+        this.portfolioSummaryService = portfolioSummaryService;
+        this.lazyAccrualService = lazyAccrualService;
+        this.postingService = postingService;
+        this.transactionOperations = transactionOperations;
+        this.retentionDays = retentionDays;
+        this.archiveBatchSize = archiveBatchSize;
+        this.zoneId = ZoneId.of(zone);
+    }
+
+    public enum StatusChangeOutcome {
+        UPDATED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        POSTINGS_PENDING // A posting is value-dated after the account's current business date
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class StatusChangeResult {
+        private StatusChangeOutcome outcome;
+        private LoanAccount account;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class ArchiveResult {
+        private int accountsArchived;
+        private int batches;
+        private OffsetDateTime closedBefore;
+        private long durationMs;
+    }
+
+    /**
+     * Move an ACTIVE account to CLOSED or WRITTEN_OFF. Terminal statuses cannot be left again.
+     * The account is removed from the portfolio rollup once the status change has been saved.
+     * A lazily accrued account is closed with its accrual up to yesterday written into the row, and its pending
+     * postings are folded into the balance it leaves with: the daily job only reads ACTIVE accounts, so nothing would
+     * fold them later. The account is locked meanwhile, which keeps new postings out until the change commits.
+     * A posting value-dated after today in the account's zone cannot be folded yet, so the change is refused.
+     */
+    public StatusChangeResult changeStatus(Long id, AccountStatus target) {
+        StatusChange change = transactionOperations.execute(status -> changeStatusLocked(id, target));
+        if (change.result().getOutcome() != StatusChangeOutcome.UPDATED) {
+            return change.result();
+        }
+
+        LoanAccount saved = change.result().getAccount();
+        PortfolioDelta delta = new PortfolioDelta();
+        delta.interestAccrued(saved.getInterestRate(), change.accrued().interest());
+        delta.repaymentApplied(saved.getInterestRate(), change.fold().getToInterest(), change.fold().getToPrincipal());
+        delta.accountRemoved(saved.getInterestRate(), saved.getPrincipalAmount(), saved.getInterestAmount());
+        portfolioSummaryService.apply(delta);
+
+        return change.result();
+    }
+
+    /**
+     * A status change as committed, with what was accrued and folded into the account on the way out.
+     */
+    private record StatusChange(StatusChangeResult result, InterestService.LazyAccrual accrued, PostingFold fold) {
+        static StatusChange rejected(StatusChangeOutcome outcome, LoanAccount account) {
+            return new StatusChange(StatusChangeResult.builder().outcome(outcome).account(account).build(), null, null);
+        }
+    }
+
+    private StatusChange changeStatusLocked(Long id, AccountStatus target) {
+        Optional<LoanAccount> found = loanAccountRepository.findPrimaryByIdForUpdate(id);
+        if (found.isEmpty()) {
+            return StatusChange.rejected(StatusChangeOutcome.NOT_FOUND, null);
+        }
+
+        LoanAccount account = found.get();
+        if (account.getStatus().isTerminal() || !target.isTerminal()) {
+            log.info("Rejected status change of account {} from {} to {}", id, account.getStatus(), target);
+            return StatusChange.rejected(StatusChangeOutcome.INVALID_TRANSITION, account);
+        }
+
+        LocalDate businessDate = LocalDate.now(accountZone(account));
+        if (postingService.hasPendingAfter(id, businessDate)) {
+            log.info("Rejected status change of account {} to {}: postings value-dated after {} are pending", id, target, businessDate);
+            return StatusChange.rejected(StatusChangeOutcome.POSTINGS_PENDING, account);
+        }
+
+        InterestService.LazyAccrual accrued = account.getAccrualAnchorDate() != null
+                ? lazyAccrualService.accrueToDate(account) : InterestService.LazyAccrual.NONE;
+        List<AccountPosting> pending = postingService.loadPending(List.of(id), businessDate).getOrDefault(id, List.of());
+        OffsetDateTime now = OffsetDateTime.now(zoneId);
+        PostingFold fold = PostingFold.apply(account, pending, now);
+        account.setStatus(target);
+        account.setClosedAt(now);
+        if (pending.isEmpty()) {
+            loanAccountRepository.save(account);
+        } else {
+            postingService.saveFolded(account, pending);
+        }
+        log.info("Account {} moved to {} with {} pending postings folded", id, target, pending.size());
+
+        return new StatusChange(StatusChangeResult.builder().outcome(StatusChangeOutcome.UPDATED).account(account).build(), accrued, fold);
+    }
+
+    private ZoneId accountZone(LoanAccount account) {
+        return account.getTimeZone() != null ? ZoneId.of(account.getTimeZone()) : zoneId;
+    }
+
+    /**
+     * Archive every account that left ACTIVE more than app.archive.retentionDays ago,
+     * app.archive.batchSize accounts per statement so that no single transaction holds many row locks.
+     */
+    public ArchiveResult archiveClosedAccounts() {
+        long startTime = System.currentTimeMillis();
+        OffsetDateTime closedBefore = OffsetDateTime.now(zoneId).minusDays(retentionDays);
+        log.info("Archiving accounts closed before {}", closedBefore);
+
+        int archived = 0;
+        int batches = 0;
+        int moved;
+        do {
+            moved = loanAccountRepository.archiveClosedAccounts(closedBefore, archiveBatchSize);
+            archived += moved;
+            batches++;
+        } while (moved == archiveBatchSize);
+
+        long durationMs = System.currentTimeMillis() - startTime;
+        log.info("Archived {} closed accounts in {} batches, Duration: {} ms", archived, batches, durationMs);
+
+        return ArchiveResult.builder()
+                .accountsArchived(archived)
+                .batches(batches)
+                .closedBefore(closedBefore)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    public Optional<ArchivedLoanAccount> findArchived(Long id) {
+        return archivedLoanAccountRepository.findById(id);
+    }
+
+    public List<ArchivedLoanAccount> findArchived(Collection<Long> ids) {
+        return archivedLoanAccountRepository.findByIdIn(ids);
+    }
+}
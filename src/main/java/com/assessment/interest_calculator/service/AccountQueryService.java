@@ -0,0 +1,131 @@
+package com.assessment.interest_calculator.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.ArchivedLoanAccount;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+/**
+ * Account reads behind the API. Each method is one read-only transaction, so the account, the rate schedules and
+ * products its accrual on read needs, and any archive lookup are all served by the read replica when one is
+ * configured, from a single snapshot.
+ */
+@Service
+public class AccountQueryService {
+    // Ids per IN list for batch reads; below the bind-variable limits of PostgreSQL, Oracle (1000) and SQL Server (2100)
+    static final int ID_CHUNK_SIZE = 1000;
+
+    private final LoanAccountRepository loanAccountRepository;
+    private final AccountLifecycleService accountLifecycleService;
+    private final LazyAccrualService lazyAccrualService;
+
+    public AccountQueryService(LoanAccountRepository loanAccountRepository, AccountLifecycleService accountLifecycleService,
+            LazyAccrualService lazyAccrualService) {
+        this.loanAccountRepository = loanAccountRepository;
+        this.accountLifecycleService = accountLifecycleService;
+        this.lazyAccrualService = lazyAccrualService;
+    }
+
+    /**
+     * A live account with the accrual since its anchor date that is not yet in its row, or an archived account.
+     */
+    @lombok.Data
+    @lombok.Builder
+    public static class AccountView {
+        private LoanAccount account; // Null for an archived account
+        private InterestService.LazyAccrual accrued;
+        private ArchivedLoanAccount archived; // Null for a live account
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class BatchGetResult {
+        private List<AccountView> accounts; // In request order
+        private List<Long> missingIds;
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LoanAccount> findPage(int page, int size) {
+        return loanAccountRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    /**
+     * Closed accounts are moved out of loan_accounts by the archiver but stay readable here.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountView> findById(Long id) {
+        return loanAccountRepository.findById(id)
+                .map(this::liveView)
+                .or(() -> accountLifecycleService.findArchived(id).map(AccountQueryService::archivedView));
+    }
+
+    /**
+     * One query for the live accounts per {@value #ID_CHUNK_SIZE} ids, and one against the archive only if some ids
+     * were not found there. The accrual on read of the whole batch is computed from rate schedules and products loaded
+     * once. Accounts come back in the iteration order of {@code ids}, which should hold no duplicates.
+     */
+    @Transactional(readOnly = true)
+    public BatchGetResult findAllById(Collection<Long> ids) {
+        List<Long> idList = List.copyOf(ids);
+        List<LoanAccount> live = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += ID_CHUNK_SIZE) {
+            live.addAll(loanAccountRepository.findByIdIn(idList.subList(from, Math.min(from + ID_CHUNK_SIZE, idList.size()))));
+        }
+        Map<Long, InterestService.LazyAccrual> accrued = lazyAccrualService.accruedToDate(
+                live.stream().filter(AccountQueryService::accruesOnRead).toList());
+
+        Map<Long, AccountView> found = new HashMap<>();
+        for (LoanAccount account : live) {
+            found.put(account.getId(), AccountView.builder()
+                    .account(account)
+                    .accrued(accrued.getOrDefault(account.getId(), InterestService.LazyAccrual.NONE))
+                    .build());
+        }
+        if (found.size() < ids.size()) {
+            List<Long> notLive = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            for (ArchivedLoanAccount account : accountLifecycleService.findArchived(notLive)) {
+                found.put(account.getId(), archivedView(account));
+            }
+        }
+
+        List<AccountView> accounts = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            AccountView account = found.get(id);
+            if (account != null) {
+                accounts.add(account);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return BatchGetResult.builder().accounts(accounts).missingIds(missingIds).build();
+    }
+
+    private AccountView liveView(LoanAccount account) {
+        InterestService.LazyAccrual accrued = accruesOnRead(account)
+                ? lazyAccrualService.accruedToDate(account)
+                : InterestService.LazyAccrual.NONE;
+        return AccountView.builder().account(account).accrued(accrued).build();
+    }
+
+    private static boolean accruesOnRead(LoanAccount account) {
+        return account.getAccrualAnchorDate() != null && account.getStatus() == AccountStatus.ACTIVE;
+    }
+
+    private static AccountView archivedView(ArchivedLoanAccount account) {
+        return AccountView.builder().archived(account).build();
+    }
+}
@@ -0,0 +1,234 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+import jakarta.persistence.criteria.Predicate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filtered search over loan_accounts for operations staff. Filters compose with AND, and only the filters that are
+ * set become predicates, so each combination gets a plan of its own. Results are pages after a keyset cursor.
+ *
+ * Every search has to carry at least one filter that an index in schema.sql can answer: a holder-name prefix of
+ * at least app.accounts.search.minNameLength characters (trigram index), an interest rate range closed on both ends
+ * and at most app.accounts.search.maxRateSpan percentage points wide, or a closed disbursal window of at most
+ * app.accounts.search.maxDisbursalDays days (btree indexes). Anything else, such as status alone, an open-ended range
+ * or a range spanning most of the book, would read most of the table and is rejected.
+ *
+ * A name search is paged in id order. A search driven by a range is paged in the order of that range's (column, id)
+ * index, so a page is read straight off the index and stops after {@code size} entries however many rows match;
+ * its cursor carries the column value of the last row as well as its id.
+ */
+@Slf4j
+@Service
+public class AccountSearchService {
+    private final LoanAccountRepository loanAccountRepository;
+    private final int minNameLength; // Shortest name prefix with a trigram of its own to look up
+    private final int maxPageSize;
+    private final BigDecimal maxRateSpan; // Widest rate range, in percentage points, that counts as a narrowing filter
+    private final int maxDisbursalDays; // Longest disbursal window, in days, that counts as a narrowing filter
+
+    public AccountSearchService(
+            LoanAccountRepository loanAccountRepository,
+            @Value("${app.accounts.search.minNameLength:3}") int minNameLength,
+            @Value("${app.accounts.search.maxPageSize:200}") int maxPageSize,
+            @Value("${app.accounts.search.maxRateSpan:2.0}") BigDecimal maxRateSpan,
+            @Value("${app.accounts.search.maxDisbursalDays:92}") int maxDisbursalDays) {
+        this.loanAccountRepository = loanAccountRepository;
+        this.minNameLength = minNameLength;
+        this.maxPageSize = maxPageSize;
+        this.maxRateSpan = maxRateSpan;
+        this.maxDisbursalDays = maxDisbursalDays;
+    }
+
+    public enum SearchOutcome {
+        FOUND,
+        INVALID_CRITERIA,
+        NOT_INDEXED
+    }
+
+    /**
+     * Order of a search's pages, and so what its cursor holds besides the id.
+     */
+    public enum SearchOrder {
+        ID,
+        INTEREST_RATE,
+        DATE_OF_DISBURSAL
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class SearchCriteria {
+        private String namePrefix; // Case-insensitive
+        private BigDecimal minRate;
+        private BigDecimal maxRate;
+        private LocalDate disbursedFrom;
+        private LocalDate disbursedTo;
+        private AccountStatus status;
+        private long afterId;
+        private BigDecimal afterRate; // With afterId, the cursor of a search in INTEREST_RATE order
+        private LocalDate afterDisbursal; // With afterId, the cursor of a search in DATE_OF_DISBURSAL order
+        private int size;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class SearchResult {
+        private SearchOutcome outcome;
+        private List<LoanAccount> accounts;
+        private SearchOrder order;
+        private Long nextAfterId; // Cursor for the next page; null on the last page
+        private BigDecimal nextAfterRate; // Rest of the cursor in INTEREST_RATE order
+        private LocalDate nextAfterDisbursal; // Rest of the cursor in DATE_OF_DISBURSAL order
+    }
+
+    @Transactional(readOnly = true)
+    public SearchResult search(SearchCriteria criteria) {
+        SearchOutcome rejection = validate(criteria);
+        if (rejection != null) {
+            log.info("Rejected account search {}: {}", criteria, rejection);
+            return SearchResult.builder().outcome(rejection).accounts(List.of()).build();
+        }
+
+        SearchOrder order = orderOf(criteria);
+        Comparable<?> afterValue = switch (order) {
+            case ID -> null;
+            case INTEREST_RATE -> criteria.getAfterRate();
+            case DATE_OF_DISBURSAL -> criteria.getAfterDisbursal();
+        };
+        List<LoanAccount> accounts;
+        if (afterValue == null) {
+            accounts = find(criteria, order, idAfter(criteria.getAfterId()), criteria.getSize());
+        } else {
+            // (column, id) > (value, afterId) as two index range scans: the rest of the value the last page ended in,
+            // then the values after it. One OR predicate would leave id > afterId to a filter over every row of that value
+            accounts = new ArrayList<>(find(criteria, order, sameValueAfter(order, afterValue, criteria.getAfterId()), criteria.getSize()));
+            if (accounts.size() < criteria.getSize()) {
+                accounts.addAll(find(criteria, order, valueAfter(order, afterValue), criteria.getSize() - accounts.size()));
+            }
+        }
+
+        SearchResult.SearchResultBuilder result = SearchResult.builder().outcome(SearchOutcome.FOUND).accounts(accounts).order(order);
+        if (accounts.size() == criteria.getSize()) {
+            LoanAccount last = accounts.get(accounts.size() - 1);
+            result.nextAfterId(last.getId());
+            if (order == SearchOrder.INTEREST_RATE) {
+                result.nextAfterRate(last.getInterestRate());
+            } else if (order == SearchOrder.DATE_OF_DISBURSAL) {
+                result.nextAfterDisbursal(last.getDateOfDisbursal());
+            }
+        }
+        return result.build();
+    }
+
+    private SearchOutcome validate(SearchCriteria criteria) {
+        if (criteria.getSize() < 1 || criteria.getSize() > maxPageSize || criteria.getAfterId() < 0
+                || (criteria.getNamePrefix() != null && criteria.getNamePrefix().isBlank())
+                || (criteria.getMinRate() != null && criteria.getMaxRate() != null
+                        && criteria.getMinRate().compareTo(criteria.getMaxRate()) > 0)
+                || (criteria.getDisbursedFrom() != null && criteria.getDisbursedTo() != null
+                        && criteria.getDisbursedFrom().isAfter(criteria.getDisbursedTo()))) {
+            return SearchOutcome.INVALID_CRITERIA;
+        }
+        SearchOrder order = orderOf(criteria);
+        if (order == null) {
+            return SearchOutcome.NOT_INDEXED;
+        }
+        // Past the first page, a range-ordered cursor needs the column value as well as the id
+        boolean cursorIncomplete = criteria.getAfterId() > 0
+                && ((order == SearchOrder.INTEREST_RATE && criteria.getAfterRate() == null)
+                        || (order == SearchOrder.DATE_OF_DISBURSAL && criteria.getAfterDisbursal() == null));
+        return cursorIncomplete ? SearchOutcome.INVALID_CRITERIA : null;
+    }
+
+    /**
+     * The order the search is paged in, after the filter that drives it; null if no filter narrows it to an index.
+     */
+    private SearchOrder orderOf(SearchCriteria criteria) {
+        if (criteria.getNamePrefix() != null && criteria.getNamePrefix().strip().length() >= minNameLength) {
+            return SearchOrder.ID;
+        }
+        if (criteria.getMinRate() != null && criteria.getMaxRate() != null
+                && criteria.getMaxRate().subtract(criteria.getMinRate()).compareTo(maxRateSpan) <= 0) {
+            return SearchOrder.INTEREST_RATE;
+        }
+        if (criteria.getDisbursedFrom() != null && criteria.getDisbursedTo() != null
+                && ChronoUnit.DAYS.between(criteria.getDisbursedFrom(), criteria.getDisbursedTo()) < maxDisbursalDays) {
+            return SearchOrder.DATE_OF_DISBURSAL;
+        }
+        return null;
+    }
+
+    // Matches idx_loan_accounts_interest_rate_id and idx_loan_accounts_date_of_disbursal_id
+    private static Sort sortOf(SearchOrder order) {
+        return order == SearchOrder.ID ? Sort.by("id") : Sort.by(attributeOf(order), "id");
+    }
+
+    private List<LoanAccount> find(SearchCriteria criteria, SearchOrder order, Specification<LoanAccount> keyset, int limit) {
+        return loanAccountRepository.findBy(keyset.and(toSpecification(criteria)),
+                query -> query.sortBy(sortOf(order)).limit(limit).all());
+    }
+
+    private static Specification<LoanAccount> idAfter(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    private static Specification<LoanAccount> sameValueAfter(SearchOrder order, Comparable<?> value, long afterId) {
+        return (root, query, cb) -> cb.and(cb.equal(root.get(attributeOf(order)), value), cb.greaterThan(root.get("id"), afterId));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Specification<LoanAccount> valueAfter(SearchOrder order, Comparable value) {
+        return (root, query, cb) -> cb.greaterThan(root.<Comparable>get(attributeOf(order)), value);
+    }
+
+    private static String attributeOf(SearchOrder order) {
+        return order == SearchOrder.INTEREST_RATE ? "interestRate" : "dateOfDisbursal";
+    }
+
+    private static Specification<LoanAccount> toSpecification(SearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getNamePrefix() != null) {
+                // Matches idx_loan_accounts_holder_name_trgm, which is built on lower(account_holder_name)
+                predicates.add(cb.like(cb.lower(root.get("accountHolderName")),
+                        escapeLike(criteria.getNamePrefix().strip().toLowerCase(Locale.ROOT)) + "%", '\\'));
+            }
+            if (criteria.getMinRate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("interestRate"), criteria.getMinRate()));
+            }
+            if (criteria.getMaxRate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("interestRate"), criteria.getMaxRate()));
+            }
+            if (criteria.getDisbursedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dateOfDisbursal"), criteria.getDisbursedFrom()));
+            }
+            if (criteria.getDisbursedTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dateOfDisbursal"), criteria.getDisbursedTo()));
+            }
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,70 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanAccount;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Everything the daily accrual needs that is the same for every account in a run.
+ * Built once per job run so the per-account step does no lookups against the database.
+ */
+@Getter
+@Builder
+public class AccrualContext {
+    private final LocalDate businessDate;
+
+    /**
+     * Zone bucket the run accrues, in which the business date is taken. Null for a whole-book run.
+     */
+    private final ZoneId zone;
+
+    @Builder.Default
+    private final RateScheduleIndex.RatesOn rates = RateScheduleIndex.RatesOn.CONTRACTUAL;
+
+    /**
+     * The full index {@link #rates} was flattened from, for lazily accrued accounts catching up on earlier dates.
+     */
+    @Builder.Default
+    private final RateScheduleIndex rateIndex = RateScheduleIndex.empty();
+
+    private final DayCountTable dayCounts;
+
+    @Builder.Default
+    private final Map<String, DayCountConvention> productConventions = Map.of();
+
+    /**
+     * Annual penal rate for accounts without their own (app.penalty.defaultRate).
+     */
+    @Builder.Default
+    private final BigDecimal defaultPenalRate = BigDecimal.ZERO;
+
+    public BigDecimal rateFor(LoanAccount account) {
+        return rates.resolve(account);
+    }
+
+    public BigDecimal penalRateFor(LoanAccount account) {
+        return account.getPenalRate() != null ? account.getPenalRate() : defaultPenalRate;
+    }
+
+    /**
+     * Year fraction the account earns on the business date: account convention, then product convention,
+     * then the application default basis.
+     */
+    public DayFraction dayFractionFor(LoanAccount account) {
+        return dayCounts.fraction(conventionFor(account, productConventions), businessDate);
+    }
+
+    static DayCountConvention conventionFor(LoanAccount account, Map<String, DayCountConvention> productConventions) {
+        if (account.getDayCountConvention() != null) {
+            return account.getDayCountConvention();
+        }
+        return account.getProductCode() != null ? productConventions.get(account.getProductCode()) : null;
+    }
+}
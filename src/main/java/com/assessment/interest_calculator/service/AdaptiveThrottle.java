@@ -0,0 +1,176 @@
+package com.assessment.interest_calculator.service;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Paces the interest jobs' chunk writes so that a run started during business hours does not starve the API.
+ *
+ * AIMD (additive increase, multiplicative decrease) on the rate of chunk commits: every commit faster than
+ * app.interest.throttle.targetCommitMs, with no more than app.interest.throttle.maxPendingConnections threads
+ * waiting for a pooled connection, raises the rate by app.interest.throttle.increase chunks/s; any commit over
+ * the target, or pool waiters beyond the limit, multiply it by app.interest.throttle.decreaseFactor. The rate
+ * stays within [minRate, maxRate] and starts at minRate. Pool waiters are read from the hikaricp.connections.pending
+ * gauges, so API requests queueing for connections push the job back before they time out.
+ *
+ * Since the write stage is the end of the chunk pipeline, pacing it also holds back the fetch stage through the
+ * bounded queues; a throttled run keeps at most one read and one write in flight.
+ *
+ * Between app.interest.throttle.nightStart and nightEnd, the API's quiet hours, the throttle stands aside and the
+ * jobs run at full speed. The window is global: it is read in app.interest.throttle.zone (app.interest.zone unless
+ * set), where the API's users are, and not in the zone of the bucket being accrued. A zone bucket whose cutoff falls
+ * in that zone's business day (the Americas, for an Indian book) is paced like a manual run, since that is when the
+ * API is busiest. The default window, 20:00-06:00, covers the cutoffs of the buckets from UTC to UTC+9.
+ */
+@Slf4j
+@Component
+public class AdaptiveThrottle {
+    private static final String POOL_PENDING_GAUGE = "hikaricp.connections.pending";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long targetCommitNanos;
+    private final int maxPendingConnections;
+    private final double minRate;
+    private final double maxRate;
+    private final double increase;
+    private final double decreaseFactor;
+    private final LocalTime nightStart;
+    private final LocalTime nightEnd;
+    private final ZoneId zoneId;
+    private final Counter decreases;
+
+    private double rate; // Chunks per second; guarded by this
+    private long nextWriteNanos; // Earliest start of the next paced write; guarded by this
+
+    public AdaptiveThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${app.interest.throttle.enabled:true}") boolean enabled,
+            @Value("${app.interest.throttle.targetCommitMs:200}") long targetCommitMs,
+            @Value("${app.interest.throttle.maxPendingConnections:0}") int maxPendingConnections,
+            @Value("${app.interest.throttle.minRate:0.5}") double minRate,
+            @Value("${app.interest.throttle.maxRate:50}") double maxRate,
+            @Value("${app.interest.throttle.increase:1}") double increase,
+            @Value("${app.interest.throttle.decreaseFactor:0.5}") double decreaseFactor,
+            @Value("${app.interest.throttle.nightStart:20:00}") String nightStart,
+            @Value("${app.interest.throttle.nightEnd:06:00}") String nightEnd,
+            @Value("${app.interest.throttle.zone:${app.interest.zone:Asia/Kolkata}}") String zone) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException("app.interest.throttle needs 0 < minRate <= maxRate, got " + minRate + " and " + maxRate);
+        }
+        if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("app.interest.throttle.decreaseFactor must be in (0, 1), got " + decreaseFactor);
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.targetCommitNanos = TimeUnit.MILLISECONDS.toNanos(targetCommitMs);
+        this.maxPendingConnections = maxPendingConnections;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increase = increase;
+        this.decreaseFactor = decreaseFactor;
+        this.nightStart = LocalTime.parse(nightStart);
+        this.nightEnd = LocalTime.parse(nightEnd);
+        this.zoneId = ZoneId.of(zone);
+        this.rate = minRate;
+        this.decreases = Counter.builder("interest.throttle.decreases")
+                .description("Times the interest job throttle backed off on slow commits or pool waiters")
+                .register(meterRegistry);
+        Gauge.builder("interest.throttle.rate", this, throttle -> throttle.isActive() ? throttle.getRate() : Double.NaN)
+                .description("Chunk commits per second the interest jobs are paced to; NaN when running unthrottled")
+                .baseUnit("chunks/s")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A throttle that never paces, for running the jobs outside the application (tools, tests).
+     */
+    public static AdaptiveThrottle unthrottled(MeterRegistry meterRegistry) {
+        return new AdaptiveThrottle(meterRegistry, false, 200, 0, 0.5, 50, 1, 0.5, "20:00", "06:00", "UTC");
+    }
+
+    /**
+     * Whether writes are paced right now: enabled, and outside the night window.
+     */
+    public boolean isActive() {
+        return enabled && !isNight(Instant.now());
+    }
+
+    boolean isNight(Instant instant) {
+        return isNight(LocalTime.ofInstant(instant, zoneId));
+    }
+
+    boolean isNight(LocalTime time) {
+        if (nightStart.equals(nightEnd)) {
+            return false;
+        }
+        return nightStart.isBefore(nightEnd)
+                ? !time.isBefore(nightStart) && time.isBefore(nightEnd)
+                : !time.isBefore(nightStart) || time.isBefore(nightEnd);
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * Wait until the current rate allows the next chunk write. Returns at once when the throttle is not active.
+     */
+    public void beforeWrite() {
+        if (!isActive()) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextWriteNanos);
+            nextWriteNanos = start + (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Feed back how long a chunk took to commit, and adjust the rate.
+     */
+    public void afterWrite(long commitNanos) {
+        if (!isActive()) {
+            return;
+        }
+        double pending = pendingConnections();
+        synchronized (this) {
+            if (commitNanos > targetCommitNanos || pending > maxPendingConnections) {
+                double previous = rate;
+                rate = Math.max(minRate, rate * decreaseFactor);
+                decreases.increment();
+                log.debug("Throttling interest job from {} to {} chunks/s (commit {} ms, {} connections pending)",
+                        previous, rate, TimeUnit.NANOSECONDS.toMillis(commitNanos), pending);
+            } else {
+                rate = Math.min(maxRate, rate + increase);
+            }
+        }
+    }
+
+    private double pendingConnections() {
+        return meterRegistry.find(POOL_PENDING_GAUGE).gauges().stream()
+                .mapToDouble(Gauge::value)
+                .filter(value -> !Double.isNaN(value))
+                .sum();
+    }
+}
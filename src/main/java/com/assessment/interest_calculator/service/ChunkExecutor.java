@@ -0,0 +1,432 @@
+package com.assessment.interest_calculator.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-process-write loop for the interest jobs, committing app.interest.commitInterval items per transaction.
+ *
+ * Each chunk is read and processed outside any transaction, then written in a single transaction. If the write
+ * fails, the chunk is rolled back and split in half, and each half is written again, down to single items; an
+ * item that fails on its own is skipped and reported to {@link ChunkStep#onWriteError}. One bad row therefore
+ * costs about 2 log2(commitInterval) extra transactions instead of the whole chunk. Writes must be repeatable:
+ * the items are detached entities written by merge, so a rolled-back attempt leaves them as they were.
+ *
+ * With app.interest.pipeline.enabled (the default) the three stages overlap: a fetch thread reads chunk N+1 while
+ * the calling thread computes chunk N and a write thread commits chunk N-1, with app.interest.pipeline.queueCapacity
+ * chunks buffered between stages. A run then takes about as long as its slowest stage rather than the sum of all
+ * three. Steps must allow this: reads may not depend on the previous chunk having been committed (keyset and
+ * in-memory readers do not), and afterCommit and onWriteError run on the write thread.
+ *
+ * Chunk writes are paced by {@link AdaptiveThrottle}, which backs off when commits slow down or the connection pool
+ * has waiters, so that a run during business hours leaves room for the API.
+ *
+ * Every chunk records fetch, compute and flush events for JDK Flight Recorder (see InterestJfrEvents), and each
+ * stage's busy time is published as interest.chunk.stage.busy and, per run, interest.chunk.stage.utilization.
+ */
+@Slf4j
+@Component
+public class ChunkExecutor {
+    private final TransactionOperations transactionOperations;
+    private final AdaptiveThrottle throttle;
+    private final int commitInterval;
+    private final boolean pipelined;
+    private final int queueCapacity;
+    private final ExecutorService stageThreads;
+    private final Map<Stage, Timer> busyTimers = new EnumMap<>(Stage.class);
+    private final Map<Stage, AtomicLong> lastUtilizationPermille = new EnumMap<>(Stage.class);
+
+    private static final long OFFER_TIMEOUT_MS = 100; // How often a blocked producer checks whether its consumer died
+
+    public enum Stage {
+        FETCH, COMPUTE, WRITE
+    }
+
+    public ChunkExecutor(
+            TransactionOperations transactionOperations,
+            MeterRegistry meterRegistry,
+            AdaptiveThrottle throttle,
+            @Value("${app.interest.commitInterval:100}") int commitInterval,
+            @Value("${app.interest.pipeline.enabled:true}") boolean pipelined,
+            @Value("${app.interest.pipeline.queueCapacity:1}") int queueCapacity) {
+        if (commitInterval < 1) {
+            throw new IllegalArgumentException("app.interest.commitInterval must be at least 1, got " + commitInterval);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("app.interest.pipeline.queueCapacity must be at least 1, got " + queueCapacity);
+        }
+        this.transactionOperations = transactionOperations;
+        this.throttle = throttle;
+        this.commitInterval = commitInterval;
+        this.pipelined = pipelined;
+        this.queueCapacity = queueCapacity;
+        this.stageThreads = Executors.newCachedThreadPool(stageThreadFactory());
+        for (Stage stage : Stage.values()) {
+            String tag = stage.name().toLowerCase();
+            busyTimers.put(stage, Timer.builder("interest.chunk.stage.busy")
+                    .description("Time a chunk spent in one stage of the interest jobs")
+                    .tag("stage", tag)
+                    .register(meterRegistry));
+            AtomicLong utilization = new AtomicLong();
+            lastUtilizationPermille.put(stage, utilization);
+            Gauge.builder("interest.chunk.stage.utilization", utilization, value -> value.get() / 1000.0)
+                    .description("Share of the last run's wall-clock time the stage was busy; the bottleneck is close to 1")
+                    .tag("stage", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stageThreads.shutdownNow();
+    }
+
+    /**
+     * One job step. {@link #process} does in-memory work only, {@link #write} runs inside the chunk's transaction,
+     * and {@link #afterCommit} sees only items whose transaction committed.
+     */
+    public interface ChunkStep<I, O> {
+        /**
+         * The next chunk of at most {@code max} items, which may be empty, or null when there are no more.
+         */
+        List<I> read(int max);
+
+        /**
+         * @return the item to write, or null to drop it; an exception skips the item
+         */
+        O process(I item);
+
+        void write(List<O> items);
+
+        default void afterCommit(List<O> items) {
+        }
+
+        default void onProcessError(int batchId, I item, Exception e) {
+        }
+
+        default void onWriteError(int batchId, O item, Exception e) {
+        }
+    }
+
+    @lombok.Data
+    public static class ChunkStats {
+        private int chunks;
+        private int itemsRead;
+        private int itemsWritten;
+        private int itemsSkipped;
+        private int commits;
+        private int rollbacks;
+        private long fetchNanos;
+        private long computeNanos;
+        private long writeNanos;
+        private long wallNanos;
+
+        ChunkStats add(ChunkStats other) {
+            chunks += other.chunks;
+            itemsRead += other.itemsRead;
+            itemsWritten += other.itemsWritten;
+            itemsSkipped += other.itemsSkipped;
+            commits += other.commits;
+            rollbacks += other.rollbacks;
+            fetchNanos += other.fetchNanos;
+            computeNanos += other.computeNanos;
+            writeNanos += other.writeNanos;
+            return this;
+        }
+    }
+
+    /**
+     * A chunk travelling between stages; {@code items == null} marks the end of the stream.
+     */
+    private record Chunk<T>(int batchId, List<T> items) {
+        private static final Chunk<?> END = new Chunk<>(0, null);
+
+        @SuppressWarnings("unchecked")
+        static <T> Chunk<T> end() {
+            return (Chunk<T>) END;
+        }
+
+        boolean isEnd() {
+            return items == null;
+        }
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Run a step until its reader is exhausted.
+     *
+     * @param phase    phase name carried by the JFR events
+     * @param batchIds source of batch ids for the JFR events, shared by steps that belong to one run
+     */
+    public <I, O> ChunkStats execute(String phase, AtomicInteger batchIds, ChunkStep<I, O> step) {
+        long start = System.nanoTime();
+        ChunkStats stats = pipelined ? executePipelined(phase, batchIds, step) : executeSequential(phase, batchIds, step);
+        stats.setWallNanos(System.nanoTime() - start);
+        publishUtilization(phase, stats);
+        return stats;
+    }
+
+    private <I, O> ChunkStats executeSequential(String phase, AtomicInteger batchIds, ChunkStep<I, O> step) {
+        ChunkStats stats = new ChunkStats();
+        while (true) {
+            Chunk<I> fetched = fetch(phase, batchIds, step, stats);
+            if (fetched.isEnd()) {
+                return stats;
+            }
+            flush(phase, compute(phase, fetched, step, stats), step, stats);
+        }
+    }
+
+    private <I, O> ChunkStats executePipelined(String phase, AtomicInteger batchIds, ChunkStep<I, O> step) {
+        BlockingQueue<Chunk<I>> fetchedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Chunk<O>> computedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        ChunkStats fetchStats = new ChunkStats();
+        ChunkStats computeStats = new ChunkStats();
+        ChunkStats writeStats = new ChunkStats();
+
+        Future<?> fetcher = stageThreads.submit(() -> {
+            try {
+                Chunk<I> fetched;
+                do {
+                    fetched = fetch(phase, batchIds, step, fetchStats);
+                    fetchedQueue.put(fetched);
+                } while (!fetched.isEnd());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | Error e) {
+                // Let the compute stage drain and stop; the failure itself is reported through the future
+                putQuietly(fetchedQueue, Chunk.end());
+                throw e;
+            }
+        });
+        Future<?> writer = stageThreads.submit(() -> {
+            try {
+                Chunk<O> computed;
+                while (!(computed = computedQueue.take()).isEnd()) {
+                    flush(phase, computed, step, writeStats);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            Chunk<I> fetched;
+            while (!(fetched = takeFrom(fetchedQueue, fetcher)).isEnd()) {
+                offerTo(computedQueue, compute(phase, fetched, step, computeStats), writer);
+            }
+            offerTo(computedQueue, Chunk.end(), writer);
+            writer.get();
+            fetcher.get();
+        } catch (ExecutionException e) {
+            fetcher.cancel(true);
+            writer.cancel(true);
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Chunk pipeline stage failed", e.getCause());
+        } catch (InterruptedException e) {
+            fetcher.cancel(true);
+            writer.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running chunk pipeline for phase " + phase, e);
+        } catch (RuntimeException | Error e) {
+            fetcher.cancel(true);
+            writer.cancel(true);
+            throw e;
+        }
+        return fetchStats.add(computeStats).add(writeStats);
+    }
+
+    private <I> Chunk<I> fetch(String phase, AtomicInteger batchIds, ChunkStep<I, ?> step, ChunkStats stats) {
+        long start = System.nanoTime();
+        InterestJfrEvents.BatchFetch fetchEvent = new InterestJfrEvents.BatchFetch();
+        fetchEvent.begin();
+        List<I> items = step.read(commitInterval);
+        if (items == null) {
+            return Chunk.end();
+        }
+        int batchId = batchIds.incrementAndGet();
+        fetchEvent.complete(phase, batchId, items.size());
+        stats.chunks++;
+        stats.itemsRead += items.size();
+        stats.fetchNanos += record(Stage.FETCH, start);
+        return new Chunk<>(batchId, items);
+    }
+
+    private <I, O> Chunk<O> compute(String phase, Chunk<I> fetched, ChunkStep<I, O> step, ChunkStats stats) {
+        long start = System.nanoTime();
+        InterestJfrEvents.BatchCompute computeEvent = new InterestJfrEvents.BatchCompute();
+        computeEvent.begin();
+        List<O> outputs = new ArrayList<>(fetched.items().size());
+        for (I item : fetched.items()) {
+            try {
+                O output = step.process(item);
+                if (output != null) {
+                    outputs.add(output);
+                }
+            } catch (Exception e) {
+                stats.itemsSkipped++;
+                step.onProcessError(fetched.batchId(), item, e);
+            }
+        }
+        computeEvent.complete(phase, fetched.batchId(), fetched.items().size());
+        stats.computeNanos += record(Stage.COMPUTE, start);
+        return new Chunk<>(fetched.batchId(), outputs);
+    }
+
+    private <O> void flush(String phase, Chunk<O> computed, ChunkStep<?, O> step, ChunkStats stats) {
+        if (computed.items().isEmpty()) {
+            return;
+        }
+        throttle.beforeWrite();
+        long start = System.nanoTime();
+        InterestJfrEvents.BatchFlush flushEvent = new InterestJfrEvents.BatchFlush();
+        flushEvent.begin();
+        write(computed.batchId(), computed.items(), step, stats);
+        flushEvent.complete(phase, computed.batchId(), computed.items().size());
+        long elapsed = record(Stage.WRITE, start);
+        stats.writeNanos += elapsed;
+        throttle.afterWrite(elapsed);
+    }
+
+    private <O> void write(int batchId, List<O> items, ChunkStep<?, O> step, ChunkStats stats) {
+        if (items.isEmpty()) {
+            return;
+        }
+        try {
+            transactionOperations.executeWithoutResult(status -> step.write(items));
+        } catch (RuntimeException e) {
+            stats.rollbacks++;
+            if (items.size() == 1) {
+                stats.itemsSkipped++;
+                step.onWriteError(batchId, items.get(0), e);
+                return;
+            }
+            log.debug("Chunk of {} items in batch {} rolled back, splitting it: {}", items.size(), batchId, e.getMessage());
+            int half = items.size() / 2;
+            write(batchId, items.subList(0, half), step, stats);
+            write(batchId, items.subList(half, items.size()), step, stats);
+            return;
+        }
+        stats.commits++;
+        stats.itemsWritten += items.size();
+        step.afterCommit(items);
+    }
+
+    private long record(Stage stage, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        busyTimers.get(stage).record(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
+    private void publishUtilization(String phase, ChunkStats stats) {
+        if (stats.getChunks() == 0 || stats.getWallNanos() <= 0) {
+            return;
+        }
+        long fetch = permille(stats.getFetchNanos(), stats.getWallNanos());
+        long compute = permille(stats.getComputeNanos(), stats.getWallNanos());
+        long write = permille(stats.getWriteNanos(), stats.getWallNanos());
+        lastUtilizationPermille.get(Stage.FETCH).set(fetch);
+        lastUtilizationPermille.get(Stage.COMPUTE).set(compute);
+        lastUtilizationPermille.get(Stage.WRITE).set(write);
+        log.info("Chunk {} {}: {} chunks, {} commits in {} ms; stage utilization fetch {}%, compute {}%, write {}%",
+                pipelined ? "pipeline" : "loop", phase, stats.getChunks(), stats.getCommits(),
+                TimeUnit.NANOSECONDS.toMillis(stats.getWallNanos()), fetch / 10.0, compute / 10.0, write / 10.0);
+    }
+
+    private static long permille(long busyNanos, long wallNanos) {
+        return Math.min(1000, busyNanos * 1000 / wallNanos);
+    }
+
+    /**
+     * Take the next chunk, failing instead of waiting forever if the producing stage died without an end marker.
+     */
+    private static <T> Chunk<T> takeFrom(BlockingQueue<Chunk<T>> queue, Future<?> producer) throws InterruptedException, ExecutionException {
+        while (true) {
+            Chunk<T> chunk = queue.poll(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (chunk != null) {
+                return chunk;
+            }
+            if (producer.isDone()) {
+                producer.get();
+                Chunk<T> last = queue.poll();
+                return last != null ? last : Chunk.end();
+            }
+        }
+    }
+
+    /**
+     * Hand a chunk to the next stage, failing instead of blocking forever if that stage died.
+     */
+    private static <T> void offerTo(BlockingQueue<Chunk<T>> queue, Chunk<T> chunk, Future<?> consumer) throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (consumer.isDone()) {
+                consumer.get();
+                throw new IllegalStateException("Chunk pipeline stage stopped before the end of its input");
+            }
+        }
+    }
+
+    private static <T> void putQuietly(BlockingQueue<Chunk<T>> queue, Chunk<T> chunk) {
+        try {
+            queue.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory stageThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "chunk-stage-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Reader over a list that is already in memory: consecutive sublists of at most {@code max} items, then null.
+     */
+    public static <T> IntFunction<List<T>> chunksOf(List<T> items) {
+        AtomicInteger position = new AtomicInteger();
+        return max -> {
+            int from = position.get();
+            if (from >= items.size()) {
+                return null;
+            }
+            int to = Math.min(from + max, items.size());
+            position.set(to);
+            return items.subList(from, to);
+        };
+    }
+}
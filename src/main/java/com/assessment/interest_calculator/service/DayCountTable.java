@@ -0,0 +1,78 @@
+package com.assessment.interest_calculator.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.assessment.interest_calculator.entity.DayCountConvention;
+
+/**
+ * Per-date year fractions for every day-count convention over a date range, computed once per job run.
+ * The accrual loop only indexes into arrays, so a mixed-convention book costs the same as a single-convention one.
+ *
+ * Accounts without a convention accrue at 1 / legacyBasis (app.interest.dayCountBasis), as before conventions existed.
+ */
+public final class DayCountTable {
+    private final LocalDate start;
+    private final DayFraction legacyFraction;
+    private final Map<DayCountConvention, DayFraction[]> fractions = new EnumMap<>(DayCountConvention.class);
+
+    private DayCountTable(LocalDate start, int length, int legacyBasis) {
+        this.start = start;
+        this.legacyFraction = DayFraction.of(1, legacyBasis);
+        for (DayCountConvention convention : DayCountConvention.values()) {
+            DayFraction[] byDay = new DayFraction[length];
+            DayFraction previous = null;
+            for (int i = 0; i < length; i++) {
+                LocalDate date = start.plusDays(i);
+                DayFraction fraction = DayFraction.of(convention.accrualDays(date), convention.yearBasis(date));
+                // Reuse the previous instance when equal, so histograms and caches see few distinct keys
+                byDay[i] = fraction.equals(previous) ? previous : fraction;
+                previous = byDay[i];
+            }
+            fractions.put(convention, byDay);
+        }
+    }
+
+    /**
+     * Build the table for every date from {@code from} to {@code to}, inclusive.
+     */
+    public static DayCountTable build(LocalDate from, LocalDate to, int legacyBasis) {
+        int length = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        return new DayCountTable(from, Math.max(length, 0), legacyBasis);
+    }
+
+    /**
+     * Year fraction of the accrual day {@code date} under {@code convention} (null means the legacy fixed basis).
+     * Dates outside the precomputed range are derived on the fly.
+     */
+    public DayFraction fraction(DayCountConvention convention, LocalDate date) {
+        if (convention == null) {
+            return legacyFraction;
+        }
+        DayFraction[] byDay = fractions.get(convention);
+        long offset = ChronoUnit.DAYS.between(start, date);
+        if (offset >= 0 && offset < byDay.length) {
+            return byDay[(int) offset];
+        }
+        return DayFraction.of(convention.accrualDays(date), convention.yearBasis(date));
+    }
+
+    /**
+     * Number of days in {@code from..to} (inclusive) that earn each distinct fraction.
+     * Lets a multi-day period be accrued with one multiplication per distinct fraction instead of one per day.
+     */
+    public Map<DayFraction, Integer> histogram(DayCountConvention convention, LocalDate from, LocalDate to) {
+        Map<DayFraction, Integer> counts = new LinkedHashMap<>();
+        if (convention == null) {
+            counts.put(legacyFraction, (int) ChronoUnit.DAYS.between(from, to) + 1);
+            return counts;
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            counts.merge(fraction(convention, date), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,12 @@
+package com.assessment.interest_calculator.service;
+
+/**
+ * Year fraction earned by one accrual day: {@code days / basis}.
+ * Kept as a ratio rather than a decimal so daily interest is rounded exactly once.
+ */
+public record DayFraction(int days, int basis) {
+
+    public static DayFraction of(int days, int basis) {
+        return new DayFraction(days, basis);
+    }
+}
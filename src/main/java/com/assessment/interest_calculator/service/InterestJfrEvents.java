@@ -0,0 +1,158 @@
+package com.assessment.interest_calculator.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the interest jobs: one per run, one per batch phase (fetch, compute, flush)
+ * and one per failed account. Batch events cost one small allocation per batch and failure events only
+ * fire on failures, so they are enabled in the always-on recording (see FlightRecorderConfig).
+ * Stack traces are off; the events carry the batch and account ids needed to find the rows instead.
+ */
+public final class InterestJfrEvents {
+    static final String CATEGORY = "Interest Calculator";
+
+    private InterestJfrEvents() {
+    }
+
+    /**
+     * Every event type defined here, for recordings that enable them explicitly.
+     */
+    public static List<Class<? extends Event>> types() {
+        return List.of(Job.class, BatchFetch.class, BatchCompute.class, BatchFlush.class, AccountFailure.class);
+    }
+
+    @Name("com.assessment.interest.Job")
+    @Label("Interest Job")
+    @Description("One run of the daily accrual or the month-end capitalization")
+    @Category({CATEGORY, "Jobs"})
+    @StackTrace(false)
+    public static class Job extends Event {
+        @Label("Job Type")
+        String jobType;
+
+        @Label("Zone Bucket")
+        @Description("Time zone of the accounts accrued; empty when the run covered the whole book")
+        String zone;
+
+        @Label("Business Date")
+        String businessDate;
+
+        @Label("Accounts Processed")
+        int accountsProcessed;
+
+        @Label("Failed Accounts")
+        int failedAccounts;
+
+        @Label("Optimistic Lock Conflicts")
+        int conflicts;
+
+        public void complete(String jobType, String zone, LocalDate businessDate, int accountsProcessed, int failedAccounts, int conflicts) {
+            end();
+            if (shouldCommit()) {
+                this.jobType = jobType;
+                this.zone = zone;
+                this.businessDate = businessDate.toString();
+                this.accountsProcessed = accountsProcessed;
+                this.failedAccounts = failedAccounts;
+                this.conflicts = conflicts;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Common fields of the per-batch phase events.
+     */
+    abstract static class BatchPhase extends Event {
+        @Label("Phase")
+        @Description("MAIN, RETRY, CATCH_UP (lazily accrued accounts brought up to date before capitalization) or MONTH_END")
+        String phase;
+
+        @Label("Batch Id")
+        @Description("Sequence number of the batch within its run")
+        int batchId;
+
+        @Label("Accounts")
+        int accounts;
+
+        public void complete(String phase, int batchId, int accounts) {
+            end();
+            if (shouldCommit()) {
+                this.phase = phase;
+                this.batchId = batchId;
+                this.accounts = accounts;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.assessment.interest.BatchFetch")
+    @Label("Interest Batch Fetch")
+    @Description("Loading one batch of accounts (and their pending postings) from the database")
+    @Category({CATEGORY, "Batches"})
+    @StackTrace(false)
+    public static class BatchFetch extends BatchPhase {
+    }
+
+    @Name("com.assessment.interest.BatchCompute")
+    @Label("Interest Batch Compute")
+    @Description("Folding postings and computing penal charges and interest for one batch, in memory")
+    @Category({CATEGORY, "Batches"})
+    @StackTrace(false)
+    public static class BatchCompute extends BatchPhase {
+    }
+
+    @Name("com.assessment.interest.BatchFlush")
+    @Label("Interest Batch Flush")
+    @Description("Writing one batch of accrued or capitalized accounts to the database")
+    @Category({CATEGORY, "Batches"})
+    @StackTrace(false)
+    public static class BatchFlush extends BatchPhase {
+    }
+
+    @Name("com.assessment.interest.AccountFailure")
+    @Label("Interest Account Failure")
+    @Description("An account the job could not process, or deferred after an optimistic-lock conflict")
+    @Category({CATEGORY, "Failures"})
+    @StackTrace(false)
+    public static class AccountFailure extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Batch Id")
+        int batchId;
+
+        @Label("Account Id")
+        long accountId;
+
+        @Label("Optimistic Lock Conflict")
+        boolean conflict;
+
+        @Label("Exception")
+        String exception;
+
+        @Label("Message")
+        String message;
+
+        public static void emit(String phase, int batchId, Long accountId, Exception e, boolean conflict) {
+            AccountFailure event = new AccountFailure();
+            if (event.shouldCommit()) {
+                event.phase = phase;
+                event.batchId = batchId;
+                event.accountId = accountId != null ? accountId : -1;
+                event.conflict = conflict;
+                event.exception = e.getClass().getName();
+                event.message = e.getMessage();
+                event.commit();
+            }
+        }
+    }
+}
@@ -2,21 +2,34 @@ package com.assessment.interest_calculator.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.DayCountConvention;
 import com.assessment.interest_calculator.entity.LoanAccount;
 import com.assessment.interest_calculator.repository.LoanAccountRepository;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -26,21 +39,65 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class InterestService {
     private final LoanAccountRepository loanAccountRepository; 
-    private final int dayCountBasis; // 365 or 366 for leap years
-    private final ZoneId zoneId; // Time zone for date calculations
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final RateScheduleService rateScheduleService;
+    private final ProductService productService;
+    private final PostingService postingService;
+    private final ChunkExecutor chunkExecutor; // Commits the daily accrual, and month-end fallbacks, one chunk per transaction
+    private final int dayCountBasis; // Default basis for accounts without a day-count convention
+    private final BigDecimal defaultPenalRate; // Annual penal rate for accounts without their own
+    private final int retryMaxAttempts; // Retry rounds for accounts that lost an optimistic-lock race
+    private final long retryBackoffMs; // Base delay before the first retry round, doubled per round and jittered
+    private final Counter mainConflicts;
+    private final Counter retryConflicts;
+    private final Counter exhaustedConflicts;
+    private final ZoneId zoneId; // Time zone for date calculations, and the zone bucket of accounts without one
+    private final MeterRegistry meterRegistry;
+    private final boolean lazyAccrual; // Accrue on read: rows are only written on balance-changing events and at month-end
 
-    private static final int BATCH_SIZE = 100; // Batch size for processing loan accounts
+    private static final int CAPITALIZATION_CHUNK_SIZE = 1000; // Accounts capitalized per set-based month-end statement
     private static final int MONEY_SCALE = 6; // Scale for monetary calculations
     private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP; // Rounding mode for monetary calculations
+    private static final String JOB_DAILY = "DAILY"; // Job and phase names carried by the JFR events
+    private static final String JOB_MONTH_END = "MONTH_END";
+    private static final String PHASE_MAIN = "MAIN";
+    private static final String PHASE_RETRY = "RETRY";
+    private static final String PHASE_MONTH_END = "MONTH_END";
+    private static final String PHASE_CATCH_UP = "CATCH_UP";
 
     public InterestService(
             LoanAccountRepository loanAccountRepository,
+            PortfolioSummaryService portfolioSummaryService,
+            RateScheduleService rateScheduleService,
+            ProductService productService,
+            PostingService postingService,
+            ChunkExecutor chunkExecutor,
+            MeterRegistry meterRegistry,
             @Value("${app.interest.dayCountBasis:365}") int dayCountBasis,
-            @Value("${app.interest.zone:Asia/Kolkata}") String zone) {
+            @Value("${app.penalty.defaultRate:2.0}") BigDecimal defaultPenalRate,
+            @Value("${app.interest.retry.maxAttempts:3}") int retryMaxAttempts,
+            @Value("${app.interest.retry.backoffMs:200}") long retryBackoffMs,
+            @Value("${app.interest.zone:Asia/Kolkata}") String zone,
+            @Value("${app.interest.lazy.enabled:false}") boolean lazyAccrual) {
         this.loanAccountRepository = loanAccountRepository;
+        this.portfolioSummaryService = portfolioSummaryService;
+        this.rateScheduleService = rateScheduleService;
+        this.productService = productService;
+        this.postingService = postingService;
+        this.chunkExecutor = chunkExecutor;
         this.dayCountBasis = dayCountBasis;
-        this.zoneId = ZoneId.of(zone);   
-        log.info("InterestService initialized with dayCountBasis={} and zoneId={}", dayCountBasis, zoneId);
+        this.defaultPenalRate = defaultPenalRate;
+        this.retryMaxAttempts = retryMaxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.mainConflicts = conflictCounter(meterRegistry, "main");
+        this.retryConflicts = conflictCounter(meterRegistry, "retry");
+        this.exhaustedConflicts = Counter.builder("interest.accrual.conflicts.exhausted")
+                .description("Accounts left un-accrued after every optimistic-lock retry round failed")
+                .register(meterRegistry);
+        this.zoneId = ZoneId.of(zone);
+        this.meterRegistry = meterRegistry;
+        this.lazyAccrual = lazyAccrual;
+        log.info("InterestService initialized with dayCountBasis={}, zoneId={} and lazyAccrual={}", dayCountBasis, zoneId, lazyAccrual);
             }
         
     
@@ -48,74 +105,585 @@ public class InterestService {
     @lombok.Builder
     public static class InterestApplicationResult {
         private LocalDate date;
+        private String zone; // Zone bucket of a daily run; null when the run covered the whole book
+        private Integer hashBucket; // Hash bucket of a continuous accrual run; null when the run covered the whole zone
         private int totalAccountsProcessed;
         private int failedAccounts;
         private BigDecimal totalInterestApplied; // Sum of interest applied across all accounts - suggested by copilot
+        private BigDecimal totalRepaymentsApplied; // Sum of repayments folded into balances (daily run only)
+        private BigDecimal totalPenaltyApplied; // Sum of penal charges accrued on overdue amounts (daily run only)
+        private int optimisticLockConflicts; // Conflicts hit in the main pass and the retry rounds (daily run only)
         private long durationMs;
     }
 
+    /**
+     * Interest and penal charges a lazily accrued account has earned since its anchor date.
+     */
+    public record LazyAccrual(BigDecimal interest, BigDecimal penalty) {
+        public static final LazyAccrual NONE = new LazyAccrual(BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Zone buckets of the daily accrual: app.interest.zone, which also holds the accounts without a zone, and every
+     * zone carried by an active account. Zones the JVM does not know are logged and left out.
+     */
+    public Set<ZoneId> accrualZones() {
+        Set<ZoneId> zones = new LinkedHashSet<>();
+        zones.add(zoneId);
+        for (String zone : loanAccountRepository.findActiveTimeZones()) {
+            try {
+                zones.add(ZoneId.of(zone));
+            } catch (DateTimeException e) {
+                log.error("Skipping accounts with unknown time zone {}: {}", zone, e.getMessage());
+            }
+        }
+        return zones;
+    }
+
+    /**
+     * Accrue one day of interest on the whole book, whatever the accounts' time zones.
+     */
     public InterestApplicationResult applyDailyInterest(LocalDate forDate) {
         log.info("Starting daily interest application for date: {}", forDate);
+        AccountSource source = new AccountSource() {
+            @Override
+            public long count() {
+                return loanAccountRepository.countAccountsNeedingInterestApplication(forDate);
+            }
+
+            @Override
+            public List<LoanAccount> after(long afterId, int max) {
+                return loanAccountRepository.findAccountsNeedingInterestApplicationAfter(forDate, afterId, PageRequest.of(0, max));
+            }
+
+            @Override
+            public List<LoanAccount> reread(List<Long> ids) {
+                return loanAccountRepository.findAccountsNeedingInterestApplicationByIdIn(forDate, ids);
+            }
+        };
+        return applyDailyInterest(forDate, null, source);
+    }
+
+    /**
+     * Accrue one day of interest on one zone bucket: the accounts whose time zone is {@code zone}, plus the accounts
+     * without a zone when {@code zone} is app.interest.zone. The business date is taken in that zone, so the run is
+     * idempotent per bucket and date however late it starts, and independent of the other buckets.
+     */
+    public InterestApplicationResult applyDailyInterest(LocalDate forDate, ZoneId zone) {
+        return applyDailyInterest(forDate, zone, 0, 1);
+    }
+
+    /**
+     * Accrue one day of interest on one hash bucket of a zone bucket: the accounts with {@code id mod buckets = bucket}.
+     * Used by continuous accrual, which works through the buckets of the business date that just closed in the zone
+     * over the following day. Postings are folded up to the business date only, so a bucket accrues on the balance as
+     * of that date however late in the next day it runs.
+     */
+    public InterestApplicationResult applyDailyInterest(LocalDate forDate, ZoneId zone, int bucket, int buckets) {
+        if (bucket < 0 || bucket >= buckets) {
+            throw new IllegalArgumentException("Hash bucket must be in [0, " + buckets + "), got " + bucket);
+        }
+        if (buckets == 1) {
+            log.info("Starting daily interest application for date: {} in zone bucket {}", forDate, zone.getId());
+        } else {
+            log.info("Starting daily interest application for date: {} in zone bucket {}, hash bucket {}/{}", forDate, zone.getId(), bucket, buckets);
+        }
+        boolean includeUnzoned = zone.equals(zoneId);
+        OffsetDateTime dayStart = forDate.atStartOfDay(zone).toOffsetDateTime();
+        AccountSource source = new AccountSource() {
+            @Override
+            public long count() {
+                return loanAccountRepository.countAccountsNeedingInterestApplicationInZone(zone.getId(), includeUnzoned, bucket, buckets, dayStart);
+            }
+
+            @Override
+            public List<LoanAccount> after(long afterId, int max) {
+                return loanAccountRepository.findAccountsNeedingInterestApplicationInZoneAfter(zone.getId(), includeUnzoned, bucket, buckets,
+                        dayStart, afterId, PageRequest.of(0, max));
+            }
+
+            @Override
+            public List<LoanAccount> reread(List<Long> ids) {
+                return loanAccountRepository.findAccountsNotAccruedSinceByIdIn(dayStart, ids);
+            }
+        };
+        InterestApplicationResult result = applyDailyInterest(forDate, zone, source);
+        if (buckets > 1) {
+            result.setHashBucket(bucket);
+        }
+        Timer.builder("interest.accrual.bucket")
+                .description("Duration of daily accrual runs per zone bucket")
+                .tag("zone", zone.getId())
+                .register(meterRegistry)
+                .record(result.getDurationMs(), TimeUnit.MILLISECONDS);
+        Counter.builder("interest.accrual.bucket.accounts")
+                .description("Accounts accrued by the daily accrual per zone bucket")
+                .tag("zone", zone.getId())
+                .register(meterRegistry)
+                .increment(result.getTotalAccountsProcessed() - result.getFailedAccounts());
+        return result;
+    }
+
+    private InterestApplicationResult applyDailyInterest(LocalDate forDate, ZoneId zone, AccountSource source) {
         long startTime = System.currentTimeMillis();
-        AtomicInteger successCount = new AtomicInteger(0); // Thread-safe counter for successful updates
-        AtomicInteger failureCount = new AtomicInteger(0); // Thread-safe counter for failed updates
-        AtomicReference<BigDecimal> totalInterestApplied = new AtomicReference<>(BigDecimal.ZERO); // Thread-safe accumulator for total interest applied
+        InterestJfrEvents.Job jobEvent = new InterestJfrEvents.Job();
+        jobEvent.begin();
+        RunTotals totals = new RunTotals();
 
-        long totalAccounts = loanAccountRepository.countAccountsNeedingInterestApplication(forDate);
+        long totalAccounts = source.count();
         log.info("Total accounts needing interest application for {}: {}", forDate, totalAccounts);
-        int totalBatches = (int) Math.ceil((double) totalAccounts / BATCH_SIZE);
+        int totalBatches = (int) Math.ceil((double) totalAccounts / chunkExecutor.getCommitInterval());
 
-        int pageNumber = 0;
-        Page<LoanAccount> accountsPage;
-        do {
-            accountsPage = loanAccountRepository.findAccountsNeedingInterestApplication(forDate, org.springframework.data.domain.PageRequest.of(pageNumber, BATCH_SIZE));
-            log.info("Processing batch {}/{} with {} accounts", pageNumber + 1, totalBatches, accountsPage.getNumberOfElements());
-
-            for (LoanAccount account : accountsPage.getContent()) {
-                try {
-                    BigDecimal interestApplied = applyInterestToAccount(account, forDate);
-                    successCount.incrementAndGet();
-                    totalInterestApplied.updateAndGet(current -> current.add(interestApplied));
-                } catch (Exception e) {
-                    failureCount.incrementAndGet();
-                    log.error("Failed to apply interest to account {}: {}", account.getId(), e.getMessage(), e);
-                }
-            }
+        // Resolve rate schedules and day-count fractions once for the whole run; the per-account lookups are then hash probes
+        RateScheduleIndex rateIndex = rateScheduleService.loadIndex(forDate);
+        AccrualContext context = AccrualContext.builder()
+                .businessDate(forDate)
+                .zone(zone)
+                .rates(rateIndex.ratesOn(forDate))
+                .rateIndex(rateIndex)
+                .dayCounts(dayCountTable(forDate, forDate))
+                .productConventions(productService.loadDayCountConventions())
+                .defaultPenalRate(defaultPenalRate)
+                .build();
 
-            pageNumber++;
-        } while (accountsPage.hasNext());
+        List<Long> conflicted = new ArrayList<>();
+        ChunkExecutor.ChunkStats stats = chunkExecutor.execute(PHASE_MAIN, totals.batchCount,
+                new AccrualStep(PHASE_MAIN, new KeysetAccounts(source, totalBatches), context, totals, conflicted, mainConflicts));
+        totals.commitCount.addAndGet(stats.getCommits());
 
+        // Accounts that lost an optimistic-lock race are retried after the main pass instead of holding it up
+        retryConflicts(conflicted, source, context, totals);
+
+        String bucket = zone != null ? zone.getId() : null;
+        jobEvent.complete(JOB_DAILY, bucket, forDate, totals.successCount.get() + totals.failureCount.get(),
+                totals.failureCount.get(), totals.conflictCount.get());
         long durationMs = System.currentTimeMillis() - startTime;
-        log.info("Completed interest application for date: {}. Success: {}, Failures: {}, Total Interest Applied: {}, Duration: {} ms",
-                forDate, successCount.get(), failureCount.get(), totalInterestApplied.get(), durationMs);
+        log.info("Completed interest application for date: {}{}. Success: {}, Failures: {}, Conflicts: {}, Total Interest Applied: {}, Total Repayments Applied: {}, Total Penalty Applied: {}, Commits: {}, Duration: {} ms",
+                forDate, bucket != null ? " in zone bucket " + bucket : "", totals.successCount.get(), totals.failureCount.get(),
+                totals.conflictCount.get(), totals.interestApplied.get(),
+                totals.repaymentsApplied.get(), totals.penaltyApplied.get(), totals.commitCount.get(), durationMs);
 
         return InterestApplicationResult.builder()
                 .date(forDate)
-                .totalAccountsProcessed(successCount.get() + failureCount.get())
-                .failedAccounts(failureCount.get())
-                .totalInterestApplied(totalInterestApplied.get())
+                .zone(bucket)
+                .totalAccountsProcessed(totals.successCount.get() + totals.failureCount.get())
+                .failedAccounts(totals.failureCount.get())
+                .totalInterestApplied(totals.interestApplied.get())
+                .totalRepaymentsApplied(totals.repaymentsApplied.get())
+                .totalPenaltyApplied(totals.penaltyApplied.get())
+                .optimisticLockConflicts(totals.conflictCount.get())
                 .durationMs(durationMs)
                 .build();
     }
 
-     @Transactional
+    /**
+     * The accounts a daily run covers: the whole book, or one zone bucket.
+     */
+    private interface AccountSource {
+        long count();
+
+        /**
+         * The next accounts needing accrual after {@code afterId}, in id order.
+         */
+        List<LoanAccount> after(long afterId, int max);
+
+        /**
+         * The given accounts that still need accrual, for the conflict retry rounds.
+         */
+        List<LoanAccount> reread(List<Long> ids);
+    }
+
+    /**
+     * Reader for the main pass: the next accounts needing today's accrual after the last id read, until a short chunk.
+     */
+    private final class KeysetAccounts implements IntFunction<List<LoanAccount>> {
+        private final AccountSource source;
+        private final int totalBatches;
+        private long afterId;
+        private int batchNumber;
+        private boolean exhausted;
+
+        private KeysetAccounts(AccountSource source, int totalBatches) {
+            this.source = source;
+            this.totalBatches = totalBatches;
+        }
+
+        @Override
+        public List<LoanAccount> apply(int max) {
+            if (exhausted) {
+                return null;
+            }
+            List<LoanAccount> accounts = source.after(afterId, max);
+            batchNumber++;
+            log.info("Processing batch {}/{} with {} accounts", batchNumber, totalBatches, accounts.size());
+            exhausted = accounts.size() < max;
+            if (!accounts.isEmpty()) {
+                afterId = accounts.get(accounts.size() - 1).getId();
+            }
+            return accounts;
+        }
+    }
+
+    /**
+     * An account read for accrual, with the postings to fold into it.
+     */
+    private record PendingAccrual(LoanAccount account, List<AccountPosting> postings) {
+    }
+
+    /**
+     * One account's in-memory accrual, waiting for its chunk to be written.
+     */
+    private record Accrual(LoanAccount account, List<AccountPosting> postings, PostingFold fold, BigDecimal penalty, BigDecimal interest) {
+    }
+
+    /**
+     * The daily accrual as a chunk step: fold postings into, and accrue one day for, each account in memory, then
+     * write the chunk's accounts and folded postings in one transaction. Totals and the portfolio rollup only count
+     * committed accounts. Accounts whose write loses an optimistic-lock race are added to {@code conflicted} rather
+     * than counted as failed.
+     *
+     * With lazy accrual, lazily accrued accounts without postings to fold are dropped without a write. An account
+     * with postings first catches up on the days since its anchor, on the balance it had over them, then folds the
+     * postings and accrues the day like any other, and is left anchored on the business date. With lazy accrual off,
+     * the same catch-up turns lazily accrued accounts back into eagerly accrued ones.
+     */
+    private final class AccrualStep implements ChunkExecutor.ChunkStep<PendingAccrual, Accrual> {
+        private final String phase;
+        private final IntFunction<List<LoanAccount>> accounts;
+        private final AccrualContext context;
+        private final RunTotals totals;
+        private final List<Long> conflicted;
+        private final Counter conflictCounter;
+
+        private AccrualStep(String phase, IntFunction<List<LoanAccount>> accounts, AccrualContext context, RunTotals totals,
+                            List<Long> conflicted, Counter conflictCounter) {
+            this.phase = phase;
+            this.accounts = accounts;
+            this.context = context;
+            this.totals = totals;
+            this.conflicted = conflicted;
+            this.conflictCounter = conflictCounter;
+        }
+
+        @Override
+        public List<PendingAccrual> read(int max) {
+            List<LoanAccount> chunk = accounts.apply(max);
+            if (chunk == null) {
+                return null;
+            }
+            Map<Long, List<AccountPosting>> pendingPostings = postingService.loadPending(
+                    chunk.stream().map(LoanAccount::getId).toList(), context.getBusinessDate());
+            return chunk.stream()
+                    .map(account -> new PendingAccrual(account, pendingPostings.getOrDefault(account.getId(), List.of())))
+                    .toList();
+        }
+
+        @Override
+        public Accrual process(PendingAccrual pending) {
+            LoanAccount account = pending.account();
+            LocalDate businessDate = context.getBusinessDate();
+            LocalDate anchor = account.getAccrualAnchorDate();
+            if (lazyAccrual && anchor != null && pending.postings().isEmpty()) {
+                return null; // Nothing changes the balance: the day is computed from the days elapsed when the account is read
+            }
+            // The month-end catch-up may already have accrued the business date
+            boolean dayAccrued = anchor != null && !anchor.isBefore(businessDate);
+            LazyAccrual caughtUp = accrueSinceAnchor(account, businessDate.minusDays(1),
+                    context.getRateIndex(), context.getDayCounts(), context.getProductConventions());
+
+            // Repayments received since the last run reduce the balance before today's interest is accrued
+            PostingFold fold = PostingFold.apply(account, pending.postings(), OffsetDateTime.now(zoneId));
+            BigDecimal penaltyApplied = caughtUp.penalty();
+            BigDecimal interestApplied = caughtUp.interest();
+            if (dayAccrued) {
+                account.setLastInterestAppliedAt(appliedAt(context));
+            } else {
+                // Penal charges accrue in the same pass and are saved with the day's interest
+                penaltyApplied = penaltyApplied.add(accruePenalty(account, context));
+                interestApplied = interestApplied.add(accrueInterest(account, context));
+            }
+            account.setAccrualAnchorDate(lazyAccrual ? businessDate : null);
+            return new Accrual(account, pending.postings(), fold, penaltyApplied, interestApplied);
+        }
+
+        @Override
+        public void write(List<Accrual> accruals) {
+            accruals.forEach(accrual -> persistAccrued(accrual.account(), accrual.postings()));
+        }
+
+        @Override
+        public void afterCommit(List<Accrual> accruals) {
+            PortfolioDelta delta = new PortfolioDelta();
+            for (Accrual accrual : accruals) {
+                LoanAccount account = accrual.account();
+                totals.successCount.incrementAndGet();
+                totals.interestApplied.updateAndGet(current -> current.add(accrual.interest()));
+                totals.repaymentsApplied.updateAndGet(current -> current.add(accrual.fold().getTotal()));
+                totals.penaltyApplied.updateAndGet(current -> current.add(accrual.penalty()));
+                delta.repaymentApplied(account.getInterestRate(), accrual.fold().getToInterest(), accrual.fold().getToPrincipal());
+                delta.interestAccrued(account.getInterestRate(), accrual.interest());
+            }
+            portfolioSummaryService.apply(delta);
+        }
+
+        @Override
+        public void onProcessError(int batchId, PendingAccrual pending, Exception e) {
+            Long accountId = pending.account().getId();
+            totals.failureCount.incrementAndGet();
+            InterestJfrEvents.AccountFailure.emit(phase, batchId, accountId, e, false);
+            log.error("Failed to apply interest to account {}: {}", accountId, e.getMessage(), e);
+        }
+
+        @Override
+        public void onWriteError(int batchId, Accrual accrual, Exception e) {
+            Long accountId = accrual.account().getId();
+            if (e instanceof OptimisticLockingFailureException) {
+                conflictCounter.increment();
+                totals.conflictCount.incrementAndGet();
+                conflicted.add(accountId);
+                InterestJfrEvents.AccountFailure.emit(phase, batchId, accountId, e, true);
+                log.warn("Optimistic lock conflict on account {}, deferring it to the retry batch", accountId);
+            } else {
+                totals.failureCount.incrementAndGet();
+                InterestJfrEvents.AccountFailure.emit(phase, batchId, accountId, e, false);
+                log.error("Failed to apply interest to account {}: {}", accountId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Retry accounts that hit an optimistic-lock conflict, in up to app.interest.retry.maxAttempts rounds.
+     * Each round waits a jittered, doubling backoff, re-reads the accounts and re-checks that they still need
+     * today's accrual (a concurrent writer may have closed them, or another run may have accrued them).
+     * Accounts still conflicting after the last round are counted as failed.
+     */
+    private void retryConflicts(List<Long> conflicted, AccountSource source, AccrualContext context, RunTotals totals) {
+        List<Long> pending = conflicted;
+        for (int attempt = 1; attempt <= retryMaxAttempts && !pending.isEmpty(); attempt++) {
+            if (!backoff(attempt)) {
+                break;
+            }
+            log.info("Retrying {} conflicted accounts, attempt {}/{}", pending.size(), attempt, retryMaxAttempts);
+
+            List<Long> stillConflicted = new ArrayList<>();
+            IntFunction<List<Long>> idChunks = ChunkExecutor.chunksOf(pending);
+            IntFunction<List<LoanAccount>> reread = max -> {
+                List<Long> ids = idChunks.apply(max);
+                if (ids == null) {
+                    return null;
+                }
+                List<LoanAccount> accounts = source.reread(ids);
+                if (accounts.size() < ids.size()) {
+                    log.info("{} conflicted accounts no longer need accrual for {}", ids.size() - accounts.size(), context.getBusinessDate());
+                }
+                return accounts;
+            };
+            ChunkExecutor.ChunkStats stats = chunkExecutor.execute(PHASE_RETRY, totals.batchCount,
+                    new AccrualStep(PHASE_RETRY, reread, context, totals, stillConflicted, retryConflicts));
+            totals.commitCount.addAndGet(stats.getCommits());
+            pending = stillConflicted;
+        }
+
+        if (!pending.isEmpty()) {
+            exhaustedConflicts.increment(pending.size());
+            totals.failureCount.addAndGet(pending.size());
+            log.error("Giving up on {} accounts after {} conflict retry rounds: {}", pending.size(), retryMaxAttempts, pending);
+        }
+    }
+
+    /**
+     * Sleep before a retry round: app.interest.retry.backoffMs doubled per round, scaled by a random factor in [0.5, 1.5)
+     * so that the job and the conflicting writers do not keep colliding in lockstep.
+     *
+     * @return false if the thread was interrupted
+     */
+    private boolean backoff(int attempt) {
+        long delayMs = (long) (retryBackoffMs * (1L << (attempt - 1)) * ThreadLocalRandom.current().nextDouble(0.5, 1.5));
+        if (delayMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delayMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while backing off before conflict retry round {}", attempt);
+            return false;
+        }
+    }
+
+    private static Counter conflictCounter(MeterRegistry meterRegistry, String phase) {
+        return Counter.builder("interest.accrual.conflicts")
+                .description("Optimistic-lock conflicts hit while writing accrued accounts")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Running totals of a run, shared by the main pass and the retry rounds.
+     */
+    private static final class RunTotals {
+        private final AtomicInteger successCount = new AtomicInteger(0); // Thread-safe counter for successful updates
+        private final AtomicInteger failureCount = new AtomicInteger(0); // Thread-safe counter for failed updates
+        private final AtomicInteger conflictCount = new AtomicInteger(0);
+        private final AtomicInteger batchCount = new AtomicInteger(0); // Batch ids for the JFR events, across main pass and retries
+        private final AtomicInteger commitCount = new AtomicInteger(0);
+        private final AtomicReference<BigDecimal> interestApplied = new AtomicReference<>(BigDecimal.ZERO); // Thread-safe accumulator for total interest applied
+        private final AtomicReference<BigDecimal> repaymentsApplied = new AtomicReference<>(BigDecimal.ZERO);
+        private final AtomicReference<BigDecimal> penaltyApplied = new AtomicReference<>(BigDecimal.ZERO);
+    }
+
     protected BigDecimal applyInterestToAccount(LoanAccount account, LocalDate forDate) {
+        return applyInterestToAccount(account, AccrualContext.builder()
+                .businessDate(forDate)
+                .dayCounts(dayCountTable(forDate, forDate))
+                .build());
+    }
+
+    /**
+     * Accrue one day of interest for the business date of the context, at the rate and day-count
+     * fraction in effect for the account on that date.
+     */
+    protected BigDecimal applyInterestToAccount(LoanAccount account, AccrualContext context) {
+        return applyInterestToAccount(account, context, List.of());
+    }
+
+    /**
+     * Accrue one day of interest and persist the account together with the postings already folded into it.
+     */
+    protected BigDecimal applyInterestToAccount(LoanAccount account, AccrualContext context, List<AccountPosting> foldedPostings) {
+        BigDecimal dailyInterest = accrueInterest(account, context);
+        persistAccrued(account, foldedPostings);
+        return dailyInterest;
+    }
+
+    /**
+     * Accrue one day of interest in memory, without saving the account.
+     */
+    protected BigDecimal accrueInterest(LoanAccount account, AccrualContext context) {
         BigDecimal dailyInterest = calculateDailyInterest(
                 account.getPrincipalAmount(),
-                account.getInterestRate()
+                context.rateFor(account),
+                context.dayFractionFor(account)
         );
 
         // Accumulate daily interest in interestAmount field (will be transferred to appliedInterest at month-end)
         BigDecimal newInterestAmount = account.getInterestAmount().add(dailyInterest);
         account.setInterestAmount(newInterestAmount);
-        account.setLastInterestAppliedAt(OffsetDateTime.now(zoneId));
-
-        loanAccountRepository.save(account);
+        account.setLastInterestAppliedAt(appliedAt(context));
 
         return dailyInterest;
     }
 
+    /**
+     * Lazy accrual: the interest and penal charges the daily job would have accrued on the account, one day at a time
+     * on its current balances, for every business date after its anchor up to and including {@code through}.
+     * Each day is rounded on its own, as in the daily job, so the result matches eager accrual to the last micro-unit;
+     * days sharing a rate and a day-count fraction share one rounded figure, so the cost is per rate period, not per day.
+     *
+     * @return {@link LazyAccrual#NONE} for an eagerly accrued account, or one already accrued through {@code through}
+     */
+    public LazyAccrual accrualSinceAnchor(LoanAccount account, LocalDate through, RateScheduleIndex rates,
+            DayCountTable dayCounts, Map<String, DayCountConvention> productConventions) {
+        LocalDate anchor = account.getAccrualAnchorDate();
+        if (anchor == null || !anchor.isBefore(through)) {
+            return LazyAccrual.NONE;
+        }
+        DayCountConvention convention = AccrualContext.conventionFor(account, productConventions);
+        BigDecimal overdue = account.getOverdueAmount();
+        BigDecimal penalRate = account.getPenalRate() != null ? account.getPenalRate() : defaultPenalRate;
+        BigDecimal interest = BigDecimal.ZERO;
+        BigDecimal penalty = BigDecimal.ZERO;
+
+        LocalDate from = anchor.plusDays(1);
+        while (!from.isAfter(through)) {
+            LocalDate to = through;
+            LocalDate nextReset = rates.nextChangeAfter(account, from);
+            if (nextReset != null && !nextReset.isAfter(to)) {
+                to = nextReset.minusDays(1);
+            }
+            BigDecimal rate = rates.resolve(account, from);
+            for (Map.Entry<DayFraction, Integer> entry : dayCounts.histogram(convention, from, to).entrySet()) {
+                BigDecimal days = BigDecimal.valueOf(entry.getValue());
+                interest = interest.add(calculateDailyInterest(account.getPrincipalAmount(), rate, entry.getKey()).multiply(days));
+                if (overdue != null && overdue.signum() > 0) {
+                    penalty = penalty.add(calculateDailyInterest(overdue, penalRate, entry.getKey()).multiply(days));
+                }
+            }
+            from = to.plusDays(1);
+        }
+        return new LazyAccrual(interest, penalty);
+    }
+
+    /**
+     * Write the accrual since the anchor into a lazily accrued account, in memory, and move its anchor to {@code through}.
+     *
+     * @return what was added, {@link LazyAccrual#NONE} if the account was left as it was
+     */
+    public LazyAccrual accrueSinceAnchor(LoanAccount account, LocalDate through, RateScheduleIndex rates,
+            DayCountTable dayCounts, Map<String, DayCountConvention> productConventions) {
+        LazyAccrual accrual = accrualSinceAnchor(account, through, rates, dayCounts, productConventions);
+        if (accrual != LazyAccrual.NONE) {
+            account.setInterestAmount(account.getInterestAmount().add(accrual.interest()));
+            account.setPenaltyAmount(account.getPenaltyAmount().add(accrual.penalty()));
+            account.setAccrualAnchorDate(through);
+        }
+        return accrual;
+    }
+
+    /**
+     * Timestamp for an accrual. A zone bucket run that finishes after midnight in its zone (a long run, or a catch-up
+     * after downtime) is stamped at the last instant of its business date, so the next day's run still selects the account.
+     */
+    private OffsetDateTime appliedAt(AccrualContext context) {
+        if (context.getZone() == null) {
+            return OffsetDateTime.now(zoneId);
+        }
+        OffsetDateTime now = OffsetDateTime.now(context.getZone());
+        OffsetDateTime endOfDay = context.getBusinessDate().plusDays(1).atStartOfDay(context.getZone()).toOffsetDateTime().minusNanos(1000);
+        return now.isAfter(endOfDay) ? endOfDay : now;
+    }
+
+    /**
+     * Save an accrued account, together with the postings folded into it if there are any.
+     */
+    protected void persistAccrued(LoanAccount account, List<AccountPosting> foldedPostings) {
+        if (foldedPostings.isEmpty()) {
+            loanAccountRepository.save(account);
+        } else {
+            postingService.saveFolded(account, foldedPostings);
+        }
+    }
+
+    /**
+     * Accrue one day of penal charges on the overdue amount, at the account's penal rate and the same day-count
+     * fraction as its interest. Penal charges go to their own ledger and are not compounded or capitalized.
+     * The account is only updated in memory; it is saved together with the day's interest.
+     */
+    protected BigDecimal accruePenalty(LoanAccount account, AccrualContext context) {
+        if (account.getOverdueAmount() == null || account.getOverdueAmount().signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal dailyPenalty = calculateDailyInterest(
+                account.getOverdueAmount(),
+                context.penalRateFor(account),
+                context.dayFractionFor(account)
+        );
+        account.setPenaltyAmount(account.getPenaltyAmount().add(dailyPenalty));
+
+        return dailyPenalty;
+    }
+
     public BigDecimal calculateDailyInterest(BigDecimal principalAmount, BigDecimal interestRate) {
+        return calculateDailyInterest(principalAmount, interestRate, DayFraction.of(1, dayCountBasis));
+    }
+
+    /**
+     * Interest earned in one accrual day worth {@code fraction} of a year.
+     * The day's days are multiplied in before the single division by the basis, so rounding happens once.
+     */
+    public BigDecimal calculateDailyInterest(BigDecimal principalAmount, BigDecimal interestRate, DayFraction fraction) {
         if (principalAmount == null || interestRate == null) {
             return BigDecimal.ZERO;
         }
@@ -127,9 +695,12 @@ public class InterestService {
         );
 
         BigDecimal annualInterest = principalAmount.multiply(rateDecimal);
+        if (fraction.days() != 1) {
+            annualInterest = annualInterest.multiply(BigDecimal.valueOf(fraction.days()));
+        }
 
         BigDecimal dailyInterest = annualInterest.divide(
-                BigDecimal.valueOf(dayCountBasis),
+                BigDecimal.valueOf(fraction.basis()),
                 MONEY_SCALE,
                 ROUNDING_MODE
         );
@@ -137,57 +708,358 @@ public class InterestService {
         return dailyInterest;
     }
 
+    /**
+     * Precompute day-count fractions for {@code from..to}, with app.interest.dayCountBasis as the default basis.
+     */
+    public DayCountTable dayCountTable(LocalDate from, LocalDate to) {
+        return DayCountTable.build(from, to, dayCountBasis);
+    }
+
     /**
      * Apply accrued interest to all accounts at month-end.
      * Transfers interestAmount to principalAmount and resets interestAmount to zero.
+     * Penal charges (penaltyAmount) are never capitalized and are left as they are.
+     *
+     * Accounts are capitalized in chunks of {@value #CAPITALIZATION_CHUNK_SIZE} with one set-based statement per chunk,
+     * selecting only accounts with interest to capitalize. If the statement fails for a chunk, that chunk is
+     * capitalized through the chunk executor, app.interest.commitInterval accounts per transaction, so that a single
+     * bad row is split out and skipped instead of holding back the rest.
+     *
+     * Lazily accrued accounts are first brought up to {@code forDate}, so that the capitalized amount is the same as
+     * with eager accrual.
      *
      * @param forDate The date for which to apply month-end interest (typically the last day of the month)
      * @return Result containing processing statistics
      */
     public InterestApplicationResult applyMonthEndInterest(LocalDate forDate) {
         log.info("Starting month-end interest application for date: {}", forDate);
-        long startTime = System.currentTimeMillis();
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger failureCount = new AtomicInteger(0);
-        AtomicReference<BigDecimal> totalInterestApplied = new AtomicReference<>(BigDecimal.ZERO);
+        CapitalizationSource source = new CapitalizationSource() {
+            @Override
+            public List<LoanAccount> lazyAfter(long afterId, int max) {
+                return loanAccountRepository.findLazyAccountsAnchoredBefore(forDate, afterId, PageRequest.of(0, max));
+            }
 
-        long totalAccounts = loanAccountRepository.count();
-        log.info("Total accounts for month-end processing: {}", totalAccounts);
-        int totalBatches = (int) Math.ceil((double) totalAccounts / BATCH_SIZE);
+            @Override
+            public List<LoanAccountRepository.CapitalizedInterest> capitalizeAfter(long afterId, int limit) {
+                return loanAccountRepository.capitalizeAccruedInterest(afterId, limit);
+            }
 
-        int pageNumber = 0;
-        Page<LoanAccount> accountsPage;
-        do {
-            accountsPage = loanAccountRepository.findAll(PageRequest.of(pageNumber, BATCH_SIZE));
-            log.info("Processing month-end batch {}/{} with {} accounts", pageNumber + 1, totalBatches, accountsPage.getNumberOfElements());
-
-            for (LoanAccount account : accountsPage.getContent()) {
-                try {
-                    BigDecimal interestApplied = applyAccruedInterestToPrincipal(account);
-                    successCount.incrementAndGet();
-                    totalInterestApplied.updateAndGet(current -> current.add(interestApplied));
-                } catch (Exception e) {
-                    failureCount.incrementAndGet();
-                    log.error("Failed to apply month-end interest to account {}: {}", account.getId(), e.getMessage(), e);
-                }
+            @Override
+            public List<LoanAccount> accruedAfter(long afterId, int max) {
+                return loanAccountRepository.findAccountsWithAccruedInterest(afterId, PageRequest.of(0, max));
             }
+        };
+        return applyMonthEndInterest(forDate, null, List.of(source));
+    }
+
+    /**
+     * Apply accrued interest at month-end on one zone bucket: the accounts whose time zone is {@code zone}, plus the
+     * accounts without a zone when {@code zone} is app.interest.zone. The scheduler runs it once the bucket has accrued
+     * the last day of the month in its own zone, and before it accrues the first day of the next, so each account
+     * capitalizes exactly the interest of its month whatever its offset from app.interest.zone. Accounts already
+     * accrued for a later day are left alone, so a repeated run after the next day has started is harmless.
+     *
+     * The accounts of the zone and those without a zone are walked one after the other, each along the index of
+     * active accounts by (time_zone, id), so a bucket reads only its own accounts.
+     */
+    public InterestApplicationResult applyMonthEndInterest(LocalDate forDate, ZoneId zone) {
+        log.info("Starting month-end interest application for date: {} in zone bucket {}", forDate, zone.getId());
+        OffsetDateTime nextDayStart = forDate.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+        List<CapitalizationSource> sources = new ArrayList<>();
+        sources.add(zoneSource(zone.getId(), forDate, nextDayStart));
+        if (zone.equals(zoneId)) {
+            sources.add(zoneSource(null, forDate, nextDayStart));
+        }
+        return applyMonthEndInterest(forDate, zone, sources);
+    }
+
+    /**
+     * The active accounts in {@code zone}, or those without a zone when it is null, not accrued past the month-end.
+     */
+    private CapitalizationSource zoneSource(String zone, LocalDate forDate, OffsetDateTime nextDayStart) {
+        return new CapitalizationSource() {
+            @Override
+            public List<LoanAccount> lazyAfter(long afterId, int max) {
+                return loanAccountRepository.findLazyAccountsAnchoredBeforeInZone(zone, forDate, afterId, PageRequest.of(0, max));
+            }
+
+            @Override
+            public List<LoanAccountRepository.CapitalizedInterest> capitalizeAfter(long afterId, int limit) {
+                return zone != null
+                        ? loanAccountRepository.capitalizeAccruedInterestInZone(zone, nextDayStart, afterId, limit)
+                        : loanAccountRepository.capitalizeAccruedInterestWithoutZone(nextDayStart, afterId, limit);
+            }
+
+            @Override
+            public List<LoanAccount> accruedAfter(long afterId, int max) {
+                return loanAccountRepository.findAccountsWithAccruedInterestInZone(zone, nextDayStart, afterId, PageRequest.of(0, max));
+            }
+        };
+    }
+
+    private InterestApplicationResult applyMonthEndInterest(LocalDate forDate, ZoneId zone, List<CapitalizationSource> sources) {
+        long startTime = System.currentTimeMillis();
+        InterestJfrEvents.Job jobEvent = new InterestJfrEvents.Job();
+        jobEvent.begin();
+        RunTotals totals = new RunTotals();
 
-            pageNumber++;
-        } while (accountsPage.hasNext());
+        for (CapitalizationSource source : sources) {
+            catchUpLazyAccounts(forDate, source, totals);
+            capitalize(source, totals);
+        }
 
+        String bucket = zone != null ? zone.getId() : null;
+        jobEvent.complete(JOB_MONTH_END, bucket, forDate, totals.successCount.get() + totals.failureCount.get(), totals.failureCount.get(), 0);
         long durationMs = System.currentTimeMillis() - startTime;
-        log.info("Completed month-end interest application for date: {}. Success: {}, Failures: {}, Total Interest Applied: {}, Duration: {} ms",
-                forDate, successCount.get(), failureCount.get(), totalInterestApplied.get(), durationMs);
+        log.info("Completed month-end interest application for date: {}{}. Success: {}, Failures: {}, Total Interest Applied: {}, Commits: {}, Duration: {} ms",
+                forDate, bucket != null ? " in zone bucket " + bucket : "", totals.successCount.get(), totals.failureCount.get(),
+                totals.interestApplied.get(), totals.commitCount.get(), durationMs);
 
         return InterestApplicationResult.builder()
                 .date(forDate)
-                .totalAccountsProcessed(successCount.get() + failureCount.get())
-                .failedAccounts(failureCount.get())
-                .totalInterestApplied(totalInterestApplied.get())
+                .zone(bucket)
+                .totalAccountsProcessed(totals.successCount.get() + totals.failureCount.get())
+                .failedAccounts(totals.failureCount.get())
+                .totalInterestApplied(totals.interestApplied.get())
                 .durationMs(durationMs)
                 .build();
     }
 
+    /**
+     * Capitalize the accounts of one source in chunks of {@value #CAPITALIZATION_CHUNK_SIZE}, in id order.
+     */
+    private void capitalize(CapitalizationSource source, RunTotals totals) {
+        long afterId = 0L;
+        int chunkNumber = 0;
+        int chunkSize;
+        do {
+            chunkNumber++;
+
+            // The set-based statement fetches, computes and writes in one go, so a chunk is one flush event
+            InterestJfrEvents.BatchFlush flushEvent = new InterestJfrEvents.BatchFlush();
+            flushEvent.begin();
+            List<LoanAccountRepository.CapitalizedInterest> capitalized;
+            try {
+                capitalized = source.capitalizeAfter(afterId, CAPITALIZATION_CHUNK_SIZE);
+            } catch (Exception e) {
+                log.warn("Set-based capitalization failed for chunk {} after account {}, falling back to commit-interval chunks: {}",
+                        chunkNumber, afterId, e.getMessage());
+                capitalized = null;
+            }
+
+            if (capitalized != null) {
+                chunkSize = capitalized.size();
+                PortfolioDelta chunkDelta = new PortfolioDelta();
+                for (LoanAccountRepository.CapitalizedInterest row : capitalized) {
+                    totals.successCount.incrementAndGet();
+                    totals.interestApplied.updateAndGet(current -> current.add(row.getCapitalized()));
+                    chunkDelta.interestCapitalized(row.getInterestRate(), row.getCapitalized());
+                    afterId = Math.max(afterId, row.getId());
+                }
+                totals.commitCount.incrementAndGet();
+                flushEvent.complete(PHASE_MONTH_END, totals.batchCount.incrementAndGet(), chunkSize);
+                portfolioSummaryService.apply(chunkDelta);
+            } else {
+                List<LoanAccount> accounts = source.accruedAfter(afterId, CAPITALIZATION_CHUNK_SIZE);
+                chunkSize = accounts.size();
+                ChunkExecutor.ChunkStats stats = chunkExecutor.execute(PHASE_MONTH_END, totals.batchCount,
+                        new CapitalizationStep(ChunkExecutor.chunksOf(accounts), totals));
+                totals.commitCount.addAndGet(stats.getCommits());
+                for (LoanAccount account : accounts) {
+                    afterId = Math.max(afterId, account.getId());
+                }
+            }
+
+            log.info("Processed month-end chunk {} with {} accounts", chunkNumber, chunkSize);
+        } while (chunkSize == CAPITALIZATION_CHUNK_SIZE);
+    }
+
+    /**
+     * The accounts a month-end run covers: the whole book, or the accounts of a zone bucket with one time zone or none.
+     */
+    private interface CapitalizationSource {
+        /**
+         * The next lazily accrued accounts not yet accrued through the month-end date, after {@code afterId}, in id order.
+         */
+        List<LoanAccount> lazyAfter(long afterId, int max);
+
+        /**
+         * Capitalize the next chunk of accounts with accrued interest after {@code afterId} in one statement.
+         */
+        List<LoanAccountRepository.CapitalizedInterest> capitalizeAfter(long afterId, int limit);
+
+        /**
+         * The accounts {@link #capitalizeAfter} would select, for the account-by-account fallback.
+         */
+        List<LoanAccount> accruedAfter(long afterId, int max);
+    }
+
+    /**
+     * Write the accrual since their anchor into every lazily accrued account not yet accrued through {@code forDate},
+     * app.interest.commitInterval accounts per transaction.
+     */
+    private void catchUpLazyAccounts(LocalDate forDate, CapitalizationSource source, RunTotals totals) {
+        AccrualContext context = AccrualContext.builder()
+                .businessDate(forDate)
+                .rateIndex(rateScheduleService.loadIndex(forDate))
+                .dayCounts(dayCountTable(forDate.withDayOfMonth(1), forDate))
+                .productConventions(productService.loadDayCountConventions())
+                .build();
+        IntFunction<List<LoanAccount>> accounts = new IntFunction<>() {
+            private long afterId;
+            private boolean exhausted;
+
+            @Override
+            public List<LoanAccount> apply(int max) {
+                if (exhausted) {
+                    return null;
+                }
+                List<LoanAccount> chunk = source.lazyAfter(afterId, max);
+                exhausted = chunk.size() < max;
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+                return chunk;
+            }
+        };
+        AtomicInteger caughtUp = new AtomicInteger();
+        ChunkExecutor.ChunkStats stats = chunkExecutor.execute(PHASE_CATCH_UP, totals.batchCount,
+                new CatchUpStep(accounts, context, totals, caughtUp));
+        totals.commitCount.addAndGet(stats.getCommits());
+        if (caughtUp.get() > 0) {
+            log.info("Caught up {} lazily accrued accounts through {} before capitalization", caughtUp.get(), forDate);
+        }
+    }
+
+    /**
+     * One lazily accrued account brought up to date in memory, waiting for its chunk to be written.
+     */
+    private record CatchUp(LoanAccount account, LazyAccrual accrual) {
+    }
+
+    /**
+     * Month-end catch-up as a chunk step: write the accrual since the anchor into each account, then save the chunk
+     * in one transaction. An account that fails keeps its anchor and catches up at the next event or month-end.
+     */
+    private final class CatchUpStep implements ChunkExecutor.ChunkStep<LoanAccount, CatchUp> {
+        private final IntFunction<List<LoanAccount>> accounts;
+        private final AccrualContext context;
+        private final RunTotals totals;
+        private final AtomicInteger caughtUp;
+
+        private CatchUpStep(IntFunction<List<LoanAccount>> accounts, AccrualContext context, RunTotals totals, AtomicInteger caughtUp) {
+            this.accounts = accounts;
+            this.context = context;
+            this.totals = totals;
+            this.caughtUp = caughtUp;
+        }
+
+        @Override
+        public List<LoanAccount> read(int max) {
+            return accounts.apply(max);
+        }
+
+        @Override
+        public CatchUp process(LoanAccount account) {
+            LazyAccrual accrual = accrueSinceAnchor(account, context.getBusinessDate(),
+                    context.getRateIndex(), context.getDayCounts(), context.getProductConventions());
+            return accrual != LazyAccrual.NONE ? new CatchUp(account, accrual) : null;
+        }
+
+        @Override
+        public void write(List<CatchUp> items) {
+            items.forEach(item -> loanAccountRepository.save(item.account()));
+        }
+
+        @Override
+        public void afterCommit(List<CatchUp> items) {
+            PortfolioDelta delta = new PortfolioDelta();
+            for (CatchUp item : items) {
+                caughtUp.incrementAndGet();
+                delta.interestAccrued(item.account().getInterestRate(), item.accrual().interest());
+            }
+            portfolioSummaryService.apply(delta);
+        }
+
+        @Override
+        public void onProcessError(int batchId, LoanAccount account, Exception e) {
+            failed(batchId, account, e);
+        }
+
+        @Override
+        public void onWriteError(int batchId, CatchUp item, Exception e) {
+            failed(batchId, item.account(), e);
+        }
+
+        private void failed(int batchId, LoanAccount account, Exception e) {
+            totals.failureCount.incrementAndGet();
+            InterestJfrEvents.AccountFailure.emit(PHASE_CATCH_UP, batchId, account.getId(), e, false);
+            log.error("Failed to catch up lazily accrued account {} before capitalization: {}", account.getId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One account's in-memory capitalization, waiting for its chunk to be written.
+     */
+    private record Capitalization(LoanAccount account, BigDecimal amount) {
+    }
+
+    /**
+     * Month-end fallback as a chunk step: capitalize each account in memory, then save the chunk in one transaction.
+     */
+    private final class CapitalizationStep implements ChunkExecutor.ChunkStep<LoanAccount, Capitalization> {
+        private final IntFunction<List<LoanAccount>> accounts;
+        private final RunTotals totals;
+
+        private CapitalizationStep(IntFunction<List<LoanAccount>> accounts, RunTotals totals) {
+            this.accounts = accounts;
+            this.totals = totals;
+        }
+
+        @Override
+        public List<LoanAccount> read(int max) {
+            return accounts.apply(max);
+        }
+
+        @Override
+        public Capitalization process(LoanAccount account) {
+            BigDecimal amount = capitalize(account);
+            return amount.signum() > 0 ? new Capitalization(account, amount) : null;
+        }
+
+        @Override
+        public void write(List<Capitalization> items) {
+            items.forEach(item -> loanAccountRepository.save(item.account()));
+        }
+
+        @Override
+        public void afterCommit(List<Capitalization> items) {
+            PortfolioDelta delta = new PortfolioDelta();
+            for (Capitalization item : items) {
+                totals.successCount.incrementAndGet();
+                totals.interestApplied.updateAndGet(current -> current.add(item.amount()));
+                delta.interestCapitalized(item.account().getInterestRate(), item.amount());
+            }
+            portfolioSummaryService.apply(delta);
+        }
+
+        @Override
+        public void onProcessError(int batchId, LoanAccount account, Exception e) {
+            failed(batchId, account, e);
+        }
+
+        @Override
+        public void onWriteError(int batchId, Capitalization item, Exception e) {
+            failed(batchId, item.account(), e);
+        }
+
+        private void failed(int batchId, LoanAccount account, Exception e) {
+            totals.failureCount.incrementAndGet();
+            InterestJfrEvents.AccountFailure.emit(PHASE_MONTH_END, batchId, account.getId(), e, false);
+            log.error("Failed to apply month-end interest to account {}: {}", account.getId(), e.getMessage(), e);
+        }
+    }
+
     /**
      * Apply accrued interest to the principal amount for a single account.
      * Adds interestAmount to principalAmount and resets interestAmount to zero.
@@ -196,8 +1068,20 @@ public class InterestService {
      * @param account The account to process
      * @return The amount of interest applied to principal
      */
-    @Transactional
     protected BigDecimal applyAccruedInterestToPrincipal(LoanAccount account) {
+        BigDecimal accruedInterest = capitalize(account);
+        if (accruedInterest.compareTo(BigDecimal.ZERO) > 0) {
+            loanAccountRepository.save(account);
+        }
+        return accruedInterest;
+    }
+
+    /**
+     * Move the account's accrued interest into its principal in memory, without saving the account.
+     *
+     * @return the amount moved, zero if there was nothing to capitalize
+     */
+    protected BigDecimal capitalize(LoanAccount account) {
         BigDecimal accruedInterest = account.getInterestAmount();
 
         if (accruedInterest.compareTo(BigDecimal.ZERO) > 0) {
@@ -205,8 +1089,6 @@ public class InterestService {
             account.setPrincipalAmount(newPrincipal);
             account.setInterestAmount(BigDecimal.ZERO);
 
-            loanAccountRepository.save(account);
-
             log.debug("Applied accrued interest {} to principal for account {}. New principal: {}",
                     accruedInterest, account.getId(), newPrincipal);
         }
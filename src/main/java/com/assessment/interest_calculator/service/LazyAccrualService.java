@@ -0,0 +1,124 @@
+package com.assessment.interest_calculator.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.LoanProduct;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accrual on read for lazily accrued accounts (see app.interest.lazy.enabled): the interest and penal charges since an
+ * account's anchor date, computed from the days elapsed up to yesterday in the account's zone, the last business date
+ * the daily job has closed. Only the account's own rate schedules and product are loaded, so a read costs a couple of
+ * indexed lookups however long ago the anchor is; a batch of accounts loads them once for the whole batch.
+ */
+@Slf4j
+@Service
+public class LazyAccrualService {
+    private final InterestService interestService;
+    private final RateScheduleService rateScheduleService;
+    private final ProductService productService;
+    private final ZoneId zoneId; // Zone of accounts without their own
+
+    public LazyAccrualService(
+            InterestService interestService,
+            RateScheduleService rateScheduleService,
+            ProductService productService,
+            @Value("${app.interest.zone:Asia/Kolkata}") String zone) {
+        this.interestService = interestService;
+        this.rateScheduleService = rateScheduleService;
+        this.productService = productService;
+        this.zoneId = ZoneId.of(zone);
+    }
+
+    /**
+     * Accrual since the anchor date that is not yet in the account's row. The account is left as it is.
+     */
+    public InterestService.LazyAccrual accruedToDate(LoanAccount account) {
+        LocalDate through = lastClosedDate(account);
+        if (account.getAccrualAnchorDate() == null || !account.getAccrualAnchorDate().isBefore(through)) {
+            return InterestService.LazyAccrual.NONE;
+        }
+        return interestService.accrualSinceAnchor(account, through, rateScheduleService.loadIndex(account),
+                interestService.dayCountTable(account.getAccrualAnchorDate().plusDays(1), through), productConventions(account));
+    }
+
+    /**
+     * {@link #accruedToDate(LoanAccount)} for a batch of accounts, keyed by account id; accounts with nothing to add
+     * are left out. The rate schedules and product conventions of the whole batch are loaded up front, in at most
+     * three queries, and one day-count table spans all of their anchor dates.
+     */
+    public Map<Long, InterestService.LazyAccrual> accruedToDate(Collection<LoanAccount> accounts) {
+        Map<Long, LocalDate> throughDates = new HashMap<>();
+        for (LoanAccount account : accounts) {
+            LocalDate through = lastClosedDate(account);
+            if (account.getAccrualAnchorDate() != null && account.getAccrualAnchorDate().isBefore(through)) {
+                throughDates.put(account.getId(), through);
+            }
+        }
+        if (throughDates.isEmpty()) {
+            return Map.of();
+        }
+
+        List<LoanAccount> due = accounts.stream().filter(account -> throughDates.containsKey(account.getId())).toList();
+        RateScheduleIndex rates = rateScheduleService.loadIndex(due);
+        Set<String> productCodes = due.stream()
+                .filter(account -> account.getDayCountConvention() == null)
+                .map(LoanAccount::getProductCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, DayCountConvention> conventions = productService.loadDayCountConventions(productCodes);
+        LocalDate from = due.stream().map(LoanAccount::getAccrualAnchorDate).min(LocalDate::compareTo).orElseThrow().plusDays(1);
+        LocalDate to = throughDates.values().stream().max(LocalDate::compareTo).orElseThrow();
+        DayCountTable dayCounts = interestService.dayCountTable(from, to);
+
+        Map<Long, InterestService.LazyAccrual> accrued = new HashMap<>();
+        for (LoanAccount account : due) {
+            accrued.put(account.getId(), interestService.accrualSinceAnchor(account, throughDates.get(account.getId()), rates, dayCounts, conventions));
+        }
+        return accrued;
+    }
+
+    /**
+     * Write the accrual since the anchor date into the account, in memory, before a balance-changing event outside
+     * the daily job. The caller saves the account.
+     */
+    public InterestService.LazyAccrual accrueToDate(LoanAccount account) {
+        LocalDate through = lastClosedDate(account);
+        if (account.getAccrualAnchorDate() == null || !account.getAccrualAnchorDate().isBefore(through)) {
+            return InterestService.LazyAccrual.NONE;
+        }
+        InterestService.LazyAccrual accrual = interestService.accrueSinceAnchor(account, through, rateScheduleService.loadIndex(account),
+                interestService.dayCountTable(account.getAccrualAnchorDate().plusDays(1), through), productConventions(account));
+        log.debug("Accrued {} interest and {} penal charges on account {} through {}", accrual.interest(), accrual.penalty(), account.getId(), through);
+        return accrual;
+    }
+
+    private LocalDate lastClosedDate(LoanAccount account) {
+        ZoneId zone = account.getTimeZone() != null ? ZoneId.of(account.getTimeZone()) : zoneId;
+        return LocalDate.now(zone).minusDays(1);
+    }
+
+    private Map<String, DayCountConvention> productConventions(LoanAccount account) {
+        Map<String, DayCountConvention> conventions = new HashMap<>();
+        if (account.getDayCountConvention() == null && account.getProductCode() != null) {
+            productService.findByCode(account.getProductCode())
+                    .map(LoanProduct::getDayCountConvention)
+                    .ifPresent(convention -> conventions.put(account.getProductCode(), convention));
+        }
+        return conventions;
+    }
+}
@@ -0,0 +1,102 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.RateBand;
+
+/**
+ * Accumulates changes to the portfolio rollup while a batch is being processed,
+ * so that the summary table is touched once per band per batch instead of once per account.
+ * Not thread-safe: each batch owns its own instance.
+ */
+public class PortfolioDelta {
+
+    private final Map<RateBand, BandDelta> bands = new EnumMap<>(RateBand.class);
+
+    public static PortfolioDelta ofNewAccount(LoanAccount account) {
+        PortfolioDelta delta = new PortfolioDelta();
+        delta.accountAdded(account.getInterestRate(), account.getPrincipalAmount(), account.getInterestAmount());
+        return delta;
+    }
+
+    public void accountAdded(BigDecimal interestRate, BigDecimal principal, BigDecimal interest) {
+        BandDelta delta = band(interestRate);
+        delta.accountCount++;
+        delta.principal = delta.principal.add(nullToZero(principal));
+        delta.interest = delta.interest.add(nullToZero(interest));
+    }
+
+    /**
+     * Account left the live portfolio (closed or written off): its balances no longer count towards the rollup.
+     */
+    public void accountRemoved(BigDecimal interestRate, BigDecimal principal, BigDecimal interest) {
+        BandDelta delta = band(interestRate);
+        delta.accountCount--;
+        delta.principal = delta.principal.subtract(nullToZero(principal));
+        delta.interest = delta.interest.subtract(nullToZero(interest));
+    }
+
+    public void interestAccrued(BigDecimal interestRate, BigDecimal amount) {
+        BandDelta delta = band(interestRate);
+        delta.interest = delta.interest.add(nullToZero(amount));
+    }
+
+    /**
+     * Repayment folded into the balance: accrued interest and principal shrink by the parts paid towards each.
+     */
+    public void repaymentApplied(BigDecimal interestRate, BigDecimal toInterest, BigDecimal toPrincipal) {
+        BandDelta delta = band(interestRate);
+        delta.principal = delta.principal.subtract(nullToZero(toPrincipal));
+        delta.interest = delta.interest.subtract(nullToZero(toInterest));
+    }
+
+    /**
+     * Accrued interest moved into principal: principal grows, accrued interest shrinks by the same amount.
+     */
+    public void interestCapitalized(BigDecimal interestRate, BigDecimal amount) {
+        BandDelta delta = band(interestRate);
+        delta.principal = delta.principal.add(nullToZero(amount));
+        delta.interest = delta.interest.subtract(nullToZero(amount));
+    }
+
+    public boolean isEmpty() {
+        return bands.values().stream().allMatch(BandDelta::isZero);
+    }
+
+    public Map<RateBand, BandDelta> getBands() {
+        return bands;
+    }
+
+    private BandDelta band(BigDecimal interestRate) {
+        return bands.computeIfAbsent(RateBand.of(interestRate), band -> new BandDelta());
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    public static class BandDelta {
+        private long accountCount;
+        private BigDecimal principal = BigDecimal.ZERO;
+        private BigDecimal interest = BigDecimal.ZERO;
+
+        public long getAccountCount() {
+            return accountCount;
+        }
+
+        public BigDecimal getPrincipal() {
+            return principal;
+        }
+
+        public BigDecimal getInterest() {
+            return interest;
+        }
+
+        boolean isZero() {
+            return accountCount == 0 && principal.signum() == 0 && interest.signum() == 0;
+        }
+    }
+}
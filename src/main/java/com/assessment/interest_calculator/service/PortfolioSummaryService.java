@@ -0,0 +1,179 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.dto.PortfolioSummaryResponse;
+import com.assessment.interest_calculator.entity.PortfolioSummary;
+import com.assessment.interest_calculator.entity.RateBand;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+import com.assessment.interest_calculator.repository.PortfolioSummaryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the portfolio_summary rollup.
+ *
+ * The write paths (account creation, daily accrual, month-end capitalization) push additive deltas
+ * after their own writes have committed, and reads only ever touch one row per rate band.
+ * A delta that fails to apply is logged and left for {@link #verify()} to repair.
+ */
+@Slf4j
+@Service
+public class PortfolioSummaryService {
+    private final PortfolioSummaryRepository portfolioSummaryRepository;
+    private final LoanAccountRepository loanAccountRepository;
+    private final boolean repairOnDrift;
+
+    public PortfolioSummaryService(
+            PortfolioSummaryRepository portfolioSummaryRepository,
+            LoanAccountRepository loanAccountRepository,
+            @Value("${app.portfolio.repairOnDrift:true}") boolean repairOnDrift) {
+        this.portfolioSummaryRepository = portfolioSummaryRepository;
+        this.loanAccountRepository = loanAccountRepository;
+        this.repairOnDrift = repairOnDrift;
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class ReconciliationResult {
+        private boolean driftDetected;
+        private boolean repaired;
+        private List<String> driftedBands;
+        private long durationMs;
+    }
+
+    /**
+     * Apply a batch of changes to the rollup. Never throws: the caller's data is already committed,
+     * so a failure here only means the rollup is stale until the next verification run.
+     */
+    public void apply(PortfolioDelta delta) {
+        if (delta == null || delta.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<RateBand, PortfolioDelta.BandDelta> entry : delta.getBands().entrySet()) {
+            PortfolioDelta.BandDelta band = entry.getValue();
+            try {
+                portfolioSummaryRepository.applyDelta(entry.getKey().name(),
+                        band.getAccountCount(), band.getPrincipal(), band.getInterest());
+            } catch (Exception e) {
+                log.error("Failed to apply portfolio delta for band {}: {}", entry.getKey(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public PortfolioSummaryResponse getSummary() {
+        Map<RateBand, PortfolioSummary> rows = new EnumMap<>(RateBand.class);
+        portfolioSummaryRepository.findAll().forEach(row -> rows.put(row.getRateBand(), row));
+
+        long totalAccounts = 0;
+        BigDecimal totalPrincipal = BigDecimal.ZERO;
+        BigDecimal totalInterest = BigDecimal.ZERO;
+        OffsetDateTime lastUpdatedAt = null;
+        List<PortfolioSummaryResponse.RateBandSummary> bands = new ArrayList<>();
+
+        for (RateBand band : RateBand.values()) {
+            PortfolioSummary row = rows.getOrDefault(band, PortfolioSummary.builder().rateBand(band).build());
+            totalAccounts += row.getAccountCount();
+            totalPrincipal = totalPrincipal.add(row.getTotalPrincipal());
+            totalInterest = totalInterest.add(row.getTotalInterest());
+            if (row.getUpdatedAt() != null && (lastUpdatedAt == null || row.getUpdatedAt().isAfter(lastUpdatedAt))) {
+                lastUpdatedAt = row.getUpdatedAt();
+            }
+            bands.add(PortfolioSummaryResponse.RateBandSummary.builder()
+                    .rateBand(band.name())
+                    .minRate(band.getLowerBound())
+                    .maxRate(band.getUpperBound())
+                    .accountCount(row.getAccountCount())
+                    .totalPrincipal(row.getTotalPrincipal())
+                    .totalInterest(row.getTotalInterest())
+                    .build());
+        }
+
+        return PortfolioSummaryResponse.builder()
+                .totalAccounts(totalAccounts)
+                .totalOutstandingPrincipal(totalPrincipal)
+                .totalAccruedInterest(totalInterest)
+                .rateBands(bands)
+                .lastUpdatedAt(lastUpdatedAt)
+                .build();
+    }
+
+    /**
+     * Recompute the rollup from loan_accounts and compare it with the incrementally maintained rows.
+     * When drift is found and app.portfolio.repairOnDrift is set, each drifted band is corrected by the difference
+     * between the recomputed and the stored values, added like any other delta. The repair never overwrites a row
+     * with absolute values, so deltas that land between the reads and the repair are kept.
+     * Runs in one read-write transaction so both sides of the comparison are read from the primary.
+     */
+    @Transactional
+    public ReconciliationResult verify() {
+        long startTime = System.currentTimeMillis();
+
+        Map<RateBand, PortfolioSummary> expected = new EnumMap<>(RateBand.class);
+        for (RateBand band : RateBand.values()) {
+            expected.put(band, PortfolioSummary.builder().rateBand(band).build());
+        }
+        for (LoanAccountRepository.RateTotals totals : loanAccountRepository.aggregateByInterestRate()) {
+            PortfolioSummary row = expected.get(RateBand.of(totals.getInterestRate()));
+            row.setAccountCount(row.getAccountCount() + totals.getAccountCount());
+            row.setTotalPrincipal(row.getTotalPrincipal().add(nullToZero(totals.getTotalPrincipal())));
+            row.setTotalInterest(row.getTotalInterest().add(nullToZero(totals.getTotalInterest())));
+        }
+
+        Map<RateBand, PortfolioSummary> actual = new EnumMap<>(RateBand.class);
+        portfolioSummaryRepository.findAll().forEach(row -> actual.put(row.getRateBand(), row));
+
+        List<String> driftedBands = new ArrayList<>();
+        List<PortfolioSummary> corrections = new ArrayList<>();
+        for (PortfolioSummary row : expected.values()) {
+            PortfolioSummary stored = actual.getOrDefault(row.getRateBand(), PortfolioSummary.builder().rateBand(row.getRateBand()).build());
+            if (!matches(row, stored)) {
+                driftedBands.add(row.getRateBand().name());
+                corrections.add(PortfolioSummary.builder()
+                        .rateBand(row.getRateBand())
+                        .accountCount(row.getAccountCount() - stored.getAccountCount())
+                        .totalPrincipal(row.getTotalPrincipal().subtract(stored.getTotalPrincipal()))
+                        .totalInterest(row.getTotalInterest().subtract(stored.getTotalInterest()))
+                        .build());
+                log.warn("Portfolio summary drift in band {}: expected count={}, principal={}, interest={} but found {}",
+                        row.getRateBand(), row.getAccountCount(), row.getTotalPrincipal(), row.getTotalInterest(), stored);
+            }
+        }
+
+        boolean repaired = false;
+        if (!driftedBands.isEmpty() && repairOnDrift) {
+            for (PortfolioSummary correction : corrections) {
+                portfolioSummaryRepository.applyDelta(correction.getRateBand().name(),
+                        correction.getAccountCount(), correction.getTotalPrincipal(), correction.getTotalInterest());
+            }
+            repaired = true;
+            log.info("Repaired portfolio summary for bands {}", driftedBands);
+        }
+
+        return ReconciliationResult.builder()
+                .driftDetected(!driftedBands.isEmpty())
+                .repaired(repaired)
+                .driftedBands(driftedBands)
+                .durationMs(System.currentTimeMillis() - startTime)
+                .build();
+    }
+
+    private static boolean matches(PortfolioSummary expected, PortfolioSummary stored) {
+        return expected.getAccountCount().equals(stored.getAccountCount())
+                && expected.getTotalPrincipal().compareTo(stored.getTotalPrincipal()) == 0
+                && expected.getTotalInterest().compareTo(stored.getTotalInterest()) == 0;
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
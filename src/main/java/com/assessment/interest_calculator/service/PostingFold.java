@@ -0,0 +1,99 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.LoanAccount;
+
+/**
+ * Folds pending postings into an account balance, in arrival order.
+ * A repayment pays penal charges first, then accrued interest, then principal; whatever is left is recorded
+ * as excess on the posting. What it pays towards interest and principal also cures the overdue amount.
+ * An overdue posting raises the overdue amount, capped at the outstanding interest and principal.
+ * Both the account and the postings are updated in memory only; persisting them together is up to the caller.
+ */
+public class PostingFold {
+
+    private BigDecimal toPenalty = BigDecimal.ZERO;
+    private BigDecimal toInterest = BigDecimal.ZERO;
+    private BigDecimal toPrincipal = BigDecimal.ZERO;
+    private BigDecimal excess = BigDecimal.ZERO;
+    private BigDecimal overdueRaised = BigDecimal.ZERO;
+
+    public static PostingFold apply(LoanAccount account, List<AccountPosting> postings, OffsetDateTime appliedAt) {
+        PostingFold fold = new PostingFold();
+        for (AccountPosting posting : postings) {
+            switch (posting.getType()) {
+                case REPAYMENT -> fold.repay(account, posting);
+                case OVERDUE -> fold.raiseOverdue(account, posting);
+            }
+            posting.setAppliedAt(appliedAt);
+        }
+        return fold;
+    }
+
+    private void repay(LoanAccount account, AccountPosting posting) {
+        BigDecimal remaining = posting.getAmount();
+
+        BigDecimal penaltyPart = remaining.min(account.getPenaltyAmount().max(BigDecimal.ZERO));
+        account.setPenaltyAmount(account.getPenaltyAmount().subtract(penaltyPart));
+        remaining = remaining.subtract(penaltyPart);
+
+        BigDecimal interestPart = remaining.min(account.getInterestAmount().max(BigDecimal.ZERO));
+        account.setInterestAmount(account.getInterestAmount().subtract(interestPart));
+        remaining = remaining.subtract(interestPart);
+
+        BigDecimal principalPart = remaining.min(account.getPrincipalAmount().max(BigDecimal.ZERO));
+        account.setPrincipalAmount(account.getPrincipalAmount().subtract(principalPart));
+        remaining = remaining.subtract(principalPart);
+
+        BigDecimal cured = interestPart.add(principalPart).min(account.getOverdueAmount());
+        account.setOverdueAmount(account.getOverdueAmount().subtract(cured));
+
+        posting.setAppliedToPenalty(penaltyPart);
+        posting.setAppliedToInterest(interestPart);
+        posting.setAppliedToPrincipal(principalPart);
+        posting.setExcessAmount(remaining);
+
+        toPenalty = toPenalty.add(penaltyPart);
+        toInterest = toInterest.add(interestPart);
+        toPrincipal = toPrincipal.add(principalPart);
+        excess = excess.add(remaining);
+    }
+
+    private void raiseOverdue(LoanAccount account, AccountPosting posting) {
+        BigDecimal outstanding = account.getPrincipalAmount().add(account.getInterestAmount());
+        BigDecimal raised = posting.getAmount().min(outstanding.subtract(account.getOverdueAmount()).max(BigDecimal.ZERO));
+        account.setOverdueAmount(account.getOverdueAmount().add(raised));
+        overdueRaised = overdueRaised.add(raised);
+    }
+
+    public BigDecimal getToPenalty() {
+        return toPenalty;
+    }
+
+    public BigDecimal getToInterest() {
+        return toInterest;
+    }
+
+    public BigDecimal getToPrincipal() {
+        return toPrincipal;
+    }
+
+    public BigDecimal getExcess() {
+        return excess;
+    }
+
+    public BigDecimal getOverdueRaised() {
+        return overdueRaised;
+    }
+
+    /**
+     * Total of the repayments folded, including any excess.
+     */
+    public BigDecimal getTotal() {
+        return toPenalty.add(toInterest).add(toPrincipal).add(excess);
+    }
+}
@@ -0,0 +1,123 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.PostingType;
+import com.assessment.interest_calculator.repository.AccountPostingRepository;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only balance movements (repayments, overdue amounts) and their hand-off to the accrual job.
+ *
+ * The API path only inserts into account_postings and never writes loan_accounts, so any number of
+ * concurrent repayments can be accepted while the nightly job is updating the same accounts. It holds a share lock
+ * on the account's loan_accounts row meanwhile, so a status change folds every posting that got in before it.
+ * The job folds pending postings into the balance when it accrues the account (see {@link PostingFold}).
+ */
+@Slf4j
+@Service
+public class PostingService {
+    private final AccountPostingRepository accountPostingRepository;
+    private final LoanAccountRepository loanAccountRepository;
+    private final ZoneId zoneId;
+
+    public PostingService(
+            AccountPostingRepository accountPostingRepository,
+            LoanAccountRepository loanAccountRepository,
+            @Value("${app.interest.zone:Asia/Kolkata}") String zone) {
+        this.accountPostingRepository = accountPostingRepository;
+        this.loanAccountRepository = loanAccountRepository;
+        this.zoneId = ZoneId.of(zone);
+    }
+
+    /**
+     * Record a repayment against an active account, effective on {@code valueDate} (today when null).
+     *
+     * @return the pending posting, or empty if there is no active account with that id
+     */
+    @Transactional
+    public Optional<AccountPosting> postRepayment(Long accountId, BigDecimal amount, LocalDate valueDate) {
+        return post(accountId, PostingType.REPAYMENT, amount, valueDate);
+    }
+
+    /**
+     * Record an amount falling into default on {@code valueDate} (today when null).
+     * Penal charges accrue on it from that business date until repayments cure it.
+     *
+     * @return the pending posting, or empty if there is no active account with that id
+     */
+    @Transactional
+    public Optional<AccountPosting> postOverdue(Long accountId, BigDecimal amount, LocalDate valueDate) {
+        return post(accountId, PostingType.OVERDUE, amount, valueDate);
+    }
+
+    /**
+     * Insert a posting while holding a share lock on the account, so it either lands before a concurrent status change
+     * reads the account's pending postings, or finds the account no longer active. Runs in the caller's transaction.
+     */
+    private Optional<AccountPosting> post(Long accountId, PostingType type, BigDecimal amount, LocalDate valueDate) {
+        if (loanAccountRepository.lockActiveForPosting(accountId).isEmpty()) {
+            return Optional.empty();
+        }
+        AccountPosting posting = accountPostingRepository.save(AccountPosting.builder()
+                .accountId(accountId)
+                .type(type)
+                .amount(amount)
+                .valueDate(valueDate != null ? valueDate : LocalDate.now(zoneId))
+                .build());
+        log.debug("Recorded {} posting {} of {} for account {}", type, posting.getId(), amount, accountId);
+        return Optional.of(posting);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccountPosting> findForAccount(Long accountId) {
+        return accountPostingRepository.findByAccountIdOrderByIdDesc(accountId);
+    }
+
+    /**
+     * Pending postings effective on or before {@code upTo} for a batch of accounts, grouped by account id.
+     * One query per batch rather than one per account.
+     */
+    public Map<Long, List<AccountPosting>> loadPending(Collection<Long> accountIds, LocalDate upTo) {
+        if (accountIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return accountPostingRepository
+                .findByAccountIdInAndAppliedAtIsNullAndValueDateLessThanEqualOrderByIdAsc(accountIds, upTo)
+                .stream()
+                .collect(Collectors.groupingBy(AccountPosting::getAccountId));
+    }
+
+    /**
+     * Whether the account has a pending posting that takes effect after {@code date}.
+     */
+    public boolean hasPendingAfter(Long accountId, LocalDate date) {
+        return accountPostingRepository.existsByAccountIdAndAppliedAtIsNullAndValueDateAfter(accountId, date);
+    }
+
+    /**
+     * Persist an account together with the postings folded into it, in one transaction.
+     * If the account write fails (e.g. on its version check), the postings stay pending and are folded by the next run.
+     */
+    @Transactional
+    public void saveFolded(LoanAccount account, List<AccountPosting> postings) {
+        loanAccountRepository.save(account);
+        accountPostingRepository.saveAll(postings);
+    }
+}
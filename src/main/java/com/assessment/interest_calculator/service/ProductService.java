@@ -0,0 +1,80 @@
+package com.assessment.interest_calculator.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.assessment.interest_calculator.dto.CreateProductRequest;
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanProduct;
+import com.assessment.interest_calculator.repository.LoanProductRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class ProductService {
+    private final LoanProductRepository loanProductRepository;
+
+    public ProductService(LoanProductRepository loanProductRepository) {
+        this.loanProductRepository = loanProductRepository;
+    }
+
+    /**
+     * Day-count convention per product code, for products that define one. Loaded once per job run.
+     */
+    public Map<String, DayCountConvention> loadDayCountConventions() {
+        Map<String, DayCountConvention> conventions = new HashMap<>();
+        for (LoanProduct product : loanProductRepository.findAll()) {
+            if (product.getDayCountConvention() != null) {
+                conventions.put(product.getCode(), product.getDayCountConvention());
+            }
+        }
+        return conventions;
+    }
+
+    /**
+     * Day-count convention per product code, for those of the given products that define one.
+     */
+    public Map<String, DayCountConvention> loadDayCountConventions(Collection<String> codes) {
+        Map<String, DayCountConvention> conventions = new HashMap<>();
+        if (codes.isEmpty()) {
+            return conventions;
+        }
+        for (LoanProduct product : loanProductRepository.findAllById(codes)) {
+            if (product.getDayCountConvention() != null) {
+                conventions.put(product.getCode(), product.getDayCountConvention());
+            }
+        }
+        return conventions;
+    }
+
+    /**
+     * Create a product, or return empty if the code is already taken.
+     */
+    public Optional<LoanProduct> create(CreateProductRequest request) {
+        if (loanProductRepository.existsById(request.getCode())) {
+            return Optional.empty();
+        }
+        LoanProduct saved = loanProductRepository.save(LoanProduct.builder()
+                .code(request.getCode())
+                .name(request.getName())
+                .dayCountConvention(request.getDayCountConvention())
+                .timeZone(request.getTimeZone())
+                .build());
+        log.info("Created loan product {} with day-count convention {} and time zone {}", saved.getCode(), saved.getDayCountConvention(), saved.getTimeZone());
+        return Optional.of(saved);
+    }
+
+    public List<LoanProduct> findAll() {
+        return loanProductRepository.findAll();
+    }
+
+    public Optional<LoanProduct> findByCode(String code) {
+        return loanProductRepository.findById(code);
+    }
+}
@@ -0,0 +1,320 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.assessment.interest_calculator.dto.BalanceProjectionResponse;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Forward simulation of account balances under the daily accrual and month-end capitalization jobs.
+ *
+ * Within a calendar month the principal does not change, so every day accrues the same rounded
+ * daily interest until the next scheduled rate reset. The simulation therefore advances one such
+ * period at a time (days * dailyInterest) and capitalizes at each month-end, which gives exactly
+ * the same figures as running the jobs day by day.
+ * Like the scheduled jobs, the daily accrual of the last day of a month runs before capitalization.
+ */
+@Slf4j
+@Service
+public class ProjectionService {
+    private final LoanAccountRepository loanAccountRepository;
+    private final InterestService interestService;
+    private final RateScheduleService rateScheduleService;
+    private final ProductService productService;
+    private final ZoneId zoneId; // Zone of accounts without their own
+    private final int pageSize;
+    private final int maxHorizonMonths;
+    private final ForkJoinPool forkJoinPool;
+
+    private static final int FORK_THRESHOLD = 256; // Accounts simulated sequentially by a single fork/join leaf
+
+    public ProjectionService(
+            LoanAccountRepository loanAccountRepository,
+            InterestService interestService,
+            RateScheduleService rateScheduleService,
+            ProductService productService,
+            @Value("${app.interest.zone:Asia/Kolkata}") String zone,
+            @Value("${app.projection.pageSize:10000}") int pageSize,
+            @Value("${app.projection.maxHorizonMonths:360}") int maxHorizonMonths,
+            @Value("${app.projection.parallelism:0}") int parallelism) {
+        this.loanAccountRepository = loanAccountRepository;
+        this.interestService = interestService;
+        this.rateScheduleService = rateScheduleService;
+        this.productService = productService;
+        this.zoneId = ZoneId.of(zone);
+        this.pageSize = pageSize;
+        this.maxHorizonMonths = maxHorizonMonths;
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        forkJoinPool.shutdown();
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class PortfolioProjectionResult {
+        private LocalDate asOf;
+        private LocalDate until;
+        private long accountsProjected;
+        private BigDecimal projectedPrincipal;
+        private BigDecimal projectedInterestAmount;
+        private BigDecimal interestAccruedOverPeriod;
+        private long durationMs;
+    }
+
+    /**
+     * Whether {@code until} is a date the projection can be asked for: not in the past
+     * and no further out than app.projection.maxHorizonMonths.
+     */
+    public boolean isValidHorizon(LocalDate until) {
+        LocalDate today = LocalDate.now(zoneId);
+        return until != null && !until.isBefore(today) && !until.isAfter(today.plusMonths(maxHorizonMonths));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BalanceProjectionResponse> projectAccount(Long accountId, LocalDate until) {
+        Instant now = Instant.now();
+        return loanAccountRepository.findById(accountId)
+                .map(account -> {
+                    LocalDate today = businessDate(account, now);
+                    return project(account, today, until, loadAssumptions(today, until), true);
+                });
+    }
+
+    /**
+     * Project every account to {@code until}, spreading the simulation of each fetched page across the fork/join pool.
+     */
+    public PortfolioProjectionResult projectPortfolio(LocalDate until) {
+        log.info("Starting portfolio projection until {}", until);
+        long startTime = System.currentTimeMillis();
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.ofInstant(now, zoneId);
+        // Each account starts from today in its own zone, which may still be yesterday here
+        Assumptions assumptions = loadAssumptions(today.minusDays(1), until);
+
+        ProjectionTotals totals = new ProjectionTotals();
+        long lastId = 0L;
+        List<LoanAccount> page;
+        do {
+            page = loanAccountRepository.findByStatusAndIdGreaterThanOrderByIdAsc(AccountStatus.ACTIVE, lastId, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            totals.add(forkJoinPool.invoke(new ProjectionTask(page, 0, page.size(), now, until, assumptions)));
+            lastId = page.get(page.size() - 1).getId();
+        } while (page.size() == pageSize);
+
+        long durationMs = System.currentTimeMillis() - startTime;
+        log.info("Completed portfolio projection until {} for {} accounts in {} ms", until, totals.accounts, durationMs);
+
+        return PortfolioProjectionResult.builder()
+                .asOf(today)
+                .until(until)
+                .accountsProjected(totals.accounts)
+                .projectedPrincipal(totals.principal)
+                .projectedInterestAmount(totals.interest)
+                .interestAccruedOverPeriod(totals.accrued)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Simulate the jobs for one account from its next accrual date up to and including {@code until}.
+     *
+     * @param today the account's current business date, in its own zone; the daily job for today is treated as not
+     *              yet run unless lastInterestAppliedAt already falls on it. A lazily accrued account is simulated
+     *              from the day after its anchor date
+     * @param assumptions rate schedules and day-count fractions covering today..until
+     * @param withPeriods whether to record the per-period steps (skipped for the portfolio job)
+     */
+    BalanceProjectionResponse project(LoanAccount account, LocalDate today, LocalDate until,
+            Assumptions assumptions, boolean withPeriods) {
+        RateScheduleIndex rates = assumptions.rates();
+        DayCountConvention convention = AccrualContext.conventionFor(account, assumptions.productConventions());
+        BigDecimal principal = account.getPrincipalAmount();
+        BigDecimal interest = account.getInterestAmount();
+        BigDecimal accrued = BigDecimal.ZERO;
+        List<BalanceProjectionResponse.ProjectionPeriod> periods = withPeriods ? new ArrayList<>() : null;
+
+        LocalDate from = firstAccrualDate(account, today);
+        while (!from.isAfter(until)) {
+            LocalDate monthEnd = from.with(TemporalAdjusters.lastDayOfMonth());
+            LocalDate to = until.isBefore(monthEnd) ? until : monthEnd;
+            LocalDate nextReset = rates.nextChangeAfter(account, from);
+            if (nextReset != null && !nextReset.isAfter(to)) {
+                to = nextReset.minusDays(1);
+            }
+            int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+            // Days in the period share a rate and principal; group them by day-count fraction
+            // so that e.g. 30/360 month-ends are accrued with their own (rounded) daily figure
+            BigDecimal rate = rates.resolve(account, from);
+            Map<DayFraction, Integer> fractions = assumptions.dayCounts().histogram(convention, from, to);
+            BigDecimal dailyInterest = null;
+            BigDecimal periodInterest = BigDecimal.ZERO;
+            for (Map.Entry<DayFraction, Integer> entry : fractions.entrySet()) {
+                dailyInterest = interestService.calculateDailyInterest(principal, rate, entry.getKey());
+                periodInterest = periodInterest.add(dailyInterest.multiply(BigDecimal.valueOf(entry.getValue())));
+            }
+            if (fractions.size() != 1) {
+                dailyInterest = null; // No single daily figure for the period
+            }
+            interest = interest.add(periodInterest);
+            accrued = accrued.add(periodInterest);
+
+            boolean capitalized = to.equals(monthEnd) && interest.compareTo(BigDecimal.ZERO) > 0;
+            if (capitalized) {
+                principal = principal.add(interest);
+                interest = BigDecimal.ZERO;
+            }
+
+            if (withPeriods) {
+                periods.add(BalanceProjectionResponse.ProjectionPeriod.builder()
+                        .from(from)
+                        .to(to)
+                        .days(days)
+                        .interestRate(rate)
+                        .dailyInterest(dailyInterest)
+                        .interestAccrued(periodInterest)
+                        .capitalized(capitalized)
+                        .principalAfter(principal)
+                        .interestAmountAfter(interest)
+                        .build());
+            }
+            from = to.plusDays(1);
+        }
+
+        return BalanceProjectionResponse.builder()
+                .accountId(account.getId())
+                .asOf(today)
+                .until(until)
+                .currentPrincipal(account.getPrincipalAmount())
+                .currentInterestAmount(account.getInterestAmount())
+                .projectedPrincipal(principal)
+                .projectedInterestAmount(interest)
+                .projectedTotalDue(principal.add(interest))
+                .interestAccruedOverPeriod(accrued)
+                .periods(periods)
+                .build();
+    }
+
+    /**
+     * Load rate schedules, product conventions and the day-count table once per projection request or job.
+     */
+    Assumptions loadAssumptions(LocalDate today, LocalDate until) {
+        return new Assumptions(
+                rateScheduleService.loadIndex(until),
+                interestService.dayCountTable(today, until),
+                productService.loadDayCountConventions());
+    }
+
+    /**
+     * Inputs shared by every account of a projection.
+     */
+    record Assumptions(RateScheduleIndex rates, DayCountTable dayCounts, Map<String, DayCountConvention> productConventions) {
+    }
+
+    private LocalDate firstAccrualDate(LoanAccount account, LocalDate today) {
+        if (account.getAccrualAnchorDate() != null) {
+            // Lazily accrued: the days since the anchor are not in the row yet, including those before today
+            return account.getAccrualAnchorDate().plusDays(1);
+        }
+        if (account.getLastInterestAppliedAt() == null) {
+            return today;
+        }
+        LocalDate nextAfterLastApplied = account.getLastInterestAppliedAt().atZoneSameInstant(zoneOf(account)).toLocalDate().plusDays(1);
+        return nextAfterLastApplied.isAfter(today) ? nextAfterLastApplied : today;
+    }
+
+    /**
+     * The account's current business date: today in its own zone, as the daily job and lazy accrual take it.
+     */
+    private LocalDate businessDate(LoanAccount account, Instant now) {
+        return LocalDate.ofInstant(now, zoneOf(account));
+    }
+
+    private ZoneId zoneOf(LoanAccount account) {
+        return account.getTimeZone() != null ? ZoneId.of(account.getTimeZone()) : zoneId;
+    }
+
+    private static class ProjectionTotals {
+        private long accounts;
+        private BigDecimal principal = BigDecimal.ZERO;
+        private BigDecimal interest = BigDecimal.ZERO;
+        private BigDecimal accrued = BigDecimal.ZERO;
+
+        void add(ProjectionTotals other) {
+            accounts += other.accounts;
+            principal = principal.add(other.principal);
+            interest = interest.add(other.interest);
+            accrued = accrued.add(other.accrued);
+        }
+    }
+
+    /**
+     * Splits a page of accounts in halves until a leaf is small enough to simulate sequentially.
+     */
+    private class ProjectionTask extends RecursiveTask<ProjectionTotals> {
+        private final List<LoanAccount> accounts;
+        private final int from;
+        private final int to;
+        private final Instant now;
+        private final LocalDate until;
+        private final Assumptions assumptions;
+
+        ProjectionTask(List<LoanAccount> accounts, int from, int to, Instant now, LocalDate until, Assumptions assumptions) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+            this.now = now;
+            this.until = until;
+            this.assumptions = assumptions;
+        }
+
+        @Override
+        protected ProjectionTotals compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                ProjectionTotals totals = new ProjectionTotals();
+                for (int i = from; i < to; i++) {
+                    LoanAccount account = accounts.get(i);
+                    BalanceProjectionResponse projection = project(account, businessDate(account, now), until, assumptions, false);
+                    totals.accounts++;
+                    totals.principal = totals.principal.add(projection.getProjectedPrincipal());
+                    totals.interest = totals.interest.add(projection.getProjectedInterestAmount());
+                    totals.accrued = totals.accrued.add(projection.getInterestAccruedOverPeriod());
+                }
+                return totals;
+            }
+            int mid = (from + to) >>> 1;
+            ProjectionTask left = new ProjectionTask(accounts, from, mid, now, until, assumptions);
+            left.fork();
+            ProjectionTotals totals = new ProjectionTask(accounts, mid, to, now, until, assumptions).compute();
+            totals.add(left.join());
+            return totals;
+        }
+    }
+}
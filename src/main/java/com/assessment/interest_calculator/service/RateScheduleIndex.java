@@ -0,0 +1,151 @@
+package com.assessment.interest_calculator.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.RateSchedule;
+
+/**
+ * In-memory interval index over the rate_schedule table.
+ * Built once per job run; lookups never touch the database.
+ */
+public class RateScheduleIndex {
+
+    private static final RateScheduleIndex EMPTY = new RateScheduleIndex(Map.of(), Map.of());
+
+    private final Map<Long, NavigableMap<LocalDate, BigDecimal>> accountSchedules;
+    private final Map<String, NavigableMap<LocalDate, BigDecimal>> productSchedules;
+
+    private RateScheduleIndex(Map<Long, NavigableMap<LocalDate, BigDecimal>> accountSchedules,
+                              Map<String, NavigableMap<LocalDate, BigDecimal>> productSchedules) {
+        this.accountSchedules = accountSchedules;
+        this.productSchedules = productSchedules;
+    }
+
+    public static RateScheduleIndex empty() {
+        return EMPTY;
+    }
+
+    public static RateScheduleIndex of(Collection<RateSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, NavigableMap<LocalDate, BigDecimal>> accounts = new HashMap<>();
+        Map<String, NavigableMap<LocalDate, BigDecimal>> products = new HashMap<>();
+        for (RateSchedule schedule : schedules) {
+            if (schedule.getAccountId() != null) {
+                accounts.computeIfAbsent(schedule.getAccountId(), id -> new TreeMap<>())
+                        .put(schedule.getEffectiveFrom(), schedule.getInterestRate());
+            } else if (schedule.getProductCode() != null) {
+                products.computeIfAbsent(schedule.getProductCode(), code -> new TreeMap<>())
+                        .put(schedule.getEffectiveFrom(), schedule.getInterestRate());
+            }
+        }
+        return new RateScheduleIndex(accounts, products);
+    }
+
+    public boolean isEmpty() {
+        return accountSchedules.isEmpty() && productSchedules.isEmpty();
+    }
+
+    /**
+     * Rate in effect for the account on the given date: account schedule, then product schedule,
+     * then the account's own interestRate column.
+     */
+    public BigDecimal resolve(LoanAccount account, LocalDate date) {
+        if (isEmpty()) {
+            return account.getInterestRate();
+        }
+        BigDecimal rate = floor(accountSchedules.get(account.getId()), date);
+        if (rate == null && account.getProductCode() != null) {
+            rate = floor(productSchedules.get(account.getProductCode()), date);
+        }
+        return rate != null ? rate : account.getInterestRate();
+    }
+
+    /**
+     * First date strictly after {@code date} on which the account's resolved rate may change, or null if none is scheduled.
+     */
+    public LocalDate nextChangeAfter(LoanAccount account, LocalDate date) {
+        if (isEmpty()) {
+            return null;
+        }
+        LocalDate next = higherKey(accountSchedules.get(account.getId()), date);
+        if (account.getProductCode() != null) {
+            LocalDate productNext = higherKey(productSchedules.get(account.getProductCode()), date);
+            if (next == null || (productNext != null && productNext.isBefore(next))) {
+                next = productNext;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Flatten the index to the rates in effect on a single date, so the per-account lookup in the
+     * daily job is a hash probe rather than a tree search.
+     */
+    public RatesOn ratesOn(LocalDate date) {
+        if (isEmpty()) {
+            return RatesOn.CONTRACTUAL;
+        }
+        Map<Long, BigDecimal> accounts = new HashMap<>();
+        accountSchedules.forEach((id, schedule) -> {
+            BigDecimal rate = floor(schedule, date);
+            if (rate != null) {
+                accounts.put(id, rate);
+            }
+        });
+        Map<String, BigDecimal> products = new HashMap<>();
+        productSchedules.forEach((code, schedule) -> {
+            BigDecimal rate = floor(schedule, date);
+            if (rate != null) {
+                products.put(code, rate);
+            }
+        });
+        return new RatesOn(accounts, products);
+    }
+
+    private static BigDecimal floor(NavigableMap<LocalDate, BigDecimal> schedule, LocalDate date) {
+        if (schedule == null) {
+            return null;
+        }
+        Map.Entry<LocalDate, BigDecimal> entry = schedule.floorEntry(date);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    private static LocalDate higherKey(NavigableMap<LocalDate, BigDecimal> schedule, LocalDate date) {
+        return schedule != null ? schedule.higherKey(date) : null;
+    }
+
+    /**
+     * Rates resolved for one business date.
+     */
+    public static class RatesOn {
+        static final RatesOn CONTRACTUAL = new RatesOn(Map.of(), Map.of());
+
+        private final Map<Long, BigDecimal> accountRates;
+        private final Map<String, BigDecimal> productRates;
+
+        private RatesOn(Map<Long, BigDecimal> accountRates, Map<String, BigDecimal> productRates) {
+            this.accountRates = accountRates;
+            this.productRates = productRates;
+        }
+
+        public BigDecimal resolve(LoanAccount account) {
+            if (accountRates.isEmpty() && productRates.isEmpty()) {
+                return account.getInterestRate();
+            }
+            BigDecimal rate = accountRates.get(account.getId());
+            if (rate == null && account.getProductCode() != null) {
+                rate = productRates.get(account.getProductCode());
+            }
+            return rate != null ? rate : account.getInterestRate();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.assessment.interest_calculator.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.assessment.interest_calculator.dto.CreateRateScheduleRequest;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.RateSchedule;
+import com.assessment.interest_calculator.repository.RateScheduleRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manages effective-dated rate schedules. A benchmark reset is a single inserted row;
+ * the accrual path picks it up through {@link RateScheduleIndex} on its next run.
+ */
+@Slf4j
+@Service
+public class RateScheduleService {
+    private final RateScheduleRepository rateScheduleRepository;
+
+    public RateScheduleService(RateScheduleRepository rateScheduleRepository) {
+        this.rateScheduleRepository = rateScheduleRepository;
+    }
+
+    /**
+     * Load every schedule row effective on or before {@code upTo} into an in-memory index.
+     */
+    public RateScheduleIndex loadIndex(LocalDate upTo) {
+        List<RateSchedule> schedules = rateScheduleRepository.findByEffectiveFromLessThanEqualOrderByEffectiveFromAsc(upTo);
+        log.debug("Loaded {} rate schedule rows effective up to {}", schedules.size(), upTo);
+        return RateScheduleIndex.of(schedules);
+    }
+
+    /**
+     * Index of the schedule rows that can price one account: its own and its product's.
+     */
+    public RateScheduleIndex loadIndex(LoanAccount account) {
+        List<RateSchedule> schedules = new ArrayList<>(findForAccount(account.getId()));
+        if (account.getProductCode() != null) {
+            schedules.addAll(findForProduct(account.getProductCode()));
+        }
+        return RateScheduleIndex.of(schedules);
+    }
+
+    /**
+     * Index of the schedule rows that can price any of the given accounts, in one query for their own rows and one
+     * for their products' rows.
+     */
+    public RateScheduleIndex loadIndex(Collection<LoanAccount> accounts) {
+        if (accounts.isEmpty()) {
+            return RateScheduleIndex.empty();
+        }
+        List<Long> accountIds = accounts.stream().map(LoanAccount::getId).toList();
+        Set<String> productCodes = accounts.stream()
+                .map(LoanAccount::getProductCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<RateSchedule> schedules = new ArrayList<>(rateScheduleRepository.findByAccountIdInOrderByEffectiveFromAsc(accountIds));
+        if (!productCodes.isEmpty()) {
+            schedules.addAll(rateScheduleRepository.findByProductCodeInOrderByEffectiveFromAsc(productCodes));
+        }
+        return RateScheduleIndex.of(schedules);
+    }
+
+    public RateSchedule addEntry(CreateRateScheduleRequest request) {
+        RateSchedule schedule = RateSchedule.builder()
+                .productCode(request.getProductCode() != null && !request.getProductCode().isBlank() ? request.getProductCode() : null)
+                .accountId(request.getAccountId())
+                .effectiveFrom(request.getEffectiveFrom())
+                .interestRate(request.getInterestRate())
+                .build();
+        RateSchedule saved = rateScheduleRepository.save(schedule);
+        log.info("Added rate schedule entry {}: product={}, account={}, effectiveFrom={}, rate={}",
+                saved.getId(), saved.getProductCode(), saved.getAccountId(), saved.getEffectiveFrom(), saved.getInterestRate());
+        return saved;
+    }
+
+    public List<RateSchedule> findForProduct(String productCode) {
+        return rateScheduleRepository.findByProductCodeOrderByEffectiveFromAsc(productCode);
+    }
+
+    public List<RateSchedule> findForAccount(Long accountId) {
+        return rateScheduleRepository.findByAccountIdOrderByEffectiveFromAsc(accountId);
+    }
+}
@@ -0,0 +1,171 @@
+package com.assessment.interest_calculator.strings;
+
+/**
+ * Shortest square substring: the shortest non-empty w such that ww occurs in the input, reported as
+ * [|w|, earliest start of ww], or [0, 0] when the input is square-free (see the ReadME).
+ *
+ * Main–Lorentz divide and conquer, O(n log n): every square either lies in one half of the current segment or
+ * crosses its middle, and the crossing ones are found from Z-functions of the two halves, one family
+ * (a half-length and a contiguous range of starts) per split position. Only the earliest start of each family
+ * is a candidate. The halves are solved first so that a short square found deep in the recursion caps the work
+ * of every later crossing step: Z values are never extended past the best half-length found so far.
+ *
+ * Z-functions run on index views of one char array (forwards or backwards from a base index), so no
+ * substrings, reversed copies or separator-joined strings are built.
+ */
+public final class SquareSubstring {
+
+    private SquareSubstring() {
+    }
+
+    /**
+     * @return {length of w, earliest start index of ww}, or {0, 0} if there is no square
+     */
+    public static int[] shortestSquare(CharSequence text) {
+        int n = text.length();
+        // Squares with |w| = 1 take one scan to find, and most inputs have one
+        for (int i = 0; i + 1 < n; i++) {
+            if (text.charAt(i) == text.charAt(i + 1)) {
+                return new int[] {1, i};
+            }
+        }
+        if (n < 4) {
+            return new int[] {0, 0};
+        }
+
+        char[] chars = new char[n];
+        if (text instanceof String string) {
+            string.getChars(0, n, chars, 0);
+        } else {
+            for (int i = 0; i < n; i++) {
+                chars[i] = text.charAt(i);
+            }
+        }
+        Search search = new Search(chars);
+        search.solve(0, n);
+        return search.bestLength == Integer.MAX_VALUE
+                ? new int[] {0, 0}
+                : new int[] {search.bestLength, search.bestStart};
+    }
+
+    private static final class Search {
+        private final char[] s;
+        // Scratch arrays for one crossing step, sized for the largest half
+        private final int[] zLeftReversed;   // Z-function of u read backwards from its last character
+        private final int[] zRight;          // Z-function of v
+        private final int[] prefixMatch;     // prefixMatch[j] = lcp(v, u[j..])
+        private final int[] suffixMatch;     // suffixMatch[j] = longest common suffix of u and v[0 .. |v| - j)
+
+        private int bestLength = Integer.MAX_VALUE;
+        private int bestStart;
+
+        Search(char[] s) {
+            this.s = s;
+            int half = s.length / 2 + 2;
+            zLeftReversed = new int[half];
+            zRight = new int[half];
+            prefixMatch = new int[half];
+            suffixMatch = new int[half];
+        }
+
+        void solve(int from, int to) {
+            int n = to - from;
+            if (n < 2) {
+                return;
+            }
+            int mid = from + n / 2;
+            solve(from, mid);
+            solve(mid, to);
+            crossing(from, mid, to);
+        }
+
+        /**
+         * Squares of s[from, to) that start in u = s[from, mid) and end in v = s[mid, to).
+         */
+        private void crossing(int from, int mid, int to) {
+            int nu = mid - from;
+            int nv = to - mid;
+            int cap = Math.min(bestLength, to - from);
+
+            zFunction(mid, 1, nv, Math.min(nv - 1, cap), cap, zRight);
+            zFunction(mid - 1, -1, nu, Math.min(nu - 1, cap), cap, zLeftReversed);
+            matchLengths(mid, 1, nv, zRight, from, 1, nu, Math.max(0, nu - cap), cap, prefixMatch);
+            matchLengths(mid - 1, -1, nu, zLeftReversed, to - 1, -1, nv, Math.max(0, nv - cap), cap, suffixMatch);
+
+            // Squares whose first half-boundary (start + |w|) falls inside u: centre at u[cntr], |w| = nu - cntr
+            for (int cntr = Math.max(0, nu - cap); cntr < nu; cntr++) {
+                int l = nu - cntr;
+                int k1 = l < nu ? zLeftReversed[l] : 0;
+                int k2 = prefixMatch[cntr];
+                int lo = Math.max(1, l - k2);
+                int hi = Math.min(l - 1, k1);
+                if (lo <= hi) {
+                    offer(l, from + cntr - hi);
+                }
+            }
+
+            // Squares whose first half-boundary falls inside v: centre at v[cntr - nu], |w| = cntr - nu + 1
+            for (int cntr = nu; cntr < nu + Math.min(nv, cap); cntr++) {
+                int l = cntr - nu + 1;
+                int k1 = suffixMatch[nv - l];
+                int k2 = l < nv ? zRight[l] : 0;
+                int lo = Math.max(1, l - k2);
+                int hi = Math.min(l, k1);
+                if (lo <= hi) {
+                    offer(l, from + cntr - l - hi + 1);
+                }
+            }
+        }
+
+        private void offer(int length, int start) {
+            if (length < bestLength || (length == bestLength && start < bestStart)) {
+                bestLength = length;
+                bestStart = start;
+            }
+        }
+
+        /**
+         * Z-function of p[i] = s[base + step * i], i &lt; len, for indices 1..upTo, with every value capped at {@code cap}.
+         * Capping is safe: a box longer than cap is never needed to decide a value below cap.
+         */
+        private void zFunction(int base, int step, int len, int upTo, int cap, int[] z) {
+            int boxStart = 0;
+            int boxEnd = 0;
+            for (int i = 1; i <= upTo; i++) {
+                int k = i < boxEnd ? Math.min(z[i - boxStart], boxEnd - i) : 0;
+                int max = Math.min(len - i, cap);
+                while (k < max && s[base + step * k] == s[base + step * (i + k)]) {
+                    k++;
+                }
+                z[i] = k;
+                if (i + k > boxEnd) {
+                    boxStart = i;
+                    boxEnd = i + k;
+                }
+            }
+        }
+
+        /**
+         * out[j] = lcp(p, t[j..]) for j in [from, tLen), capped at {@code cap}, where p[i] = s[pBase + pStep * i] has
+         * Z-function zp and t[i] = s[tBase + tStep * i]. The usual Z-box trick, with the pattern's Z-function
+         * standing in for the text's.
+         */
+        private void matchLengths(int pBase, int pStep, int pLen, int[] zp,
+                                  int tBase, int tStep, int tLen, int from, int cap, int[] out) {
+            int boxStart = 0;
+            int boxEnd = 0;
+            for (int j = from; j < tLen; j++) {
+                int k = j < boxEnd ? Math.min(zp[j - boxStart], boxEnd - j) : 0;
+                int max = Math.min(Math.min(pLen, tLen - j), cap);
+                while (k < max && s[pBase + pStep * k] == s[tBase + tStep * (j + k)]) {
+                    k++;
+                }
+                out[j] = k;
+                if (j + k > boxEnd) {
+                    boxStart = j;
+                    boxEnd = j + k;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+-- Schema for the interest calculator (PostgreSQL).
+-- Statements are idempotent so the script can run on every startup (spring.sql.init.mode=always).
+
+-- Account attributes that rarely change once the account is opened. Balances are in loan_balances below.
+CREATE TABLE IF NOT EXISTS loan_accounts (
+    id                       BIGSERIAL PRIMARY KEY,
+    account_holder_name      VARCHAR(255)             NOT NULL,
+    interest_rate            NUMERIC(9, 6)            NOT NULL,
+    date_of_disbursal        DATE                     NOT NULL,
+    created_at               TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Incrementally maintained rollup, one row per rate band (see PortfolioSummaryService).
+CREATE TABLE IF NOT EXISTS portfolio_summary (
+    rate_band       VARCHAR(32)              PRIMARY KEY,
+    account_count   BIGINT                   NOT NULL DEFAULT 0,
+    total_principal NUMERIC(24, 6)           NOT NULL DEFAULT 0,
+    total_interest  NUMERIC(24, 6)           NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Effective-dated rates for floating-rate products and per-account overrides (see RateScheduleIndex).
+-- A benchmark reset inserts one row here instead of updating every account.
+CREATE TABLE IF NOT EXISTS rate_schedule (
+    id             BIGSERIAL PRIMARY KEY,
+    product_code   VARCHAR(64),
+    account_id     BIGINT,
+    effective_from DATE                     NOT NULL,
+    interest_rate  NUMERIC(9, 6)            NOT NULL,
+    created_at     TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT rate_schedule_single_target CHECK ((product_code IS NULL) <> (account_id IS NULL))
+);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_rate_schedule_product ON rate_schedule (product_code, effective_from) WHERE product_code IS NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_rate_schedule_account ON rate_schedule (account_id, effective_from) WHERE account_id IS NOT NULL;
+
+-- Columns added to loan_accounts after the initial release.
+ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS product_code VARCHAR(64);
+ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS day_count_convention VARCHAR(16);
+ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE';
+ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS closed_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS penal_rate NUMERIC(9, 6);
+
+-- The part of each account the daily job rewrites every night (see LoanAccount). Narrow, with free space left on
+-- every page and no index on any of these columns, so the nightly updates are HOT: the new row version goes on the
+-- same page, no index entry is added, and the old version is pruned without waiting for VACUUM.
+-- Month-end used to select accounts through a partial index WHERE interest_amount > 0; any index on interest_amount,
+-- even only in its predicate, would make every accrual a non-HOT update. Capitalization instead walks the active
+-- accounts of each zone bucket along idx_loan_accounts_time_zone, joined to their balances by primary key.
+CREATE TABLE IF NOT EXISTS loan_balances (
+    account_id               BIGINT                   PRIMARY KEY REFERENCES loan_accounts (id) ON DELETE CASCADE,
+    principal_amount         NUMERIC(18, 6)           NOT NULL,
+    interest_amount          NUMERIC(18, 6)           NOT NULL DEFAULT 0,
+    penalty_amount           NUMERIC(18, 6)           NOT NULL DEFAULT 0,
+    overdue_amount           NUMERIC(18, 6)           NOT NULL DEFAULT 0,
+    last_interest_applied_at TIMESTAMP WITH TIME ZONE,
+    accrual_anchor_date      DATE,
+    version                  BIGINT                   NOT NULL DEFAULT 0,
+    updated_at               TIMESTAMP WITH TIME ZONE NOT NULL
+) WITH (fillfactor = 70);
+
+-- One-off move of the balance columns out of loan_accounts, for databases created before loan_balances existed.
+-- The body is single-quoted rather than dollar-quoted because the script is split on semicolons outside quotes.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = ''loan_accounts'' AND column_name = ''interest_amount'') THEN
+        ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS penalty_amount NUMERIC(18, 6) NOT NULL DEFAULT 0;
+        ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS overdue_amount NUMERIC(18, 6) NOT NULL DEFAULT 0;
+        ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS accrual_anchor_date DATE;
+        INSERT INTO loan_balances (account_id, principal_amount, interest_amount, penalty_amount, overdue_amount,
+                                   last_interest_applied_at, accrual_anchor_date, version, updated_at)
+        SELECT id, principal_amount, interest_amount, penalty_amount, overdue_amount,
+               last_interest_applied_at, accrual_anchor_date, version, updated_at
+        FROM loan_accounts
+        ON CONFLICT (account_id) DO NOTHING;
+        DROP INDEX IF EXISTS idx_loan_accounts_accrued_interest;
+        ALTER TABLE loan_accounts
+            DROP COLUMN principal_amount, DROP COLUMN interest_amount, DROP COLUMN penalty_amount,
+            DROP COLUMN overdue_amount, DROP COLUMN last_interest_applied_at, DROP COLUMN accrual_anchor_date,
+            DROP COLUMN version, DROP COLUMN updated_at;
+    END IF;
+END';
+
+-- Loan products; carry defaults such as the day-count convention for their accounts.
+CREATE TABLE IF NOT EXISTS loan_products (
+    code                 VARCHAR(64)              PRIMARY KEY,
+    name                 VARCHAR(255)             NOT NULL,
+    day_count_convention VARCHAR(16),
+    created_at           TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Closed and written-off accounts, moved out of loan_accounts in bulk by the archiver (see AccountLifecycleService).
+-- Keeps loan_accounts, its indexes and the nightly scans in proportion to live loans.
+CREATE TABLE IF NOT EXISTS loan_accounts_archive (
+    id                       BIGINT                   PRIMARY KEY,
+    account_holder_name      VARCHAR(255)             NOT NULL,
+    product_code             VARCHAR(64),
+    day_count_convention     VARCHAR(16),
+    status                   VARCHAR(16)              NOT NULL,
+    closed_at                TIMESTAMP WITH TIME ZONE,
+    interest_rate            NUMERIC(9, 6)            NOT NULL,
+    interest_amount          NUMERIC(18, 6)           NOT NULL,
+    principal_amount         NUMERIC(18, 6)           NOT NULL,
+    penalty_amount           NUMERIC(18, 6)           NOT NULL DEFAULT 0,
+    overdue_amount           NUMERIC(18, 6)           NOT NULL DEFAULT 0,
+    penal_rate               NUMERIC(9, 6),
+    date_of_disbursal        DATE                     NOT NULL,
+    last_interest_applied_at TIMESTAMP WITH TIME ZONE,
+    version                  BIGINT                   NOT NULL,
+    created_at               TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at               TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at              TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Lets the archiver find closed accounts without scanning the live ones.
+CREATE INDEX IF NOT EXISTS idx_loan_accounts_closed ON loan_accounts (closed_at) WHERE status <> 'ACTIVE';
+
+-- Append-only balance movements (repayments, overdue amounts), folded into loan_accounts by the daily accrual job (see PostingService).
+CREATE TABLE IF NOT EXISTS account_postings (
+    id                   BIGSERIAL PRIMARY KEY,
+    account_id           BIGINT                   NOT NULL,
+    type                 VARCHAR(16)              NOT NULL,
+    amount               NUMERIC(18, 6)           NOT NULL CHECK (amount > 0),
+    value_date           DATE                     NOT NULL,
+    created_at           TIMESTAMP WITH TIME ZONE NOT NULL,
+    applied_at           TIMESTAMP WITH TIME ZONE,
+    applied_to_penalty   NUMERIC(18, 6),
+    applied_to_interest  NUMERIC(18, 6),
+    applied_to_principal NUMERIC(18, 6),
+    excess_amount        NUMERIC(18, 6)
+);
+-- The job only ever reads pending postings; applied ones drop out of this index.
+CREATE INDEX IF NOT EXISTS idx_account_postings_pending ON account_postings (account_id, id) WHERE applied_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_account_postings_account ON account_postings (account_id);
+
+-- Columns added to tables above after they were first released.
+ALTER TABLE loan_accounts_archive ADD COLUMN IF NOT EXISTS penalty_amount NUMERIC(18, 6) NOT NULL DEFAULT 0;
+ALTER TABLE loan_accounts_archive ADD COLUMN IF NOT EXISTS overdue_amount NUMERIC(18, 6) NOT NULL DEFAULT 0;
+ALTER TABLE loan_accounts_archive ADD COLUMN IF NOT EXISTS penal_rate NUMERIC(9, 6);
+ALTER TABLE account_postings ADD COLUMN IF NOT EXISTS applied_to_penalty NUMERIC(18, 6);
+ALTER TABLE loan_accounts ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64);
+ALTER TABLE loan_accounts_archive ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64);
+ALTER TABLE loan_products ADD COLUMN IF NOT EXISTS time_zone VARCHAR(64);
+ALTER TABLE loan_accounts_archive ADD COLUMN IF NOT EXISTS accrual_anchor_date DATE;
+
+-- The daily accrual and month-end capitalization run one zone bucket at a time, each at its own local cutoff
+-- (see InterestScheduler), and walk the bucket's active accounts in id order along this index.
+CREATE INDEX IF NOT EXISTS idx_loan_accounts_time_zone ON loan_accounts (time_zone, id) WHERE status = 'ACTIVE';
+
+-- Account search (see AccountSearchService). Holder-name prefixes are matched case-insensitively through trigrams,
+-- which need at least three characters to narrow anything down. Rates and disbursal dates are matched as ranges and
+-- paged along (column, id), so a page is read in index order and stops after its last row.
+CREATE INDEX IF NOT EXISTS idx_loan_accounts_interest_rate_id ON loan_accounts (interest_rate, id);
+CREATE INDEX IF NOT EXISTS idx_loan_accounts_date_of_disbursal_id ON loan_accounts (date_of_disbursal, id);
+DROP INDEX IF EXISTS idx_loan_accounts_interest_rate;
+DROP INDEX IF EXISTS idx_loan_accounts_date_of_disbursal;
+
+-- The trigram index needs the pg_trgm extension. Creating it takes the CREATE privilege on the database (pg_trgm is a
+-- trusted extension from PostgreSQL 13), which the application role may not have on a managed server. In that case
+-- startup goes on with a warning and without the index, and an administrator runs, once per database:
+--   CREATE EXTENSION pg_trgm;
+-- after which the next startup creates the index.
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_extension WHERE extname = ''pg_trgm'') THEN
+        BEGIN
+            CREATE EXTENSION pg_trgm;
+        EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+            RAISE WARNING ''pg_trgm cannot be created as %: %. Name search runs without its index until an administrator runs CREATE EXTENSION pg_trgm'', current_user, SQLERRM;
+        END;
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = ''pg_trgm'') THEN
+        CREATE INDEX IF NOT EXISTS idx_loan_accounts_holder_name_trgm ON loan_accounts USING gin (lower(account_holder_name) gin_trgm_ops);
+    END IF;
+END';
@@ -1,21 +1,36 @@
 package com.assessment.interest_calculator.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.assessment.interest_calculator.service.AccountLifecycleService;
 import com.assessment.interest_calculator.service.InterestService;
+import com.assessment.interest_calculator.service.PortfolioSummaryService;
 import com.assessment.interest_calculator.service.InterestService.InterestApplicationResult;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +39,15 @@ class InterestSchedulerTest {
     @Mock
     private InterestService interestService;
 
+    @Mock
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @Mock
+    private AccountLifecycleService accountLifecycleService;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private InterestScheduler interestScheduler;
 
@@ -33,6 +57,260 @@ class InterestSchedulerTest {
     void setUp() {
         // Set the zone field using reflection since it's injected via @Value
         ReflectionTestUtils.setField(interestScheduler, "zone", TEST_ZONE);
+        ReflectionTestUtils.setField(interestScheduler, "cutoff", "23:59");
+        ReflectionTestUtils.setField(interestScheduler, "zoneRefreshMinutes", 60L);
+    }
+
+    @Test
+    void testRunDueZoneBuckets_EachBucketRunsOnceAfterItsLocalCutoff() {
+        // Given: 18:29 UTC is 23:59 in Kolkata but only 13:29 in New York
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        ZoneId newYork = ZoneId.of("America/New_York");
+        when(interestService.accrualZones()).thenReturn(new LinkedHashSet<>(List.of(kolkata, newYork)));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class)))
+                .thenReturn(InterestApplicationResult.builder().build());
+
+        // When: the first tick catches up both buckets, Kolkata's cutoff then closes the 15th
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-15T18:28:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-15T18:29:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-15T18:30:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-16T04:59:00Z")); // 23:59 in New York
+
+        // Then
+        InOrder inOrder = inOrder(interestService);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 14), kolkata);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 14), newYork);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 15), kolkata);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 15), newYork);
+        verify(interestService, times(4)).applyDailyInterest(any(LocalDate.class), any(ZoneId.class));
+        verify(interestService, times(2)).accrualZones(); // Loaded on the first tick and reloaded after app.interest.zoneRefreshMinutes
+        verify(interestService, never()).applyDailyInterest(any(LocalDate.class));
+    }
+
+    @Test
+    void testRunDueZoneBuckets_FailedBucketIsRetriedWithoutBlockingOthers() {
+        // Given: the London bucket fails once
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        ZoneId london = ZoneId.of("Europe/London");
+        when(interestService.accrualZones()).thenReturn(new LinkedHashSet<>(List.of(london, kolkata)));
+        when(interestService.applyDailyInterest(LocalDate.of(2024, 1, 14), london))
+                .thenThrow(new RuntimeException("Database connection failed"))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyDailyInterest(LocalDate.of(2024, 1, 14), kolkata))
+                .thenReturn(InterestApplicationResult.builder().build());
+
+        // When
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-15T12:00:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-15T12:01:00Z"));
+
+        // Then
+        verify(interestService, times(2)).applyDailyInterest(LocalDate.of(2024, 1, 14), london);
+        verify(interestService, times(1)).applyDailyInterest(LocalDate.of(2024, 1, 14), kolkata);
+    }
+
+    @Test
+    void testMonthEnd_EachBucketCapitalizesAfterItsOwnLastDayAccrual() {
+        // Given: 18:29 UTC on Jan 31 closes the month in Kolkata while New York is at 13:29 on Jan 31
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        ZoneId newYork = ZoneId.of("America/New_York");
+        when(interestService.accrualZones()).thenReturn(new LinkedHashSet<>(List.of(kolkata, newYork)));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class)))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyMonthEndInterest(any(LocalDate.class), any(ZoneId.class)))
+                .thenReturn(InterestApplicationResult.builder().build());
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+
+        // When
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-31T18:29:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T04:58:00Z")); // 23:58 on Jan 31 in New York
+
+        // Then: Kolkata has capitalized, New York has not, as its Jan 31 is not yet accrued
+        verify(interestService).applyMonthEndInterest(monthEnd, kolkata);
+        verify(interestService, never()).applyMonthEndInterest(any(LocalDate.class), eq(newYork));
+
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T04:59:00Z")); // 23:59 on Jan 31 in New York
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-02T04:59:00Z")); // 23:59 on Feb 1 in New York
+
+        // And New York capitalizes right after accruing Jan 31, before it accrues Feb 1
+        InOrder inOrder = inOrder(interestService);
+        inOrder.verify(interestService).applyDailyInterest(monthEnd, newYork);
+        inOrder.verify(interestService).applyMonthEndInterest(monthEnd, newYork);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 2, 1), newYork);
+        verify(interestService, times(2)).applyMonthEndInterest(any(LocalDate.class), any(ZoneId.class));
+        verify(interestService, never()).applyMonthEndInterest(any(LocalDate.class));
+    }
+
+    @Test
+    void testMonthEnd_FailedCapitalizationIsRetriedBeforeNextDayAccrual() {
+        // Given: the New York month-end fails once
+        ZoneId newYork = ZoneId.of("America/New_York");
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+        when(interestService.accrualZones()).thenReturn(Set.of(newYork));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class)))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyMonthEndInterest(monthEnd, newYork))
+                .thenThrow(new RuntimeException("Transaction timeout"))
+                .thenReturn(InterestApplicationResult.builder().build());
+
+        // When: the first tick accrues Jan 31 and fails to capitalize; the next one falls after Feb 1 closes
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T05:00:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-02T05:00:00Z"));
+
+        // Then
+        InOrder inOrder = inOrder(interestService);
+        inOrder.verify(interestService).applyDailyInterest(monthEnd, newYork);
+        inOrder.verify(interestService, times(2)).applyMonthEndInterest(monthEnd, newYork);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 2, 1), newYork);
+    }
+
+    @Test
+    void testContinuousAccrual_SpreadsHashBucketsOverWindowAfterCutoff() {
+        // Given: 4 hash buckets over a 4 hour window, one started every hour after the 23:59 cutoff
+        ZoneId utc = ZoneId.of("UTC");
+        continuous(4, Duration.ofHours(4));
+        when(interestService.accrualZones()).thenReturn(Set.of(utc));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class), anyInt(), anyInt()))
+                .thenReturn(InterestApplicationResult.builder().build());
+        LocalDate previous = LocalDate.of(2024, 1, 14);
+        LocalDate businessDate = LocalDate.of(2024, 1, 15);
+
+        // When / Then: the first tick re-checks the previous date, then starts bucket 0 of the 15th
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-15T23:59:00Z"));
+        for (int bucket = 0; bucket < 4; bucket++) {
+            verify(interestService).applyDailyInterest(previous, utc, bucket, 4);
+        }
+        verify(interestService).applyDailyInterest(businessDate, utc, 0, 4);
+        assertEquals(1.0, doneGauge("UTC"));
+
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-16T00:30:00Z"));
+        verify(interestService, never()).applyDailyInterest(businessDate, utc, 1, 4);
+
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-16T00:59:00Z"));
+        verify(interestService).applyDailyInterest(businessDate, utc, 1, 4);
+
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-16T05:00:00Z"));
+        verify(interestService).applyDailyInterest(businessDate, utc, 2, 4);
+        verify(interestService).applyDailyInterest(businessDate, utc, 3, 4);
+        assertEquals(4.0, doneGauge("UTC"));
+        verify(interestService, times(8)).applyDailyInterest(any(LocalDate.class), any(ZoneId.class), anyInt(), anyInt());
+        verify(interestService, never()).applyDailyInterest(any(LocalDate.class), any(ZoneId.class));
+    }
+
+    @Test
+    void testContinuousAccrual_FailedHashBucketIsRetriedBeforeNextDate() {
+        // Given: bucket 1 of the 15th fails until the cutoff of the 16th has passed
+        ZoneId utc = ZoneId.of("UTC");
+        continuous(2, Duration.ofHours(2));
+        when(interestService.accrualZones()).thenReturn(Set.of(utc));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class), anyInt(), anyInt()))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyDailyInterest(LocalDate.of(2024, 1, 15), utc, 1, 2))
+                .thenThrow(new RuntimeException("Database connection failed"))
+                .thenReturn(InterestApplicationResult.builder().build());
+
+        // When
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-16T03:00:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-01-16T23:59:00Z"));
+
+        // Then: the 15th is finished before the 16th starts
+        InOrder inOrder = inOrder(interestService);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 15), utc, 1, 2);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 15), utc, 1, 2);
+        inOrder.verify(interestService).applyDailyInterest(LocalDate.of(2024, 1, 16), utc, 0, 2);
+        verify(interestService, never()).applyDailyInterest(LocalDate.of(2024, 1, 16), utc, 1, 2);
+        assertEquals(1.0, doneGauge("UTC"));
+    }
+
+    @Test
+    void testContinuousAccrual_MonthEndWaitsForEveryHashBucketOfLastDay() {
+        // Given: 2 hash buckets over a 2 hour window in New York, the last one of Jan 31 failing once
+        ZoneId newYork = ZoneId.of("America/New_York");
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+        LocalDate nextDay = LocalDate.of(2024, 2, 1);
+        continuous(2, Duration.ofHours(2));
+        when(interestService.accrualZones()).thenReturn(Set.of(newYork));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class), anyInt(), anyInt()))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyDailyInterest(monthEnd, newYork, 1, 2))
+                .thenThrow(new RuntimeException("Database connection failed"))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyMonthEndInterest(monthEnd, newYork)).thenReturn(InterestApplicationResult.builder().build());
+
+        // When: Jan 31 closes at 04:59 UTC on Feb 1; its second slot starts an hour later
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T04:59:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T06:00:00Z")); // Hash bucket 1 fails
+
+        // Then: capitalization has not run on a partly accrued last day
+        verify(interestService, never()).applyMonthEndInterest(any(LocalDate.class), any(ZoneId.class));
+
+        // When: the retry at the next slot finishes Jan 31
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T06:01:00Z"));
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-02T04:59:00Z")); // Feb 1 closes
+
+        // Then: month-end runs once, after the last hash bucket of Jan 31 and before the first of Feb 1
+        InOrder inOrder = inOrder(interestService);
+        inOrder.verify(interestService).applyDailyInterest(monthEnd, newYork, 0, 2);
+        inOrder.verify(interestService, times(2)).applyDailyInterest(monthEnd, newYork, 1, 2);
+        inOrder.verify(interestService).applyMonthEndInterest(monthEnd, newYork);
+        inOrder.verify(interestService).applyDailyInterest(nextDay, newYork, 0, 2);
+        verify(interestService, times(1)).applyMonthEndInterest(any(LocalDate.class), any(ZoneId.class));
+    }
+
+    @Test
+    void testContinuousAccrual_MonthEndFinishesOutstandingHashBucketsFirst() {
+        // Given: the scheduler was down from before the Jan 31 cutoff until after the Feb 1 cutoff
+        ZoneId utc = ZoneId.of("UTC");
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+        LocalDate nextDay = LocalDate.of(2024, 2, 1);
+        continuous(3, Duration.ofHours(3));
+        when(interestService.accrualZones()).thenReturn(Set.of(utc));
+        when(interestService.applyDailyInterest(any(LocalDate.class), any(ZoneId.class), anyInt(), anyInt()))
+                .thenReturn(InterestApplicationResult.builder().build());
+        when(interestService.applyMonthEndInterest(monthEnd, utc)).thenReturn(InterestApplicationResult.builder().build());
+
+        // When: the first tick after the restart
+        interestScheduler.runDueZoneBuckets(Instant.parse("2024-02-01T23:59:00Z"));
+
+        // Then: every hash bucket of Jan 31 is caught up, then capitalized, then Feb 1 starts
+        InOrder inOrder = inOrder(interestService);
+        for (int bucket = 0; bucket < 3; bucket++) {
+            inOrder.verify(interestService).applyDailyInterest(monthEnd, utc, bucket, 3);
+        }
+        inOrder.verify(interestService).applyMonthEndInterest(monthEnd, utc);
+        inOrder.verify(interestService).applyDailyInterest(nextDay, utc, 0, 3);
+        verify(interestService, never()).applyDailyInterest(nextDay, utc, 1, 3);
+    }
+
+    @Test
+    void testDueHashBuckets_OneAtCutoffThenOnePerSlot() {
+        continuous(24, Duration.ofHours(24));
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        LocalDate businessDate = LocalDate.of(2024, 1, 15);
+
+        assertEquals(0, interestScheduler.dueHashBuckets(Instant.parse("2024-01-15T18:28:00Z"), kolkata, businessDate));
+        assertEquals(1, interestScheduler.dueHashBuckets(Instant.parse("2024-01-15T18:29:00Z"), kolkata, businessDate));
+        assertEquals(13, interestScheduler.dueHashBuckets(Instant.parse("2024-01-16T06:29:00Z"), kolkata, businessDate));
+        assertEquals(24, interestScheduler.dueHashBuckets(Instant.parse("2024-01-17T00:00:00Z"), kolkata, businessDate));
+    }
+
+    @Test
+    void testLastClosedBusinessDate_FollowsCutoffInBucketZone() {
+        Instant now = Instant.parse("2024-03-10T23:30:00Z");
+
+        assertEquals(LocalDate.of(2024, 3, 9), interestScheduler.lastClosedBusinessDate(now, ZoneId.of("UTC"))); // 23:30 on the 10th
+        assertEquals(LocalDate.of(2024, 3, 10), interestScheduler.lastClosedBusinessDate(Instant.parse("2024-03-10T23:59:00Z"), ZoneId.of("UTC")));
+        assertEquals(LocalDate.of(2024, 3, 10), interestScheduler.lastClosedBusinessDate(now, ZoneId.of("Asia/Kolkata"))); // 05:00 on the 11th
+        assertEquals(LocalDate.of(2024, 3, 9), interestScheduler.lastClosedBusinessDate(now, ZoneId.of("America/Los_Angeles"))); // 16:30 on the 10th
+    }
+
+    private void continuous(int buckets, Duration window) {
+        ReflectionTestUtils.setField(interestScheduler, "continuous", true);
+        ReflectionTestUtils.setField(interestScheduler, "continuousBuckets", buckets);
+        ReflectionTestUtils.setField(interestScheduler, "continuousWindow", window);
+    }
+
+    private double doneGauge(String zone) {
+        return meterRegistry.get("interest.accrual.continuous.buckets.done").tag("zone", zone).gauge().value();
     }
 
     @Test
@@ -299,4 +577,60 @@ class InterestSchedulerTest {
         verify(interestService).applyMonthEndInterest(any(LocalDate.class));
         // Scheduler should handle IllegalStateException gracefully
     }
+
+    @Test
+    void testRunPortfolioSummaryVerification_Success() {
+        // Given
+        when(portfolioSummaryService.verify()).thenReturn(PortfolioSummaryService.ReconciliationResult.builder()
+                .driftDetected(false)
+                .driftedBands(java.util.List.of())
+                .build());
+
+        // When
+        interestScheduler.runPortfolioSummaryVerification();
+
+        // Then
+        verify(portfolioSummaryService, times(1)).verify();
+        verifyNoInteractions(interestService);
+    }
+
+    @Test
+    void testRunPortfolioSummaryVerification_HandlesException() {
+        // Given
+        when(portfolioSummaryService.verify()).thenThrow(new RuntimeException("Database connection failed"));
+
+        // When
+        interestScheduler.runPortfolioSummaryVerification();
+
+        // Then
+        verify(portfolioSummaryService).verify();
+    }
+
+    @Test
+    void testRunClosedAccountArchival_Success() {
+        // Given
+        when(accountLifecycleService.archiveClosedAccounts()).thenReturn(AccountLifecycleService.ArchiveResult.builder()
+                .accountsArchived(2500)
+                .batches(3)
+                .build());
+
+        // When
+        interestScheduler.runClosedAccountArchival();
+
+        // Then
+        verify(accountLifecycleService, times(1)).archiveClosedAccounts();
+        verifyNoInteractions(interestService);
+    }
+
+    @Test
+    void testRunClosedAccountArchival_HandlesException() {
+        // Given
+        when(accountLifecycleService.archiveClosedAccounts()).thenThrow(new RuntimeException("Database connection failed"));
+
+        // When
+        interestScheduler.runClosedAccountArchival();
+
+        // Then
+        verify(accountLifecycleService).archiveClosedAccounts();
+    }
 }
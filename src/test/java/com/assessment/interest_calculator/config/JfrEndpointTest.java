@@ -0,0 +1,103 @@
+package com.assessment.interest_calculator.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.assessment.interest_calculator.service.InterestJfrEvents;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class JfrEndpointTest {
+    @TempDir
+    Path dumpDirectory;
+
+    private ContinuousRecording recording;
+    private JfrEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recording = new ContinuousRecording(true, "default", Duration.ofHours(1), 16L * 1024 * 1024, dumpDirectory.resolve("jfr"), 2);
+        recording.start();
+        endpoint = new JfrEndpoint(recording);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void statusReportsRunningRecording() {
+        JfrEndpoint.RecordingStatus status = endpoint.status();
+
+        assertEquals("RUNNING", status.getState());
+        assertEquals(Duration.ofHours(1), status.getMaxAge());
+        assertEquals(16L * 1024 * 1024, status.getMaxSizeBytes());
+        assertNotNull(status.getStartTime());
+        assertEquals(2, status.getMaxDumps());
+    }
+
+    @Test
+    void dumpWritesInterestEventsAndKeepsRecording() throws Exception {
+        // Given
+        InterestJfrEvents.AccountFailure.emit("MAIN", 7, 42L, new IllegalStateException("boom"), false);
+
+        // When
+        JfrEndpoint.DumpResult result = endpoint.dump();
+
+        // Then
+        Path file = Path.of(result.getFile());
+        assertEquals(dumpDirectory.resolve("jfr"), file.getParent());
+        assertEquals(Files.size(file), result.getSizeBytes());
+        List<RecordedEvent> failures = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.assessment.interest.AccountFailure"))
+                .toList();
+        assertEquals(1, failures.size());
+        assertEquals(42L, failures.get(0).getLong("accountId"));
+        assertEquals(7, failures.get(0).getInt("batchId"));
+        assertEquals(IllegalStateException.class.getName(), failures.get(0).getString("exception"));
+        assertEquals("RUNNING", endpoint.status().getState());
+    }
+
+    @Test
+    void dumpKeepsOnlyNewestMaxDumpsFiles() throws Exception {
+        // Given: an unrelated file in the dump directory
+        Files.createDirectories(dumpDirectory.resolve("jfr"));
+        Path unrelated = Files.writeString(dumpDirectory.resolve("jfr").resolve("notes.txt"), "keep");
+
+        // When
+        Path first = Path.of(endpoint.dump().getFile());
+        Thread.sleep(5); // Dump files are named to the millisecond
+        Path second = Path.of(endpoint.dump().getFile());
+        Thread.sleep(5);
+        Path third = Path.of(endpoint.dump().getFile());
+
+        // Then
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(second));
+        assertTrue(Files.exists(third));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void disabledRecordingReportsDisabledAndRefusesDumps() throws Exception {
+        try (ContinuousRecording disabled = new ContinuousRecording(false, "default", Duration.ofHours(1), 16L * 1024 * 1024, dumpDirectory.resolve("off"), 2)) {
+            disabled.start();
+            JfrEndpoint disabledEndpoint = new JfrEndpoint(disabled);
+
+            assertEquals("DISABLED", disabledEndpoint.status().getState());
+            assertThrows(IllegalStateException.class, disabledEndpoint::dump);
+            assertFalse(Files.exists(dumpDirectory.resolve("off")));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.assessment.interest_calculator.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Routing between two in-memory H2 databases standing in for the primary and the replica.
+ * Each database answers "which_db" with its own name.
+ */
+class ReadWriteRoutingDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routedJdbc;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1");
+        DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        for (JdbcTemplate jdbc : new JdbcTemplate[] {primaryJdbc, replicaJdbc}) {
+            jdbc.execute("DROP TABLE IF EXISTS which_db");
+            jdbc.execute("CREATE TABLE which_db (name VARCHAR(16))");
+        }
+        primaryJdbc.update("INSERT INTO which_db VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO which_db VALUES ('replica')");
+        replicaJdbc.execute("DROP TABLE IF EXISTS replica_lag");
+        replicaJdbc.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (1)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, LAG_QUERY, 5, new SimpleMeterRegistry());
+        DataSource routed = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagMonitor));
+        routedJdbc = new JdbcTemplate(routed);
+        transactionManager = new DataSourceTransactionManager(routed);
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplicaOnceLagIsKnown() {
+        // Before the first check the replica is not trusted
+        assertEquals("primary", whichDb(true));
+
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", whichDb(true));
+    }
+
+    @Test
+    void readWriteTransactionAndNonTransactionalCallsGoToPrimary() {
+        lagMonitor.check();
+
+        assertEquals("primary", whichDb(false));
+        assertEquals("primary", routedJdbc.queryForObject("SELECT name FROM which_db", String.class));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaLagsBehind() {
+        lagMonitor.check();
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 30");
+
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(30.0, lagMonitor.getLastLagSeconds());
+        assertEquals("primary", whichDb(true));
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 0");
+        lagMonitor.check();
+        assertEquals("replica", whichDb(true));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenLagCheckFails() {
+        lagMonitor.check();
+        replicaJdbc.execute("DROP TABLE replica_lag");
+
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("primary", whichDb(true));
+    }
+
+    private String whichDb(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> routedJdbc.queryForObject("SELECT name FROM which_db", String.class));
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.interest_calculator.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * The startup check for an AOT build whose replica wiring does not match app.datasource.replica.url at runtime.
+ */
+class ReplicaRoutingCheckTest {
+
+    @Test
+    void failsWhenReplicaUrlIsSetButRoutingIsNotWiredIn() {
+        MockEnvironment environment = new MockEnvironment().withProperty("app.datasource.replica.url", "jdbc:postgresql://replica/interest");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new ReplicaRoutingCheck(environment, new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)));
+        assertTrue(e.getMessage().contains("app.datasource.replica.url"));
+    }
+
+    @Test
+    void passesWhenWiringMatchesProperty() {
+        StaticListableBeanFactory withRouting = new StaticListableBeanFactory();
+        withRouting.addBean("replicaLagMonitor", mock(ReplicaLagMonitor.class));
+
+        assertDoesNotThrow(() -> new ReplicaRoutingCheck(
+                new MockEnvironment().withProperty("app.datasource.replica.url", "jdbc:postgresql://replica/interest"),
+                withRouting.getBeanProvider(ReplicaLagMonitor.class)));
+        assertDoesNotThrow(() -> new ReplicaRoutingCheck(
+                new MockEnvironment(), new StaticListableBeanFactory().getBeanProvider(ReplicaLagMonitor.class)));
+    }
+
+    @Test
+    void replicaDataSourceFailsWhenRoutingIsWiredInWithoutUrl() {
+        assertThrows(IllegalStateException.class, () -> new DataSourceRoutingConfig().replicaDataSource("", "", "", 10));
+    }
+}
@@ -1,12 +1,18 @@
 package com.assessment.interest_calculator.controller;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -15,12 +21,17 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -29,10 +40,33 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnknownFieldSet;
+
+import com.assessment.interest_calculator.config.AccountProtobufHttpMessageConverter;
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.ArchivedLoanAccount;
 import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.LoanProduct;
+import com.assessment.interest_calculator.entity.PostingType;
 import com.assessment.interest_calculator.repository.LoanAccountRepository;
-
+import com.assessment.interest_calculator.dto.BalanceProjectionResponse;
+import com.assessment.interest_calculator.service.AccountLifecycleService;
+import com.assessment.interest_calculator.service.AccountQueryService;
+import com.assessment.interest_calculator.service.AccountSearchService;
+import com.assessment.interest_calculator.service.InterestService;
+import com.assessment.interest_calculator.service.LazyAccrualService;
+import com.assessment.interest_calculator.service.PortfolioSummaryService;
+import com.assessment.interest_calculator.service.PostingService;
+import com.assessment.interest_calculator.service.ProductService;
+import com.assessment.interest_calculator.service.ProjectionService;
+
+// AccountQueryService is the real one, over the mocked repository and services below
 @WebMvcTest(AccountController.class)
+@Import(AccountQueryService.class)
 class AccountControllerTest {
 
     @Autowired
@@ -41,6 +75,27 @@ class AccountControllerTest {
     @MockitoBean
     private LoanAccountRepository loanAccountRepository;
 
+    @MockitoBean
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @MockitoBean
+    private ProjectionService projectionService;
+
+    @MockitoBean
+    private AccountLifecycleService accountLifecycleService;
+
+    @MockitoBean
+    private PostingService postingService;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @MockitoBean
+    private AccountSearchService accountSearchService;
+
+    @MockitoBean
+    private LazyAccrualService lazyAccrualService;
+
     private LoanAccount testAccount;
     private OffsetDateTime now;
 
@@ -89,6 +144,53 @@ class AccountControllerTest {
         verify(loanAccountRepository, times(1)).save(any(LoanAccount.class));
     }
 
+    @Test
+    void testCreateAccount_WithoutTimeZone_ShouldTakeProductTimeZone() throws Exception {
+        // Arrange
+        when(productService.findByCode("UK-HOME")).thenReturn(Optional.of(LoanProduct.builder()
+                .code("UK-HOME").name("UK home loan").timeZone("Europe/London").build()));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        String requestBody = """
+                {
+                    "accountHolderName": "John Doe",
+                    "principalAmount": 100000.00,
+                    "interestRate": 5.5,
+                    "dateOfDisbursal": "2025-01-01",
+                    "productCode": "UK-HOME"
+                }
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.timeZone").value("Europe/London"));
+    }
+
+    @Test
+    void testCreateAccount_WithUnknownTimeZone_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        String requestBody = """
+                {
+                    "accountHolderName": "John Doe",
+                    "principalAmount": 100000.00,
+                    "interestRate": 5.5,
+                    "dateOfDisbursal": "2025-01-01",
+                    "timeZone": "Mars/Olympus_Mons"
+                }
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+
+        verify(loanAccountRepository, times(0)).save(any(LoanAccount.class));
+    }
+
     @Test
     void testCreateAccount_WithMissingName_ShouldReturnBadRequest() throws Exception {
         // Arrange
@@ -235,6 +337,50 @@ class AccountControllerTest {
         verify(loanAccountRepository, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    void testGetAllAccounts_AsCbor_ShouldKeepExactAmounts() throws Exception {
+        // Arrange
+        testAccount.setInterestAmount(new BigDecimal("12.345678"));
+        when(loanAccountRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(testAccount)));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/accounts").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode account = new CBORMapper().readTree(body).get(0);
+        assertEquals("John Doe", account.get("accountHolderName").asText());
+        assertEquals(new BigDecimal("12.345678"), account.get("interestAmount").decimalValue());
+    }
+
+    @Test
+    void testGetAllAccounts_AsProtobuf_ShouldWriteFixedPointMoney() throws Exception {
+        // Arrange
+        testAccount.setInterestAmount(new BigDecimal("12.345678"));
+        testAccount.setDayCountConvention(null);
+        when(loanAccountRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(testAccount)));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/accounts").accept(AccountProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(AccountProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert: one AccountList.accounts entry, money as millionths (see proto/accounts.proto)
+        List<ByteString> accounts = UnknownFieldSet.parseFrom(body).getField(1).getLengthDelimitedList();
+        assertEquals(1, accounts.size());
+        UnknownFieldSet account = UnknownFieldSet.parseFrom(accounts.get(0));
+        assertEquals(List.of(1L), account.getField(1).getVarintList());
+        assertEquals("John Doe", account.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(100_000_000_000L), account.getField(8).getVarintList()); // 100000.00
+        assertEquals(List.of(5_500_000L), account.getField(9).getVarintList());       // 5.5 %
+        assertEquals(List.of(12_345_678L), account.getField(10).getVarintList());     // 12.345678
+        assertFalse(account.hasField(4)); // No day-count convention
+        assertEquals(List.of(LocalDate.of(2025, 1, 1).toEpochDay()), account.getField(15).getVarintList());
+    }
+
     @Test
     void testGetAllAccounts_WithPagination_ShouldUseProvidedPageAndSize() throws Exception {
         // Arrange
@@ -279,6 +425,52 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.interestRate").value(5.5));
 
         verify(loanAccountRepository, times(1)).findById(1L);
+        verifyNoInteractions(lazyAccrualService);
+    }
+
+    @Test
+    void testGetAccountById_WhenLazilyAccrued_ShouldAddAccrualSinceAnchor() throws Exception {
+        // Arrange
+        testAccount.setAccrualAnchorDate(LocalDate.of(2025, 3, 1));
+        testAccount.setInterestAmount(new BigDecimal("150.000000"));
+        when(loanAccountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+        when(lazyAccrualService.accruedToDate(testAccount))
+                .thenReturn(new InterestService.LazyAccrual(new BigDecimal("45.205479"), new BigDecimal("1.250000")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interestAmount").value(195.205479))
+                .andExpect(jsonPath("$.penaltyAmount").value(1.25))
+                .andExpect(jsonPath("$.totalDue").value(100196.455479))
+                .andExpect(jsonPath("$.accrualAnchorDate").value("2025-03-01"));
+    }
+
+    @Test
+    void testGetAccountById_WhenArchived_ShouldReturnArchivedAccount() throws Exception {
+        // Arrange
+        when(loanAccountRepository.findById(7L)).thenReturn(Optional.empty());
+        when(accountLifecycleService.findArchived(7L)).thenReturn(Optional.of(ArchivedLoanAccount.builder()
+                .id(7L)
+                .accountHolderName("Jane Roe")
+                .status(AccountStatus.CLOSED)
+                .closedAt(now.minusDays(40))
+                .principalAmount(new BigDecimal("0.00"))
+                .interestRate(new BigDecimal("9.0"))
+                .interestAmount(BigDecimal.ZERO)
+                .dateOfDisbursal(LocalDate.of(2020, 1, 1))
+                .version(12L)
+                .createdAt(now.minusYears(5))
+                .updatedAt(now.minusDays(40))
+                .archivedAt(now.minusDays(10))
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.status").value("CLOSED"))
+                .andExpect(jsonPath("$.archivedAt").exists());
     }
 
     @Test
@@ -293,6 +485,163 @@ class AccountControllerTest {
         verify(loanAccountRepository, times(1)).findById(999L);
     }
 
+    @Test
+    void testSearchAccounts_ShouldReturnPageWithCursor() throws Exception {
+        // Arrange
+        when(accountSearchService.search(any())).thenReturn(AccountSearchService.SearchResult.builder()
+                .outcome(AccountSearchService.SearchOutcome.FOUND)
+                .accounts(List.of(testAccount))
+                .nextAfterId(1L)
+                .nextAfterRate(new BigDecimal("5.5"))
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/search")
+                .param("name", "joh")
+                .param("minRate", "5.0")
+                .param("maxRate", "6.0")
+                .param("afterRate", "5.25")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(1)))
+                .andExpect(jsonPath("$.accounts[0].accountHolderName").value("John Doe"))
+                .andExpect(jsonPath("$.nextAfterId").value(1))
+                .andExpect(jsonPath("$.nextAfterRate").value(5.5));
+
+        ArgumentCaptor<AccountSearchService.SearchCriteria> criteria = ArgumentCaptor.forClass(AccountSearchService.SearchCriteria.class);
+        verify(accountSearchService).search(criteria.capture());
+        assertEquals("joh", criteria.getValue().getNamePrefix());
+        assertEquals(new BigDecimal("6.0"), criteria.getValue().getMaxRate());
+        assertEquals(new BigDecimal("5.25"), criteria.getValue().getAfterRate());
+        assertEquals(1, criteria.getValue().getSize());
+    }
+
+    @Test
+    void testSearchAccounts_WhenNotIndexed_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(accountSearchService.search(any())).thenReturn(AccountSearchService.SearchResult.builder()
+                .outcome(AccountSearchService.SearchOutcome.NOT_INDEXED)
+                .accounts(List.of())
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/search").param("status", "ACTIVE"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBatchGetAccounts_ShouldKeepRequestOrderAndReportMissingIds() throws Exception {
+        // Arrange
+        LoanAccount second = LoanAccount.builder()
+                .id(2L)
+                .accountHolderName("Jane Roe")
+                .principalAmount(new BigDecimal("50000.00"))
+                .interestRate(new BigDecimal("7.0"))
+                .interestAmount(BigDecimal.ZERO)
+                .dateOfDisbursal(LocalDate.of(2025, 2, 1))
+                .version(0L)
+                .build();
+        when(loanAccountRepository.findByIdIn(List.of(2L, 1L, 9L))).thenReturn(List.of(testAccount, second));
+        when(accountLifecycleService.findArchived(List.of(9L))).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [2, 1, 9, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(2)))
+                .andExpect(jsonPath("$.accounts[0].id").value(2))
+                .andExpect(jsonPath("$.accounts[1].id").value(1))
+                .andExpect(jsonPath("$.missingIds", hasSize(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(9));
+
+        verify(loanAccountRepository, times(1)).findByIdIn(any());
+    }
+
+    @Test
+    void testBatchGetAccounts_WhenArchived_ShouldFallBackToArchive() throws Exception {
+        // Arrange
+        when(loanAccountRepository.findByIdIn(List.of(1L, 7L))).thenReturn(List.of(testAccount));
+        when(accountLifecycleService.findArchived(List.of(7L))).thenReturn(List.of(ArchivedLoanAccount.builder()
+                .id(7L)
+                .accountHolderName("Jane Roe")
+                .status(AccountStatus.CLOSED)
+                .principalAmount(new BigDecimal("0.00"))
+                .interestRate(new BigDecimal("9.0"))
+                .interestAmount(BigDecimal.ZERO)
+                .dateOfDisbursal(LocalDate.of(2020, 1, 1))
+                .version(12L)
+                .archivedAt(now.minusDays(10))
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1, 7]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts", hasSize(2)))
+                .andExpect(jsonPath("$.accounts[1].status").value("CLOSED"))
+                .andExpect(jsonPath("$.accounts[1].archivedAt").exists())
+                .andExpect(jsonPath("$.missingIds", hasSize(0)));
+    }
+
+    @Test
+    void testBatchGetAccounts_WhenLazilyAccrued_ShouldAccrueTheBatchInOneCall() throws Exception {
+        // Arrange
+        testAccount.setAccrualAnchorDate(LocalDate.of(2025, 3, 1));
+        testAccount.setInterestAmount(new BigDecimal("150.000000"));
+        LoanAccount second = LoanAccount.builder()
+                .id(2L)
+                .accountHolderName("Jane Roe")
+                .principalAmount(new BigDecimal("50000.00"))
+                .interestRate(new BigDecimal("7.0"))
+                .interestAmount(new BigDecimal("10.000000"))
+                .dateOfDisbursal(LocalDate.of(2025, 2, 1))
+                .accrualAnchorDate(LocalDate.of(2025, 3, 1))
+                .version(0L)
+                .build();
+        when(loanAccountRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(testAccount, second));
+        when(lazyAccrualService.accruedToDate(List.of(testAccount, second))).thenReturn(Map.of(
+                1L, new InterestService.LazyAccrual(new BigDecimal("45.205479"), BigDecimal.ZERO),
+                2L, new InterestService.LazyAccrual(new BigDecimal("2.500000"), BigDecimal.ZERO)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [1, 2]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts[0].interestAmount").value(195.205479))
+                .andExpect(jsonPath("$.accounts[1].interestAmount").value(12.5));
+
+        verify(lazyAccrualService, times(1)).accruedToDate(anyCollection());
+        verify(lazyAccrualService, never()).accruedToDate(any(LoanAccount.class));
+    }
+
+    @Test
+    void testBatchGetAccounts_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        String ids = LongStream.rangeClosed(1, 1001)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(","));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": [" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(loanAccountRepository);
+    }
+
+    @Test
+    void testBatchGetAccounts_WithNoIds_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testCreateAccount_WithZeroInterestRate_ShouldSucceed() throws Exception {
         // Arrange
@@ -395,4 +744,173 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.principalAmount").value(123456.789012))
                 .andExpect(jsonPath("$.interestRate").value(7.654321));
     }
+
+    @Test
+    void testGetProjection_WhenExists_ShouldReturnProjection() throws Exception {
+        // Arrange
+        LocalDate until = LocalDate.of(2026, 6, 30);
+        BalanceProjectionResponse projection = BalanceProjectionResponse.builder()
+                .accountId(1L)
+                .until(until)
+                .projectedPrincipal(new BigDecimal("102765.430000"))
+                .projectedInterestAmount(BigDecimal.ZERO)
+                .build();
+        when(projectionService.isValidHorizon(until)).thenReturn(true);
+        when(projectionService.projectAccount(1L, until)).thenReturn(Optional.of(projection));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/1/projection").param("until", "2026-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").value(1))
+                .andExpect(jsonPath("$.until").value("2026-06-30"))
+                .andExpect(jsonPath("$.projectedPrincipal").value(102765.43));
+    }
+
+    @Test
+    void testGetProjection_WhenNotExists_ShouldReturn404() throws Exception {
+        // Arrange
+        when(projectionService.isValidHorizon(any(LocalDate.class))).thenReturn(true);
+        when(projectionService.projectAccount(any(), any(LocalDate.class))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/999/projection").param("until", "2026-06-30"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetProjection_WithInvalidHorizon_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(projectionService.isValidHorizon(any(LocalDate.class))).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/1/projection").param("until", "2000-01-01"))
+                .andExpect(status().isBadRequest());
+
+        verify(projectionService, times(0)).projectAccount(any(), any(LocalDate.class));
+    }
+
+    @Test
+    void testChangeStatus_WhenActive_ShouldReturnUpdatedAccount() throws Exception {
+        // Arrange
+        testAccount.setStatus(AccountStatus.CLOSED);
+        testAccount.setClosedAt(now);
+        when(accountLifecycleService.changeStatus(1L, AccountStatus.CLOSED)).thenReturn(AccountLifecycleService.StatusChangeResult.builder()
+                .outcome(AccountLifecycleService.StatusChangeOutcome.UPDATED)
+                .account(testAccount)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"CLOSED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CLOSED"))
+                .andExpect(jsonPath("$.closedAt").exists());
+    }
+
+    @Test
+    void testChangeStatus_WhenAlreadyClosed_ShouldReturnConflict() throws Exception {
+        // Arrange
+        when(accountLifecycleService.changeStatus(1L, AccountStatus.WRITTEN_OFF)).thenReturn(AccountLifecycleService.StatusChangeResult.builder()
+                .outcome(AccountLifecycleService.StatusChangeOutcome.INVALID_TRANSITION)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"WRITTEN_OFF\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testChangeStatus_WithMissingStatus_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/accounts/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(accountLifecycleService, times(0)).changeStatus(any(), any());
+    }
+
+    @Test
+    void testPostRepayment_ShouldReturnAcceptedPendingPosting() throws Exception {
+        // Arrange
+        when(postingService.postRepayment(1L, new BigDecimal("2500.00"), null)).thenReturn(Optional.of(AccountPosting.builder()
+                .id(42L)
+                .accountId(1L)
+                .type(PostingType.REPAYMENT)
+                .amount(new BigDecimal("2500.00"))
+                .valueDate(LocalDate.of(2025, 1, 15))
+                .createdAt(now)
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/1/repayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 2500.00}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(42))
+                .andExpect(jsonPath("$.type").value("REPAYMENT"))
+                .andExpect(jsonPath("$.pending").value(true));
+
+        // The account row is not touched by the API
+        verify(loanAccountRepository, times(0)).save(any(LoanAccount.class));
+    }
+
+    @Test
+    void testPostRepayment_WhenAccountNotActive_ShouldReturn404() throws Exception {
+        when(postingService.postRepayment(any(), any(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/accounts/999/repayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10.00}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPostRepayment_WithNonPositiveAmount_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/accounts/1/repayments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        verify(postingService, times(0)).postRepayment(any(), any(), any());
+    }
+
+    @Test
+    void testPostOverdue_ShouldReturnAcceptedPendingPosting() throws Exception {
+        // Arrange
+        when(postingService.postOverdue(1L, new BigDecimal("1500.00"), LocalDate.of(2025, 2, 5))).thenReturn(Optional.of(AccountPosting.builder()
+                .id(43L)
+                .accountId(1L)
+                .type(PostingType.OVERDUE)
+                .amount(new BigDecimal("1500.00"))
+                .valueDate(LocalDate.of(2025, 2, 5))
+                .createdAt(now)
+                .build()));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/accounts/1/overdue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1500.00, \"valueDate\": \"2025-02-05\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.type").value("OVERDUE"))
+                .andExpect(jsonPath("$.pending").value(true));
+    }
+
+    @Test
+    void testGetAccountById_ShouldIncludePenaltyLedgerAndTotalDue() throws Exception {
+        // Arrange
+        testAccount.setInterestAmount(new BigDecimal("250.50"));
+        testAccount.setPenaltyAmount(new BigDecimal("12.25"));
+        testAccount.setOverdueAmount(new BigDecimal("3000.00"));
+        when(loanAccountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/accounts/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.penaltyAmount").value(12.25))
+                .andExpect(jsonPath("$.overdueAmount").value(3000.00))
+                .andExpect(jsonPath("$.totalDue").value(100262.75));
+    }
 }
@@ -0,0 +1,109 @@
+package com.assessment.interest_calculator.controller;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.assessment.interest_calculator.dto.PortfolioSummaryResponse;
+import com.assessment.interest_calculator.service.PortfolioSummaryService;
+import com.assessment.interest_calculator.service.ProjectionService;
+
+@WebMvcTest(PortfolioController.class)
+class PortfolioControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @MockitoBean
+    private ProjectionService projectionService;
+
+    @Test
+    void testGetSummary_ShouldReturnRollup() throws Exception {
+        // Arrange
+        PortfolioSummaryResponse summary = PortfolioSummaryResponse.builder()
+                .totalAccounts(3)
+                .totalOutstandingPrincipal(new BigDecimal("300000.00"))
+                .totalAccruedInterest(new BigDecimal("82.19"))
+                .rateBands(List.of(PortfolioSummaryResponse.RateBandSummary.builder()
+                        .rateBand("FROM_10_TO_15")
+                        .minRate(new BigDecimal("10"))
+                        .maxRate(new BigDecimal("15"))
+                        .accountCount(3)
+                        .totalPrincipal(new BigDecimal("300000.00"))
+                        .totalInterest(new BigDecimal("82.19"))
+                        .build()))
+                .build();
+        when(portfolioSummaryService.getSummary()).thenReturn(summary);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/portfolio/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAccounts").value(3))
+                .andExpect(jsonPath("$.totalOutstandingPrincipal").value(300000.00))
+                .andExpect(jsonPath("$.rateBands[0].rateBand").value("FROM_10_TO_15"))
+                .andExpect(jsonPath("$.rateBands[0].accountCount").value(3));
+
+        verify(portfolioSummaryService, times(1)).getSummary();
+    }
+
+    @Test
+    void testVerifySummary_ShouldReturnReconciliationResult() throws Exception {
+        // Arrange
+        when(portfolioSummaryService.verify()).thenReturn(PortfolioSummaryService.ReconciliationResult.builder()
+                .driftDetected(true)
+                .repaired(true)
+                .driftedBands(List.of("BELOW_5"))
+                .durationMs(12L)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/portfolio/summary/verify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.driftDetected").value(true))
+                .andExpect(jsonPath("$.driftedBands[0]").value("BELOW_5"));
+    }
+
+    @Test
+    void testProjectPortfolio_ShouldReturnTotals() throws Exception {
+        // Arrange
+        LocalDate until = LocalDate.of(2026, 12, 31);
+        when(projectionService.isValidHorizon(until)).thenReturn(true);
+        when(projectionService.projectPortfolio(until)).thenReturn(ProjectionService.PortfolioProjectionResult.builder()
+                .until(until)
+                .accountsProjected(2)
+                .projectedPrincipal(new BigDecimal("210000.00"))
+                .projectedInterestAmount(new BigDecimal("0"))
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/portfolio/projection").param("until", "2026-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountsProjected").value(2))
+                .andExpect(jsonPath("$.projectedPrincipal").value(210000.00));
+    }
+
+    @Test
+    void testProjectPortfolio_WithInvalidHorizon_ShouldReturnBadRequest() throws Exception {
+        when(projectionService.isValidHorizon(org.mockito.ArgumentMatchers.any())).thenReturn(false);
+
+        mockMvc.perform(post("/api/portfolio/projection").param("until", "2000-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,84 @@
+package com.assessment.interest_calculator.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.assessment.interest_calculator.dto.CreateProductRequest;
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanProduct;
+import com.assessment.interest_calculator.service.ProductService;
+
+@WebMvcTest(ProductController.class)
+class ProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @Test
+    void testCreateProduct_ShouldReturnCreated() throws Exception {
+        // Arrange
+        when(productService.create(any(CreateProductRequest.class))).thenReturn(Optional.of(LoanProduct.builder()
+                .code("BOND-30360")
+                .name("Bond-style term loan")
+                .dayCountConvention(DayCountConvention.THIRTY_360)
+                .build()));
+
+        String requestBody = """
+                {
+                    "code": "BOND-30360",
+                    "name": "Bond-style term loan",
+                    "dayCountConvention": "THIRTY_360"
+                }
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.code").value("BOND-30360"))
+                .andExpect(jsonPath("$.dayCountConvention").value("THIRTY_360"));
+    }
+
+    @Test
+    void testCreateProduct_WhenCodeTaken_ShouldReturnConflict() throws Exception {
+        when(productService.create(any(CreateProductRequest.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\": \"HOME\", \"name\": \"Home loan\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCreateProduct_WithUnknownConvention_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\": \"HOME\", \"name\": \"Home loan\", \"dayCountConvention\": \"ACT_999\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetProduct_WhenNotExists_ShouldReturn404() throws Exception {
+        when(productService.findByCode("NOPE")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/products/NOPE"))
+                .andExpect(status().isNotFound());
+    }
+}
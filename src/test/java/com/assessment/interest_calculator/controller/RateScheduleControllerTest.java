@@ -0,0 +1,118 @@
+package com.assessment.interest_calculator.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.assessment.interest_calculator.dto.CreateRateScheduleRequest;
+import com.assessment.interest_calculator.entity.RateSchedule;
+import com.assessment.interest_calculator.service.RateScheduleService;
+
+@WebMvcTest(RateScheduleController.class)
+class RateScheduleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RateScheduleService rateScheduleService;
+
+    @Test
+    void testAddEntry_ForProduct_ShouldReturnCreated() throws Exception {
+        // Arrange
+        when(rateScheduleService.addEntry(any(CreateRateScheduleRequest.class))).thenReturn(RateSchedule.builder()
+                .id(5L)
+                .productCode("FLOAT-1")
+                .effectiveFrom(LocalDate.of(2025, 7, 1))
+                .interestRate(new BigDecimal("9.25"))
+                .build());
+
+        String requestBody = """
+                {
+                    "productCode": "FLOAT-1",
+                    "effectiveFrom": "2025-07-01",
+                    "interestRate": 9.25
+                }
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/api/rate-schedules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.productCode").value("FLOAT-1"))
+                .andExpect(jsonPath("$.interestRate").value(9.25));
+    }
+
+    @Test
+    void testAddEntry_WithBothTargets_ShouldReturnBadRequest() throws Exception {
+        String requestBody = """
+                {
+                    "productCode": "FLOAT-1",
+                    "accountId": 1,
+                    "effectiveFrom": "2025-07-01",
+                    "interestRate": 9.25
+                }
+                """;
+
+        mockMvc.perform(post("/api/rate-schedules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+
+        verify(rateScheduleService, never()).addEntry(any());
+    }
+
+    @Test
+    void testAddEntry_WithNoTarget_ShouldReturnBadRequest() throws Exception {
+        String requestBody = """
+                {
+                    "effectiveFrom": "2025-07-01",
+                    "interestRate": 9.25
+                }
+                """;
+
+        mockMvc.perform(post("/api/rate-schedules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetSchedule_ForAccount_ShouldReturnEntries() throws Exception {
+        // Arrange
+        when(rateScheduleService.findForAccount(42L)).thenReturn(List.of(
+                RateSchedule.builder().id(1L).accountId(42L).effectiveFrom(LocalDate.of(2025, 1, 1)).interestRate(new BigDecimal("8.00")).build(),
+                RateSchedule.builder().id(2L).accountId(42L).effectiveFrom(LocalDate.of(2025, 4, 1)).interestRate(new BigDecimal("8.50")).build()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/rate-schedules").param("accountId", "42"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].effectiveFrom").value("2025-04-01"));
+    }
+
+    @Test
+    void testGetSchedule_WithoutTarget_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rate-schedules"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,84 @@
+package com.assessment.interest_calculator.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load scenarios against the application booted on a random port and the local PostgreSQL from
+ * docker-compose.yml (see application-load.yml). Excluded from the normal build; run with
+ *
+ *   mvn test -Pload
+ *   mvn test -Pload -Dtest=ApiLoadTest#readHeavy -Dload.clients=64 -Dload.durationSeconds=60
+ *
+ * Each scenario logs a throughput and p50/p95/p99/p99.9 latency table per endpoint.
+ */
+@Tag("load")
+@ActiveProfiles("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTest {
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private LoadTestRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new LoadTestRunner(new LoadContext(URI.create("http://localhost:" + port), objectMapper));
+    }
+
+    @Test
+    void readHeavy() throws InterruptedException {
+        LoadReport report = runner.run(LoadScenario.builder()
+                .name("read-heavy")
+                .operation(ApiOperations.getAccountById().withWeight(70))
+                .operation(ApiOperations.listAccounts().withWeight(20))
+                .operation(ApiOperations.createAccount().withWeight(10))
+                .build());
+
+        assertTrue(report.errorRate() < MAX_ERROR_RATE, report.format());
+    }
+
+    @Test
+    void writeHeavy() throws InterruptedException {
+        LoadReport report = runner.run(LoadScenario.builder()
+                .name("write-heavy")
+                .operation(ApiOperations.createAccount().withWeight(60))
+                .operation(ApiOperations.getAccountById().withWeight(30))
+                .operation(ApiOperations.listAccounts().withWeight(10))
+                .build());
+
+        assertTrue(report.errorRate() < MAX_ERROR_RATE, report.format());
+    }
+
+    /**
+     * Account traffic while the daily job is triggered repeatedly, to see what a job run does to API latency.
+     */
+    @Test
+    void trafficDuringDailyJob() throws InterruptedException {
+        LoadReport report = runner.run(LoadScenario.builder()
+                .name("traffic-during-daily-job")
+                .operation(ApiOperations.getAccountById().withWeight(60))
+                .operation(ApiOperations.listAccounts().withWeight(20))
+                .operation(ApiOperations.createAccount().withWeight(19))
+                .operation(ApiOperations.applyDailyInterest().withWeight(1))
+                .build());
+
+        assertTrue(report.errorRate() < MAX_ERROR_RATE, report.format());
+    }
+}
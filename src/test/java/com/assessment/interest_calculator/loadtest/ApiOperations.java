@@ -0,0 +1,82 @@
+package com.assessment.interest_calculator.loadtest;
+
+import java.math.BigDecimal;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import com.assessment.interest_calculator.dto.CreateAccountRequest;
+
+/**
+ * The REST endpoints scenarios are built from. Weights given here are defaults; scenarios override them
+ * with {@link Operation#withWeight(int)}.
+ */
+public final class ApiOperations {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final BigDecimal[] RATES = {
+            new BigDecimal("7.5"), new BigDecimal("9.25"), new BigDecimal("11.0"), new BigDecimal("14.5")
+    };
+
+    private ApiOperations() {
+    }
+
+    public static Operation createAccount() {
+        return new Operation("POST /api/accounts", 1, context -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            CreateAccountRequest body = CreateAccountRequest.builder()
+                    .accountHolderName("Load " + random.nextInt(1_000_000))
+                    .principalAmount(BigDecimal.valueOf(random.nextLong(10_000, 5_000_000)))
+                    .interestRate(RATES[random.nextInt(RATES.length)])
+                    .dateOfDisbursal(LocalDate.now().minusDays(random.nextInt(1, 365)))
+                    .build();
+            return HttpRequest.newBuilder(context.uri("/api/accounts"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(context, body)))
+                    .build();
+        }, (context, response) -> {
+            try {
+                JsonNode created = context.getObjectMapper().readTree(response.body());
+                context.addAccountId(created.get("id").asLong());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unreadable create response: " + response.body(), e);
+            }
+        });
+    }
+
+    public static Operation getAccountById() {
+        return new Operation("GET /api/accounts/{id}", 1, context ->
+                HttpRequest.newBuilder(context.uri("/api/accounts/" + context.randomAccountId()))
+                        .timeout(REQUEST_TIMEOUT)
+                        .GET()
+                        .build());
+    }
+
+    public static Operation listAccounts() {
+        return new Operation("GET /api/accounts", 1, context ->
+                HttpRequest.newBuilder(context.uri("/api/accounts?page=" + ThreadLocalRandom.current().nextInt(5) + "&size=20"))
+                        .timeout(REQUEST_TIMEOUT)
+                        .GET()
+                        .build());
+    }
+
+    public static Operation applyDailyInterest() {
+        return new Operation("POST /api/interest/apply-daily", 1, context ->
+                HttpRequest.newBuilder(context.uri("/api/interest/apply-daily"))
+                        .timeout(Duration.ofMinutes(10))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build());
+    }
+
+    private static String toJson(LoadContext context, Object body) {
+        try {
+            return context.getObjectMapper().writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.assessment.interest_calculator.loadtest;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.Getter;
+
+/**
+ * State shared by all clients of a run: the target server and the ids of the accounts created so far,
+ * which read operations pick from.
+ */
+public class LoadContext {
+    private final URI baseUri;
+    @Getter
+    private final ObjectMapper objectMapper;
+    private final List<Long> accountIds = new ArrayList<>();
+
+    public LoadContext(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    public URI uri(String pathAndQuery) {
+        return baseUri.resolve(pathAndQuery);
+    }
+
+    public synchronized void addAccountId(long id) {
+        accountIds.add(id);
+    }
+
+    public synchronized int accountCount() {
+        return accountIds.size();
+    }
+
+    public synchronized long randomAccountId() {
+        if (accountIds.isEmpty()) {
+            throw new IllegalStateException("No accounts created yet; give the scenario seed accounts");
+        }
+        return accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.assessment.interest_calculator.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * Throughput and latency percentiles per operation for the measured part of a run.
+ */
+@Getter
+public class LoadReport {
+    private final String scenario;
+    private final int clients;
+    private final Duration measured;
+    private final Map<String, EndpointStats> endpoints;
+
+    public LoadReport(String scenario, int clients, Duration measured, Map<String, EndpointStats> endpoints) {
+        this.scenario = scenario;
+        this.clients = clients;
+        this.measured = measured;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * Build the report from the latencies (nanoseconds, any order) and error counts recorded per operation.
+     */
+    public static LoadReport of(String scenario, int clients, Duration measured,
+                                Map<String, long[]> latencies, Map<String, Long> errors) {
+        double seconds = measured.toNanos() / 1e9;
+        Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+        latencies.forEach((name, samples) ->
+                endpoints.put(name, EndpointStats.of(samples, errors.getOrDefault(name, 0L), seconds)));
+        return new LoadReport(scenario, clients, measured, endpoints);
+    }
+
+    public long totalRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getRequests).sum();
+    }
+
+    public long totalErrors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getErrors).sum();
+    }
+
+    public double errorRate() {
+        long total = totalRequests();
+        return total == 0 ? 0 : (double) totalErrors() / total;
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Scenario '%s': %d clients, %d s measured, %d requests, %d errors%n",
+                scenario, clients, measured.toSeconds(), totalRequests(), totalErrors()));
+        out.append(String.format("%-32s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((name, stats) -> out.append(String.format("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, stats.getRequests(), stats.getErrors(), stats.getThroughput(),
+                stats.getP50Ms(), stats.getP95Ms(), stats.getP99Ms(), stats.getP999Ms(), stats.getMaxMs())));
+        return out.toString();
+    }
+
+    @Getter
+    public static class EndpointStats {
+        private final long requests;
+        private final long errors;
+        private final double throughput; // requests per second, errors included
+        private final double p50Ms;
+        private final double p95Ms;
+        private final double p99Ms;
+        private final double p999Ms;
+        private final double maxMs;
+
+        EndpointStats(long requests, long errors, double throughput,
+                      double p50Ms, double p95Ms, double p99Ms, double p999Ms, double maxMs) {
+            this.requests = requests;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.p99Ms = p99Ms;
+            this.p999Ms = p999Ms;
+            this.maxMs = maxMs;
+        }
+
+        static EndpointStats of(long[] latenciesNanos, long errors, double seconds) {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            return new EndpointStats(sorted.length, errors, seconds > 0 ? sorted.length / seconds : 0,
+                    percentileMs(sorted, 1, 2), percentileMs(sorted, 95, 100), percentileMs(sorted, 99, 100),
+                    percentileMs(sorted, 999, 1000), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        /**
+         * Nearest-rank percentile: the smallest sample with at least numerator/denominator of the samples at or below it.
+         * Integer arithmetic, so that e.g. p99.9 of 1000 samples is exactly rank 999.
+         */
+        static double percentileMs(long[] sorted, long numerator, long denominator) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            long rank = (numerator * sorted.length + denominator - 1) / denominator;
+            return sorted[(int) Math.max(rank, 1) - 1] / 1e6;
+        }
+    }
+}
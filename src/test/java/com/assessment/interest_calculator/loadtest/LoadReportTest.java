@@ -0,0 +1,46 @@
+package com.assessment.interest_calculator.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LoadReportTest {
+
+    @Test
+    void percentilesUseNearestRank() {
+        // Given: 1000 samples of 1..1000 ms, shuffled
+        long[] samples = new long[1000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[(i * 7919) % samples.length] = (i + 1) * 1_000_000L;
+        }
+
+        // When
+        LoadReport report = LoadReport.of("test", 4, Duration.ofSeconds(10),
+                Map.of("GET /x", samples), Map.of("GET /x", 5L));
+
+        // Then
+        LoadReport.EndpointStats stats = report.getEndpoints().get("GET /x");
+        assertEquals(1000, stats.getRequests());
+        assertEquals(5, stats.getErrors());
+        assertEquals(100.0, stats.getThroughput(), 1e-9);
+        assertEquals(500.0, stats.getP50Ms(), 1e-9);
+        assertEquals(950.0, stats.getP95Ms(), 1e-9);
+        assertEquals(990.0, stats.getP99Ms(), 1e-9);
+        assertEquals(999.0, stats.getP999Ms(), 1e-9);
+        assertEquals(1000.0, stats.getMaxMs(), 1e-9);
+        assertEquals(0.005, report.errorRate(), 1e-9);
+    }
+
+    @Test
+    void emptyEndpointReportsZeros() {
+        LoadReport report = LoadReport.of("test", 1, Duration.ofSeconds(1), Map.of("GET /x", new long[0]), Map.of());
+
+        LoadReport.EndpointStats stats = report.getEndpoints().get("GET /x");
+        assertEquals(0, stats.getRequests());
+        assertEquals(0.0, stats.getP999Ms());
+        assertEquals(0.0, report.errorRate());
+    }
+}
@@ -0,0 +1,40 @@
+package com.assessment.interest_calculator.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+/**
+ * A traffic mix run by {@link LoadTestRunner}: how many concurrent clients, for how long, and which operations
+ * in which proportions. Client count and timings default to the load.clients, load.warmupSeconds and
+ * load.durationSeconds system properties so a scenario can be scaled from the command line.
+ */
+@Getter
+@Builder
+public class LoadScenario {
+    private final String name;
+
+    @Builder.Default
+    private final int clients = Integer.getInteger("load.clients", 32);
+
+    /**
+     * Traffic during warmup is sent but not recorded.
+     */
+    @Builder.Default
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5));
+
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30));
+
+    /**
+     * Accounts created before the clients start, so that reads have something to read.
+     */
+    @Builder.Default
+    private final int seedAccounts = Integer.getInteger("load.seedAccounts", 200);
+
+    @Singular
+    private final List<Operation> operations;
+}
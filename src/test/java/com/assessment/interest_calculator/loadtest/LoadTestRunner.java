@@ -0,0 +1,176 @@
+package com.assessment.interest_calculator.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a {@link LoadScenario} with closed-loop clients: each client sends its next request as soon as
+ * the previous one has completed. Every client thread records into its own buffers, merged once at the end,
+ * so recording does not add contention to the measurement.
+ */
+@Slf4j
+public class LoadTestRunner {
+    private final LoadContext context;
+    private final HttpClient httpClient;
+
+    public LoadTestRunner(LoadContext context) {
+        this.context = context;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public LoadReport run(LoadScenario scenario) throws InterruptedException {
+        List<Operation> operations = scenario.getOperations();
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Scenario has no operations: " + scenario.getName());
+        }
+        seed(scenario.getSeedAccounts());
+
+        int[] cumulativeWeights = new int[operations.size()];
+        int totalWeight = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            totalWeight += operations.get(i).getWeight();
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        log.info("Running scenario '{}' with {} clients: {} warmup, {} measured",
+                scenario.getName(), scenario.getClients(), scenario.getWarmup(), scenario.getDuration());
+        ExecutorService executor = Executors.newFixedThreadPool(scenario.getClients());
+        CountDownLatch start = new CountDownLatch(1);
+        long measureFrom = System.nanoTime() + scenario.getWarmup().toNanos();
+        long measureUntil = measureFrom + scenario.getDuration().toNanos();
+
+        List<Future<ClientSamples>> clients = new ArrayList<>();
+        final int weightSum = totalWeight;
+        for (int c = 0; c < scenario.getClients(); c++) {
+            clients.add(executor.submit(() -> {
+                start.await();
+                return runClient(operations, cumulativeWeights, weightSum, measureFrom, measureUntil);
+            }));
+        }
+        start.countDown();
+
+        Map<String, LongBuffer> latencies = new LinkedHashMap<>();
+        operations.forEach(operation -> latencies.put(operation.getName(), new LongBuffer()));
+        Map<String, Long> errors = new HashMap<>();
+        try {
+            for (Future<ClientSamples> client : clients) {
+                ClientSamples samples = client.get();
+                samples.latencies.forEach((name, buffer) -> latencies.get(name).addAll(buffer));
+                samples.errors.forEach((name, count) -> errors.merge(name, count, Long::sum));
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load client failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, long[]> merged = new LinkedHashMap<>();
+        latencies.forEach((name, buffer) -> merged.put(name, buffer.toArray()));
+        LoadReport report = LoadReport.of(scenario.getName(), scenario.getClients(), scenario.getDuration(), merged, errors);
+        log.info("\n{}", report.format());
+        return report;
+    }
+
+    private void seed(int accounts) {
+        Operation create = ApiOperations.createAccount();
+        while (context.accountCount() < accounts) {
+            if (!send(create)) {
+                throw new IllegalStateException("Could not create seed accounts; is the application up?");
+            }
+        }
+    }
+
+    private ClientSamples runClient(List<Operation> operations, int[] cumulativeWeights, int totalWeight,
+                                    long measureFrom, long measureUntil) {
+        ClientSamples samples = new ClientSamples();
+        while (true) {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            Operation operation = operations.get(index);
+
+            long startedAt = System.nanoTime();
+            if (startedAt >= measureUntil) {
+                return samples;
+            }
+            boolean ok = send(operation);
+            long latency = System.nanoTime() - startedAt;
+            if (startedAt >= measureFrom) {
+                samples.latencies.computeIfAbsent(operation.getName(), name -> new LongBuffer()).add(latency);
+                if (!ok) {
+                    samples.errors.merge(operation.getName(), 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    private boolean send(Operation operation) {
+        try {
+            HttpRequest request = operation.getRequest().apply(context);
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                log.debug("{} answered {}", operation.getName(), response.statusCode());
+                return false;
+            }
+            operation.getOnSuccess().accept(context, response);
+            return true;
+        } catch (IOException e) {
+            log.debug("{} failed: {}", operation.getName(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class ClientSamples {
+        private final Map<String, LongBuffer> latencies = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+    }
+
+    /**
+     * Growable long array; a boxed list would allocate per sample on the client threads.
+     */
+    private static class LongBuffer {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongBuffer other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
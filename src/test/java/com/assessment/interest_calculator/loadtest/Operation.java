@@ -0,0 +1,39 @@
+package com.assessment.interest_calculator.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+/**
+ * One kind of request in a load scenario, picked with probability proportional to its weight.
+ * Latencies are reported per operation name.
+ */
+@Getter
+public class Operation {
+    private final String name;
+    private final int weight;
+    private final Function<LoadContext, HttpRequest> request;
+    private final BiConsumer<LoadContext, HttpResponse<String>> onSuccess;
+
+    public Operation(String name, int weight, Function<LoadContext, HttpRequest> request,
+                     BiConsumer<LoadContext, HttpResponse<String>> onSuccess) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Operation weight must be positive: " + name);
+        }
+        this.name = name;
+        this.weight = weight;
+        this.request = request;
+        this.onSuccess = onSuccess;
+    }
+
+    public Operation(String name, int weight, Function<LoadContext, HttpRequest> request) {
+        this(name, weight, request, (context, response) -> { });
+    }
+
+    public Operation withWeight(int newWeight) {
+        return new Operation(name, newWeight, request, onSuccess);
+    }
+}
@@ -0,0 +1,300 @@
+package com.assessment.interest_calculator.perf;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bloat and vacuum cost of the nightly accrual writes, before and after balances moved from loan_accounts into
+ * loan_balances (see schema.sql). Builds both layouts side by side in a scratch schema, with the indexes each had,
+ * and replays a month of nights on each: every active account gets one accrual update per night, committed in
+ * chunks as the daily job does, and the last night also capitalizes. Autovacuum is off for the scratch tables and a
+ * plain VACUUM runs after every night instead, so its cost is measured rather than left to chance.
+ *
+ * Reports per layout the share of HOT updates, WAL written, time spent updating and vacuuming, and heap and index
+ * sizes at the end of the month. Run against the database from docker-compose.yml:
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.assessment.interest_calculator.perf.BalanceBloatBenchmark \
+ *       -Dexec.args="--accounts=1000000 --days=30"
+ */
+public class BalanceBloatBenchmark {
+    private static final String SCHEMA = "balance_bloat_bench";
+
+    private static final String SEED_SQL = "SELECT g AS id, 'Synthetic ' || g AS account_holder_name, " +
+            "(ARRAY[7.5, 9.25, 10.5, 12.0, 14.5, 18.0, 24.0])[1 + floor(random() * 7)::int]::numeric(9, 6) AS interest_rate, " +
+            "round((10000 + random() * 490000)::numeric, 2)::numeric(18, 6) AS principal_amount, " +
+            "DATE '2020-01-01' + floor(random() * 2000)::int AS date_of_disbursal, " +
+            "(ARRAY['Asia/Kolkata', 'Europe/London', 'America/New_York'])[1 + floor(random() * 3)::int] AS time_zone, " +
+            "now() AS created_at FROM generate_series(1, ?) g";
+
+    /**
+     * A table layout under test: how to create and fill it, the tables whose bloat counts, and the nightly statements.
+     */
+    private record Layout(String name, List<String> setup, List<String> tables, String accrueSql, String capitalizeSql) {
+    }
+
+    // loan_accounts as it was before the split, with every index it had; the partial index's predicate is on interest_amount
+    private static final Layout WIDE = new Layout("wide loan_accounts",
+            List.of("CREATE TABLE " + SCHEMA + ".wide_accounts (id BIGINT PRIMARY KEY, account_holder_name VARCHAR(255) NOT NULL, " +
+                            "product_code VARCHAR(64), day_count_convention VARCHAR(16), time_zone VARCHAR(64), " +
+                            "status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE', closed_at TIMESTAMP WITH TIME ZONE, " +
+                            "interest_rate NUMERIC(9, 6) NOT NULL, interest_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                            "principal_amount NUMERIC(18, 6) NOT NULL, penalty_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                            "overdue_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, penal_rate NUMERIC(9, 6), date_of_disbursal DATE NOT NULL, " +
+                            "last_interest_applied_at TIMESTAMP WITH TIME ZONE, accrual_anchor_date DATE, version BIGINT NOT NULL DEFAULT 0, " +
+                            "created_at TIMESTAMP WITH TIME ZONE NOT NULL, updated_at TIMESTAMP WITH TIME ZONE NOT NULL" +
+                            ") WITH (autovacuum_enabled = false)",
+                    "INSERT INTO " + SCHEMA + ".wide_accounts (id, account_holder_name, time_zone, interest_rate, principal_amount, " +
+                            "date_of_disbursal, created_at, updated_at) SELECT id, account_holder_name, time_zone, interest_rate, " +
+                            "principal_amount, date_of_disbursal, created_at, created_at FROM " + SCHEMA + ".seed",
+                    "CREATE INDEX ON " + SCHEMA + ".wide_accounts (id) WHERE interest_amount > 0",
+                    "CREATE INDEX ON " + SCHEMA + ".wide_accounts (closed_at) WHERE status <> 'ACTIVE'",
+                    "CREATE INDEX ON " + SCHEMA + ".wide_accounts (time_zone, id) WHERE status = 'ACTIVE'",
+                    "CREATE INDEX ON " + SCHEMA + ".wide_accounts USING gin (lower(account_holder_name) gin_trgm_ops)",
+                    "CREATE INDEX ON " + SCHEMA + ".wide_accounts (interest_rate)",
+                    "CREATE INDEX ON " + SCHEMA + ".wide_accounts (date_of_disbursal)"),
+            List.of("wide_accounts"),
+            "UPDATE " + SCHEMA + ".wide_accounts SET " +
+                    "interest_amount = interest_amount + round(principal_amount * interest_rate / 36500, 6), " +
+                    "last_interest_applied_at = ?, version = version + 1, updated_at = now() " +
+                    "WHERE id >= ? AND id < ? AND status = 'ACTIVE'",
+            "UPDATE " + SCHEMA + ".wide_accounts SET principal_amount = principal_amount + interest_amount, interest_amount = 0, " +
+                    "version = version + 1, updated_at = now() " +
+                    "WHERE id >= ? AND id < ? AND interest_amount > 0 AND status = 'ACTIVE'");
+
+    // loan_accounts and loan_balances as they are now
+    private static final Layout SPLIT = new Layout("loan_accounts + loan_balances",
+            List.of("CREATE TABLE " + SCHEMA + ".accounts (id BIGINT PRIMARY KEY, account_holder_name VARCHAR(255) NOT NULL, " +
+                            "product_code VARCHAR(64), day_count_convention VARCHAR(16), time_zone VARCHAR(64), " +
+                            "status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE', closed_at TIMESTAMP WITH TIME ZONE, " +
+                            "interest_rate NUMERIC(9, 6) NOT NULL, penal_rate NUMERIC(9, 6), date_of_disbursal DATE NOT NULL, " +
+                            "created_at TIMESTAMP WITH TIME ZONE NOT NULL) WITH (autovacuum_enabled = false)",
+                    "CREATE TABLE " + SCHEMA + ".balances (account_id BIGINT PRIMARY KEY REFERENCES " + SCHEMA + ".accounts (id) ON DELETE CASCADE, " +
+                            "principal_amount NUMERIC(18, 6) NOT NULL, interest_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                            "penalty_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, overdue_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                            "last_interest_applied_at TIMESTAMP WITH TIME ZONE, accrual_anchor_date DATE, " +
+                            "version BIGINT NOT NULL DEFAULT 0, updated_at TIMESTAMP WITH TIME ZONE NOT NULL" +
+                            ") WITH (fillfactor = 70, autovacuum_enabled = false)",
+                    "INSERT INTO " + SCHEMA + ".accounts (id, account_holder_name, time_zone, interest_rate, date_of_disbursal, created_at) " +
+                            "SELECT id, account_holder_name, time_zone, interest_rate, date_of_disbursal, created_at FROM " + SCHEMA + ".seed",
+                    "INSERT INTO " + SCHEMA + ".balances (account_id, principal_amount, updated_at) " +
+                            "SELECT id, principal_amount, created_at FROM " + SCHEMA + ".seed",
+                    "CREATE INDEX ON " + SCHEMA + ".accounts (closed_at) WHERE status <> 'ACTIVE'",
+                    "CREATE INDEX ON " + SCHEMA + ".accounts (time_zone, id) WHERE status = 'ACTIVE'",
+                    "CREATE INDEX ON " + SCHEMA + ".accounts USING gin (lower(account_holder_name) gin_trgm_ops)",
+                    "CREATE INDEX ON " + SCHEMA + ".accounts (interest_rate)",
+                    "CREATE INDEX ON " + SCHEMA + ".accounts (date_of_disbursal)"),
+            List.of("accounts", "balances"),
+            "UPDATE " + SCHEMA + ".balances b SET " +
+                    "interest_amount = b.interest_amount + round(b.principal_amount * a.interest_rate / 36500, 6), " +
+                    "last_interest_applied_at = ?, version = b.version + 1, updated_at = now() " +
+                    "FROM " + SCHEMA + ".accounts a WHERE a.id = b.account_id AND b.account_id >= ? AND b.account_id < ? AND a.status = 'ACTIVE'",
+            "UPDATE " + SCHEMA + ".balances b SET principal_amount = b.principal_amount + b.interest_amount, interest_amount = 0, " +
+                    "version = b.version + 1, updated_at = now() " +
+                    "FROM " + SCHEMA + ".accounts a WHERE a.id = b.account_id AND b.account_id >= ? AND b.account_id < ? " +
+                    "AND b.interest_amount > 0 AND a.status = 'ACTIVE'");
+
+    @lombok.Data
+    @lombok.Builder
+    public static class LayoutResult {
+        private String layout;
+        private long updates;
+        private long hotUpdates;
+        private long walBytes;
+        private long updateMs;
+        private long vacuumMs;
+        private long heapBytes;
+        private long indexBytes;
+    }
+
+    public static LayoutResult run(Connection connection, Layout layout, long accounts, int days, int chunk) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : layout.setup()) {
+                statement.execute(sql);
+            }
+            statement.execute("VACUUM ANALYZE " + tableList(layout));
+            statement.execute("CHECKPOINT");
+        }
+        Map<String, long[]> before = updateCounts(connection, layout);
+        String walStart = query(connection, "SELECT pg_current_wal_lsn()::text");
+
+        long updateNanos = 0;
+        long vacuumNanos = 0;
+        LocalDate firstNight = LocalDate.of(2026, 1, 1);
+        for (int night = 0; night < days; night++) {
+            OffsetDateTime appliedAt = firstNight.plusDays(night).atTime(23, 59).atOffset(ZoneOffset.UTC);
+            long start = System.nanoTime();
+            // One statement per chunk, each committed on its own like the job's chunks
+            try (PreparedStatement accrue = connection.prepareStatement(layout.accrueSql())) {
+                for (long from = 1; from <= accounts; from += chunk) {
+                    accrue.setObject(1, appliedAt);
+                    accrue.setLong(2, from);
+                    accrue.setLong(3, from + chunk);
+                    accrue.executeUpdate();
+                }
+            }
+            if (night == days - 1) {
+                try (PreparedStatement capitalize = connection.prepareStatement(layout.capitalizeSql())) {
+                    for (long from = 1; from <= accounts; from += chunk) {
+                        capitalize.setLong(1, from);
+                        capitalize.setLong(2, from + chunk);
+                        capitalize.executeUpdate();
+                    }
+                }
+            }
+            updateNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM " + tableList(layout));
+            }
+            vacuumNanos += System.nanoTime() - start;
+        }
+
+        long walBytes = Long.parseLong(query(connection, "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '" + walStart + "')::bigint::text"));
+        Map<String, long[]> after = updateCounts(connection, layout);
+        long updates = 0;
+        long hotUpdates = 0;
+        long heapBytes = 0;
+        long indexBytes = 0;
+        for (String table : layout.tables()) {
+            updates += after.get(table)[0] - before.get(table)[0];
+            hotUpdates += after.get(table)[1] - before.get(table)[1];
+            heapBytes += Long.parseLong(query(connection, "SELECT pg_relation_size('" + SCHEMA + "." + table + "')::text"));
+            indexBytes += Long.parseLong(query(connection, "SELECT pg_indexes_size('" + SCHEMA + "." + table + "')::text"));
+        }
+        return LayoutResult.builder()
+                .layout(layout.name())
+                .updates(updates)
+                .hotUpdates(hotUpdates)
+                .walBytes(walBytes)
+                .updateMs(updateNanos / 1_000_000)
+                .vacuumMs(vacuumNanos / 1_000_000)
+                .heapBytes(heapBytes)
+                .indexBytes(indexBytes)
+                .build();
+    }
+
+    private static String tableList(Layout layout) {
+        return String.join(", ", layout.tables().stream().map(table -> SCHEMA + "." + table).toList());
+    }
+
+    /**
+     * Updates and HOT updates so far per table. The statistics collector reports with a delay, so this waits until
+     * the counts stop moving.
+     */
+    private static Map<String, long[]> updateCounts(Connection connection, Layout layout) throws SQLException {
+        Map<String, long[]> previous = null;
+        for (int attempt = 0; attempt < 20; attempt++) {
+            Map<String, long[]> counts = new HashMap<>();
+            for (String table : layout.tables()) {
+                counts.put(table, new long[2]);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_stat_clear_snapshot()");
+                try (ResultSet rows = statement.executeQuery("SELECT relname, n_tup_upd, n_tup_hot_upd FROM pg_stat_user_tables " +
+                        "WHERE schemaname = '" + SCHEMA + "'")) {
+                    while (rows.next()) {
+                        counts.put(rows.getString(1), new long[] {rows.getLong(2), rows.getLong(3)});
+                    }
+                }
+            }
+            if (previous != null && sameCounts(counts, previous)) {
+                return counts;
+            }
+            previous = counts;
+            sleep(500);
+        }
+        return previous;
+    }
+
+    private static boolean sameCounts(Map<String, long[]> counts, Map<String, long[]> previous) {
+        return counts.keySet().stream().allMatch(table -> Arrays.equals(counts.get(table), previous.get(table)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getString(1);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                usage("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        if (options.containsKey("help")) {
+            usage(null);
+        }
+        long accounts = Long.parseLong(options.getOrDefault("accounts", "1000000"));
+        int days = Integer.parseInt(options.getOrDefault("days", "30"));
+        int chunk = Integer.parseInt(options.getOrDefault("chunk", "100"));
+        String url = options.getOrDefault("url", "jdbc:postgresql://localhost:5432/interest_db");
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("user", "user"), options.getOrDefault("password", "password"))) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+                statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+                statement.execute("CREATE SCHEMA " + SCHEMA);
+                statement.execute("SELECT setseed(0.42)");
+            }
+            try (PreparedStatement seed = connection.prepareStatement("CREATE TABLE " + SCHEMA + ".seed AS " + SEED_SQL)) {
+                seed.setLong(1, accounts);
+                seed.execute();
+            }
+
+            System.out.printf("%d accounts, %d nights, chunks of %d, VACUUM after every night%n", accounts, days, chunk);
+            System.out.printf("%-30s %12s %8s %10s %11s %11s %10s %10s%n",
+                    "layout", "updates", "HOT", "WAL MB", "update ms", "vacuum ms", "heap MB", "index MB");
+            for (Layout layout : List.of(WIDE, SPLIT)) {
+                LayoutResult result = run(connection, layout, accounts, days, chunk);
+                System.out.printf("%-30s %12d %7.1f%% %10.1f %11d %11d %10.1f %10.1f%n",
+                        result.getLayout(), result.getUpdates(),
+                        result.getUpdates() == 0 ? 0.0 : 100.0 * result.getHotUpdates() / result.getUpdates(),
+                        result.getWalBytes() / 1048576.0, result.getUpdateMs(), result.getVacuumMs(),
+                        result.getHeapBytes() / 1048576.0, result.getIndexBytes() / 1048576.0);
+            }
+
+            if (!Boolean.parseBoolean(options.getOrDefault("keep", "false"))) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+                }
+            }
+        }
+    }
+
+    private static void usage(String error) {
+        if (error != null) {
+            System.err.println(error);
+        }
+        System.err.println("Usage: BalanceBloatBenchmark [--url=jdbc:postgresql://localhost:5432/interest_db] [--user=user] [--password=password]");
+        System.err.println("                             [--accounts=1000000] [--days=30] [--chunk=100] [--keep]");
+        System.exit(error == null ? 0 : 2);
+    }
+}
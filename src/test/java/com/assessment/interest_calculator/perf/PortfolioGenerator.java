@@ -0,0 +1,341 @@
+package com.assessment.interest_calculator.perf;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import com.assessment.interest_calculator.entity.RateBand;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeded generator for large synthetic loan books, streamed with COPY into a staging table and split from there
+ * into loan_accounts and loan_balances. Columns not written here (penalties, overdue amounts, product, convention)
+ * keep their defaults. portfolio_summary is brought in line with the generated rows so the rollup stays exact.
+ *
+ * Used from benchmarks and load tests through {@link #generate(Connection, PortfolioSpec, boolean)}, or from the
+ * command line:
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.assessment.interest_calculator.perf.PortfolioGenerator \
+ *       -Dexec.args="--accounts=10000000 --seed=42 --truncate"
+ */
+@Slf4j
+public class PortfolioGenerator {
+    // Ids are drawn from the loan_accounts sequence as rows are copied, so both tables get the same id for a row
+    private static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE generated_accounts (" +
+            "id BIGINT NOT NULL DEFAULT nextval(pg_get_serial_sequence('loan_accounts', 'id')), " +
+            "account_holder_name VARCHAR(255), interest_rate NUMERIC(9, 6), interest_amount NUMERIC(18, 6), " +
+            "principal_amount NUMERIC(18, 6), date_of_disbursal DATE, last_interest_applied_at TIMESTAMP WITH TIME ZONE, " +
+            "version BIGINT, created_at TIMESTAMP WITH TIME ZONE, updated_at TIMESTAMP WITH TIME ZONE, status VARCHAR(16)" +
+            ") ON COMMIT DROP";
+
+    static final String COPY_SQL = "COPY generated_accounts (account_holder_name, interest_rate, interest_amount, principal_amount, " +
+            "date_of_disbursal, last_interest_applied_at, version, created_at, updated_at, status) FROM STDIN";
+
+    private static final String INSERT_ACCOUNTS_SQL = "INSERT INTO loan_accounts " +
+            "(id, account_holder_name, interest_rate, date_of_disbursal, created_at, status) " +
+            "SELECT id, account_holder_name, interest_rate, date_of_disbursal, created_at, status FROM generated_accounts ORDER BY id";
+
+    private static final String INSERT_BALANCES_SQL = "INSERT INTO loan_balances " +
+            "(account_id, principal_amount, interest_amount, last_interest_applied_at, version, updated_at) " +
+            "SELECT id, principal_amount, interest_amount, last_interest_applied_at, version, updated_at FROM generated_accounts ORDER BY id";
+
+    private static final String UPSERT_SUMMARY_SQL = "INSERT INTO portfolio_summary " +
+            "(rate_band, account_count, total_principal, total_interest, updated_at) VALUES (?, ?, ?, ?, now()) " +
+            "ON CONFLICT (rate_band) DO UPDATE SET " +
+            "account_count = portfolio_summary.account_count + EXCLUDED.account_count, " +
+            "total_principal = portfolio_summary.total_principal + EXCLUDED.total_principal, " +
+            "total_interest = portfolio_summary.total_interest + EXCLUDED.total_interest, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    /**
+     * Rate mix of the book: annual rate in percent and its share in percent.
+     */
+    private static final String[] RATES = {"7.500000", "9.250000", "10.500000", "12.000000", "14.500000", "18.000000", "24.000000"};
+    private static final int[] RATE_SHARES = {30, 25, 20, 12, 8, 4, 1};
+
+    private static final long MIN_PRINCIPAL_CENTS = 10_000_00L;
+    private static final long MAX_PRINCIPAL_CENTS = 50_000_000_00L;
+
+    private final PortfolioSpec spec;
+    private final double[] rateValues = new double[RATES.length];
+    private final RateBand[] rateBands = new RateBand[RATES.length];
+    private final int[] cumulativeShares = new int[RATES.length];
+    private final ZoneOffset offset;
+    private final LocalDate firstDisbursal;
+    private final int disbursalDays;
+    // Formatted dates and timestamps per day since firstDisbursal; formatting them per row dominated generation time
+    private final String[] dateText;
+    private final String[] createdAtText;
+    private final String[] accruedAtText;
+
+    public PortfolioGenerator(PortfolioSpec spec) {
+        this.spec = spec;
+        int cumulative = 0;
+        for (int i = 0; i < RATES.length; i++) {
+            rateValues[i] = Double.parseDouble(RATES[i]);
+            rateBands[i] = RateBand.of(new BigDecimal(RATES[i]));
+            cumulative += RATE_SHARES[i];
+            cumulativeShares[i] = cumulative;
+        }
+        this.offset = spec.getZone().getRules().getOffset(spec.getBusinessDate().atStartOfDay());
+        this.firstDisbursal = spec.getBusinessDate().minusYears(spec.getHistoryYears());
+        this.disbursalDays = (int) ChronoUnit.DAYS.between(firstDisbursal, spec.getBusinessDate());
+        this.dateText = new String[disbursalDays + 1];
+        this.createdAtText = new String[disbursalDays + 1];
+        this.accruedAtText = new String[disbursalDays + 1];
+        for (int day = 0; day <= disbursalDays; day++) {
+            LocalDate date = firstDisbursal.plusDays(day);
+            dateText[day] = date.toString();
+            createdAtText[day] = date.atTime(10, 0).atOffset(offset).toString();
+            accruedAtText[day] = date.atTime(23, 59).atOffset(offset).toString();
+        }
+    }
+
+    /**
+     * Totals of the generated rows per rate band, in cents of principal and millionths of interest.
+     */
+    public static class BandTotals {
+        private final Map<RateBand, long[]> totals = new EnumMap<>(RateBand.class);
+
+        void add(RateBand band, long principalCents, long interestMicros) {
+            long[] row = totals.computeIfAbsent(band, b -> new long[3]);
+            row[0]++;
+            row[1] += principalCents;
+            row[2] += interestMicros;
+        }
+
+        public long accounts(RateBand band) {
+            return totals.getOrDefault(band, new long[3])[0];
+        }
+
+        public BigDecimal principal(RateBand band) {
+            return BigDecimal.valueOf(totals.getOrDefault(band, new long[3])[1], 2);
+        }
+
+        public BigDecimal interest(RateBand band) {
+            return BigDecimal.valueOf(totals.getOrDefault(band, new long[3])[2], 6);
+        }
+
+        public long totalAccounts() {
+            return totals.values().stream().mapToLong(row -> row[0]).sum();
+        }
+
+        public Map<RateBand, long[]> asMap() {
+            return totals;
+        }
+    }
+
+    @lombok.Data
+    @lombok.Builder
+    public static class GenerationResult {
+        private long accountsInserted;
+        private BandTotals bandTotals;
+        private long durationMs;
+    }
+
+    /**
+     * Write the rows of the spec in COPY text format (tab-separated, \N for null), one line per account.
+     */
+    public BandTotals writeRows(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        BandTotals totals = new BandTotals();
+        StringBuilder line = new StringBuilder(256);
+        LocalDate businessDate = spec.getBusinessDate();
+        LocalDate lastFullAccrual = businessDate.minusDays(1);
+
+        for (long n = 1; n <= spec.getAccounts(); n++) {
+            // A fixed number of draws per row, so row n does not depend on which branches earlier rows took
+            double principalDraw = random.nextGaussian();
+            int rateDraw = random.nextInt(100);
+            int disbursalOffset = random.nextInt(disbursalDays);
+            double stalenessDraw = random.nextDouble();
+            int staleDays = 2 + random.nextInt(Math.max(1, spec.getMaxStaleDays() - 1));
+
+            long principalCents = Math.round(spec.getMedianPrincipal() * 100 * Math.exp(spec.getPrincipalSigma() * principalDraw));
+            principalCents = Math.min(MAX_PRINCIPAL_CENTS, Math.max(MIN_PRINCIPAL_CENTS, principalCents));
+            int rateIndex = 0;
+            while (cumulativeShares[rateIndex] <= rateDraw) {
+                rateIndex++;
+            }
+            LocalDate disbursal = firstDisbursal.plusDays(disbursalOffset);
+
+            LocalDate lastApplied;
+            if (stalenessDraw < spec.getNeverAccruedFraction()) {
+                lastApplied = null;
+            } else if (stalenessDraw < spec.getNeverAccruedFraction() + spec.getStaleFraction()) {
+                lastApplied = businessDate.minusDays(staleDays);
+            } else {
+                lastApplied = lastFullAccrual;
+            }
+            if (lastApplied != null && lastApplied.isBefore(disbursal)) {
+                lastApplied = null;
+            }
+
+            // Interest accrued since the last month-end capitalization, at the account's simple daily rate
+            long interestMicros = 0;
+            if (lastApplied != null) {
+                LocalDate accrualStart = lastApplied.withDayOfMonth(1).isAfter(disbursal) ? lastApplied.withDayOfMonth(1) : disbursal;
+                long days = ChronoUnit.DAYS.between(accrualStart, lastApplied) + 1;
+                interestMicros = Math.round(principalCents * 10_000.0 * rateValues[rateIndex] / 100 / 365 * days);
+            }
+
+            String createdAt = createdAtText[disbursalOffset];
+            String lastAppliedAt = lastApplied == null ? null : accruedAtText[(int) ChronoUnit.DAYS.between(firstDisbursal, lastApplied)];
+
+            line.setLength(0);
+            line.append("Synthetic ").append(n).append('\t')
+                    .append(RATES[rateIndex]).append('\t');
+            appendScaled(line, interestMicros, 6).append('\t');
+            appendScaled(line, principalCents, 2).append('\t')
+                    .append(dateText[disbursalOffset]).append('\t')
+                    .append(lastAppliedAt == null ? "\\N" : lastAppliedAt).append('\t')
+                    .append('0').append('\t')
+                    .append(createdAt).append('\t')
+                    .append(lastAppliedAt == null ? createdAt : lastAppliedAt).append('\t')
+                    .append("ACTIVE").append('\n');
+            out.append(line);
+
+            totals.add(rateBands[rateIndex], principalCents, interestMicros);
+        }
+        return totals;
+    }
+
+    /**
+     * Stream the spec into loan_accounts and loan_balances and add the generated totals to portfolio_summary,
+     * in one transaction. With {@code truncate}, the accounts, account_postings and portfolio_summary are emptied
+     * first and ids restart at 1, so the same spec always yields the same tables.
+     */
+    public static GenerationResult generate(Connection connection, PortfolioSpec spec, boolean truncate)
+            throws SQLException, IOException {
+        long startTime = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            if (truncate) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("TRUNCATE loan_accounts, loan_balances, account_postings, portfolio_summary RESTART IDENTITY");
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+            }
+
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, 1 << 20);
+            BandTotals totals;
+            // Only the copy stream is closed: closing the writer would flush it again after endCopy, into an ended COPY
+            try (copy) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), 1 << 16);
+                totals = new PortfolioGenerator(spec).writeRows(writer);
+                writer.flush();
+                long copied = copy.endCopy();
+                log.info("Copied {} accounts", copied);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(INSERT_ACCOUNTS_SQL);
+                statement.execute(INSERT_BALANCES_SQL);
+            }
+
+            try (PreparedStatement upsert = connection.prepareStatement(UPSERT_SUMMARY_SQL)) {
+                for (RateBand band : totals.asMap().keySet()) {
+                    upsert.setString(1, band.name());
+                    upsert.setLong(2, totals.accounts(band));
+                    upsert.setBigDecimal(3, totals.principal(band));
+                    upsert.setBigDecimal(4, totals.interest(band));
+                    upsert.addBatch();
+                }
+                upsert.executeBatch();
+            }
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE loan_accounts, loan_balances");
+            }
+            connection.commit();
+
+            return GenerationResult.builder()
+                    .accountsInserted(totals.totalAccounts())
+                    .bandTotals(totals)
+                    .durationMs(System.currentTimeMillis() - startTime)
+                    .build();
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static StringBuilder appendScaled(StringBuilder out, long unscaled, int scale) {
+        String digits = Long.toString(unscaled);
+        if (digits.length() <= scale) {
+            out.append("0.");
+            out.append("0".repeat(scale - digits.length()));
+            return out.append(digits);
+        }
+        int point = digits.length() - scale;
+        return out.append(digits, 0, point).append('.').append(digits, point, digits.length());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                usage("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        if (options.containsKey("help")) {
+            usage(null);
+        }
+
+        PortfolioSpec defaults = PortfolioSpec.builder().build();
+        PortfolioSpec spec = PortfolioSpec.builder()
+                .accounts(Long.parseLong(options.getOrDefault("accounts", String.valueOf(defaults.getAccounts()))))
+                .seed(Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.getSeed()))))
+                .businessDate(LocalDate.parse(options.getOrDefault("business-date", defaults.getBusinessDate().toString())))
+                .staleFraction(Double.parseDouble(options.getOrDefault("stale-fraction", String.valueOf(defaults.getStaleFraction()))))
+                .build();
+        String url = options.getOrDefault("url", "jdbc:postgresql://localhost:5432/interest_db");
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("user", "user"), options.getOrDefault("password", "password"))) {
+            GenerationResult result = generate(connection, spec, Boolean.parseBoolean(options.getOrDefault("truncate", "false")));
+            System.out.printf("Inserted %d accounts (seed %d, business date %s) in %d ms%n",
+                    result.getAccountsInserted(), spec.getSeed(), spec.getBusinessDate(), result.getDurationMs());
+            for (RateBand band : RateBand.values()) {
+                System.out.printf("  %-14s %10d accounts, principal %s, accrued interest %s%n", band,
+                        result.getBandTotals().accounts(band), result.getBandTotals().principal(band), result.getBandTotals().interest(band));
+            }
+        }
+    }
+
+    private static void usage(String error) {
+        if (error != null) {
+            System.err.println(error);
+        }
+        System.err.println("Usage: PortfolioGenerator [--url=jdbc:postgresql://localhost:5432/interest_db] [--user=user] [--password=password]");
+        System.err.println("                          [--accounts=1000000] [--seed=42] [--business-date=2026-01-15] [--stale-fraction=0.1] [--truncate]");
+        System.exit(error == null ? 0 : 2);
+    }
+}
@@ -0,0 +1,115 @@
+package com.assessment.interest_calculator.perf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.interest_calculator.entity.RateBand;
+
+class PortfolioGeneratorTest {
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2026, 3, 20);
+
+    @Test
+    void sameSpecProducesSameRows() throws IOException {
+        // Given
+        PortfolioSpec spec = spec(42L, 2_000);
+
+        // When
+        String first = rows(spec);
+        String second = rows(spec);
+
+        // Then
+        assertEquals(first, second);
+        assertNotEquals(first, rows(spec(43L, 2_000)));
+    }
+
+    @Test
+    void shorterRunIsPrefixOfLongerRun() throws IOException {
+        assertTrue(rows(spec(7L, 5_000)).startsWith(rows(spec(7L, 1_000))));
+    }
+
+    @Test
+    void rowsMatchCopyColumnsAndDistributions() throws IOException {
+        // Given
+        PortfolioSpec spec = spec(42L, 20_000);
+
+        // When
+        String[] lines = rows(spec).split("\n");
+
+        // Then
+        assertEquals(20_000, lines.length);
+        int columns = PortfolioGenerator.COPY_SQL.substring(PortfolioGenerator.COPY_SQL.indexOf('(') + 1,
+                PortfolioGenerator.COPY_SQL.indexOf(')')).split(",").length;
+        int stale = 0;
+        int neverAccrued = 0;
+        for (String line : lines) {
+            String[] fields = line.split("\t", -1);
+            assertEquals(columns, fields.length, line);
+
+            BigDecimal principal = new BigDecimal(fields[3]);
+            assertTrue(principal.compareTo(new BigDecimal("10000")) >= 0 && principal.compareTo(new BigDecimal("50000000")) <= 0, line);
+            LocalDate disbursal = LocalDate.parse(fields[4]);
+            assertTrue(disbursal.isBefore(BUSINESS_DATE), line);
+
+            if ("\\N".equals(fields[5])) {
+                neverAccrued++;
+                assertEquals(0, new BigDecimal(fields[2]).signum(), line);
+                continue;
+            }
+            LocalDate lastApplied = OffsetDateTime.parse(fields[5]).toLocalDate();
+            assertFalse(lastApplied.isBefore(disbursal), line);
+            if (lastApplied.isBefore(BUSINESS_DATE.minusDays(1))) {
+                stale++;
+            }
+        }
+        // 10% stale and 1% never accrued by default, plus accounts disbursed too recently to have been accrued
+        assertEquals(0.10, stale / 20_000.0, 0.01);
+        assertEquals(0.01, neverAccrued / 20_000.0, 0.005);
+    }
+
+    @Test
+    void bandTotalsMatchWrittenRows() throws IOException {
+        // Given
+        PortfolioGenerator generator = new PortfolioGenerator(spec(42L, 5_000));
+        StringWriter out = new StringWriter();
+
+        // When
+        PortfolioGenerator.BandTotals totals = generator.writeRows(out);
+
+        // Then
+        Map<RateBand, BigDecimal[]> expected = new EnumMap<>(RateBand.class);
+        for (String line : out.toString().split("\n")) {
+            String[] fields = line.split("\t");
+            BigDecimal[] row = expected.computeIfAbsent(RateBand.of(new BigDecimal(fields[1])),
+                    band -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO});
+            row[0] = row[0].add(BigDecimal.ONE);
+            row[1] = row[1].add(new BigDecimal(fields[3]));
+            row[2] = row[2].add(new BigDecimal(fields[2]));
+        }
+        assertEquals(5_000, totals.totalAccounts());
+        expected.forEach((band, row) -> {
+            assertEquals(row[0].longValue(), totals.accounts(band));
+            assertEquals(0, row[1].compareTo(totals.principal(band)), band.name());
+            assertEquals(0, row[2].compareTo(totals.interest(band)), band.name());
+        });
+        assertTrue(totals.accounts(RateBand.FROM_5_TO_10) > totals.accounts(RateBand.FROM_20));
+    }
+
+    private static PortfolioSpec spec(long seed, long accounts) {
+        return PortfolioSpec.builder().seed(seed).accounts(accounts).businessDate(BUSINESS_DATE).build();
+    }
+
+    private static String rows(PortfolioSpec spec) throws IOException {
+        StringWriter out = new StringWriter();
+        new PortfolioGenerator(spec).writeRows(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package com.assessment.interest_calculator.perf;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Shape of a synthetic portfolio. The same spec (seed and business date included) always produces the same rows.
+ */
+@Getter
+@Builder
+public class PortfolioSpec {
+    @Builder.Default
+    private final long seed = 42L;
+
+    @Builder.Default
+    private final long accounts = 1_000_000L;
+
+    /**
+     * The day the interest jobs would run next; accounts are accrued up to the day before unless stale.
+     */
+    @Builder.Default
+    private final LocalDate businessDate = LocalDate.of(2026, 1, 15);
+
+    @Builder.Default
+    private final ZoneId zone = ZoneId.of("Asia/Kolkata");
+
+    /**
+     * Disbursal dates are spread uniformly over this many years before the business date.
+     */
+    @Builder.Default
+    private final int historyYears = 5;
+
+    /**
+     * Share of accounts whose last accrual is 2 to maxStaleDays days behind (missed runs, failed batches).
+     */
+    @Builder.Default
+    private final double staleFraction = 0.10;
+
+    @Builder.Default
+    private final int maxStaleDays = 30;
+
+    /**
+     * Share of accounts that have never been accrued.
+     */
+    @Builder.Default
+    private final double neverAccruedFraction = 0.01;
+
+    /**
+     * Principal is log-normal around this median (in rupees), which gives the long tail of a real book.
+     */
+    @Builder.Default
+    private final double medianPrincipal = 250_000;
+
+    @Builder.Default
+    private final double principalSigma = 1.0;
+}
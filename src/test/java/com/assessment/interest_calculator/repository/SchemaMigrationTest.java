@@ -0,0 +1,181 @@
+package com.assessment.interest_calculator.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * schema.sql against PostgreSQL (see application-load.yml): the one-off move of balances out of a loan_accounts created
+ * before loan_balances existed, the next startup over the migrated schema, and the month-end statements on the result.
+ * The script is run with the same splitter as spring.sql.init, in a scratch schema created inside the test transaction,
+ * so the database is left as it was. Excluded from the normal build; run with
+ *
+ *   mvn test -Pload -Dtest=SchemaMigrationTest
+ */
+@Tag("load")
+@ActiveProfiles("load")
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.datasource.hikari.connection-init-sql=SET search_path TO " + SchemaMigrationTest.SCHEMA + ", public"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+    static final String SCHEMA = "schema_migration_test";
+
+    private static final OffsetDateTime FEB_1_NEW_YORK = OffsetDateTime.parse("2024-02-01T00:00-05:00");
+    private static final OffsetDateTime FEB_1_KOLKATA = OffsetDateTime.parse("2024-02-01T00:00+05:30");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LoanAccountRepository loanAccountRepository;
+
+    @Test
+    void movesBalancesOutOfWideLoanAccountsAndDropsTheInterestIndex() {
+        // Given: loan_accounts as it was just before the split, with the partial index on interest_amount
+        createWideLoanAccounts();
+        jdbcTemplate.execute("CREATE INDEX idx_loan_accounts_accrued_interest ON loan_accounts (id) WHERE interest_amount > 0");
+
+        // When: two startups
+        runSchemaScript();
+        runSchemaScript();
+
+        // Then: every balance is in loan_balances once, and nothing on loan_accounts or loan_balances indexes interest_amount
+        assertFalse(hasColumn("loan_accounts", "interest_amount"));
+        assertFalse(hasColumn("loan_accounts", "version"));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT count(*) FROM loan_balances", Integer.class));
+        Map<String, Object> newYork = jdbcTemplate.queryForMap("SELECT * FROM loan_balances WHERE account_id = 1");
+        assertEquals(0, new BigDecimal("250000").compareTo((BigDecimal) newYork.get("principal_amount")));
+        assertEquals(0, new BigDecimal("1200").compareTo((BigDecimal) newYork.get("interest_amount")));
+        assertEquals(0, new BigDecimal("40").compareTo((BigDecimal) newYork.get("penalty_amount")));
+        assertEquals(7L, newYork.get("version"));
+        assertEquals(List.of(), indexesOn("loan_balances"));
+        assertFalse(indexesOn("loan_accounts").contains("idx_loan_accounts_accrued_interest"));
+        assertTrue(indexesOn("loan_accounts").contains("idx_loan_accounts_time_zone"));
+        assertEquals(70, fillfactor("loan_balances"));
+    }
+
+    @Test
+    void movesBalancesOutOfFirstReleaseLoanAccounts() {
+        // Given: loan_accounts as the first release created it, before penal charges and lazy accrual
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE loan_accounts (id BIGSERIAL PRIMARY KEY, account_holder_name VARCHAR(255) NOT NULL, " +
+                "interest_rate NUMERIC(9, 6) NOT NULL, interest_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                "principal_amount NUMERIC(18, 6) NOT NULL, date_of_disbursal DATE NOT NULL, " +
+                "last_interest_applied_at TIMESTAMP WITH TIME ZONE, version BIGINT NOT NULL DEFAULT 0, " +
+                "created_at TIMESTAMP WITH TIME ZONE NOT NULL, updated_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+        jdbcTemplate.update("INSERT INTO loan_accounts (account_holder_name, interest_rate, interest_amount, principal_amount, " +
+                "date_of_disbursal, version, created_at, updated_at) VALUES ('First', 10.5, 12.5, 1000, DATE '2020-01-01', 3, now(), now())");
+
+        // When
+        runSchemaScript();
+
+        // Then: the columns added later are created for the move, then moved with the rest
+        Map<String, Object> balance = jdbcTemplate.queryForMap("SELECT * FROM loan_balances");
+        assertEquals(0, new BigDecimal("12.5").compareTo((BigDecimal) balance.get("interest_amount")));
+        assertEquals(0, BigDecimal.ZERO.compareTo((BigDecimal) balance.get("penalty_amount")));
+        assertNull(balance.get("accrual_anchor_date"));
+        assertFalse(hasColumn("loan_accounts", "principal_amount"));
+        assertTrue(hasColumn("loan_accounts", "status"));
+    }
+
+    @Test
+    void capitalizesEachZoneBucketAlongTheActiveAccountIndex() {
+        // Given: the migrated accounts, plus an unzoned account already accrued for Feb 1
+        createWideLoanAccounts();
+        runSchemaScript();
+        jdbcTemplate.update("INSERT INTO loan_accounts (id, account_holder_name, interest_rate, date_of_disbursal, created_at) " +
+                "VALUES (4, 'Accrued ahead', 9.0, DATE '2021-01-01', now())");
+        jdbcTemplate.update("INSERT INTO loan_balances (account_id, principal_amount, interest_amount, last_interest_applied_at, updated_at) " +
+                "VALUES (4, 1000, 5, TIMESTAMP WITH TIME ZONE '2024-02-01 23:59:59+05:30', now())");
+
+        // When / Then: the New York bucket capitalizes its own account only
+        List<LoanAccountRepository.CapitalizedInterest> newYork =
+                loanAccountRepository.capitalizeAccruedInterestInZone("America/New_York", FEB_1_NEW_YORK, 0L, 1000);
+        assertEquals(List.of(1L), newYork.stream().map(LoanAccountRepository.CapitalizedInterest::getId).toList());
+        assertEquals(0, new BigDecimal("1200").compareTo(newYork.get(0).getCapitalized()));
+
+        // The accounts without a zone: the closed one and the one accrued past the month-end are left alone
+        assertEquals(List.of(2L), loanAccountRepository.findAccountsWithAccruedInterestInZone(null, FEB_1_KOLKATA, 0L, PageRequest.of(0, 10))
+                .stream().map(account -> account.getId()).toList());
+        List<LoanAccountRepository.CapitalizedInterest> unzoned =
+                loanAccountRepository.capitalizeAccruedInterestWithoutZone(FEB_1_KOLKATA, 0L, 1000);
+        assertEquals(List.of(2L), unzoned.stream().map(LoanAccountRepository.CapitalizedInterest::getId).toList());
+
+        assertEquals(0, new BigDecimal("251200").compareTo(principal(1L)));
+        assertEquals(0, new BigDecimal("5").compareTo(jdbcTemplate.queryForObject(
+                "SELECT interest_amount FROM loan_balances WHERE account_id = 4", BigDecimal.class)));
+        assertEquals(List.of(), loanAccountRepository.capitalizeAccruedInterestInZone("America/New_York", FEB_1_NEW_YORK, 0L, 1000));
+        assertEquals(List.of(2L), loanAccountRepository.findLazyAccountsAnchoredBeforeInZone(null, LocalDate.of(2024, 1, 31), 0L,
+                PageRequest.of(0, 10)).stream().map(account -> account.getId()).toList());
+    }
+
+    /**
+     * loan_accounts just before the split: a New York account, an unzoned lazily accrued one, and an unzoned closed one.
+     */
+    private void createWideLoanAccounts() {
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE loan_accounts (id BIGSERIAL PRIMARY KEY, account_holder_name VARCHAR(255) NOT NULL, " +
+                "interest_rate NUMERIC(9, 6) NOT NULL, interest_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                "principal_amount NUMERIC(18, 6) NOT NULL, date_of_disbursal DATE NOT NULL, " +
+                "last_interest_applied_at TIMESTAMP WITH TIME ZONE, version BIGINT NOT NULL DEFAULT 0, " +
+                "created_at TIMESTAMP WITH TIME ZONE NOT NULL, updated_at TIMESTAMP WITH TIME ZONE NOT NULL, " +
+                "product_code VARCHAR(64), day_count_convention VARCHAR(16), status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE', " +
+                "closed_at TIMESTAMP WITH TIME ZONE, penalty_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, " +
+                "overdue_amount NUMERIC(18, 6) NOT NULL DEFAULT 0, penal_rate NUMERIC(9, 6), time_zone VARCHAR(64), " +
+                "accrual_anchor_date DATE)");
+        jdbcTemplate.update("INSERT INTO loan_accounts (id, account_holder_name, interest_rate, interest_amount, principal_amount, " +
+                "date_of_disbursal, last_interest_applied_at, version, created_at, updated_at, penalty_amount, time_zone) VALUES " +
+                "(1, 'New York', 12.0, 1200, 250000, DATE '2022-03-01', TIMESTAMP WITH TIME ZONE '2024-01-31 23:59:59-05:00', 7, now(), now(), 40, 'America/New_York')");
+        jdbcTemplate.update("INSERT INTO loan_accounts (id, account_holder_name, interest_rate, interest_amount, principal_amount, " +
+                "date_of_disbursal, created_at, updated_at, accrual_anchor_date) VALUES " +
+                "(2, 'Lazy', 10.5, 300, 100000, DATE '2023-06-15', now(), now(), DATE '2024-01-20')");
+        jdbcTemplate.update("INSERT INTO loan_accounts (id, account_holder_name, interest_rate, interest_amount, principal_amount, " +
+                "date_of_disbursal, created_at, updated_at, status, closed_at) VALUES " +
+                "(3, 'Closed', 8.0, 50, 0, DATE '2019-01-01', now(), now(), 'CLOSED', now())");
+    }
+
+    private void runSchemaScript() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    }
+
+    private boolean hasColumn(String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM information_schema.columns " +
+                "WHERE table_schema = ? AND table_name = ? AND column_name = ?", Integer.class, SCHEMA, table, column) > 0;
+    }
+
+    private List<String> indexesOn(String table) {
+        return jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE schemaname = ? AND tablename = ? " +
+                "AND indexname NOT LIKE '%pkey' ORDER BY indexname", String.class, SCHEMA, table);
+    }
+
+    private int fillfactor(String table) {
+        return jdbcTemplate.queryForObject("SELECT substring(array_to_string(reloptions, ',') FROM 'fillfactor=(\\d+)')::int " +
+                "FROM pg_class WHERE oid = (? || '.' || ?)::regclass", Integer.class, SCHEMA, table);
+    }
+
+    private BigDecimal principal(long accountId) {
+        return jdbcTemplate.queryForObject("SELECT principal_amount FROM loan_balances WHERE account_id = ?", BigDecimal.class, accountId);
+    }
+}
@@ -0,0 +1,197 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.RateBand;
+import com.assessment.interest_calculator.repository.AccountPostingRepository;
+import com.assessment.interest_calculator.repository.ArchivedLoanAccountRepository;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLifecycleServiceTest {
+
+    @Mock
+    private LoanAccountRepository loanAccountRepository;
+
+    @Mock
+    private ArchivedLoanAccountRepository archivedLoanAccountRepository;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @Mock
+    private LazyAccrualService lazyAccrualService;
+
+    @Mock
+    private PostingService postingService;
+
+    private AccountLifecycleService accountLifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        accountLifecycleService = lifecycleService(postingService);
+    }
+
+    private AccountLifecycleService lifecycleService(PostingService postingService) {
+        return new AccountLifecycleService(loanAccountRepository, archivedLoanAccountRepository, portfolioSummaryService,
+                lazyAccrualService, postingService, TransactionOperations.withoutTransaction(), 30, 500, "Asia/Kolkata");
+    }
+
+    @Test
+    void testChangeStatus_ClosesActiveAccountAndRemovesItFromRollup() {
+        // Given
+        LoanAccount account = account(AccountStatus.ACTIVE);
+        when(loanAccountRepository.findPrimaryByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        AccountLifecycleService.StatusChangeResult result = accountLifecycleService.changeStatus(1L, AccountStatus.WRITTEN_OFF);
+
+        // Then
+        assertEquals(AccountLifecycleService.StatusChangeOutcome.UPDATED, result.getOutcome());
+        assertEquals(AccountStatus.WRITTEN_OFF, account.getStatus());
+        assertNotNull(account.getClosedAt());
+
+        ArgumentCaptor<PortfolioDelta> deltaCaptor = ArgumentCaptor.forClass(PortfolioDelta.class);
+        verify(portfolioSummaryService).apply(deltaCaptor.capture());
+        PortfolioDelta.BandDelta band = deltaCaptor.getValue().getBands().get(RateBand.FROM_10_TO_15);
+        assertEquals(-1, band.getAccountCount());
+        assertEquals(new BigDecimal("-50000.00"), band.getPrincipal());
+        assertEquals(new BigDecimal("-120.500000"), band.getInterest());
+    }
+
+    @Test
+    void testChangeStatus_FoldsRepaymentPostedBeforeTheClose() {
+        // Given: a payoff posted against the account, in an in-memory account_postings
+        List<AccountPosting> postingTable = new ArrayList<>();
+        AccountPostingRepository accountPostingRepository = mock(AccountPostingRepository.class);
+        when(accountPostingRepository.save(any(AccountPosting.class))).thenAnswer(invocation -> {
+            postingTable.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(accountPostingRepository.findByAccountIdInAndAppliedAtIsNullAndValueDateLessThanEqualOrderByIdAsc(anyCollection(), any(LocalDate.class)))
+                .thenAnswer(invocation -> postingTable.stream()
+                        .filter(posting -> posting.getAppliedAt() == null && !posting.getValueDate().isAfter(invocation.getArgument(1)))
+                        .toList());
+        PostingService realPostingService = new PostingService(accountPostingRepository, loanAccountRepository, "Asia/Kolkata");
+        accountLifecycleService = lifecycleService(realPostingService);
+
+        LoanAccount account = account(AccountStatus.ACTIVE);
+        when(loanAccountRepository.lockActiveForPosting(1L))
+                .thenAnswer(invocation -> account.getStatus() == AccountStatus.ACTIVE ? Optional.of(1L) : Optional.empty());
+        when(loanAccountRepository.findPrimaryByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        assertTrue(realPostingService.postRepayment(1L, new BigDecimal("50120.50"), null).isPresent());
+
+        // When: the account is closed the same day
+        AccountLifecycleService.StatusChangeResult result = accountLifecycleService.changeStatus(1L, AccountStatus.CLOSED);
+
+        // Then: it leaves with the repayment in its balance, and nothing stays pending
+        assertEquals(AccountLifecycleService.StatusChangeOutcome.UPDATED, result.getOutcome());
+        assertEquals(0, BigDecimal.ZERO.compareTo(account.getPrincipalAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(account.getInterestAmount()));
+        assertTrue(realPostingService.loadPending(List.of(1L), LocalDate.now(ZoneId.of("Asia/Kolkata"))).isEmpty());
+        assertEquals(0, new BigDecimal("50000.00").compareTo(postingTable.get(0).getAppliedToPrincipal()));
+        verify(loanAccountRepository).save(account);
+        verify(accountPostingRepository).saveAll(List.of(postingTable.get(0)));
+
+        // The rollup loses what the account had outstanding before the payoff, once
+        ArgumentCaptor<PortfolioDelta> deltaCaptor = ArgumentCaptor.forClass(PortfolioDelta.class);
+        verify(portfolioSummaryService).apply(deltaCaptor.capture());
+        PortfolioDelta.BandDelta band = deltaCaptor.getValue().getBands().get(RateBand.FROM_10_TO_15);
+        assertEquals(-1, band.getAccountCount());
+        assertEquals(0, new BigDecimal("-50000.00").compareTo(band.getPrincipal()));
+        assertEquals(0, new BigDecimal("-120.50").compareTo(band.getInterest()));
+
+        // And nothing can be posted to it any more
+        assertTrue(realPostingService.postRepayment(1L, BigDecimal.TEN, null).isEmpty());
+        assertEquals(1, postingTable.size());
+    }
+
+    @Test
+    void testChangeStatus_RefusedWhileLaterPostingIsPending() {
+        // Given: a repayment value-dated next week
+        LoanAccount account = account(AccountStatus.ACTIVE);
+        when(loanAccountRepository.findPrimaryByIdForUpdate(1L)).thenReturn(Optional.of(account));
+        when(postingService.hasPendingAfter(1L, LocalDate.now(ZoneId.of("Asia/Kolkata")))).thenReturn(true);
+
+        // When
+        AccountLifecycleService.StatusChangeResult result = accountLifecycleService.changeStatus(1L, AccountStatus.CLOSED);
+
+        // Then
+        assertEquals(AccountLifecycleService.StatusChangeOutcome.POSTINGS_PENDING, result.getOutcome());
+        assertEquals(AccountStatus.ACTIVE, account.getStatus());
+        verify(loanAccountRepository, never()).save(any(LoanAccount.class));
+        verifyNoInteractions(portfolioSummaryService);
+    }
+
+    @Test
+    void testChangeStatus_TerminalStatusCannotBeLeft() {
+        // Given
+        when(loanAccountRepository.findPrimaryByIdForUpdate(1L)).thenReturn(Optional.of(account(AccountStatus.CLOSED)));
+
+        // When
+        AccountLifecycleService.StatusChangeResult result = accountLifecycleService.changeStatus(1L, AccountStatus.ACTIVE);
+
+        // Then
+        assertEquals(AccountLifecycleService.StatusChangeOutcome.INVALID_TRANSITION, result.getOutcome());
+        verify(loanAccountRepository, never()).save(any(LoanAccount.class));
+        verifyNoInteractions(portfolioSummaryService);
+    }
+
+    @Test
+    void testChangeStatus_UnknownAccount() {
+        when(loanAccountRepository.findPrimaryByIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        assertEquals(AccountLifecycleService.StatusChangeOutcome.NOT_FOUND,
+                accountLifecycleService.changeStatus(99L, AccountStatus.CLOSED).getOutcome());
+    }
+
+    @Test
+    void testArchiveClosedAccounts_RunsBatchesUntilShortBatch() {
+        // Given: two full batches, then a partial one
+        when(loanAccountRepository.archiveClosedAccounts(any(OffsetDateTime.class), eq(500))).thenReturn(500, 500, 42);
+        OffsetDateTime before = OffsetDateTime.now().minusDays(30);
+
+        // When
+        AccountLifecycleService.ArchiveResult result = accountLifecycleService.archiveClosedAccounts();
+
+        // Then
+        assertEquals(1042, result.getAccountsArchived());
+        assertEquals(3, result.getBatches());
+        assertFalse(result.getClosedBefore().isBefore(before)); // Only accounts past the retention period
+        verify(loanAccountRepository, times(3)).archiveClosedAccounts(eq(result.getClosedBefore()), eq(500));
+    }
+
+    private static LoanAccount account(AccountStatus status) {
+        return LoanAccount.builder()
+                .id(1L)
+                .status(status)
+                .principalAmount(new BigDecimal("50000.00"))
+                .interestRate(new BigDecimal("12.00"))
+                .interestAmount(new BigDecimal("120.500000"))
+                .penaltyAmount(BigDecimal.ZERO)
+                .overdueAmount(BigDecimal.ZERO)
+                .build();
+    }
+}
@@ -0,0 +1,198 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSearchServiceTest {
+
+    @Mock
+    private LoanAccountRepository loanAccountRepository;
+
+    private AccountSearchService accountSearchService;
+
+    @BeforeEach
+    void setUp() {
+        accountSearchService = new AccountSearchService(loanAccountRepository, 3, 200, new BigDecimal("2.5"), 92);
+    }
+
+    @Test
+    void testSearch_WithoutIndexedFilter_IsRejectedWithoutQuerying() {
+        // Given: status alone, an open-ended rate range and a two-letter name all leave nothing for an index
+        List<AccountSearchService.SearchCriteria> unindexed = List.of(
+                AccountSearchService.SearchCriteria.builder().status(AccountStatus.ACTIVE).size(20).build(),
+                AccountSearchService.SearchCriteria.builder().minRate(new BigDecimal("5.0")).size(20).build(),
+                AccountSearchService.SearchCriteria.builder().disbursedFrom(LocalDate.of(2024, 1, 1)).size(20).build(),
+                AccountSearchService.SearchCriteria.builder().namePrefix(" Jo ").size(20).build());
+
+        for (AccountSearchService.SearchCriteria criteria : unindexed) {
+            // When
+            AccountSearchService.SearchResult result = accountSearchService.search(criteria);
+
+            // Then
+            assertEquals(AccountSearchService.SearchOutcome.NOT_INDEXED, result.getOutcome(), criteria.toString());
+        }
+        verifyNoInteractions(loanAccountRepository);
+    }
+
+    @Test
+    void testSearch_WithInvertedRangeOrOversizedPage_IsInvalid() {
+        // Given
+        List<AccountSearchService.SearchCriteria> invalid = List.of(
+                AccountSearchService.SearchCriteria.builder()
+                        .minRate(new BigDecimal("9.0")).maxRate(new BigDecimal("5.0")).size(20).build(),
+                AccountSearchService.SearchCriteria.builder()
+                        .disbursedFrom(LocalDate.of(2025, 1, 1)).disbursedTo(LocalDate.of(2024, 1, 1)).size(20).build(),
+                AccountSearchService.SearchCriteria.builder().namePrefix("John").size(201).build());
+
+        for (AccountSearchService.SearchCriteria criteria : invalid) {
+            // When
+            AccountSearchService.SearchResult result = accountSearchService.search(criteria);
+
+            // Then
+            assertEquals(AccountSearchService.SearchOutcome.INVALID_CRITERIA, result.getOutcome(), criteria.toString());
+        }
+        verifyNoInteractions(loanAccountRepository);
+    }
+
+    @Test
+    void testSearch_WithRangeWiderThanTheCap_IsNotIndexedUnlessANameNarrowsIt() {
+        // Given: a rate range of 3 points and a year-long disbursal window, over caps of 2.5 points and 92 days
+        AccountSearchService.SearchCriteria wideRate = AccountSearchService.SearchCriteria.builder()
+                .minRate(new BigDecimal("5.0")).maxRate(new BigDecimal("8.0")).size(20).build();
+        AccountSearchService.SearchCriteria wideWindow = AccountSearchService.SearchCriteria.builder()
+                .disbursedFrom(LocalDate.of(2024, 1, 1)).disbursedTo(LocalDate.of(2024, 12, 31)).size(20).build();
+
+        // When / Then
+        assertEquals(AccountSearchService.SearchOutcome.NOT_INDEXED, accountSearchService.search(wideRate).getOutcome());
+        assertEquals(AccountSearchService.SearchOutcome.NOT_INDEXED, accountSearchService.search(wideWindow).getOutcome());
+        verifyNoInteractions(loanAccountRepository);
+
+        // And a name prefix makes the same range acceptable, paged in id order
+        when(loanAccountRepository.findBy(any(Specification.class), any())).thenReturn(List.of(account(4L)));
+        wideRate.setNamePrefix("Joh");
+        AccountSearchService.SearchResult result = accountSearchService.search(wideRate);
+        assertEquals(AccountSearchService.SearchOutcome.FOUND, result.getOutcome());
+        assertEquals(AccountSearchService.SearchOrder.ID, result.getOrder());
+    }
+
+    @Test
+    void testSearch_QuarterWindowIsPagedByDisbursalDate() {
+        // Given
+        when(loanAccountRepository.findBy(any(Specification.class), any())).thenReturn(List.of(account(4L)));
+
+        // When
+        AccountSearchService.SearchResult result = accountSearchService.search(AccountSearchService.SearchCriteria.builder()
+                .disbursedFrom(LocalDate.of(2024, 1, 1))
+                .disbursedTo(LocalDate.of(2024, 3, 31))
+                .size(1)
+                .build());
+
+        // Then
+        assertEquals(AccountSearchService.SearchOrder.DATE_OF_DISBURSAL, result.getOrder());
+        assertEquals(4L, result.getNextAfterId());
+        assertEquals(LocalDate.of(2024, 6, 1), result.getNextAfterDisbursal());
+    }
+
+    @Test
+    void testSearch_RangeCursorReadsRestOfValueThenTheValuesAfterIt() {
+        // Given: two more accounts at the cursor's rate, then the next rate up
+        when(loanAccountRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(account(12L), account(15L)))
+                .thenReturn(List.of(account(3L)));
+
+        // When
+        AccountSearchService.SearchResult result = accountSearchService.search(AccountSearchService.SearchCriteria.builder()
+                .minRate(new BigDecimal("5.0"))
+                .maxRate(new BigDecimal("7.5"))
+                .afterRate(new BigDecimal("6.0"))
+                .afterId(9L)
+                .size(3)
+                .build());
+
+        // Then
+        assertEquals(List.of(12L, 15L, 3L), result.getAccounts().stream().map(LoanAccount::getId).toList());
+        assertEquals(AccountSearchService.SearchOrder.INTEREST_RATE, result.getOrder());
+        assertEquals(3L, result.getNextAfterId());
+        assertEquals(new BigDecimal("6.0"), result.getNextAfterRate());
+        verify(loanAccountRepository, times(2)).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testSearch_RangeCursorWithoutItsValue_IsInvalid() {
+        // When
+        AccountSearchService.SearchResult result = accountSearchService.search(AccountSearchService.SearchCriteria.builder()
+                .minRate(new BigDecimal("5.0"))
+                .maxRate(new BigDecimal("7.5"))
+                .afterId(9L)
+                .size(20)
+                .build());
+
+        // Then
+        assertEquals(AccountSearchService.SearchOutcome.INVALID_CRITERIA, result.getOutcome());
+        verifyNoInteractions(loanAccountRepository);
+    }
+
+    @Test
+    void testSearch_FullPageReturnsCursorAfterLastId() {
+        // Given
+        when(loanAccountRepository.findBy(any(Specification.class), any())).thenReturn(List.of(account(4L), account(9L)));
+
+        // When
+        AccountSearchService.SearchResult result = accountSearchService.search(AccountSearchService.SearchCriteria.builder()
+                .minRate(new BigDecimal("5.0"))
+                .maxRate(new BigDecimal("7.5"))
+                .status(AccountStatus.ACTIVE)
+                .size(2)
+                .build());
+
+        // Then
+        assertEquals(AccountSearchService.SearchOutcome.FOUND, result.getOutcome());
+        assertEquals(2, result.getAccounts().size());
+        assertEquals(9L, result.getNextAfterId());
+    }
+
+    @Test
+    void testSearch_ShortPageIsTheLast() {
+        // Given
+        when(loanAccountRepository.findBy(any(Specification.class), any())).thenReturn(List.of(account(4L)));
+
+        // When
+        AccountSearchService.SearchResult result = accountSearchService.search(AccountSearchService.SearchCriteria.builder()
+                .namePrefix("Joh")
+                .afterId(3L)
+                .size(20)
+                .build());
+
+        // Then
+        assertEquals(AccountSearchService.SearchOutcome.FOUND, result.getOutcome());
+        assertNull(result.getNextAfterId());
+    }
+
+    private static LoanAccount account(long id) {
+        return LoanAccount.builder()
+                .id(id)
+                .accountHolderName("John Doe")
+                .principalAmount(new BigDecimal("10000.00"))
+                .interestRate(new BigDecimal("6.0"))
+                .interestAmount(BigDecimal.ZERO)
+                .dateOfDisbursal(LocalDate.of(2024, 6, 1))
+                .build();
+    }
+}
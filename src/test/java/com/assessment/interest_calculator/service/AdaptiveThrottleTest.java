@@ -0,0 +1,134 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdaptiveThrottleTest {
+    private static final long FAST_COMMIT = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW_COMMIT = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * A throttle that is active around the clock: the night window is empty.
+     */
+    private AdaptiveThrottle alwaysActive(double minRate, double maxRate) {
+        return new AdaptiveThrottle(meterRegistry, true, 200, 0, minRate, maxRate, 1, 0.5, "00:00", "00:00", "UTC");
+    }
+
+    @Test
+    void fastCommitsRaiseRateAdditivelyUpToMax() {
+        // Given
+        AdaptiveThrottle throttle = alwaysActive(1, 4);
+
+        // When / Then
+        throttle.afterWrite(FAST_COMMIT);
+        assertEquals(2.0, throttle.getRate());
+        throttle.afterWrite(FAST_COMMIT);
+        throttle.afterWrite(FAST_COMMIT);
+        throttle.afterWrite(FAST_COMMIT);
+        assertEquals(4.0, throttle.getRate());
+    }
+
+    @Test
+    void slowCommitHalvesRateDownToMin() {
+        // Given
+        AdaptiveThrottle throttle = alwaysActive(1, 50);
+        for (int i = 0; i < 15; i++) {
+            throttle.afterWrite(FAST_COMMIT);
+        }
+        assertEquals(16.0, throttle.getRate());
+
+        // When / Then
+        throttle.afterWrite(SLOW_COMMIT);
+        assertEquals(8.0, throttle.getRate());
+        for (int i = 0; i < 10; i++) {
+            throttle.afterWrite(SLOW_COMMIT);
+        }
+        assertEquals(1.0, throttle.getRate());
+        assertEquals(11.0, meterRegistry.counter("interest.throttle.decreases").count());
+    }
+
+    @Test
+    void poolWaitersBackOffEvenWhenCommitsAreFast() {
+        // Given: API requests queueing for a connection
+        AtomicInteger pending = new AtomicInteger();
+        Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).tag("pool", "primary").register(meterRegistry);
+        AdaptiveThrottle throttle = alwaysActive(1, 50);
+        throttle.afterWrite(FAST_COMMIT);
+        throttle.afterWrite(FAST_COMMIT);
+        assertEquals(3.0, throttle.getRate());
+
+        // When
+        pending.set(4);
+        throttle.afterWrite(FAST_COMMIT);
+
+        // Then
+        assertEquals(1.5, throttle.getRate());
+    }
+
+    @Test
+    void beforeWritePacesToCurrentRate() {
+        // Given: 20 chunks/s, i.e. one write every 50 ms
+        AdaptiveThrottle throttle = alwaysActive(20, 20);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            throttle.beforeWrite();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then: the first write goes at once, the next four wait 50 ms each
+        assertTrue(elapsedMs >= 190, "elapsed " + elapsedMs + " ms");
+    }
+
+    @Test
+    void nightWindowWrapsMidnight() {
+        AdaptiveThrottle throttle = new AdaptiveThrottle(meterRegistry, true, 200, 0, 1, 50, 1, 0.5, "22:00", "06:00", "UTC");
+
+        assertTrue(throttle.isNight(LocalTime.of(23, 59)));
+        assertTrue(throttle.isNight(LocalTime.of(0, 30)));
+        assertTrue(throttle.isNight(LocalTime.of(22, 0)));
+        assertFalse(throttle.isNight(LocalTime.of(6, 0)));
+        assertFalse(throttle.isNight(LocalTime.of(14, 0)));
+    }
+
+    @Test
+    void nightWindowIsReadInTheThrottleZoneForEveryBucket() {
+        AdaptiveThrottle throttle = new AdaptiveThrottle(meterRegistry, true, 200, 0, 1, 50, 1, 0.5, "20:00", "06:00", "Asia/Kolkata");
+
+        // The London and Tokyo cutoffs fall in the Indian night, the New York one in the Indian morning
+        assertTrue(throttle.isNight(ZonedDateTime.of(2026, 1, 31, 23, 59, 0, 0, ZoneId.of("Europe/London")).toInstant()));
+        assertTrue(throttle.isNight(ZonedDateTime.of(2026, 1, 31, 23, 59, 0, 0, ZoneId.of("Asia/Tokyo")).toInstant()));
+        assertFalse(throttle.isNight(ZonedDateTime.of(2026, 1, 31, 23, 59, 0, 0, ZoneId.of("America/New_York")).toInstant()));
+    }
+
+    @Test
+    void disabledThrottleNeverPacesOrAdapts() {
+        // Given
+        AdaptiveThrottle throttle = AdaptiveThrottle.unthrottled(meterRegistry);
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            throttle.beforeWrite();
+            throttle.afterWrite(SLOW_COMMIT);
+        }
+
+        // Then
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+        assertFalse(throttle.isActive());
+        assertEquals(0.0, meterRegistry.counter("interest.throttle.decreases").count());
+    }
+}
@@ -0,0 +1,294 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+class ChunkExecutorTest {
+
+    /**
+     * Buffers writes per transaction and only keeps them when the callback returns normally.
+     */
+    private static final class FakeTransactions implements TransactionOperations {
+        private final List<Integer> committed = new ArrayList<>();
+        private final List<Integer> pending = new ArrayList<>();
+        private int transactions;
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            transactions++;
+            pending.clear();
+            T result = action.doInTransaction(null);
+            committed.addAll(pending);
+            return result;
+        }
+    }
+
+    /**
+     * Doubles integers; items in {@code badWrites} fail to write, items in {@code badProcess} fail to process.
+     */
+    private static class DoublingStep implements ChunkExecutor.ChunkStep<Integer, Integer> {
+        private final FakeTransactions tx;
+        private final List<Integer> source;
+        private final Set<Integer> badProcess;
+        private final Set<Integer> badWrites;
+        private final List<Integer> afterCommit = new ArrayList<>();
+        private final List<Integer> processErrors = new ArrayList<>();
+        private final List<Integer> writeErrors = new ArrayList<>();
+        private final List<Integer> reads = new ArrayList<>();
+        private int position;
+
+        DoublingStep(FakeTransactions tx, int items, Set<Integer> badProcess, Set<Integer> badWrites) {
+            this.tx = tx;
+            this.source = IntStream.rangeClosed(1, items).boxed().toList();
+            this.badProcess = badProcess;
+            this.badWrites = badWrites;
+        }
+
+        @Override
+        public List<Integer> read(int max) {
+            if (position >= source.size()) {
+                return null;
+            }
+            List<Integer> chunk = source.subList(position, Math.min(position + max, source.size()));
+            position += chunk.size();
+            reads.add(chunk.size());
+            return chunk;
+        }
+
+        @Override
+        public Integer process(Integer item) {
+            if (badProcess.contains(item)) {
+                throw new IllegalArgumentException("cannot process " + item);
+            }
+            return item * 2;
+        }
+
+        @Override
+        public void write(List<Integer> items) {
+            for (Integer item : items) {
+                if (badWrites.contains(item)) {
+                    throw new IllegalStateException("cannot write " + item);
+                }
+                tx.pending.add(item);
+            }
+        }
+
+        @Override
+        public void afterCommit(List<Integer> items) {
+            afterCommit.addAll(items);
+        }
+
+        @Override
+        public void onProcessError(int batchId, Integer item, Exception e) {
+            processErrors.add(item);
+        }
+
+        @Override
+        public void onWriteError(int batchId, Integer item, Exception e) {
+            writeErrors.add(item);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void commitsOneTransactionPerChunk(boolean pipelined) {
+        // Given
+        FakeTransactions tx = new FakeTransactions();
+        DoublingStep step = new DoublingStep(tx, 250, Set.of(), Set.of());
+
+        // When
+        ChunkExecutor.ChunkStats stats = executor(tx, 100, pipelined).execute("TEST", new AtomicInteger(), step);
+
+        // Then
+        assertEquals(List.of(100, 100, 50), step.reads);
+        assertEquals(3, tx.transactions);
+        assertEquals(3, stats.getCommits());
+        assertEquals(250, stats.getItemsWritten());
+        assertEquals(250, tx.committed.size());
+        assertEquals(tx.committed, step.afterCommit);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void failedWriteIsSplitOutWithoutLosingTheRestOfTheChunk(boolean pipelined) {
+        // Given: item 37 (written as 74) cannot be written
+        FakeTransactions tx = new FakeTransactions();
+        DoublingStep step = new DoublingStep(tx, 100, Set.of(), Set.of(74));
+
+        // When
+        ChunkExecutor.ChunkStats stats = executor(tx, 100, pipelined).execute("TEST", new AtomicInteger(), step);
+
+        // Then: everything else is committed, in a handful of transactions rather than one per item
+        assertEquals(List.of(74), step.writeErrors);
+        assertEquals(99, tx.committed.size());
+        assertFalse(tx.committed.contains(74));
+        assertEquals(99, stats.getItemsWritten());
+        assertEquals(1, stats.getItemsSkipped());
+        assertTrue(tx.transactions <= 2 * 7 + 1, "transactions: " + tx.transactions);
+        assertEquals(tx.transactions, stats.getCommits() + stats.getRollbacks());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void failedProcessSkipsOnlyThatItem(boolean pipelined) {
+        // Given
+        FakeTransactions tx = new FakeTransactions();
+        DoublingStep step = new DoublingStep(tx, 10, Set.of(3), Set.of());
+
+        // When
+        ChunkExecutor.ChunkStats stats = executor(tx, 100, pipelined).execute("TEST", new AtomicInteger(), step);
+
+        // Then
+        assertEquals(List.of(3), step.processErrors);
+        assertEquals(9, tx.committed.size());
+        assertEquals(1, tx.transactions);
+        assertEquals(1, stats.getItemsSkipped());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void batchIdsContinueAcrossSteps(boolean pipelined) {
+        // Given
+        FakeTransactions tx = new FakeTransactions();
+        ChunkExecutor executor = executor(tx, 10, pipelined);
+        AtomicInteger batchIds = new AtomicInteger();
+
+        // When
+        executor.execute("MAIN", batchIds, new DoublingStep(tx, 25, Set.of(), Set.of()));
+        executor.execute("RETRY", batchIds, new DoublingStep(tx, 5, Set.of(), Set.of()));
+
+        // Then
+        assertEquals(4, batchIds.get());
+    }
+
+    @Test
+    void chunksOfListEndsWithNull() {
+        var reader = ChunkExecutor.chunksOf(List.of(1, 2, 3, 4, 5));
+
+        assertEquals(List.of(1, 2), reader.apply(2));
+        assertEquals(List.of(3, 4), reader.apply(2));
+        assertEquals(List.of(5), reader.apply(2));
+        assertNull(reader.apply(2));
+    }
+
+    @Test
+    void rejectsCommitIntervalBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChunkExecutor(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(),
+                        AdaptiveThrottle.unthrottled(new SimpleMeterRegistry()), 0, true, 1));
+    }
+
+    @Test
+    @Timeout(10)
+    void pipelineOverlapsFetchAndWrite() {
+        // Given: reads and writes that each take 40 ms per chunk
+        FakeTransactions tx = new FakeTransactions();
+        DoublingStep step = new SlowStep(tx, 80, 40);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        // When
+        ChunkExecutor.ChunkStats stats = new ChunkExecutor(tx, meterRegistry, AdaptiveThrottle.unthrottled(meterRegistry), 10, true, 1).execute("TEST", new AtomicInteger(), step);
+
+        // Then: wall-clock time is well under the sum of the stages, and both slow stages show as busy
+        long busy = stats.getFetchNanos() + stats.getComputeNanos() + stats.getWriteNanos();
+        assertEquals(80, tx.committed.size());
+        assertTrue(stats.getWallNanos() < busy * 0.75, "wall " + stats.getWallNanos() + " ns, busy " + busy + " ns");
+        assertTrue(meterRegistry.get("interest.chunk.stage.utilization").tag("stage", "write").gauge().value() > 0.6);
+        assertEquals(8, meterRegistry.get("interest.chunk.stage.busy").tag("stage", "fetch").timer().count());
+    }
+
+    @Test
+    @Timeout(10)
+    void pipelineReportsReaderFailureAfterWritingEarlierChunks() {
+        // Given: the third read fails
+        FakeTransactions tx = new FakeTransactions();
+        DoublingStep step = new DoublingStep(tx, 100, Set.of(), Set.of()) {
+            private int reads;
+
+            @Override
+            public List<Integer> read(int max) {
+                if (++reads == 3) {
+                    throw new IllegalStateException("connection reset");
+                }
+                return super.read(max);
+            }
+        };
+
+        // When
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> executor(tx, 10, true).execute("TEST", new AtomicInteger(), step));
+
+        // Then
+        assertEquals("connection reset", e.getMessage());
+        assertEquals(20, tx.committed.size());
+    }
+
+    @Test
+    @Timeout(10)
+    void pipelineReportsWriterFailureWithoutBlockingTheOtherStages() {
+        // Given: afterCommit fails on the first chunk, while the fetch stage has plenty left to read
+        FakeTransactions tx = new FakeTransactions();
+        DoublingStep step = new DoublingStep(tx, 1000, Set.of(), Set.of()) {
+            @Override
+            public void afterCommit(List<Integer> items) {
+                throw new IllegalStateException("rollup unavailable");
+            }
+        };
+
+        // When / Then
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> executor(tx, 10, true).execute("TEST", new AtomicInteger(), step));
+        assertEquals("rollup unavailable", e.getMessage());
+    }
+
+    private static ChunkExecutor executor(FakeTransactions tx, int commitInterval, boolean pipelined) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new ChunkExecutor(tx, meterRegistry, AdaptiveThrottle.unthrottled(meterRegistry), commitInterval, pipelined, 1);
+    }
+
+    /**
+     * Sleeps in read and write, to stand in for database round trips.
+     */
+    private static class SlowStep extends DoublingStep {
+        private final long delayMs;
+
+        SlowStep(FakeTransactions tx, int items, long delayMs) {
+            super(tx, items, Set.of(), Set.of());
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public List<Integer> read(int max) {
+            sleep();
+            return super.read(max);
+        }
+
+        @Override
+        public void write(List<Integer> items) {
+            sleep();
+            super.write(items);
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.interest_calculator.entity.DayCountConvention;
+
+class DayCountTableTest {
+
+    @Test
+    void testThirty360_EveryMonthSumsToThirtyDays() {
+        for (YearMonth month = YearMonth.of(2023, 1); month.isBefore(YearMonth.of(2025, 1)); month = month.plusMonths(1)) {
+            int days = 0;
+            for (LocalDate date = month.atDay(1); !date.isAfter(month.atEndOfMonth()); date = date.plusDays(1)) {
+                days += DayCountConvention.THIRTY_360.accrualDays(date);
+            }
+            assertEquals(30, days, "days counted in " + month);
+        }
+    }
+
+    @Test
+    void testThirty360_MonthEndAdjustments() {
+        assertEquals(0, DayCountConvention.THIRTY_360.accrualDays(LocalDate.of(2024, 1, 30)));
+        assertEquals(1, DayCountConvention.THIRTY_360.accrualDays(LocalDate.of(2024, 1, 31)));
+        assertEquals(2, DayCountConvention.THIRTY_360.accrualDays(LocalDate.of(2024, 2, 29)));
+        assertEquals(3, DayCountConvention.THIRTY_360.accrualDays(LocalDate.of(2023, 2, 28)));
+    }
+
+    @Test
+    void testActAct_UsesLengthOfYear() {
+        assertEquals(366, DayCountConvention.ACT_ACT.yearBasis(LocalDate.of(2024, 12, 31)));
+        assertEquals(365, DayCountConvention.ACT_ACT.yearBasis(LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void testFraction_LegacyBasisForAccountsWithoutConvention() {
+        DayCountTable table = DayCountTable.build(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 365);
+
+        assertEquals(DayFraction.of(1, 365), table.fraction(null, LocalDate.of(2024, 1, 15)));
+        assertEquals(DayFraction.of(1, 360), table.fraction(DayCountConvention.ACT_360, LocalDate.of(2024, 1, 15)));
+    }
+
+    @Test
+    void testFraction_OutsideRangeIsDerived() {
+        DayCountTable table = DayCountTable.build(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 365);
+
+        assertEquals(DayFraction.of(1, 365), table.fraction(DayCountConvention.ACT_ACT, LocalDate.of(2025, 6, 1)));
+        assertEquals(DayFraction.of(2, 360), table.fraction(DayCountConvention.THIRTY_360, LocalDate.of(2024, 2, 29)));
+    }
+
+    @Test
+    void testHistogram_GroupsDaysByFraction() {
+        DayCountTable table = DayCountTable.build(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 365);
+
+        Map<DayFraction, Integer> february = table.histogram(DayCountConvention.THIRTY_360,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        assertEquals(Map.of(DayFraction.of(1, 360), 28, DayFraction.of(2, 360), 1), february);
+
+        Map<DayFraction, Integer> legacy = table.histogram(null, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        assertEquals(Map.of(DayFraction.of(1, 365), 29), legacy);
+    }
+}
@@ -2,24 +2,47 @@ package com.assessment.interest_calculator.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.DayCountConvention;
 import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.PostingType;
+import com.assessment.interest_calculator.entity.RateSchedule;
+import com.assessment.interest_calculator.entity.RateBand;
 import com.assessment.interest_calculator.repository.LoanAccountRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,14 +51,33 @@ class InterestServiceTest {
     @Mock
     private LoanAccountRepository loanAccountRepository;
 
+    @Mock
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @Mock
+    private RateScheduleService rateScheduleService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private PostingService postingService;
+
     private InterestService interestService;
+    private SimpleMeterRegistry meterRegistry;
 
     private static final int DAY_COUNT_BASIS = 365;
+    private static final BigDecimal DEFAULT_PENAL_RATE = new BigDecimal("2.0");
+    private static final int RETRY_MAX_ATTEMPTS = 3;
     private static final String ZONE_ID = "Asia/Kolkata";
 
     @BeforeEach
     void setUp() {
-        interestService = new InterestService(loanAccountRepository, DAY_COUNT_BASIS, ZONE_ID);
+        meterRegistry = new SimpleMeterRegistry();
+        ChunkExecutor chunkExecutor = new ChunkExecutor(TransactionOperations.withoutTransaction(), meterRegistry,
+                AdaptiveThrottle.unthrottled(meterRegistry), 100, true, 1);
+        interestService = new InterestService(loanAccountRepository, portfolioSummaryService, rateScheduleService, productService, postingService,
+                chunkExecutor, meterRegistry, DAY_COUNT_BASIS, DEFAULT_PENAL_RATE, RETRY_MAX_ATTEMPTS, 0L, ZONE_ID, false);
     }
 
     @Test
@@ -199,28 +241,34 @@ class InterestServiceTest {
     }
 
     @Test
-    void testApplyMonthEndInterest_ProcessesAllAccounts() {
-        // Given
-        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
-
-        LoanAccount account1 = LoanAccount.builder()
+    void testApplyAccruedInterestToPrincipal_LeavesPenaltyUncapitalized() {
+        // Given: an account carrying both accrued interest and penal charges
+        LoanAccount account = LoanAccount.builder()
                 .id(1L)
                 .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("10.00"))
                 .interestAmount(new BigDecimal("821.917800"))
+                .penaltyAmount(new BigDecimal("65.753420"))
+                .overdueAmount(new BigDecimal("10000.00"))
                 .build();
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        LoanAccount account2 = LoanAccount.builder()
-                .id(2L)
-                .principalAmount(new BigDecimal("50000.00"))
-                .interestAmount(new BigDecimal("410.958900"))
-                .build();
+        // When
+        interestService.applyAccruedInterestToPrincipal(account);
 
-        List<LoanAccount> accounts = Arrays.asList(account1, account2);
-        Page<LoanAccount> page = new PageImpl<>(accounts, PageRequest.of(0, 100), 2);
+        // Then: only interest moves into principal
+        assertEquals(new BigDecimal("100821.917800"), account.getPrincipalAmount());
+        assertEquals(new BigDecimal("65.753420"), account.getPenaltyAmount());
+    }
 
-        when(loanAccountRepository.count()).thenReturn(2L);
-        when(loanAccountRepository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    void testApplyMonthEndInterest_ProcessesAllAccounts() {
+        // Given: the set-based capitalization returns the two accounts holding accrued interest
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+
+        when(loanAccountRepository.capitalizeAccruedInterest(0L, 1000)).thenReturn(List.of(
+                capitalized(1L, "4.00", "821.917800"),
+                capitalized(2L, "4.50", "410.958900")));
 
         // When
         InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(monthEnd);
@@ -231,7 +279,40 @@ class InterestServiceTest {
         assertEquals(0, result.getFailedAccounts());
         assertEquals(new BigDecimal("1232.876700"), result.getTotalInterestApplied());
 
-        verify(loanAccountRepository, times(2)).save(any(LoanAccount.class));
+        // Accounts are neither counted nor hydrated one by one
+        verify(loanAccountRepository, never()).count();
+        verify(loanAccountRepository, never()).findAll(any(PageRequest.class));
+        verify(loanAccountRepository, never()).save(any(LoanAccount.class));
+
+        // The chunk pushes one capitalization delta to the portfolio rollup
+        ArgumentCaptor<PortfolioDelta> deltaCaptor = ArgumentCaptor.forClass(PortfolioDelta.class);
+        verify(portfolioSummaryService).apply(deltaCaptor.capture());
+        PortfolioDelta.BandDelta band = deltaCaptor.getValue().getBands().get(RateBand.BELOW_5);
+        assertEquals(new BigDecimal("1232.876700"), band.getPrincipal());
+        assertEquals(new BigDecimal("-1232.876700"), band.getInterest());
+        assertEquals(0, band.getAccountCount());
+    }
+
+    @Test
+    void testApplyMonthEndInterest_ContinuesAfterLastCapitalizedIdUntilShortChunk() {
+        // Given: a full first chunk followed by a short one
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+        List<LoanAccountRepository.CapitalizedInterest> fullChunk = new ArrayList<>();
+        for (long id = 1000; id >= 1; id--) { // RETURNING order is not guaranteed
+            fullChunk.add(capitalized(id * 2, "10.00", "1.000000"));
+        }
+
+        when(loanAccountRepository.capitalizeAccruedInterest(0L, 1000)).thenReturn(fullChunk);
+        when(loanAccountRepository.capitalizeAccruedInterest(2000L, 1000)).thenReturn(List.of(capitalized(2001L, "10.00", "2.500000")));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(monthEnd);
+
+        // Then
+        assertEquals(1001, result.getTotalAccountsProcessed());
+        assertEquals(new BigDecimal("1002.500000"), result.getTotalInterestApplied());
+        verify(loanAccountRepository, times(2)).capitalizeAccruedInterest(anyLong(), anyInt());
+        verify(portfolioSummaryService, times(2)).apply(any(PortfolioDelta.class));
     }
 
     @Test
@@ -317,7 +398,7 @@ class InterestServiceTest {
 
     @Test
     void testApplyMonthEndInterest_HandlesExceptions() {
-        // Given
+        // Given: the set-based statement fails, and so does the single-account fallback for the only account
         LocalDate monthEnd = LocalDate.of(2024, 1, 31);
 
         LoanAccount failingAccount = LoanAccount.builder()
@@ -326,10 +407,8 @@ class InterestServiceTest {
                 .interestAmount(new BigDecimal("821.917800"))
                 .build();
 
-        Page<LoanAccount> page = new PageImpl<>(Arrays.asList(failingAccount), PageRequest.of(0, 100), 1);
-
-        when(loanAccountRepository.count()).thenReturn(1L);
-        when(loanAccountRepository.findAll(any(PageRequest.class))).thenReturn(page);
+        when(loanAccountRepository.capitalizeAccruedInterest(0L, 1000)).thenThrow(new RuntimeException("numeric field overflow"));
+        when(loanAccountRepository.findAccountsWithAccruedInterest(eq(0L), any(PageRequest.class))).thenReturn(List.of(failingAccount));
         when(loanAccountRepository.save(any(LoanAccount.class))).thenThrow(new RuntimeException("Database error"));
 
         // When
@@ -340,4 +419,643 @@ class InterestServiceTest {
         assertEquals(1, result.getFailedAccounts());
         assertEquals(BigDecimal.ZERO, result.getTotalInterestApplied());
     }
+
+    @Test
+    void testApplyMonthEndInterest_FallbackCapitalizesHealthyAccountsOfFailedChunk() {
+        // Given: the set-based statement fails for the chunk, one of its accounts is still capitalizable on its own
+        LocalDate monthEnd = LocalDate.of(2024, 1, 31);
+        LoanAccount healthy = LoanAccount.builder()
+                .id(7L)
+                .principalAmount(new BigDecimal("50000.00"))
+                .interestRate(new BigDecimal("12.00"))
+                .interestAmount(new BigDecimal("410.958900"))
+                .build();
+
+        when(loanAccountRepository.capitalizeAccruedInterest(0L, 1000)).thenThrow(new RuntimeException("deadlock detected"));
+        when(loanAccountRepository.findAccountsWithAccruedInterest(eq(0L), any(PageRequest.class))).thenReturn(List.of(healthy));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(monthEnd);
+
+        // Then
+        assertEquals(1, result.getTotalAccountsProcessed());
+        assertEquals(0, result.getFailedAccounts());
+        assertEquals(new BigDecimal("50410.958900"), healthy.getPrincipalAmount());
+        assertEquals(BigDecimal.ZERO, healthy.getInterestAmount());
+    }
+
+    @Test
+    void testApplyDailyInterest_UsesScheduledRateForBusinessDate() {
+        // Given: a floating-rate product reset to 12% on Jan 10 and an account priced at 10% on its own row
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        LoanAccount floating = LoanAccount.builder()
+                .id(1L)
+                .productCode("FLOAT-1")
+                .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(BigDecimal.ZERO)
+                .build();
+        LoanAccount fixed = LoanAccount.builder()
+                .id(2L)
+                .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(BigDecimal.ZERO)
+                .build();
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.of(List.of(
+                RateSchedule.builder()
+                        .productCode("FLOAT-1").effectiveFrom(LocalDate.of(2024, 1, 10)).interestRate(new BigDecimal("12.00")).build())));
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(2L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(floating, fixed));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then: (100000 * 0.12) / 365 = 32.876712 for the floating account, 27.397260 for the fixed one
+        assertEquals(new BigDecimal("32.876712"), floating.getInterestAmount());
+        assertEquals(new BigDecimal("27.397260"), fixed.getInterestAmount());
+        assertEquals(new BigDecimal("60.273972"), result.getTotalInterestApplied());
+        assertEquals(new BigDecimal("10.00"), floating.getInterestRate()); // The account row itself is not repriced
+        verify(rateScheduleService, times(1)).loadIndex(forDate);
+    }
+
+    @Test
+    void testApplyDailyInterest_FoldsPendingRepaymentsBeforeAccruing() {
+        // Given: a repayment of 5000 received during the day for an account with 200 of accrued interest
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        LoanAccount account = LoanAccount.builder()
+                .id(1L)
+                .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("12.00"))
+                .interestAmount(new BigDecimal("200.000000"))
+                .build();
+        AccountPosting repayment = AccountPosting.builder()
+                .id(10L)
+                .accountId(1L)
+                .type(PostingType.REPAYMENT)
+                .amount(new BigDecimal("5000.000000"))
+                .valueDate(forDate)
+                .build();
+
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(1L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(account));
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(postingService.loadPending(List.of(1L), forDate)).thenReturn(Map.of(1L, List.of(repayment)));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then: interest is paid off first, the rest reduces principal, and today's interest accrues on 95200
+        assertEquals(new BigDecimal("95200.000000"), account.getPrincipalAmount());
+        assertEquals(new BigDecimal("31.298630"), account.getInterestAmount()); // 95200 * 0.12 / 365
+        assertNotNull(repayment.getAppliedAt());
+        assertEquals(new BigDecimal("5000.000000"), result.getTotalRepaymentsApplied());
+
+        // Account and postings are written together, not through the plain account save
+        verify(postingService).saveFolded(account, List.of(repayment));
+        verify(loanAccountRepository, never()).save(any(LoanAccount.class));
+
+        ArgumentCaptor<PortfolioDelta> deltaCaptor = ArgumentCaptor.forClass(PortfolioDelta.class);
+        verify(portfolioSummaryService).apply(deltaCaptor.capture());
+        PortfolioDelta.BandDelta band = deltaCaptor.getValue().getBands().get(RateBand.FROM_10_TO_15);
+        assertEquals(new BigDecimal("-4800.000000"), band.getPrincipal());
+        assertEquals(new BigDecimal("-168.701370"), band.getInterest()); // -200 repaid + 31.298630 accrued
+    }
+
+    @Test
+    void testApplyDailyInterest_AccruesPenaltyOnOverdueAmountInSamePass() {
+        // Given: one account with its own 24% penal rate, one on the 2% default, one not in default
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        LoanAccount ownRate = penaltyAccount(1L, "10000.00", new BigDecimal("24.00"));
+        LoanAccount defaultRate = penaltyAccount(2L, "36500.00", null);
+        LoanAccount current = penaltyAccount(3L, "0", null);
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(3L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(ownRate, defaultRate, current));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then: penal charges accrue on the overdue amount only, into their own ledger
+        assertEquals(new BigDecimal("6.575342"), ownRate.getPenaltyAmount());     // 10000 * 0.24 / 365
+        assertEquals(new BigDecimal("2.000000"), defaultRate.getPenaltyAmount()); // 36500 * 0.02 / 365
+        assertEquals(0, current.getPenaltyAmount().signum());
+        assertEquals(new BigDecimal("8.575342"), result.getTotalPenaltyApplied());
+
+        // Interest is unaffected: (100000 * 0.10) / 365 on every account
+        assertEquals(new BigDecimal("27.397260"), ownRate.getInterestAmount());
+        assertEquals(new BigDecimal("82.191780"), result.getTotalInterestApplied());
+
+        // Same single pass and a single write per account
+        verify(loanAccountRepository, times(1)).findAccountsNeedingInterestApplicationAfter(eq(forDate), anyLong(), any(PageRequest.class));
+        verify(loanAccountRepository, times(3)).save(any(LoanAccount.class));
+    }
+
+    @Test
+    void testApplyDailyInterest_ZoneBucketSelectsByLocalDayAndStampsWithinIt() {
+        // Given: a New York bucket accrued for a past date, so the run finishes after that date has ended there
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        ZoneId newYork = ZoneId.of("America/New_York");
+        OffsetDateTime dayStart = OffsetDateTime.parse("2024-01-15T00:00-05:00");
+        LoanAccount account = LoanAccount.builder()
+                .id(1L)
+                .timeZone("America/New_York")
+                .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(BigDecimal.ZERO)
+                .build();
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplicationInZone("America/New_York", false, 0, 1, dayStart)).thenReturn(1L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationInZoneAfter(eq("America/New_York"), eq(false), eq(0), eq(1), eq(dayStart), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(account));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate, newYork);
+
+        // Then: the stamp is the last instant of the business date in New York, so the next day's run still selects the account
+        assertEquals("America/New_York", result.getZone());
+        assertEquals(new BigDecimal("27.397260"), account.getInterestAmount());
+        assertEquals(OffsetDateTime.parse("2024-01-16T00:00-05:00").minusNanos(1000).toInstant(),
+                account.getLastInterestAppliedAt().toInstant());
+        verify(loanAccountRepository, never()).findAccountsNeedingInterestApplicationAfter(any(), anyLong(), any());
+        assertEquals(1, meterRegistry.get("interest.accrual.bucket").tag("zone", "America/New_York").timer().count());
+        assertEquals(1.0, meterRegistry.get("interest.accrual.bucket.accounts").tag("zone", "America/New_York").counter().count());
+    }
+
+    @Test
+    void testApplyDailyInterest_DefaultZoneBucketIncludesAccountsWithoutZone() {
+        // Given
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        OffsetDateTime dayStart = OffsetDateTime.parse("2024-01-15T00:00+05:30");
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationInZoneAfter(eq(ZONE_ID), eq(true), eq(0), eq(1), eq(dayStart), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of());
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate, ZoneId.of(ZONE_ID));
+
+        // Then
+        assertEquals(0, result.getTotalAccountsProcessed());
+        verify(loanAccountRepository).countAccountsNeedingInterestApplicationInZone(ZONE_ID, true, 0, 1, dayStart);
+    }
+
+    @Test
+    void testApplyDailyInterest_HashBucketNarrowsZoneBucket() {
+        // Given
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        OffsetDateTime dayStart = OffsetDateTime.parse("2024-01-15T00:00+05:30");
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationInZoneAfter(eq(ZONE_ID), eq(true), eq(5), eq(24), eq(dayStart), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of());
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate, ZoneId.of(ZONE_ID), 5, 24);
+
+        // Then
+        assertEquals(5, result.getHashBucket());
+        verify(loanAccountRepository).countAccountsNeedingInterestApplicationInZone(ZONE_ID, true, 5, 24, dayStart);
+        assertThrows(IllegalArgumentException.class, () -> interestService.applyDailyInterest(forDate, ZoneId.of(ZONE_ID), 24, 24));
+    }
+
+    @Test
+    void testAccrualZones_DefaultZoneFirstAndUnknownZonesSkipped() {
+        // Given
+        when(loanAccountRepository.findActiveTimeZones()).thenReturn(List.of("Europe/London", "Mars/Olympus_Mons", ZONE_ID));
+
+        // When
+        Set<ZoneId> zones = interestService.accrualZones();
+
+        // Then
+        assertEquals(List.of(ZoneId.of(ZONE_ID), ZoneId.of("Europe/London")), List.copyOf(zones));
+    }
+
+    @Test
+    void testApplyDailyInterest_ConflictIsRetriedAfterMainBatch() {
+        // Given: account 1 loses a version race on its first write; account 2 is written normally
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        LoanAccount stale = retryAccount(1L);
+        LoanAccount other = retryAccount(2L);
+        LoanAccount reread = retryAccount(1L);
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(2L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(stale, other));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == stale) {
+                throw new ObjectOptimisticLockingFailureException(LoanAccount.class, 1L);
+            }
+            return invocation.getArgument(0);
+        });
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L))).thenReturn(List.of(reread));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then: the conflict did not cost the account its accrual day
+        assertEquals(2, result.getTotalAccountsProcessed());
+        assertEquals(0, result.getFailedAccounts());
+        assertEquals(1, result.getOptimisticLockConflicts());
+        assertEquals(new BigDecimal("27.397260"), reread.getInterestAmount());
+        assertEquals(1.0, meterRegistry.counter("interest.accrual.conflicts", "phase", "main").count());
+
+        // and the main batch was not held up: account 2 was written before the retry re-read
+        InOrder inOrder = inOrder(loanAccountRepository);
+        inOrder.verify(loanAccountRepository).save(other);
+        inOrder.verify(loanAccountRepository).findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L));
+    }
+
+    @Test
+    void testApplyDailyInterest_ConflictRetriesAreBounded() {
+        // Given: every write of account 1 conflicts
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(1L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(retryAccount(1L)));
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L)))
+                .thenAnswer(invocation -> List.of(retryAccount(1L)));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenThrow(new ObjectOptimisticLockingFailureException(LoanAccount.class, 1L));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then: one main-pass conflict plus one per retry round, then the account is reported as failed
+        assertEquals(1, result.getFailedAccounts());
+        assertEquals(1 + RETRY_MAX_ATTEMPTS, result.getOptimisticLockConflicts());
+        verify(loanAccountRepository, times(RETRY_MAX_ATTEMPTS)).findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L));
+        assertEquals(RETRY_MAX_ATTEMPTS, meterRegistry.counter("interest.accrual.conflicts", "phase", "retry").count());
+        assertEquals(1.0, meterRegistry.counter("interest.accrual.conflicts.exhausted").count());
+    }
+
+    @Test
+    void testApplyDailyInterest_ConflictedAccountNoLongerEligibleIsDropped() {
+        // Given: the conflicting writer closed the account, so the re-check no longer returns it
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(1L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(retryAccount(1L)));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenThrow(new ObjectOptimisticLockingFailureException(LoanAccount.class, 1L));
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L))).thenReturn(List.of());
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then
+        assertEquals(0, result.getFailedAccounts());
+        assertEquals(1, result.getOptimisticLockConflicts());
+        verify(loanAccountRepository, times(1)).findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L));
+    }
+
+    @Test
+    void testApplyDailyInterest_MixedDayCountConventionsInOnePass() {
+        // Given: Feb 29 2024 under four conventions, one of them inherited from the product
+        LocalDate forDate = LocalDate.of(2024, 2, 29);
+        LoanAccount act365 = conventionAccount(1L, DayCountConvention.ACT_365_FIXED, null);
+        LoanAccount act360 = conventionAccount(2L, DayCountConvention.ACT_360, null);
+        LoanAccount actAct = conventionAccount(3L, null, "ISDA-PRODUCT");
+        LoanAccount thirty360 = conventionAccount(4L, DayCountConvention.THIRTY_360, null);
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(productService.loadDayCountConventions()).thenReturn(java.util.Map.of("ISDA-PRODUCT", DayCountConvention.ACT_ACT));
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(4L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(Arrays.asList(act365, act360, actAct, thirty360));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        interestService.applyDailyInterest(forDate);
+
+        // Then: annual interest is 36500
+        assertEquals(new BigDecimal("100.000000"), act365.getInterestAmount());   // 36500 / 365
+        assertEquals(new BigDecimal("101.388889"), act360.getInterestAmount());   // 36500 / 360
+        assertEquals(new BigDecimal("99.726776"), actAct.getInterestAmount());    // 36500 / 366 (leap year)
+        assertEquals(new BigDecimal("202.777778"), thirty360.getInterestAmount()); // 36500 * 2 / 360 (Feb 29 -> Mar 1 counts 2 days)
+        verify(productService, times(1)).loadDayCountConventions();
+    }
+
+    @Test
+    void testAccrualSinceAnchor_MatchesEagerDailyAccrualToTheMicroUnit() {
+        // Given: an overdue 30/360 account whose product is reset on Feb 10, anchored on Jan 20 and read on Mar 5
+        RateScheduleIndex rates = RateScheduleIndex.of(List.of(
+                RateSchedule.builder()
+                        .productCode("FLOAT-1").effectiveFrom(LocalDate.of(2024, 2, 10)).interestRate(new BigDecimal("11.37")).build()));
+        LocalDate anchor = LocalDate.of(2024, 1, 20);
+        LocalDate through = LocalDate.of(2024, 3, 5);
+        LoanAccount lazy = lazyAccount(anchor);
+        lazy.setDayCountConvention(DayCountConvention.THIRTY_360);
+        LoanAccount eager = lazyAccount(null);
+        eager.setDayCountConvention(DayCountConvention.THIRTY_360);
+
+        // When: the eager account is accrued one day at a time, the lazy one from the days elapsed
+        for (LocalDate date = anchor.plusDays(1); !date.isAfter(through); date = date.plusDays(1)) {
+            AccrualContext context = AccrualContext.builder()
+                    .businessDate(date)
+                    .rates(rates.ratesOn(date))
+                    .dayCounts(interestService.dayCountTable(date, date))
+                    .defaultPenalRate(DEFAULT_PENAL_RATE)
+                    .build();
+            interestService.accruePenalty(eager, context);
+            interestService.accrueInterest(eager, context);
+        }
+        InterestService.LazyAccrual accrued = interestService.accrueSinceAnchor(lazy, through, rates,
+                interestService.dayCountTable(anchor.plusDays(1), through), Map.of());
+
+        // Then
+        assertEquals(0, eager.getInterestAmount().compareTo(lazy.getInterestAmount()));
+        assertEquals(0, eager.getPenaltyAmount().compareTo(lazy.getPenaltyAmount()));
+        assertEquals(0, accrued.interest().compareTo(eager.getInterestAmount().subtract(new BigDecimal("100.000000"))));
+        assertEquals(through, lazy.getAccrualAnchorDate());
+        verifyNoInteractions(loanAccountRepository);
+    }
+
+    @Test
+    void testApplyDailyInterest_LazyAccountIsOnlyWrittenWhenPostingsChangeItsBalance() {
+        // Given: lazy accrual, two accounts anchored three days back, one of them with a repayment, and one eager account
+        InterestService lazyService = new InterestService(loanAccountRepository, portfolioSummaryService, rateScheduleService, productService,
+                postingService, new ChunkExecutor(TransactionOperations.withoutTransaction(), meterRegistry,
+                        AdaptiveThrottle.unthrottled(meterRegistry), 100, true, 1),
+                meterRegistry, DAY_COUNT_BASIS, DEFAULT_PENAL_RATE, RETRY_MAX_ATTEMPTS, 0L, ZONE_ID, true);
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        LoanAccount untouched = lazyAccount(LocalDate.of(2024, 1, 12));
+        untouched.setId(1L);
+        LoanAccount repaid = lazyAccount(LocalDate.of(2024, 1, 12));
+        repaid.setId(2L);
+        repaid.setOverdueAmount(BigDecimal.ZERO);
+        LoanAccount eager = lazyAccount(null);
+        eager.setId(3L);
+        AccountPosting repayment = AccountPosting.builder()
+                .id(10L)
+                .accountId(2L)
+                .type(PostingType.REPAYMENT)
+                .amount(new BigDecimal("20100.000000"))
+                .valueDate(forDate)
+                .build();
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(3L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(untouched, repaid, eager));
+        when(postingService.loadPending(List.of(1L, 2L, 3L), forDate)).thenReturn(Map.of(2L, List.of(repayment)));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = lazyService.applyDailyInterest(forDate);
+
+        // Then: the account without postings is neither changed nor written
+        assertEquals(new BigDecimal("100.000000"), untouched.getInterestAmount());
+        assertEquals(LocalDate.of(2024, 1, 12), untouched.getAccrualAnchorDate());
+        verify(loanAccountRepository, never()).save(untouched);
+
+        // The repaid account catches up Jan 13-14 on 365000 (100 a day), then pays off 300 of interest and
+        // 19800 of principal, and accrues Jan 15 on 345200
+        assertEquals(new BigDecimal("345200.000000"), repaid.getPrincipalAmount());
+        assertEquals(new BigDecimal("94.575342"), repaid.getInterestAmount()); // 345200 * 0.10 / 365
+        assertEquals(forDate, repaid.getAccrualAnchorDate());
+        verify(postingService).saveFolded(repaid, List.of(repayment));
+
+        // The eager account accrues as before and is anchored from now on
+        assertEquals(new BigDecimal("200.000000"), eager.getInterestAmount());
+        assertEquals(forDate, eager.getAccrualAnchorDate());
+        assertEquals(2, result.getTotalAccountsProcessed());
+        assertEquals(new BigDecimal("394.575342"), result.getTotalInterestApplied()); // 200 + 94.575342 + 100
+    }
+
+    @Test
+    void testApplyMonthEndInterest_CatchesUpLazyAccountsBeforeCapitalizing() {
+        // Given: a lazily accrued account last written on Jan 20
+        LocalDate forDate = LocalDate.of(2024, 1, 31);
+        LoanAccount lazy = lazyAccount(LocalDate.of(2024, 1, 20));
+        lazy.setId(1L);
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.findLazyAccountsAnchoredBefore(eq(forDate), eq(0L), any(PageRequest.class))).thenReturn(List.of(lazy));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(loanAccountRepository.capitalizeAccruedInterest(0L, 1000)).thenReturn(List.of(capitalized(1L, "10.00", "1200.000000")));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(forDate);
+
+        // Then: Jan 21-31 are written into the row (11 days at 100) before the set-based capitalization reads it
+        assertEquals(new BigDecimal("1200.000000"), lazy.getInterestAmount());
+        assertEquals(forDate, lazy.getAccrualAnchorDate());
+        InOrder inOrder = inOrder(loanAccountRepository);
+        inOrder.verify(loanAccountRepository).save(lazy);
+        inOrder.verify(loanAccountRepository).capitalizeAccruedInterest(0L, 1000);
+        assertEquals(1, result.getTotalAccountsProcessed());
+    }
+
+    @Test
+    void testApplyMonthEndInterest_ZoneBucketCatchesUpAndCapitalizesOnlyThatZone() {
+        // Given: a lazily accrued New York account last written on Jan 20
+        LocalDate forDate = LocalDate.of(2024, 1, 31);
+        LoanAccount lazy = lazyAccount(LocalDate.of(2024, 1, 20));
+        lazy.setTimeZone("America/New_York");
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.findLazyAccountsAnchoredBeforeInZone(eq("America/New_York"), eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(lazy));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        OffsetDateTime nextDayStart = OffsetDateTime.parse("2024-02-01T00:00-05:00");
+        when(loanAccountRepository.capitalizeAccruedInterestInZone("America/New_York", nextDayStart, 0L, 1000))
+                .thenReturn(List.of(capitalized(1L, "10.00", "1200.000000")));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(forDate, ZoneId.of("America/New_York"));
+
+        // Then: Jan 21-31 are caught up in the zone's own month, and nothing outside the bucket is read or capitalized
+        assertEquals(new BigDecimal("1200.000000"), lazy.getInterestAmount());
+        assertEquals("America/New_York", result.getZone());
+        assertEquals(new BigDecimal("1200.000000"), result.getTotalInterestApplied());
+        verify(loanAccountRepository, never()).findLazyAccountsAnchoredBefore(any(), anyLong(), any());
+        verify(loanAccountRepository, never()).capitalizeAccruedInterest(anyLong(), anyInt());
+        verify(loanAccountRepository, never()).capitalizeAccruedInterestWithoutZone(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testApplyMonthEndInterest_DefaultZoneBucketWalksZoneThenAccountsWithoutZone() {
+        // Given: the zone pass capitalizes one account; the set-based statement fails for the accounts without a zone,
+        // so that chunk falls back to the entity query of the same pass
+        LocalDate forDate = LocalDate.of(2024, 1, 31);
+        LoanAccount unzoned = lazyAccount(null);
+        unzoned.setId(2L);
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        OffsetDateTime nextDayStart = OffsetDateTime.parse("2024-02-01T00:00+05:30");
+        when(loanAccountRepository.capitalizeAccruedInterestInZone(ZONE_ID, nextDayStart, 0L, 1000))
+                .thenReturn(List.of(capitalized(1L, "10.00", "100.000000")));
+        when(loanAccountRepository.capitalizeAccruedInterestWithoutZone(nextDayStart, 0L, 1000))
+                .thenThrow(new RuntimeException("Statement timeout"));
+        when(loanAccountRepository.findAccountsWithAccruedInterestInZone(eq(null), eq(nextDayStart), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(unzoned));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyMonthEndInterest(forDate, ZoneId.of(ZONE_ID));
+
+        // Then
+        assertEquals(new BigDecimal("365100.000000"), unzoned.getPrincipalAmount());
+        assertEquals(2, result.getTotalAccountsProcessed());
+        assertEquals(new BigDecimal("200.000000"), result.getTotalInterestApplied());
+        InOrder inOrder = inOrder(loanAccountRepository);
+        inOrder.verify(loanAccountRepository).findLazyAccountsAnchoredBeforeInZone(eq(ZONE_ID), eq(forDate), eq(0L), any(PageRequest.class));
+        inOrder.verify(loanAccountRepository).capitalizeAccruedInterestInZone(ZONE_ID, nextDayStart, 0L, 1000);
+        inOrder.verify(loanAccountRepository).findLazyAccountsAnchoredBeforeInZone(eq(null), eq(forDate), eq(0L), any(PageRequest.class));
+        inOrder.verify(loanAccountRepository).capitalizeAccruedInterestWithoutZone(nextDayStart, 0L, 1000);
+    }
+
+    /**
+     * 365000 at 10% on the legacy 365 basis accrues exactly 100 a day.
+     */
+    private static LoanAccount lazyAccount(LocalDate anchor) {
+        return LoanAccount.builder()
+                .id(1L)
+                .productCode("FLOAT-1")
+                .principalAmount(new BigDecimal("365000.000000"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(new BigDecimal("100.000000"))
+                .penaltyAmount(BigDecimal.ZERO)
+                .overdueAmount(new BigDecimal("1234.56"))
+                .penalRate(new BigDecimal("18.50"))
+                .accrualAnchorDate(anchor)
+                .build();
+    }
+
+    private static LoanAccount conventionAccount(Long id, DayCountConvention convention, String productCode) {
+        return LoanAccount.builder()
+                .id(id)
+                .productCode(productCode)
+                .dayCountConvention(convention)
+                .principalAmount(new BigDecimal("365000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static LoanAccountRepository.CapitalizedInterest capitalized(long id, String interestRate, String amount) {
+        return new LoanAccountRepository.CapitalizedInterest() {
+            public Long getId() { return id; }
+            public BigDecimal getInterestRate() { return new BigDecimal(interestRate); }
+            public BigDecimal getCapitalized() { return new BigDecimal(amount); }
+        };
+    }
+
+    private static LoanAccount penaltyAccount(Long id, String overdue, BigDecimal penalRate) {
+        return LoanAccount.builder()
+                .id(id)
+                .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(BigDecimal.ZERO)
+                .overdueAmount(new BigDecimal(overdue))
+                .penalRate(penalRate)
+                .build();
+    }
+
+    @Test
+    void testApplyDailyInterest_ReadsNextChunkAfterLastAccountId() {
+        // Given: a full first chunk; committed accounts drop out of the query, so the next chunk must not use an offset
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        List<LoanAccount> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            firstChunk.add(retryAccount(id));
+        }
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(101L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class))).thenReturn(firstChunk);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(100L), any(PageRequest.class))).thenReturn(List.of(retryAccount(101L)));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        InterestService.InterestApplicationResult result = interestService.applyDailyInterest(forDate);
+
+        // Then
+        assertEquals(101, result.getTotalAccountsProcessed());
+        assertEquals(0, result.getFailedAccounts());
+        verify(loanAccountRepository, times(2)).findAccountsNeedingInterestApplicationAfter(eq(forDate), anyLong(), any(PageRequest.class));
+        verify(portfolioSummaryService, times(2)).apply(any(PortfolioDelta.class));
+    }
+
+    @Test
+    void testApplyDailyInterest_EmitsFlightRecorderEvents() throws Exception {
+        // Given: the conflict scenario, recorded with only the interest job events enabled
+        LocalDate forDate = LocalDate.of(2024, 1, 15);
+        LoanAccount stale = retryAccount(1L);
+
+        when(rateScheduleService.loadIndex(forDate)).thenReturn(RateScheduleIndex.empty());
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(forDate)).thenReturn(2L);
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(eq(forDate), eq(0L), any(PageRequest.class)))
+                .thenReturn(List.of(stale, retryAccount(2L)));
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> {
+            if (invocation.getArgument(0) == stale) {
+                throw new ObjectOptimisticLockingFailureException(LoanAccount.class, 1L);
+            }
+            return invocation.getArgument(0);
+        });
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationByIdIn(forDate, List.of(1L))).thenReturn(List.of(retryAccount(1L)));
+
+        // When
+        List<RecordedEvent> events;
+        Path file = Files.createTempFile("interest-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            InterestJfrEvents.types().forEach(recording::enable);
+            recording.start();
+            interestService.applyDailyInterest(forDate);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // Then: one run, a main batch and a retry batch each with fetch/compute/flush, and the conflict
+        RecordedEvent job = single(events, "com.assessment.interest.Job");
+        assertEquals("DAILY", job.getString("jobType"));
+        assertEquals("2024-01-15", job.getString("businessDate"));
+        assertEquals(2, job.getInt("accountsProcessed"));
+        assertEquals(1, job.getInt("conflicts"));
+
+        for (String phase : List.of("BatchFetch", "BatchCompute", "BatchFlush")) {
+            List<RecordedEvent> batches = named(events, "com.assessment.interest." + phase);
+            assertEquals(List.of("MAIN:1", "RETRY:2"),
+                    batches.stream().map(e -> e.getString("phase") + ":" + e.getInt("batchId")).toList(), phase);
+        }
+        assertEquals(2, named(events, "com.assessment.interest.BatchCompute").get(0).getInt("accounts"));
+
+        RecordedEvent failure = single(events, "com.assessment.interest.AccountFailure");
+        assertEquals(1L, failure.getLong("accountId"));
+        assertEquals(1, failure.getInt("batchId"));
+        assertTrue(failure.getBoolean("conflict"));
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = named(events, name);
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+
+    private static LoanAccount retryAccount(Long id) {
+        return LoanAccount.builder()
+                .id(id)
+                .principalAmount(new BigDecimal("100000.00"))
+                .interestRate(new BigDecimal("10.00"))
+                .interestAmount(BigDecimal.ZERO)
+                .build();
+    }
 }
@@ -0,0 +1,111 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.LoanProduct;
+import com.assessment.interest_calculator.entity.RateSchedule;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LazyAccrualServiceTest {
+    private static final String ZONE_ID = "Asia/Kolkata";
+
+    private final RateScheduleService rateScheduleService = mock(RateScheduleService.class);
+    private final ProductService productService = mock(ProductService.class);
+    private LazyAccrualService lazyAccrualService;
+
+    @BeforeEach
+    void setUp() {
+        InterestService interestService = new InterestService(mock(LoanAccountRepository.class), mock(PortfolioSummaryService.class),
+                rateScheduleService, productService, mock(PostingService.class),
+                new ChunkExecutor(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(),
+                        AdaptiveThrottle.unthrottled(new SimpleMeterRegistry()), 100, true, 1),
+                new SimpleMeterRegistry(), 365, new BigDecimal("2.0"), 3, 0L, ZONE_ID, false);
+        lazyAccrualService = new LazyAccrualService(interestService, rateScheduleService, productService, ZONE_ID);
+
+        // A floating product whose rate was reset last week, on a 360-day year
+        RateScheduleIndex rates = RateScheduleIndex.of(List.of(RateSchedule.builder()
+                .productCode("FLOAT")
+                .effectiveFrom(LocalDate.now(ZoneId.of(ZONE_ID)).minusDays(7))
+                .interestRate(new BigDecimal("14.25"))
+                .build()));
+        when(rateScheduleService.loadIndex(any(LoanAccount.class))).thenReturn(rates);
+        when(rateScheduleService.loadIndex(anyCollection())).thenReturn(rates);
+        when(productService.findByCode(anyString())).thenReturn(Optional.of(LoanProduct.builder()
+                .code("FLOAT")
+                .dayCountConvention(DayCountConvention.ACT_360)
+                .build()));
+        when(productService.loadDayCountConventions(anyCollection())).thenReturn(Map.of("FLOAT", DayCountConvention.ACT_360));
+    }
+
+    @Test
+    void batchAccrualMatchesSingleReadsAndLoadsOncePerBatch() {
+        // Given: two floating accounts anchored before the reset, one in another zone, and one anchored yesterday
+        LocalDate today = LocalDate.now(ZoneId.of(ZONE_ID));
+        LoanAccount first = account(1L, "FLOAT", null, today.minusDays(20));
+        LoanAccount second = account(2L, "FLOAT", "America/New_York", today.minusDays(12));
+        LoanAccount upToDate = account(3L, "FLOAT", null, today.minusDays(1));
+        List<LoanAccount> batch = List.of(first, second, upToDate);
+
+        // When
+        Map<Long, InterestService.LazyAccrual> accrued = lazyAccrualService.accruedToDate(batch);
+
+        // Then: the same amounts as reading each account on its own
+        assertEquals(Set.of(1L, 2L), accrued.keySet());
+        assertEquals(lazyAccrualService.accruedToDate(first), accrued.get(1L));
+        assertEquals(lazyAccrualService.accruedToDate(second), accrued.get(2L));
+        assertTrue(accrued.get(1L).interest().signum() > 0);
+
+        // And the schedules and products were loaded once for the batch, only for the accounts with accrual to add
+        verify(rateScheduleService, times(1)).loadIndex(List.of(first, second));
+        verify(productService, times(1)).loadDayCountConventions(Set.of("FLOAT"));
+    }
+
+    @Test
+    void batchWithNothingToAccrueLoadsNothing() {
+        LocalDate yesterday = LocalDate.now(ZoneId.of(ZONE_ID)).minusDays(1);
+
+        Map<Long, InterestService.LazyAccrual> accrued = lazyAccrualService.accruedToDate(
+                List.of(account(1L, "FLOAT", null, yesterday), account(2L, null, null, null)));
+
+        assertTrue(accrued.isEmpty());
+        verify(rateScheduleService, never()).loadIndex(anyCollection());
+        verify(productService, never()).loadDayCountConventions(anyCollection());
+    }
+
+    private static LoanAccount account(Long id, String productCode, String timeZone, LocalDate anchor) {
+        return LoanAccount.builder()
+                .id(id)
+                .productCode(productCode)
+                .timeZone(timeZone)
+                .status(AccountStatus.ACTIVE)
+                .principalAmount(new BigDecimal("250000.00"))
+                .interestRate(new BigDecimal("10.50"))
+                .interestAmount(BigDecimal.ZERO)
+                .penaltyAmount(BigDecimal.ZERO)
+                .overdueAmount(BigDecimal.ZERO)
+                .accrualAnchorDate(anchor)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.assessment.interest_calculator.dto.PortfolioSummaryResponse;
+import com.assessment.interest_calculator.entity.PortfolioSummary;
+import com.assessment.interest_calculator.entity.RateBand;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+import com.assessment.interest_calculator.repository.PortfolioSummaryRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PortfolioSummaryServiceTest {
+
+    @Mock
+    private PortfolioSummaryRepository portfolioSummaryRepository;
+
+    @Mock
+    private LoanAccountRepository loanAccountRepository;
+
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        portfolioSummaryService = new PortfolioSummaryService(portfolioSummaryRepository, loanAccountRepository, true);
+    }
+
+    @Test
+    void testApply_AggregatesPerBandBeforeWriting() {
+        // Given: two accruals in the same band and one in another
+        PortfolioDelta delta = new PortfolioDelta();
+        delta.interestAccrued(new BigDecimal("7.5"), new BigDecimal("10.000000"));
+        delta.interestAccrued(new BigDecimal("9.0"), new BigDecimal("5.000000"));
+        delta.interestAccrued(new BigDecimal("12.0"), new BigDecimal("1.000000"));
+
+        // When
+        portfolioSummaryService.apply(delta);
+
+        // Then: one upsert per band
+        verify(portfolioSummaryRepository).applyDelta("FROM_5_TO_10", 0L, BigDecimal.ZERO, new BigDecimal("15.000000"));
+        verify(portfolioSummaryRepository).applyDelta("FROM_10_TO_15", 0L, BigDecimal.ZERO, new BigDecimal("1.000000"));
+        verifyNoMoreInteractions(portfolioSummaryRepository);
+    }
+
+    @Test
+    void testApply_EmptyDelta_DoesNotTouchDatabase() {
+        portfolioSummaryService.apply(new PortfolioDelta());
+
+        verifyNoInteractions(portfolioSummaryRepository);
+    }
+
+    @Test
+    void testApply_SwallowsRepositoryFailure() {
+        // Given
+        PortfolioDelta delta = new PortfolioDelta();
+        delta.accountAdded(new BigDecimal("5.5"), new BigDecimal("1000.00"), BigDecimal.ZERO);
+        when(portfolioSummaryRepository.applyDelta(anyString(), anyLong(), any(), any()))
+                .thenThrow(new RuntimeException("Database error"));
+
+        // When & Then: the caller's write is already committed, so no exception escapes
+        assertDoesNotThrow(() -> portfolioSummaryService.apply(delta));
+    }
+
+    @Test
+    void testGetSummary_SumsBandsAndFillsMissingOnes() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        when(portfolioSummaryRepository.findAll()).thenReturn(List.of(
+                summary(RateBand.BELOW_5, 2, "1000.00", "1.50", now.minusHours(1)),
+                summary(RateBand.FROM_10_TO_15, 3, "2000.00", "2.25", now)));
+
+        // When
+        PortfolioSummaryResponse response = portfolioSummaryService.getSummary();
+
+        // Then
+        assertEquals(5, response.getTotalAccounts());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(response.getTotalOutstandingPrincipal()));
+        assertEquals(0, new BigDecimal("3.75").compareTo(response.getTotalAccruedInterest()));
+        assertEquals(RateBand.values().length, response.getRateBands().size());
+        assertEquals(now, response.getLastUpdatedAt());
+    }
+
+    @Test
+    void testVerify_NoDrift() {
+        // Given
+        when(loanAccountRepository.aggregateByInterestRate()).thenReturn(List.of(
+                totals("4.0", 1, "1000.00", "1.00"),
+                totals("4.5", 1, "500.00", "0.50")));
+        when(portfolioSummaryRepository.findAll()).thenReturn(List.of(
+                summary(RateBand.BELOW_5, 2, "1500.00", "1.50", OffsetDateTime.now())));
+
+        // When
+        PortfolioSummaryService.ReconciliationResult result = portfolioSummaryService.verify();
+
+        // Then
+        assertFalse(result.isDriftDetected());
+        assertFalse(result.isRepaired());
+        verify(portfolioSummaryRepository, never()).applyDelta(anyString(), anyLong(), any(), any());
+    }
+
+    @Test
+    void testVerify_DetectsAndRepairsDrift() {
+        // Given: the rollup missed a delta for band FROM_5_TO_10
+        when(loanAccountRepository.aggregateByInterestRate()).thenReturn(List.of(
+                totals("6.0", 2, "3000.00", "2.00")));
+        when(portfolioSummaryRepository.findAll()).thenReturn(List.of(
+                summary(RateBand.FROM_5_TO_10, 2, "3000.00", "1.00", OffsetDateTime.now())));
+
+        // When
+        PortfolioSummaryService.ReconciliationResult result = portfolioSummaryService.verify();
+
+        // Then
+        assertTrue(result.isDriftDetected());
+        assertTrue(result.isRepaired());
+        assertEquals(List.of("FROM_5_TO_10"), result.getDriftedBands());
+
+        // Repaired by the missing difference only, so deltas applied since the rows were read are kept
+        ArgumentCaptor<BigDecimal> principal = ArgumentCaptor.forClass(BigDecimal.class);
+        ArgumentCaptor<BigDecimal> interest = ArgumentCaptor.forClass(BigDecimal.class);
+        verify(portfolioSummaryRepository).applyDelta(eq("FROM_5_TO_10"), eq(0L), principal.capture(), interest.capture());
+        assertEquals(0, principal.getValue().signum());
+        assertEquals(0, new BigDecimal("1.00").compareTo(interest.getValue()));
+        verify(portfolioSummaryRepository, times(1)).applyDelta(anyString(), anyLong(), any(), any());
+        verify(portfolioSummaryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testVerify_RepairsMissingBandRow() {
+        // Given: no row yet for a band that has accounts
+        when(loanAccountRepository.aggregateByInterestRate()).thenReturn(List.of(
+                totals("25.0", 1, "100.00", "0.50")));
+        when(portfolioSummaryRepository.findAll()).thenReturn(List.of());
+
+        // When
+        PortfolioSummaryService.ReconciliationResult result = portfolioSummaryService.verify();
+
+        // Then
+        assertTrue(result.isRepaired());
+        verify(portfolioSummaryRepository).applyDelta(RateBand.of(new BigDecimal("25.0")).name(), 1L, new BigDecimal("100.00"), new BigDecimal("0.50"));
+    }
+
+    @Test
+    void testVerify_ReportOnlyWhenRepairDisabled() {
+        // Given
+        portfolioSummaryService = new PortfolioSummaryService(portfolioSummaryRepository, loanAccountRepository, false);
+        when(loanAccountRepository.aggregateByInterestRate()).thenReturn(List.of(
+                totals("25.0", 1, "100.00", "0.00")));
+        when(portfolioSummaryRepository.findAll()).thenReturn(List.of());
+
+        // When
+        PortfolioSummaryService.ReconciliationResult result = portfolioSummaryService.verify();
+
+        // Then
+        assertTrue(result.isDriftDetected());
+        assertFalse(result.isRepaired());
+        verify(portfolioSummaryRepository, never()).applyDelta(anyString(), anyLong(), any(), any());
+    }
+
+    private static PortfolioSummary summary(RateBand band, long count, String principal, String interest, OffsetDateTime updatedAt) {
+        return PortfolioSummary.builder()
+                .rateBand(band)
+                .accountCount(count)
+                .totalPrincipal(new BigDecimal(principal))
+                .totalInterest(new BigDecimal(interest))
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static LoanAccountRepository.RateTotals totals(String rate, long count, String principal, String interest) {
+        return new LoanAccountRepository.RateTotals() {
+            public BigDecimal getInterestRate() { return new BigDecimal(rate); }
+            public Long getAccountCount() { return count; }
+            public BigDecimal getTotalPrincipal() { return new BigDecimal(principal); }
+            public BigDecimal getTotalInterest() { return new BigDecimal(interest); }
+        };
+    }
+}
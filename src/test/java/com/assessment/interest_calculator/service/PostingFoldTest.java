@@ -0,0 +1,147 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.PostingType;
+
+class PostingFoldTest {
+
+    private static final OffsetDateTime APPLIED_AT = OffsetDateTime.parse("2024-01-15T23:59:00+05:30");
+
+    @Test
+    void testRepayment_PaysInterestBeforePrincipal() {
+        // Given
+        LoanAccount account = account("10000.00", "150.000000");
+        AccountPosting repayment = repayment("500.00");
+
+        // When
+        PostingFold fold = PostingFold.apply(account, List.of(repayment), APPLIED_AT);
+
+        // Then
+        assertEquals(new BigDecimal("0.000000"), account.getInterestAmount());
+        assertEquals(new BigDecimal("9650.000000"), account.getPrincipalAmount());
+        assertEquals(new BigDecimal("150.000000"), repayment.getAppliedToInterest());
+        assertEquals(new BigDecimal("350.000000"), repayment.getAppliedToPrincipal());
+        assertEquals(0, repayment.getExcessAmount().signum());
+        assertEquals(APPLIED_AT, repayment.getAppliedAt());
+        assertEquals(new BigDecimal("150.000000"), fold.getToInterest());
+        assertEquals(new BigDecimal("350.000000"), fold.getToPrincipal());
+    }
+
+    @Test
+    void testRepayment_SmallerThanInterestLeavesPrincipalUntouched() {
+        LoanAccount account = account("10000.00", "150.000000");
+
+        PostingFold.apply(account, List.of(repayment("100.00")), APPLIED_AT);
+
+        assertEquals(new BigDecimal("50.000000"), account.getInterestAmount());
+        assertEquals(0, account.getPrincipalAmount().compareTo(new BigDecimal("10000.00")));
+    }
+
+    @Test
+    void testRepayments_FoldedInArrivalOrderAndOverpaymentRecordedAsExcess() {
+        // Given: two repayments that together exceed the balance
+        LoanAccount account = account("1000.00", "10.000000");
+        AccountPosting first = repayment("600.00");
+        AccountPosting second = repayment("500.00");
+
+        // When
+        PostingFold fold = PostingFold.apply(account, List.of(first, second), APPLIED_AT);
+
+        // Then
+        assertEquals(0, account.getInterestAmount().signum());
+        assertEquals(0, account.getPrincipalAmount().signum());
+        assertEquals(new BigDecimal("590.000000"), first.getAppliedToPrincipal());
+        assertEquals(0, first.getExcessAmount().signum());
+        assertEquals(0, second.getAppliedToInterest().signum());
+        assertEquals(new BigDecimal("410.000000"), second.getAppliedToPrincipal());
+        assertEquals(new BigDecimal("90.000000"), second.getExcessAmount());
+        assertEquals(new BigDecimal("1100.000000"), fold.getTotal());
+    }
+
+    @Test
+    void testRepayment_PaysPenaltyFirstAndCuresOverdue() {
+        // Given: 1000 in default with 20 of penal charges and 150 of interest
+        LoanAccount account = account("10000.00", "150.000000");
+        account.setPenaltyAmount(new BigDecimal("20.000000"));
+        account.setOverdueAmount(new BigDecimal("1000.000000"));
+        AccountPosting repayment = repayment("420.00");
+
+        // When
+        PostingFold fold = PostingFold.apply(account, List.of(repayment), APPLIED_AT);
+
+        // Then: 20 to penalty, 150 to interest, 250 to principal; 400 of the overdue amount is cured
+        assertEquals(new BigDecimal("20.000000"), repayment.getAppliedToPenalty());
+        assertEquals(new BigDecimal("150.000000"), repayment.getAppliedToInterest());
+        assertEquals(new BigDecimal("250.000000"), repayment.getAppliedToPrincipal());
+        assertEquals(0, account.getPenaltyAmount().signum());
+        assertEquals(new BigDecimal("600.000000"), account.getOverdueAmount());
+        assertEquals(new BigDecimal("20.000000"), fold.getToPenalty());
+    }
+
+    @Test
+    void testOverdue_RaisedUpToOutstandingBalance() {
+        // Given: 1010 outstanding
+        LoanAccount account = account("1000.00", "10.000000");
+        AccountPosting installment = AccountPosting.builder()
+                .accountId(1L)
+                .type(PostingType.OVERDUE)
+                .amount(new BigDecimal("800.000000"))
+                .valueDate(LocalDate.of(2024, 1, 15))
+                .build();
+        AccountPosting second = AccountPosting.builder()
+                .accountId(1L)
+                .type(PostingType.OVERDUE)
+                .amount(new BigDecimal("800.000000"))
+                .valueDate(LocalDate.of(2024, 1, 15))
+                .build();
+
+        // When
+        PostingFold fold = PostingFold.apply(account, List.of(installment, second), APPLIED_AT);
+
+        // Then: the second installment only raises the overdue amount to the outstanding balance
+        assertEquals(0, account.getOverdueAmount().compareTo(new BigDecimal("1010.00")));
+        assertEquals(0, fold.getOverdueRaised().compareTo(new BigDecimal("1010.00")));
+        assertEquals(0, fold.getTotal().signum());
+        assertEquals(new BigDecimal("1000.00"), account.getPrincipalAmount());
+        assertNotNull(second.getAppliedAt());
+    }
+
+    @Test
+    void testNoPostings_LeavesAccountUnchanged() {
+        LoanAccount account = account("1000.00", "10.000000");
+
+        PostingFold fold = PostingFold.apply(account, List.of(), APPLIED_AT);
+
+        assertEquals(new BigDecimal("1000.00"), account.getPrincipalAmount());
+        assertEquals(new BigDecimal("10.000000"), account.getInterestAmount());
+        assertEquals(0, fold.getTotal().signum());
+    }
+
+    private static LoanAccount account(String principal, String interest) {
+        return LoanAccount.builder()
+                .id(1L)
+                .principalAmount(new BigDecimal(principal))
+                .interestRate(new BigDecimal("12.00"))
+                .interestAmount(new BigDecimal(interest))
+                .build();
+    }
+
+    private static AccountPosting repayment(String amount) {
+        return AccountPosting.builder()
+                .accountId(1L)
+                .type(PostingType.REPAYMENT)
+                .amount(new BigDecimal(amount).setScale(6))
+                .valueDate(LocalDate.of(2024, 1, 15))
+                .build();
+    }
+}
@@ -0,0 +1,348 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.assessment.interest_calculator.dto.BalanceProjectionResponse;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.DayCountConvention;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.RateSchedule;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProjectionServiceTest {
+
+    @Mock
+    private LoanAccountRepository loanAccountRepository;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @Mock
+    private RateScheduleService rateScheduleService;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private PostingService postingService;
+
+    private InterestService interestService;
+    private ProjectionService projectionService;
+
+    private static final String ZONE_ID = "Asia/Kolkata";
+
+    @BeforeEach
+    void setUp() {
+        interestService = new InterestService(loanAccountRepository, portfolioSummaryService, rateScheduleService, productService, postingService,
+                new ChunkExecutor(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(),
+                        AdaptiveThrottle.unthrottled(new SimpleMeterRegistry()), 100, true, 1), new SimpleMeterRegistry(), 365, new BigDecimal("2.0"), 3, 0L, ZONE_ID, false);
+        projectionService = new ProjectionService(loanAccountRepository, interestService, rateScheduleService, productService, ZONE_ID, 50, 360, 4);
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(rateScheduleService.loadIndex(any(LocalDate.class))).thenReturn(RateScheduleIndex.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        projectionService.shutdown();
+    }
+
+    @Test
+    void testProject_MatchesDayByDayJobs() {
+        // Given: a year that crosses a leap February, starting mid-month with interest already accrued
+        LocalDate today = LocalDate.of(2024, 1, 17);
+        LocalDate until = LocalDate.of(2025, 1, 20);
+        LoanAccount account = account(1L, "123456.78", "11.75", "345.678901");
+
+        // When
+        BalanceProjectionResponse projection = projectionService.project(copy(account), today, until, assumptions(today, until), true);
+
+        // Then
+        LoanAccount simulated = copy(account);
+        BigDecimal accrued = runJobsDayByDay(simulated, today, until);
+        assertEquals(simulated.getPrincipalAmount(), projection.getProjectedPrincipal());
+        assertEquals(simulated.getInterestAmount(), projection.getProjectedInterestAmount());
+        assertEquals(accrued, projection.getInterestAccruedOverPeriod());
+        assertEquals(13, projection.getPeriods().size()); // Jan 2024 (partial) through Jan 2025 (partial)
+        assertTrue(projection.getPeriods().get(0).isCapitalized());
+        assertFalse(projection.getPeriods().get(12).isCapitalized());
+    }
+
+    @Test
+    void testProject_MatchesDayByDayJobs_RandomAccounts() {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.of(2025, 3, 1);
+        for (int i = 0; i < 50; i++) {
+            LoanAccount account = account((long) i,
+                    BigDecimal.valueOf(random.nextInt(5_000_000), 2).add(BigDecimal.ONE).toPlainString(),
+                    BigDecimal.valueOf(random.nextInt(3000), 2).toPlainString(),
+                    "0");
+            LocalDate until = today.plusDays(random.nextInt(400));
+
+            BalanceProjectionResponse projection = projectionService.project(copy(account), today, until, assumptions(today, until), false);
+
+            LoanAccount simulated = copy(account);
+            runJobsDayByDay(simulated, today, until);
+            assertEquals(simulated.getPrincipalAmount(), projection.getProjectedPrincipal(), "principal of account " + i);
+            assertEquals(simulated.getInterestAmount(), projection.getProjectedInterestAmount(), "interest of account " + i);
+        }
+    }
+
+    @Test
+    void testProject_WithMidMonthRateResets_MatchesDayByDayJobs() {
+        // Given: the product reprices twice, once mid-month and once on a month boundary
+        LocalDate today = LocalDate.of(2025, 1, 5);
+        LocalDate until = LocalDate.of(2025, 4, 30);
+        LoanAccount account = account(7L, "250000.00", "9.00", "0");
+        account.setProductCode("FLOAT-1");
+        RateScheduleIndex rates = RateScheduleIndex.of(List.of(
+                schedule("FLOAT-1", LocalDate.of(2025, 2, 14), "9.50"),
+                schedule("FLOAT-1", LocalDate.of(2025, 4, 1), "8.75")));
+
+        // When
+        BalanceProjectionResponse projection = projectionService.project(copy(account), today, until, new ProjectionService.Assumptions(rates, interestService.dayCountTable(today, until), Map.of()), true);
+
+        // Then
+        LoanAccount simulated = copy(account);
+        for (LocalDate date = today; !date.isAfter(until); date = date.plusDays(1)) {
+            AccrualContext context = AccrualContext.builder()
+                    .businessDate(date)
+                    .rates(rates.ratesOn(date))
+                    .dayCounts(interestService.dayCountTable(date, date))
+                    .build();
+            interestService.applyInterestToAccount(simulated, context);
+            if (date.equals(date.withDayOfMonth(date.lengthOfMonth()))) {
+                interestService.applyAccruedInterestToPrincipal(simulated);
+            }
+        }
+        assertEquals(simulated.getPrincipalAmount(), projection.getProjectedPrincipal());
+        assertEquals(simulated.getInterestAmount(), projection.getProjectedInterestAmount());
+        assertEquals(5, projection.getPeriods().size()); // Jan, Feb 1-13, Feb 14-28, Mar, Apr
+        assertEquals(new BigDecimal("9.50"), projection.getPeriods().get(2).getInterestRate());
+        assertFalse(projection.getPeriods().get(1).isCapitalized());
+    }
+
+    @Test
+    void testProject_WithDayCountConventions_MatchesDayByDayJobs() {
+        // Given: every convention over a span that includes a leap February and 31-day months
+        LocalDate today = LocalDate.of(2023, 12, 20);
+        LocalDate until = LocalDate.of(2024, 8, 10);
+        Map<String, DayCountConvention> productConventions = Map.of("BOND", DayCountConvention.THIRTY_360);
+        ProjectionService.Assumptions assumptions = new ProjectionService.Assumptions(
+                RateScheduleIndex.empty(), interestService.dayCountTable(today, until), productConventions);
+
+        List<LoanAccount> accounts = new ArrayList<>();
+        for (DayCountConvention convention : DayCountConvention.values()) {
+            LoanAccount account = account((long) convention.ordinal(), "987654.32", "13.40", "12.345678");
+            account.setDayCountConvention(convention);
+            accounts.add(account);
+        }
+        LoanAccount productAccount = account(99L, "50000.00", "8.00", "0");
+        productAccount.setProductCode("BOND");
+        accounts.add(productAccount);
+
+        for (LoanAccount account : accounts) {
+            // When
+            BalanceProjectionResponse projection = projectionService.project(copy(account), today, until, assumptions, false);
+
+            // Then
+            LoanAccount simulated = copy(account);
+            for (LocalDate date = today; !date.isAfter(until); date = date.plusDays(1)) {
+                AccrualContext context = AccrualContext.builder()
+                        .businessDate(date)
+                        .dayCounts(interestService.dayCountTable(date, date))
+                        .productConventions(productConventions)
+                        .build();
+                interestService.applyInterestToAccount(simulated, context);
+                if (date.equals(date.withDayOfMonth(date.lengthOfMonth()))) {
+                    interestService.applyAccruedInterestToPrincipal(simulated);
+                }
+            }
+            assertEquals(simulated.getPrincipalAmount(), projection.getProjectedPrincipal(), "principal for " + account.getDayCountConvention());
+            assertEquals(simulated.getInterestAmount(), projection.getProjectedInterestAmount(), "interest for " + account.getDayCountConvention());
+        }
+    }
+
+    @Test
+    void testProject_SkipsTodayWhenAlreadyAccrued() {
+        // Given: today's daily job has already run for the account
+        LocalDate today = LocalDate.of(2025, 6, 10);
+        LoanAccount account = account(1L, "100000.00", "10.00", "0");
+        account.setLastInterestAppliedAt(today.atTime(23, 59).atZone(ZoneId.of(ZONE_ID)).toOffsetDateTime());
+
+        // When
+        BalanceProjectionResponse projection = projectionService.project(account, today, LocalDate.of(2025, 6, 12), assumptions(today, LocalDate.of(2025, 6, 12)), true);
+
+        // Then: only the 11th and 12th are projected
+        assertEquals(LocalDate.of(2025, 6, 11), projection.getPeriods().get(0).getFrom());
+        assertEquals(2, projection.getPeriods().get(0).getDays());
+        assertEquals(new BigDecimal("54.794520"), projection.getProjectedInterestAmount());
+    }
+
+    @Test
+    void testProject_TakesLastAccrualDateInAccountZone() {
+        // Given: Los Angeles accrued the 10th at 23:59 local time, already the 11th in Kolkata
+        LocalDate today = LocalDate.of(2025, 6, 10);
+        LoanAccount account = account(1L, "100000.00", "10.00", "0");
+        account.setTimeZone("America/Los_Angeles");
+        account.setLastInterestAppliedAt(today.atTime(23, 59).atZone(ZoneId.of("America/Los_Angeles")).toOffsetDateTime());
+
+        // When
+        BalanceProjectionResponse projection = projectionService.project(account, today, LocalDate.of(2025, 6, 12), assumptions(today, LocalDate.of(2025, 6, 12)), true);
+
+        // Then: the 11th is still to accrue
+        assertEquals(LocalDate.of(2025, 6, 11), projection.getPeriods().get(0).getFrom());
+        assertEquals(2, projection.getPeriods().get(0).getDays());
+    }
+
+    @Test
+    void testProjectAccount_StartsFromTodayInAccountZone() {
+        // Given: an account in a zone far from Kolkata, never accrued
+        LoanAccount account = account(1L, "100000.00", "10.00", "0");
+        account.setTimeZone("Pacific/Pago_Pago");
+        when(loanAccountRepository.findById(1L)).thenReturn(Optional.of(account));
+        LocalDate until = LocalDate.now(ZoneId.of(ZONE_ID)).plusDays(5);
+
+        // When
+        BalanceProjectionResponse projection = projectionService.projectAccount(1L, until).orElseThrow();
+
+        // Then
+        assertEquals(LocalDate.now(ZoneId.of("Pacific/Pago_Pago")), projection.getAsOf());
+        assertEquals(projection.getAsOf(), projection.getPeriods().get(0).getFrom());
+    }
+
+    @Test
+    void testProject_UntilToday_ProjectsOnlyTonightsRun() {
+        LocalDate today = LocalDate.of(2025, 6, 30);
+        LoanAccount account = account(1L, "100000.00", "10.00", "100.000000");
+
+        BalanceProjectionResponse projection = projectionService.project(account, today, today, assumptions(today, today), true);
+
+        // Tonight's accrual followed by month-end capitalization
+        assertEquals(new BigDecimal("100127.397260"), projection.getProjectedPrincipal());
+        assertEquals(BigDecimal.ZERO, projection.getProjectedInterestAmount());
+    }
+
+    @Test
+    void testProjectPortfolio_SumsAllPagesAcrossForkJoin() {
+        // Given: 120 accounts served in pages of 50
+        List<LoanAccount> accounts = new ArrayList<>();
+        for (long id = 1; id <= 120; id++) {
+            accounts.add(account(id, String.valueOf(1000 * id), String.valueOf(id % 25), "0"));
+        }
+        when(loanAccountRepository.findByStatusAndIdGreaterThanOrderByIdAsc(eq(AccountStatus.ACTIVE), anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            return accounts.stream().filter(a -> a.getId() > afterId).limit(50).map(ProjectionServiceTest::copy).toList();
+        });
+        LocalDate until = LocalDate.now(ZoneId.of(ZONE_ID)).plusMonths(6);
+
+        // When
+        ProjectionService.PortfolioProjectionResult result = projectionService.projectPortfolio(until);
+
+        // Then
+        LocalDate today = LocalDate.now(ZoneId.of(ZONE_ID));
+        BigDecimal expectedPrincipal = BigDecimal.ZERO;
+        BigDecimal expectedInterest = BigDecimal.ZERO;
+        for (LoanAccount account : accounts) {
+            BalanceProjectionResponse single = projectionService.project(account, today, until, assumptions(today, until), false);
+            expectedPrincipal = expectedPrincipal.add(single.getProjectedPrincipal());
+            expectedInterest = expectedInterest.add(single.getProjectedInterestAmount());
+        }
+        assertEquals(120, result.getAccountsProjected());
+        assertEquals(expectedPrincipal, result.getProjectedPrincipal());
+        assertEquals(expectedInterest, result.getProjectedInterestAmount());
+        verify(loanAccountRepository, times(3)).findByStatusAndIdGreaterThanOrderByIdAsc(eq(AccountStatus.ACTIVE), anyLong(), any(Pageable.class));
+        verify(loanAccountRepository).findByStatusAndIdGreaterThanOrderByIdAsc(eq(AccountStatus.ACTIVE), eq(100L), any(Pageable.class));
+    }
+
+    @Test
+    void testIsValidHorizon() {
+        LocalDate today = LocalDate.now(ZoneId.of(ZONE_ID));
+        assertTrue(projectionService.isValidHorizon(today));
+        assertTrue(projectionService.isValidHorizon(today.plusMonths(12)));
+        assertFalse(projectionService.isValidHorizon(today.minusDays(1)));
+        assertFalse(projectionService.isValidHorizon(today.plusMonths(361)));
+        assertFalse(projectionService.isValidHorizon(null));
+    }
+
+    private ProjectionService.Assumptions assumptions(LocalDate today, LocalDate until) {
+        return new ProjectionService.Assumptions(RateScheduleIndex.empty(), interestService.dayCountTable(today, until), Map.of());
+    }
+
+    /**
+     * Reference implementation: run the real per-account job steps for every date, daily accrual first.
+     */
+    private BigDecimal runJobsDayByDay(LoanAccount account, LocalDate from, LocalDate until) {
+        BigDecimal accrued = BigDecimal.ZERO;
+        for (LocalDate date = from; !date.isAfter(until); date = date.plusDays(1)) {
+            accrued = accrued.add(interestService.applyInterestToAccount(account, date));
+            if (date.equals(date.withDayOfMonth(date.lengthOfMonth()))) {
+                interestService.applyAccruedInterestToPrincipal(account);
+            }
+        }
+        return accrued;
+    }
+
+    private static RateSchedule schedule(String product, LocalDate from, String rate) {
+        return RateSchedule.builder()
+                .productCode(product)
+                .effectiveFrom(from)
+                .interestRate(new BigDecimal(rate))
+                .build();
+    }
+
+    private static LoanAccount account(Long id, String principal, String rate, String interest) {
+        return LoanAccount.builder()
+                .id(id)
+                .accountHolderName("Holder " + id)
+                .principalAmount(new BigDecimal(principal))
+                .interestRate(new BigDecimal(rate))
+                .interestAmount(new BigDecimal(interest))
+                .dateOfDisbursal(LocalDate.of(2023, 1, 1))
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private static LoanAccount copy(LoanAccount account) {
+        return LoanAccount.builder()
+                .id(account.getId())
+                .accountHolderName(account.getAccountHolderName())
+                .principalAmount(account.getPrincipalAmount())
+                .interestRate(account.getInterestRate())
+                .interestAmount(account.getInterestAmount())
+                .dateOfDisbursal(account.getDateOfDisbursal())
+                .productCode(account.getProductCode())
+                .dayCountConvention(account.getDayCountConvention())
+                .lastInterestAppliedAt(account.getLastInterestAppliedAt())
+                .createdAt(account.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.entity.RateSchedule;
+
+class RateScheduleIndexTest {
+
+    private final RateScheduleIndex index = RateScheduleIndex.of(List.of(
+            productRate("FLOAT-1", LocalDate.of(2024, 1, 1), "9.00"),
+            productRate("FLOAT-1", LocalDate.of(2024, 4, 1), "9.50"),
+            productRate("FLOAT-2", LocalDate.of(2024, 2, 1), "11.00"),
+            accountRate(42L, LocalDate.of(2024, 3, 15), "7.25")));
+
+    @Test
+    void testResolve_UsesProductScheduleInEffectOnDate() {
+        LoanAccount account = account(1L, "FLOAT-1", "10.00");
+
+        assertEquals(new BigDecimal("9.00"), index.resolve(account, LocalDate.of(2024, 3, 31)));
+        assertEquals(new BigDecimal("9.50"), index.resolve(account, LocalDate.of(2024, 4, 1)));
+    }
+
+    @Test
+    void testResolve_FallsBackToAccountRateBeforeFirstEntry() {
+        LoanAccount account = account(1L, "FLOAT-2", "10.00");
+
+        assertEquals(new BigDecimal("10.00"), index.resolve(account, LocalDate.of(2024, 1, 31)));
+        assertEquals(new BigDecimal("11.00"), index.resolve(account, LocalDate.of(2024, 2, 1)));
+    }
+
+    @Test
+    void testResolve_AccountOverrideTakesPrecedence() {
+        LoanAccount account = account(42L, "FLOAT-1", "10.00");
+
+        assertEquals(new BigDecimal("9.00"), index.resolve(account, LocalDate.of(2024, 3, 14)));
+        assertEquals(new BigDecimal("7.25"), index.resolve(account, LocalDate.of(2024, 3, 15)));
+        assertEquals(new BigDecimal("7.25"), index.resolve(account, LocalDate.of(2024, 5, 1)));
+    }
+
+    @Test
+    void testNextChangeAfter_ReturnsEarliestOfAccountAndProductResets() {
+        LoanAccount account = account(42L, "FLOAT-1", "10.00");
+
+        assertEquals(LocalDate.of(2024, 3, 15), index.nextChangeAfter(account, LocalDate.of(2024, 1, 10)));
+        assertEquals(LocalDate.of(2024, 4, 1), index.nextChangeAfter(account, LocalDate.of(2024, 3, 15)));
+        assertNull(index.nextChangeAfter(account, LocalDate.of(2024, 4, 1)));
+        assertNull(index.nextChangeAfter(account(1L, null, "10.00"), LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void testRatesOn_MatchesTreeLookup() {
+        LocalDate date = LocalDate.of(2024, 3, 20);
+        RateScheduleIndex.RatesOn rates = index.ratesOn(date);
+
+        for (LoanAccount account : List.of(account(1L, "FLOAT-1", "10.00"), account(2L, "FLOAT-2", "10.00"),
+                account(42L, "FLOAT-1", "10.00"), account(3L, null, "6.00"), account(4L, "UNKNOWN", "6.50"))) {
+            assertEquals(index.resolve(account, date), rates.resolve(account));
+        }
+    }
+
+    @Test
+    void testEmptyIndex_ReturnsContractualRate() {
+        RateScheduleIndex empty = RateScheduleIndex.of(List.of());
+        LoanAccount account = account(1L, "FLOAT-1", "10.00");
+
+        assertTrue(empty.isEmpty());
+        assertEquals(new BigDecimal("10.00"), empty.resolve(account, LocalDate.of(2024, 1, 1)));
+        assertEquals(new BigDecimal("10.00"), empty.ratesOn(LocalDate.of(2024, 1, 1)).resolve(account));
+    }
+
+    private static LoanAccount account(Long id, String productCode, String rate) {
+        return LoanAccount.builder().id(id).productCode(productCode).interestRate(new BigDecimal(rate)).build();
+    }
+
+    private static RateSchedule productRate(String productCode, LocalDate from, String rate) {
+        return RateSchedule.builder().productCode(productCode).effectiveFrom(from).interestRate(new BigDecimal(rate)).build();
+    }
+
+    private static RateSchedule accountRate(Long accountId, LocalDate from, String rate) {
+        return RateSchedule.builder().accountId(accountId).effectiveFrom(from).interestRate(new BigDecimal(rate)).build();
+    }
+}
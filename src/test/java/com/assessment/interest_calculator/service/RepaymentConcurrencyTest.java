@@ -0,0 +1,220 @@
+package com.assessment.interest_calculator.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.assessment.interest_calculator.entity.AccountPosting;
+import com.assessment.interest_calculator.entity.AccountStatus;
+import com.assessment.interest_calculator.entity.LoanAccount;
+import com.assessment.interest_calculator.repository.AccountPostingRepository;
+import com.assessment.interest_calculator.repository.LoanAccountRepository;
+
+/**
+ * Repayments posted from many threads while the daily accrual job runs over the same accounts.
+ * The repositories are in-memory stubs; the account store enforces the @Version check the way Hibernate would,
+ * so any write-write collision between the API and the job would surface as a failed account.
+ */
+class RepaymentConcurrencyTest {
+
+    private static final int ACCOUNTS = 20;
+    private static final int WRITER_THREADS = 8;
+    private static final int REPAYMENTS_PER_THREAD = 2500;
+    private static final BigDecimal INITIAL_PRINCIPAL = new BigDecimal("1000000.00");
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private final Map<Long, LoanAccount> accountTable = new ConcurrentHashMap<>();
+    private final Map<Long, AccountPosting> postingTable = new ConcurrentHashMap<>();
+    private final AtomicLong postingIds = new AtomicLong();
+    private final AtomicLong versionConflicts = new AtomicLong();
+
+    private PostingService postingService;
+    private InterestService interestService;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            accountTable.put(id, LoanAccount.builder()
+                    .id(id)
+                    .status(AccountStatus.ACTIVE)
+                    .principalAmount(INITIAL_PRINCIPAL)
+                    .interestRate(new BigDecimal("12.00"))
+                    .interestAmount(BigDecimal.ZERO)
+                    .version(0L)
+                    .build());
+        }
+
+        LoanAccountRepository loanAccountRepository = mock(LoanAccountRepository.class);
+        when(loanAccountRepository.lockActiveForPosting(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(invocation.<Long>getArgument(0)).filter(accountTable::containsKey));
+        when(loanAccountRepository.countAccountsNeedingInterestApplication(any(LocalDate.class))).thenAnswer(invocation -> (long) accountTable.size());
+        when(loanAccountRepository.findAccountsNeedingInterestApplicationAfter(any(LocalDate.class), anyLong(), any(PageRequest.class)))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(1);
+                    PageRequest page = invocation.getArgument(2);
+                    return accountTable.values().stream()
+                            .filter(account -> account.getId() > afterId)
+                            .sorted(Comparator.comparing(LoanAccount::getId))
+                            .limit(page.getPageSize())
+                            .map(RepaymentConcurrencyTest::copy)
+                            .toList();
+                });
+        when(loanAccountRepository.save(any(LoanAccount.class))).thenAnswer(invocation -> {
+            LoanAccount account = invocation.getArgument(0);
+            synchronized (accountTable) {
+                if (!accountTable.get(account.getId()).getVersion().equals(account.getVersion())) {
+                    versionConflicts.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException(LoanAccount.class, account.getId());
+                }
+                account.setVersion(account.getVersion() + 1);
+                accountTable.put(account.getId(), copy(account));
+            }
+            return account;
+        });
+
+        AccountPostingRepository accountPostingRepository = mock(AccountPostingRepository.class);
+        when(accountPostingRepository.save(any(AccountPosting.class))).thenAnswer(invocation -> {
+            AccountPosting posting = invocation.getArgument(0);
+            posting.setId(postingIds.incrementAndGet());
+            postingTable.put(posting.getId(), copy(posting));
+            return posting;
+        });
+        when(accountPostingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<AccountPosting> postings = invocation.getArgument(0);
+            postings.forEach(posting -> postingTable.put(posting.getId(), copy(posting)));
+            return postings;
+        });
+        when(accountPostingRepository.findByAccountIdInAndAppliedAtIsNullAndValueDateLessThanEqualOrderByIdAsc(anyCollection(), any(LocalDate.class)))
+                .thenAnswer(invocation -> {
+                    Collection<Long> accountIds = invocation.getArgument(0);
+                    LocalDate upTo = invocation.getArgument(1);
+                    return postingTable.values().stream()
+                            .filter(posting -> posting.getAppliedAt() == null)
+                            .filter(posting -> accountIds.contains(posting.getAccountId()))
+                            .filter(posting -> !posting.getValueDate().isAfter(upTo))
+                            .sorted(Comparator.comparing(AccountPosting::getId))
+                            .map(RepaymentConcurrencyTest::copy)
+                            .toList();
+                });
+
+        RateScheduleService rateScheduleService = mock(RateScheduleService.class);
+        when(rateScheduleService.loadIndex(any(LocalDate.class))).thenReturn(RateScheduleIndex.empty());
+
+        postingService = new PostingService(accountPostingRepository, loanAccountRepository, "Asia/Kolkata");
+        interestService = new InterestService(loanAccountRepository, mock(PortfolioSummaryService.class), rateScheduleService,
+                mock(ProductService.class), postingService, new ChunkExecutor(TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(),
+                        AdaptiveThrottle.unthrottled(new SimpleMeterRegistry()), 100, true, 1), new SimpleMeterRegistry(), 365, BigDecimal.ZERO, 3, 0L, "Asia/Kolkata", false);
+    }
+
+    @Test
+    void testRepaymentsDuringAccrualRuns_NoLostUpdatesAndNoConflicts() throws Exception {
+        // Given: writers posting 0.50 repayments to random accounts while the job runs day after day
+        ExecutorService writers = Executors.newFixedThreadPool(WRITER_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < WRITER_THREADS; t++) {
+            Random random = new Random(t);
+            futures.add(writers.submit(() -> {
+                start.await();
+                for (int i = 0; i < REPAYMENTS_PER_THREAD; i++) {
+                    long accountId = 1 + random.nextInt(ACCOUNTS);
+                    assertTrue(postingService.postRepayment(accountId, new BigDecimal("0.500000"), START).isPresent());
+                }
+                return null;
+            }));
+        }
+
+        // When
+        long startNanos = System.nanoTime();
+        start.countDown();
+        BigDecimal interestAccrued = BigDecimal.ZERO;
+        BigDecimal repaymentsApplied = BigDecimal.ZERO;
+        LocalDate date = START;
+        int runs = 0;
+        while (runs < 2 || futures.stream().anyMatch(future -> !future.isDone())) {
+            InterestService.InterestApplicationResult result = interestService.applyDailyInterest(date);
+            assertEquals(0, result.getFailedAccounts());
+            interestAccrued = interestAccrued.add(result.getTotalInterestApplied());
+            repaymentsApplied = repaymentsApplied.add(result.getTotalRepaymentsApplied());
+            date = date.plusDays(1);
+            runs++;
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double postingsPerSecond = WRITER_THREADS * REPAYMENTS_PER_THREAD / ((System.nanoTime() - startNanos) / 1e9);
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Final run folds whatever was posted after the last one
+        InterestService.InterestApplicationResult last = interestService.applyDailyInterest(date);
+        interestAccrued = interestAccrued.add(last.getTotalInterestApplied());
+        repaymentsApplied = repaymentsApplied.add(last.getTotalRepaymentsApplied());
+
+        // Then: every repayment was folded exactly once and nothing collided
+        BigDecimal totalPosted = new BigDecimal("0.500000").multiply(BigDecimal.valueOf(WRITER_THREADS * REPAYMENTS_PER_THREAD));
+        assertEquals(WRITER_THREADS * REPAYMENTS_PER_THREAD, postingTable.size());
+        assertTrue(postingTable.values().stream().allMatch(posting -> posting.getAppliedAt() != null));
+        assertEquals(0, totalPosted.compareTo(repaymentsApplied));
+        assertEquals(0, versionConflicts.get());
+
+        BigDecimal balances = accountTable.values().stream()
+                .map(account -> account.getPrincipalAmount().add(account.getInterestAmount()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal expected = INITIAL_PRINCIPAL.multiply(BigDecimal.valueOf(ACCOUNTS)).add(interestAccrued).subtract(totalPosted);
+        assertEquals(0, expected.compareTo(balances), "balances must equal opening balance + interest - repayments");
+
+        assertTrue(postingsPerSecond > 1000, "sustained " + postingsPerSecond + " repayments/s");
+    }
+
+    private static LoanAccount copy(LoanAccount account) {
+        return LoanAccount.builder()
+                .id(account.getId())
+                .status(account.getStatus())
+                .principalAmount(account.getPrincipalAmount())
+                .interestRate(account.getInterestRate())
+                .interestAmount(account.getInterestAmount())
+                .lastInterestAppliedAt(account.getLastInterestAppliedAt())
+                .version(account.getVersion())
+                .build();
+    }
+
+    private static AccountPosting copy(AccountPosting posting) {
+        return AccountPosting.builder()
+                .id(posting.getId())
+                .accountId(posting.getAccountId())
+                .type(posting.getType())
+                .amount(posting.getAmount())
+                .valueDate(posting.getValueDate())
+                .appliedAt(posting.getAppliedAt())
+                .appliedToInterest(posting.getAppliedToInterest())
+                .appliedToPrincipal(posting.getAppliedToPrincipal())
+                .excessAmount(posting.getExcessAmount())
+                .build();
+    }
+}
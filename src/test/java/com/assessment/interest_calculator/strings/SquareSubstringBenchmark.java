@@ -0,0 +1,57 @@
+package com.assessment.interest_calculator.strings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark for {@link SquareSubstring}. Run with
+ *
+ *   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="SquareSubstringBenchmark"
+ *
+ * SQUARE_FREE is the worst case (the full O(n log n) search), LATE_SQUARE has one square at the very end,
+ * RANDOM_4 is a random word over four letters, where a short square turns up almost immediately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class SquareSubstringBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int length;
+
+    @Param({"SQUARE_FREE", "LATE_SQUARE", "RANDOM_4"})
+    private String input;
+
+    private CharSequence text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = switch (input) {
+            case "SQUARE_FREE" -> Words.squareFree(length);
+            case "LATE_SQUARE" -> Words.lateSquare(length, 20);
+            case "RANDOM_4" -> Words.random(length, 4, 42L);
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public int[] shortestSquare() {
+        return SquareSubstring.shortestSquare(text);
+    }
+}
@@ -0,0 +1,86 @@
+package com.assessment.interest_calculator.strings;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.CharBuffer;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class SquareSubstringTest {
+
+    @Test
+    void examples() {
+        assertArrayEquals(new int[] {1, 2}, SquareSubstring.shortestSquare("abccba"));
+        assertArrayEquals(new int[] {2, 1}, SquareSubstring.shortestSquare("cababc"));
+        assertArrayEquals(new int[] {3, 0}, SquareSubstring.shortestSquare("abcabc"));
+        assertArrayEquals(new int[] {0, 0}, SquareSubstring.shortestSquare("abcacb"));
+        assertArrayEquals(new int[] {0, 0}, SquareSubstring.shortestSquare(""));
+        assertArrayEquals(new int[] {0, 0}, SquareSubstring.shortestSquare("a"));
+    }
+
+    @Test
+    void shorterSquareWinsOverEarlierLongerOne() {
+        // "abcabc" starts at 0 but "bb" at 7 is shorter
+        assertArrayEquals(new int[] {1, 7}, SquareSubstring.shortestSquare("abcabcabb"));
+    }
+
+    @Test
+    void matchesBruteForceOnRandomInputs() {
+        SplittableRandom random = new SplittableRandom(20240611L);
+        for (int round = 0; round < 3_000; round++) {
+            // Small alphabets make squares likely; mixing in square-free stretches makes them long and late
+            int length = 1 + random.nextInt(80);
+            String input = round % 3 == 0
+                    ? Words.squareFree(random.nextInt(60)) + Words.random(length, 2 + random.nextInt(3), random.nextLong())
+                    : Words.random(length, 2 + random.nextInt(3), random.nextLong());
+
+            assertArrayEquals(bruteForce(input), SquareSubstring.shortestSquare(input), input);
+        }
+    }
+
+    @Test
+    void matchesBruteForceOnSquareFreeWordsWithSquaresPlanted() {
+        SplittableRandom random = new SplittableRandom(7L);
+        for (int round = 0; round < 500; round++) {
+            String base = Words.squareFree(40 + random.nextInt(100));
+            int start = random.nextInt(base.length() - 10);
+            int half = 1 + random.nextInt(Math.min(30, base.length() - start) / 2 + 1);
+            String w = base.substring(start, Math.min(base.length(), start + half));
+            String input = base.substring(0, start) + w + base.substring(start);
+
+            assertArrayEquals(bruteForce(input), SquareSubstring.shortestSquare(input), input);
+        }
+    }
+
+    @Test
+    void squareFreeWordHasNoSquare() {
+        assertArrayEquals(new int[] {0, 0}, bruteForce(Words.squareFree(300)));
+        assertArrayEquals(new int[] {0, 0}, SquareSubstring.shortestSquare(Words.squareFree(1_000_000)));
+    }
+
+    @Test
+    void findsLateSquareInLongInput() {
+        String input = Words.lateSquare(1_000_000, 5);
+
+        assertArrayEquals(new int[] {5, 1_000_000 - 10}, SquareSubstring.shortestSquare(input));
+    }
+
+    @Test
+    void acceptsAnyCharSequence() {
+        CharBuffer buffer = CharBuffer.wrap("xxabcabdabd".toCharArray(), 2, 9);
+
+        assertArrayEquals(new int[] {3, 3}, SquareSubstring.shortestSquare(buffer));
+    }
+
+    private static int[] bruteForce(String s) {
+        for (int half = 1; 2 * half <= s.length(); half++) {
+            for (int start = 0; start + 2 * half <= s.length(); start++) {
+                if (s.regionMatches(start, s, start + half, half)) {
+                    return new int[] {half, start};
+                }
+            }
+        }
+        return new int[] {0, 0};
+    }
+}
@@ -0,0 +1,49 @@
+package com.assessment.interest_calculator.strings;
+
+import java.util.SplittableRandom;
+
+/**
+ * Inputs for the square-substring tests and benchmark.
+ */
+final class Words {
+
+    private Words() {
+    }
+
+    /**
+     * Square-free word over {a, b, c}: first differences of the Thue–Morse sequence. The worst case for the
+     * solver, since no square ever caps the search.
+     */
+    static String squareFree(int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('b' + thueMorse(i + 1) - thueMorse(i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * A square-free prefix followed by a single square with |w| = {@code half} (at most 23) at the very end.
+     * w is made of distinct letters outside {a, b, c}, so ww is the only square.
+     */
+    static String lateSquare(int length, int half) {
+        StringBuilder w = new StringBuilder();
+        for (int i = 0; i < half; i++) {
+            w.append((char) ('d' + i));
+        }
+        return squareFree(length - 2 * half) + w + w;
+    }
+
+    static String random(int length, int alphabet, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(alphabet));
+        }
+        return new String(chars);
+    }
+
+    private static int thueMorse(int i) {
+        return Integer.bitCount(i) & 1;
+    }
+}